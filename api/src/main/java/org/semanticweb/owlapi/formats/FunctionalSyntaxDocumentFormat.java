@@ -19,6 +19,21 @@ package org.semanticweb.owlapi.formats;
  */
 public class FunctionalSyntaxDocumentFormat extends PrefixDocumentFormatImpl {
 
+    /**
+     * Key for the streaming parameter. Currently supports Boolean.TRUE and
+     * Boolean.FALSE. No parameter is interpreted as FALSE. When streaming,
+     * the renderer does not keep track of the axioms it has written, and
+     * sorts the signature and the axioms that do not belong to an entity in
+     * batches, spilling full batches to temporary files. The output does not
+     * change.
+     */
+    public static final String STREAMING = "functional.streaming";
+    /**
+     * Key for the number of objects sorted in memory when streaming. Supports
+     * positive Integer values. No parameter is interpreted as 100000.
+     */
+    public static final String STREAMING_BATCH_SIZE = "functional.streaming.batchsize";
+
     @Override
     public String getKey() {
         return "OWL Functional Syntax";
@@ -26,6 +26,14 @@ public class OBODocumentFormat extends OWLDocumentFormatImpl {
      * Boolean.FALSE. No parameter is interpreted as TRUE.
      */
     public static final String VALIDATION = "obo.validation";
+    /**
+     * Key for the streaming parameter. Currently supports Boolean.TRUE and
+     * Boolean.FALSE. No parameter is interpreted as FALSE. When streaming,
+     * the ontology is translated twice and each term frame is written as soon
+     * as it is translated, instead of building the whole OBO document first.
+     * The output does not change.
+     */
+    public static final String STREAMING = "obo.streaming";
 
     @Override
     public String getKey() {
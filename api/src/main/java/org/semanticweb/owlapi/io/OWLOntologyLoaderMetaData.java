@@ -48,4 +48,21 @@ public interface OWLOntologyLoaderMetaData extends Serializable {
      *         declaration axioms
      */
     Multimap<IRI, Class<?>> getGuessedDeclarations();
+
+    /**
+     * @return the largest number of triples held in memory at any one time
+     *         while parsing, waiting to be translated; 0 if not tracked
+     */
+    default int getPeakBufferedTriples() {
+        return 0;
+    }
+
+    /**
+     * @return the number of triples translated as soon as they were parsed,
+     *         without being buffered, because of streaming translation; 0 if
+     *         not tracked
+     */
+    default int getEagerlyTranslatedTriples() {
+        return 0;
+    }
 }
@@ -35,6 +35,8 @@ public class RDFParserMetaData implements OWLOntologyLoaderMetaData, Serializabl
     private final RDFOntologyHeaderStatus headerStatus;
     private final Set<RDFTriple> unparsedTriples;
     private final ArrayListMultimap<IRI, Class<?>> guessedDeclarations;
+    private final int peakBufferedTriples;
+    private final int eagerlyTranslatedTriples;
 
     /**
      * @param headerStatus
@@ -48,10 +50,31 @@ public class RDFParserMetaData implements OWLOntologyLoaderMetaData, Serializabl
      */
     public RDFParserMetaData(RDFOntologyHeaderStatus headerStatus, int tripleCount, Set<RDFTriple> unparsedTriples,
         ArrayListMultimap<IRI, Class<?>> guessedDeclarations) {
+        this(headerStatus, tripleCount, unparsedTriples, guessedDeclarations, 0, 0);
+    }
+
+    /**
+     * @param headerStatus
+     *        the header status
+     * @param tripleCount
+     *        the triple count
+     * @param unparsedTriples
+     *        the set of triples not parsed
+     * @param guessedDeclarations
+     *        guessed declarations map
+     * @param peakBufferedTriples
+     *        largest number of triples buffered at any one time
+     * @param eagerlyTranslatedTriples
+     *        number of triples translated without being buffered
+     */
+    public RDFParserMetaData(RDFOntologyHeaderStatus headerStatus, int tripleCount, Set<RDFTriple> unparsedTriples,
+        ArrayListMultimap<IRI, Class<?>> guessedDeclarations, int peakBufferedTriples, int eagerlyTranslatedTriples) {
         this.tripleCount = tripleCount;
         this.headerStatus = checkNotNull(headerStatus, "headerStatus cannot be null");
         this.unparsedTriples = checkNotNull(unparsedTriples, "unparsedTriples cannot be null");
         this.guessedDeclarations = checkNotNull(guessedDeclarations, "guessedDeclarations cannot be null");
+        this.peakBufferedTriples = peakBufferedTriples;
+        this.eagerlyTranslatedTriples = eagerlyTranslatedTriples;
     }
 
     @Override
@@ -73,4 +96,14 @@ public class RDFParserMetaData implements OWLOntologyLoaderMetaData, Serializabl
     public Multimap<IRI, Class<?>> getGuessedDeclarations() {
         return Multimaps.unmodifiableMultimap(guessedDeclarations);
     }
+
+    @Override
+    public int getPeakBufferedTriples() {
+        return peakBufferedTriples;
+    }
+
+    @Override
+    public int getEagerlyTranslatedTriples() {
+        return eagerlyTranslatedTriples;
+    }
 }
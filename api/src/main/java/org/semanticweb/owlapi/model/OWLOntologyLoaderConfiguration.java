@@ -61,6 +61,33 @@ public class OWLOntologyLoaderConfiguration implements Serializable {
      * URL. Defaults to 5.
      */
     private int retriesToAttempt = 5;
+    /**
+     * Number of threads to use for parsing, for parsers that can split their
+     * input. Defaults to 1, i.e., sequential parsing.
+     */
+    private int parsingThreads = 1;
+    /**
+     * Number of threads to use for parsing the documents in the imports
+     * closure of an ontology. Defaults to 1, i.e., imported documents are
+     * parsed one at a time, when their import is reached.
+     */
+    private int importsLoadingThreads = 1;
+    /**
+     * True if RDF parsers should translate triples as soon as the types of
+     * their subject, predicate and object are known, instead of buffering
+     * them until the end of the document.
+     */
+    private boolean streamingRDFTranslation = false;
+    /**
+     * True if RDF parsers should store the triples waiting for translation in
+     * a dictionary encoded table of integer ids rather than in nested maps.
+     */
+    private boolean encodeRDFTriples = false;
+    /**
+     * True if ontologies being loaded should defer building their axiom
+     * indexes until parsing is complete.
+     */
+    private boolean bulkLoad = true;
     /** True if strict parsing should be used. */
     private boolean strict = false;
     /** True if Dublin Core. */
@@ -164,6 +191,11 @@ public class OWLOntologyLoaderConfiguration implements Serializable {
         copy.missingOntologyHeaderStrategy = missingOntologyHeaderStrategy;
         copy.reportStackTraces = reportStackTraces;
         copy.retriesToAttempt = retriesToAttempt;
+        copy.parsingThreads = parsingThreads;
+        copy.importsLoadingThreads = importsLoadingThreads;
+        copy.streamingRDFTranslation = streamingRDFTranslation;
+        copy.encodeRDFTriples = encodeRDFTriples;
+        copy.bulkLoad = bulkLoad;
         copy.strict = strict;
         copy.treatDublinCoreAsBuiltIn = treatDublinCoreAsBuiltIn;
         return copy;
@@ -202,6 +234,49 @@ public class OWLOntologyLoaderConfiguration implements Serializable {
         return retriesToAttempt;
     }
 
+    /**
+     * @return number of threads to use for parsing; parsers that cannot split
+     *         their input parse sequentially regardless of this value.
+     */
+    public int getParsingThreads() {
+        return parsingThreads;
+    }
+
+    /**
+     * @return number of threads to use for parsing the documents in the
+     *         imports closure of an ontology; the set of loaded ontologies
+     *         does not depend on this value.
+     */
+    public int getImportsLoadingThreads() {
+        return importsLoadingThreads;
+    }
+
+    /**
+     * @return true if RDF triples should be translated as soon as the types of
+     *         their subject, predicate and object are known. This only gives
+     *         the same result as buffering for documents where declarations
+     *         precede the use of entities.
+     */
+    public boolean isStreamingRDFTranslation() {
+        return streamingRDFTranslation;
+    }
+
+    /**
+     * @return true if RDF triples waiting for translation should be stored as
+     *         integer ids; this uses much less memory for large documents.
+     */
+    public boolean isEncodeRDFTriples() {
+        return encodeRDFTriples;
+    }
+
+    /**
+     * @return true if ontologies being loaded should build their axiom indexes
+     *         in one pass once parsing is complete.
+     */
+    public boolean isBulkLoad() {
+        return bulkLoad;
+    }
+
     /**
      * @return true if http compression should be accepted.
      */
@@ -438,6 +513,91 @@ public class OWLOntologyLoaderConfiguration implements Serializable {
         return copy;
     }
 
+    /**
+     * @param threads
+     *        number of threads to use for parsing; values smaller than 2 mean
+     *        sequential parsing
+     * @return copy of this configuration with modified number of parsing
+     *         threads.
+     */
+    public OWLOntologyLoaderConfiguration setParsingThreads(int threads) {
+        // do not make copies if setting the same value
+        if (threads == parsingThreads) {
+            return this;
+        }
+        OWLOntologyLoaderConfiguration copy = copyConfiguration();
+        copy.parsingThreads = threads;
+        return copy;
+    }
+
+    /**
+     * @param threads
+     *        number of threads to use for parsing the documents in the imports
+     *        closure of an ontology; values smaller than 2 mean that imported
+     *        documents are parsed one at a time
+     * @return copy of this configuration with modified number of imports
+     *         loading threads.
+     */
+    public OWLOntologyLoaderConfiguration setImportsLoadingThreads(int threads) {
+        // do not make copies if setting the same value
+        if (threads == importsLoadingThreads) {
+            return this;
+        }
+        OWLOntologyLoaderConfiguration copy = copyConfiguration();
+        copy.importsLoadingThreads = threads;
+        return copy;
+    }
+
+    /**
+     * @param value
+     *        true if RDF triples should be translated as soon as the types of
+     *        their subject, predicate and object are known
+     * @return a copy of the current object with streamingRDFTranslation set to
+     *         the new value.
+     */
+    public OWLOntologyLoaderConfiguration setStreamingRDFTranslation(boolean value) {
+        // do not make copies if setting the same value
+        if (value == streamingRDFTranslation) {
+            return this;
+        }
+        OWLOntologyLoaderConfiguration copy = copyConfiguration();
+        copy.streamingRDFTranslation = value;
+        return copy;
+    }
+
+    /**
+     * @param value
+     *        true if RDF triples waiting for translation should be stored as
+     *        integer ids
+     * @return a copy of the current object with encodeRDFTriples set to the
+     *         new value.
+     */
+    public OWLOntologyLoaderConfiguration setEncodeRDFTriples(boolean value) {
+        // do not make copies if setting the same value
+        if (value == encodeRDFTriples) {
+            return this;
+        }
+        OWLOntologyLoaderConfiguration copy = copyConfiguration();
+        copy.encodeRDFTriples = value;
+        return copy;
+    }
+
+    /**
+     * @param value
+     *        true if ontologies being loaded should build their axiom indexes
+     *        in one pass once parsing is complete
+     * @return a copy of the current object with bulkLoad set to the new value.
+     */
+    public OWLOntologyLoaderConfiguration setBulkLoad(boolean value) {
+        // do not make copies if setting the same value
+        if (value == bulkLoad) {
+            return this;
+        }
+        OWLOntologyLoaderConfiguration copy = copyConfiguration();
+        copy.bulkLoad = value;
+        return copy;
+    }
+
     /**
      * @param strict
      *        new value for strict
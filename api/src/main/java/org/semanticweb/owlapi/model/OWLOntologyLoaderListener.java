@@ -108,11 +108,31 @@ public interface OWLOntologyLoaderListener extends Serializable {
     class LoadingFinishedEvent extends LoadingEvent {
 
         private final Exception ex;
+        private final long parseTime;
 
         public LoadingFinishedEvent(OWLOntologyID ontologyID, IRI documentIRI, boolean imported,
                 @Nullable Exception ex) {
+            this(ontologyID, documentIRI, imported, ex, -1);
+        }
+
+        /**
+         * @param ontologyID
+         *        the id of the ontology
+         * @param documentIRI
+         *        the document IRI
+         * @param imported
+         *        true if the ontology was loaded as an import
+         * @param ex
+         *        exception, if the ontology was not loaded successfully
+         * @param parseTime
+         *        time spent parsing the document, in nanoseconds, excluding
+         *        the time spent loading its imports; -1 if not known
+         */
+        public LoadingFinishedEvent(OWLOntologyID ontologyID, IRI documentIRI, boolean imported,
+                @Nullable Exception ex, long parseTime) {
             super(ontologyID, documentIRI, imported);
             this.ex = ex;
+            this.parseTime = parseTime;
         }
 
         /**
@@ -140,5 +160,16 @@ public interface OWLOntologyLoaderListener extends Serializable {
         public Exception getException() {
             return ex;
         }
+
+        /**
+         * @return time spent parsing the document, in nanoseconds, excluding
+         *         the time spent loading its imports; -1 if the document was
+         *         not parsed or the time is not known. Documents parsed
+         *         concurrently report the time spent by the thread that
+         *         parsed them.
+         */
+        public long getParseTime() {
+            return parseTime;
+        }
     }
 }
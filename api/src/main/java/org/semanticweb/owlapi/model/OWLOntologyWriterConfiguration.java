@@ -29,6 +29,7 @@ public class OWLOntologyWriterConfiguration implements Serializable {
     private boolean labelsAsBanner = false;
     private boolean bannersEnabled = true;
     private int indentSize = 4;
+    private int renderingThreads = 1;
 
     private OWLOntologyWriterConfiguration copy() {
         OWLOntologyWriterConfiguration toReturn = new OWLOntologyWriterConfiguration();
@@ -37,6 +38,7 @@ public class OWLOntologyWriterConfiguration implements Serializable {
         toReturn.useNamespaceEntities = useNamespaceEntities;
         toReturn.remapIds = remapIds;
         toReturn.saveIds = saveIds;
+        toReturn.renderingThreads = renderingThreads;
         return toReturn;
     }
 
@@ -81,6 +83,13 @@ public class OWLOntologyWriterConfiguration implements Serializable {
         return indentSize;
     }
 
+    /**
+     * @return number of threads to use for rendering entity frames
+     */
+    public int getRenderingThreads() {
+        return renderingThreads;
+    }
+
     /**
      * @return true if labels should be used for banner comments
      */
@@ -186,4 +195,18 @@ public class OWLOntologyWriterConfiguration implements Serializable {
         copy.labelsAsBanner = label;
         return copy;
     }
+
+    /**
+     * @param threads
+     *        number of threads to use for rendering entity frames
+     * @return new config object
+     */
+    public OWLOntologyWriterConfiguration withRenderingThreads(int threads) {
+        if (renderingThreads == threads) {
+            return this;
+        }
+        OWLOntologyWriterConfiguration copy = copy();
+        copy.renderingThreads = threads;
+        return copy;
+    }
 }
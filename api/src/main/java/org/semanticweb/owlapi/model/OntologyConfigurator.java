@@ -262,6 +262,86 @@ public class OntologyConfigurator implements Serializable {
         return RETRIES_TO_ATTEMPT.getValue(Integer.class, overrides).intValue();
     }
 
+    /**
+     * @param threads
+     *        number of threads to use for parsing
+     * @return copy of this configuration with modified number of parsing
+     *         threads.
+     */
+    public OntologyConfigurator setParsingThreads(int threads) {
+        overrides.put(PARSING_THREADS, Integer.valueOf(threads));
+        return this;
+    }
+
+    /** @return number of threads to use for parsing */
+    public int getParsingThreads() {
+        return PARSING_THREADS.getValue(Integer.class, overrides).intValue();
+    }
+
+    /**
+     * @param threads
+     *        number of threads to use for parsing the documents in the imports
+     *        closure of an ontology
+     * @return An {@code OntologyConfigurator} with the new option set.
+     */
+    public OntologyConfigurator setImportsLoadingThreads(int threads) {
+        overrides.put(IMPORTS_LOADING_THREADS, Integer.valueOf(threads));
+        return this;
+    }
+
+    /** @return number of threads to use for parsing imported documents */
+    public int getImportsLoadingThreads() {
+        return IMPORTS_LOADING_THREADS.getValue(Integer.class, overrides).intValue();
+    }
+
+    /**
+     * @param value
+     *        true if RDF triples should be translated as soon as the types of
+     *        their subject, predicate and object are known
+     * @return An {@code OntologyConfigurator} with the new option set.
+     */
+    public OntologyConfigurator setStreamingRDFTranslation(boolean value) {
+        overrides.put(STREAMING_RDF_TRANSLATION, Boolean.valueOf(value));
+        return this;
+    }
+
+    /** @return true if RDF triples should be translated as soon as possible */
+    public boolean shouldTranslateRDFStreaming() {
+        return STREAMING_RDF_TRANSLATION.getValue(Boolean.class, overrides).booleanValue();
+    }
+
+    /**
+     * @param value
+     *        true if RDF triples waiting for translation should be stored as
+     *        integer ids
+     * @return An {@code OntologyConfigurator} with the new option set.
+     */
+    public OntologyConfigurator setEncodeRDFTriples(boolean value) {
+        overrides.put(ENCODE_RDF_TRIPLES, Boolean.valueOf(value));
+        return this;
+    }
+
+    /** @return true if RDF triples should be stored as integer ids */
+    public boolean shouldEncodeRDFTriples() {
+        return ENCODE_RDF_TRIPLES.getValue(Boolean.class, overrides).booleanValue();
+    }
+
+    /**
+     * @param value
+     *        true if ontologies being loaded should build their axiom indexes
+     *        in one pass once parsing is complete
+     * @return An {@code OntologyConfigurator} with the new option set.
+     */
+    public OntologyConfigurator setBulkLoad(boolean value) {
+        overrides.put(BULK_LOAD, Boolean.valueOf(value));
+        return this;
+    }
+
+    /** @return true if ontologies being loaded should be indexed in one pass */
+    public boolean shouldBulkLoad() {
+        return BULK_LOAD.getValue(Boolean.class, overrides).booleanValue();
+    }
+
     /**
      * @param strict
      *        new value for strict
@@ -303,7 +383,9 @@ public class OntologyConfigurator implements Serializable {
             .setLoadAnnotationAxioms(shouldLoadAnnotations()).setMissingImportHandlingStrategy(
                 getMissingImportHandlingStrategy()).setMissingOntologyHeaderStrategy(getMissingOntologyHeaderStrategy())
             .setPriorityCollectionSorting(getPriorityCollectionSorting()).setReportStackTraces(
-                shouldReportStackTraces()).setRetriesToAttempt(getRetriesToAttempt()).setStrict(
+                shouldReportStackTraces()).setRetriesToAttempt(getRetriesToAttempt()).setParsingThreads(
+                    getParsingThreads()).setImportsLoadingThreads(getImportsLoadingThreads()).setStreamingRDFTranslation(shouldTranslateRDFStreaming())
+            .setEncodeRDFTriples(shouldEncodeRDFTriples()).setBulkLoad(shouldBulkLoad()).setStrict(
                     shouldParseWithStrictConfiguration()).setTreatDublinCoreAsBuiltIn(shouldTreatDublinCoreAsBuiltin())
             .setBannedParsers(getBannedParsers());
     }
@@ -416,6 +498,21 @@ public class OntologyConfigurator implements Serializable {
         return BANNERS_ENABLED.getValue(Boolean.class, overrides).booleanValue();
     }
 
+    /**
+     * @param threads
+     *        number of threads to use for rendering entity frames
+     * @return new config object
+     */
+    public OntologyConfigurator withRenderingThreads(int threads) {
+        overrides.put(RENDERING_THREADS, Integer.valueOf(threads));
+        return this;
+    }
+
+    /** @return number of threads to use for rendering entity frames */
+    public int getRenderingThreads() {
+        return RENDERING_THREADS.getValue(Integer.class, overrides).intValue();
+    }
+
     /**
      * @return a new OWLOntologyWriterConfiguration from the builder current
      *         settings
@@ -424,6 +521,7 @@ public class OntologyConfigurator implements Serializable {
         return new OWLOntologyWriterConfiguration().withIndenting(shouldIndent()).withIndentSize(getIndentSize())
             .withLabelsAsBanner(shouldUseLabelsAsBanner()).withRemapAllAnonymousIndividualsIds(shouldRemapIds())
             .withSaveIdsForAllAnonymousIndividuals(shouldSaveIds()).withUseNamespaceEntities(
-                shouldUseNamespaceEntities()).withBannersEnabled(shouldUseBanners());
+                shouldUseNamespaceEntities()).withBannersEnabled(shouldUseBanners()).withRenderingThreads(
+                    getRenderingThreads());
     }
 }
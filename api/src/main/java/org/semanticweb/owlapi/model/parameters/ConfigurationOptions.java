@@ -49,6 +49,30 @@ public enum ConfigurationOptions {
      * ontology form a remote URL. 
      * Defaults to 5. */
     RETRIES_TO_ATTEMPT                  (Integer.valueOf(5)),
+    /** Number of threads 
+     * to use for parsing. 
+     * Defaults to 1. */
+    PARSING_THREADS                     (Integer.valueOf(1)),
+    /** Number of threads 
+     * to use for parsing 
+     * imported documents. 
+     * Defaults to 1. */
+    IMPORTS_LOADING_THREADS             (Integer.valueOf(1)),
+    /** True if RDF triples 
+     * should be translated as 
+     * soon as their types are 
+     * known. */
+    STREAMING_RDF_TRANSLATION           (Boolean.FALSE),
+    /** True if RDF triples 
+     * waiting for translation 
+     * should be stored as 
+     * integer ids. */
+    ENCODE_RDF_TRIPLES                  (Boolean.FALSE),
+    /** True if ontologies 
+     * being loaded should 
+     * build their indexes 
+     * in one pass at the end. */
+    BULK_LOAD                           (Boolean.TRUE),
     /** True if strict parsing 
      * should be used. */
     PARSE_WITH_STRICT_CONFIGURATION     (Boolean.FALSE),
@@ -89,6 +113,11 @@ public enum ConfigurationOptions {
      * sections and entity comments 
      * should be outputted. */
     BANNERS_ENABLED                     (Boolean.FALSE),
+    /** Number of threads 
+     * to use for rendering 
+     * entity frames. 
+     * Defaults to 1. */
+    RENDERING_THREADS                   (Integer.valueOf(1)),
     /** List of banned 
      * parsers keys. */
     BANNED_PARSERS                      ("");
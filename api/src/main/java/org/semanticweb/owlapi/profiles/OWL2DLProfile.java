@@ -20,6 +20,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 import javax.annotation.Nonnull;
@@ -65,36 +66,34 @@ public class OWL2DLProfile implements OWLProfile {
      */
     @Override
     public OWLProfileReport checkOntology(OWLOntology ontology) {
-        OWL2Profile owl2Profile = new OWL2Profile();
-        OWLProfileReport report = owl2Profile.checkOntology(ontology);
-        Set<OWLProfileViolation> violations = new LinkedHashSet<>();
-        if (!report.isInProfile()) {
-            // We won't be in the OWL 2 DL Profile then!
-            violations.addAll(report.getViolations());
-        }
-        OWLOntologyProfileWalker walker = new OWLOntologyProfileWalker(ontology.importsClosure());
-        OWL2DLProfileObjectVisitor visitor = new OWL2DLProfileObjectVisitor(walker);
-        walker.walkStructure(visitor);
-        violations.addAll(visitor.getProfileViolations());
-        return new OWLProfileReport(this, violations);
+        return new OWLProfileChecker(ontology, this).checkOntology(1).get(this);
     }
 
-    private static class OWL2DLProfileObjectVisitor extends OWLOntologyWalkerVisitor {
+    ProfileVisitor visitor(OWLOntologyWalker walker,
+        Function<OWLOntology, OWLObjectPropertyManager> propertyManagers) {
+        return new OWL2DLProfileObjectVisitor(walker, propertyManagers);
+    }
+
+    private static class OWL2DLProfileObjectVisitor extends OWLOntologyWalkerVisitor implements ProfileVisitor {
 
+        private final Function<OWLOntology, OWLObjectPropertyManager> propertyManagers;
         private OWLObjectPropertyManager objectPropertyManager = null;
         @Nonnull private final Set<OWLProfileViolation> profileViolations = new HashSet<>();
 
-        OWL2DLProfileObjectVisitor(OWLOntologyWalker walker) {
+        OWL2DLProfileObjectVisitor(OWLOntologyWalker walker,
+            Function<OWLOntology, OWLObjectPropertyManager> propertyManagers) {
             super(walker);
+            this.propertyManagers = propertyManagers;
         }
 
+        @Override
         public Set<OWLProfileViolation> getProfileViolations() {
             return new HashSet<>(profileViolations);
         }
 
         private OWLObjectPropertyManager getPropertyManager() {
             if (objectPropertyManager == null) {
-                objectPropertyManager = new OWLObjectPropertyManager(getCurrentOntology());
+                objectPropertyManager = propertyManagers.apply(getCurrentOntology());
             }
             return objectPropertyManager;
         }
@@ -18,6 +18,7 @@ import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asUnorderedSet;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Function;
 
 import javax.annotation.Nonnull;
 
@@ -49,33 +50,42 @@ public class OWL2ELProfile implements OWLProfile {
 
     @Override
     public OWLProfileReport checkOntology(OWLOntology ontology) {
-        OWL2DLProfile profile = new OWL2DLProfile();
-        OWLProfileReport report = profile.checkOntology(ontology);
-        Set<OWLProfileViolation> violations = new HashSet<>();
-        violations.addAll(report.getViolations());
-        OWLOntologyProfileWalker ontologyWalker = new OWLOntologyProfileWalker(ontology.importsClosure());
-        OWL2ELProfileObjectVisitor visitor = new OWL2ELProfileObjectVisitor(ontologyWalker);
-        ontologyWalker.walkStructure(visitor);
-        violations.addAll(visitor.getProfileViolations());
-        return new OWLProfileReport(this, violations);
+        return new OWLProfileChecker(ontology, this).checkOntology(1).get(this);
     }
 
-    protected class OWL2ELProfileObjectVisitor extends OWLOntologyWalkerVisitor {
+    ProfileVisitor visitor(OWLOntologyWalker walker,
+        Function<OWLOntology, OWLObjectPropertyManager> propertyManagers) {
+        return new OWL2ELProfileObjectVisitor(walker, propertyManagers);
+    }
+
+    protected class OWL2ELProfileObjectVisitor extends OWLOntologyWalkerVisitor implements ProfileVisitor {
 
+        private final Function<OWLOntology, OWLObjectPropertyManager> propertyManagers;
         private OWLObjectPropertyManager propertyManager;
         @Nonnull private final Set<OWLProfileViolation> profileViolations = new HashSet<>();
 
+        /**
+         * @param walker
+         *        the walker
+         */
         public OWL2ELProfileObjectVisitor(OWLOntologyWalker walker) {
+            this(walker, OWLObjectPropertyManager::new);
+        }
+
+        OWL2ELProfileObjectVisitor(OWLOntologyWalker walker,
+            Function<OWLOntology, OWLObjectPropertyManager> propertyManagers) {
             super(walker);
+            this.propertyManagers = propertyManagers;
         }
 
+        @Override
         public Set<OWLProfileViolation> getProfileViolations() {
             return new HashSet<>(profileViolations);
         }
 
         private OWLObjectPropertyManager getPropertyManager() {
             if (propertyManager == null) {
-                propertyManager = new OWLObjectPropertyManager(getCurrentOntology());
+                propertyManager = propertyManagers.apply(getCurrentOntology());
             }
             return propertyManager;
         }
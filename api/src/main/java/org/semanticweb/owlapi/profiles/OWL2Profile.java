@@ -17,11 +17,13 @@ import static org.semanticweb.owlapi.model.parameters.Imports.INCLUDED;
 import java.util.HashSet;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 
 import javax.annotation.Nonnull;
 
 import org.semanticweb.owlapi.model.*;
 import org.semanticweb.owlapi.profiles.violations.*;
+import org.semanticweb.owlapi.util.OWLObjectPropertyManager;
 import org.semanticweb.owlapi.util.OWLOntologyWalker;
 import org.semanticweb.owlapi.util.OWLOntologyWalkerVisitor;
 import org.semanticweb.owlapi.vocab.OWL2Datatype;
@@ -58,14 +60,15 @@ public class OWL2Profile implements OWLProfile {
      */
     @Override
     public OWLProfileReport checkOntology(OWLOntology ontology) {
-        OWLOntologyProfileWalker walker = new OWLOntologyProfileWalker(ontology.importsClosure());
-        OWL2ProfileObjectWalker visitor = new OWL2ProfileObjectWalker(walker);
-        walker.walkStructure(visitor);
-        Set<OWLProfileViolation> pv = visitor.getProfileViolations();
-        return new OWLProfileReport(this, pv);
+        return new OWLProfileChecker(ontology, this).checkOntology(1).get(this);
     }
 
-    private static class OWL2ProfileObjectWalker extends OWLOntologyWalkerVisitor {
+    ProfileVisitor visitor(OWLOntologyWalker walker,
+        Function<OWLOntology, OWLObjectPropertyManager> propertyManagers) {
+        return new OWL2ProfileObjectWalker(walker);
+    }
+
+    private static class OWL2ProfileObjectWalker extends OWLOntologyWalkerVisitor implements ProfileVisitor {
 
         @Nonnull private final Set<OWLProfileViolation> profileViolations = new HashSet<>();
 
@@ -73,6 +76,7 @@ public class OWL2Profile implements OWLProfile {
             super(walker);
         }
 
+        @Override
         public Set<OWLProfileViolation> getProfileViolations() {
             return new HashSet<>(profileViolations);
         }
@@ -16,11 +16,13 @@ import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asUnorderedSet;
 
 import java.util.HashSet;
 import java.util.Set;
+import java.util.function.Function;
 
 import javax.annotation.Nonnull;
 
 import org.semanticweb.owlapi.model.*;
 import org.semanticweb.owlapi.profiles.violations.*;
+import org.semanticweb.owlapi.util.OWLObjectPropertyManager;
 import org.semanticweb.owlapi.util.OWLOntologyWalker;
 import org.semanticweb.owlapi.util.OWLOntologyWalkerVisitor;
 import org.semanticweb.owlapi.vocab.OWL2Datatype;
@@ -62,18 +64,15 @@ public class OWL2QLProfile implements OWLProfile {
      */
     @Override
     public OWLProfileReport checkOntology(OWLOntology ontology) {
-        OWL2DLProfile profile = new OWL2DLProfile();
-        OWLProfileReport report = profile.checkOntology(ontology);
-        Set<OWLProfileViolation> violations = new HashSet<>();
-        violations.addAll(report.getViolations());
-        OWLOntologyProfileWalker walker = new OWLOntologyProfileWalker(ontology.importsClosure());
-        OWL2QLObjectVisitor visitor = new OWL2QLObjectVisitor(walker);
-        walker.walkStructure(visitor);
-        violations.addAll(visitor.getProfileViolations());
-        return new OWLProfileReport(this, violations);
+        return new OWLProfileChecker(ontology, this).checkOntology(1).get(this);
     }
 
-    private class OWL2QLObjectVisitor extends OWLOntologyWalkerVisitor {
+    ProfileVisitor visitor(OWLOntologyWalker walker,
+        Function<OWLOntology, OWLObjectPropertyManager> propertyManagers) {
+        return new OWL2QLObjectVisitor(walker);
+    }
+
+    private class OWL2QLObjectVisitor extends OWLOntologyWalkerVisitor implements ProfileVisitor {
 
         @Nonnull private final Set<OWLProfileViolation> violations = new HashSet<>();
 
@@ -81,6 +80,7 @@ public class OWL2QLProfile implements OWLProfile {
             super(walker);
         }
 
+        @Override
         public Set<OWLProfileViolation> getProfileViolations() {
             return new HashSet<>(violations);
         }
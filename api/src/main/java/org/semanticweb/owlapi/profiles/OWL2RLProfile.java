@@ -16,6 +16,7 @@ import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asUnorderedSet;
 
 import java.util.HashSet;
 import java.util.Set;
+import java.util.function.Function;
 
 import javax.annotation.Nonnull;
 
@@ -25,6 +26,7 @@ import org.semanticweb.owlapi.profiles.violations.UseOfIllegalDataRange;
 import org.semanticweb.owlapi.profiles.violations.UseOfNonEquivalentClassExpression;
 import org.semanticweb.owlapi.profiles.violations.UseOfNonSubClassExpression;
 import org.semanticweb.owlapi.profiles.violations.UseOfNonSuperClassExpression;
+import org.semanticweb.owlapi.util.OWLObjectPropertyManager;
 import org.semanticweb.owlapi.util.OWLOntologyWalker;
 import org.semanticweb.owlapi.util.OWLOntologyWalkerVisitor;
 import org.semanticweb.owlapi.vocab.OWL2Datatype;
@@ -67,18 +69,15 @@ public class OWL2RLProfile implements OWLProfile {
      */
     @Override
     public OWLProfileReport checkOntology(OWLOntology ontology) {
-        OWL2DLProfile profile = new OWL2DLProfile();
-        OWLProfileReport report = profile.checkOntology(ontology);
-        Set<OWLProfileViolation> violations = new HashSet<>();
-        violations.addAll(report.getViolations());
-        OWLOntologyProfileWalker walker = new OWLOntologyProfileWalker(ontology.importsClosure());
-        OWL2RLObjectVisitor visitor = new OWL2RLObjectVisitor(walker);
-        walker.walkStructure(visitor);
-        violations.addAll(visitor.getProfileViolations());
-        return new OWLProfileReport(this, violations);
+        return new OWLProfileChecker(ontology, this).checkOntology(1).get(this);
     }
 
-    private class OWL2RLObjectVisitor extends OWLOntologyWalkerVisitor {
+    ProfileVisitor visitor(OWLOntologyWalker walker,
+        Function<OWLOntology, OWLObjectPropertyManager> propertyManagers) {
+        return new OWL2RLObjectVisitor(walker);
+    }
+
+    private class OWL2RLObjectVisitor extends OWLOntologyWalkerVisitor implements ProfileVisitor {
 
         private final Set<OWLProfileViolation> violations = new HashSet<>();
 
@@ -86,6 +85,7 @@ public class OWL2RLProfile implements OWLProfile {
             super(walker);
         }
 
+        @Override
         public Set<OWLProfileViolation> getProfileViolations() {
             return new HashSet<>(violations);
         }
@@ -19,7 +19,9 @@ import java.util.stream.Stream;
 
 import org.semanticweb.owlapi.model.OWLAnnotation;
 import org.semanticweb.owlapi.model.OWLAnnotationAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLDeclarationAxiom;
+import org.semanticweb.owlapi.model.OWLObjectVisitor;
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.util.OWLObjectWalker;
 import org.semanticweb.owlapi.util.OWLOntologyWalker;
@@ -33,12 +35,18 @@ import org.semanticweb.owlapi.util.StructureWalker;
  */
 public class OWLOntologyProfileWalker extends OWLOntologyWalker {
 
+    private final ProfileWalker profileWalker;
+
     class ProfileWalker extends StructureWalker<OWLOntology> {
 
         ProfileWalker(OWLObjectWalker<OWLOntology> owlObjectWalker) {
             super(owlObjectWalker);
         }
 
+        void walkHeader(OWLOntology o) {
+            process(o);
+        }
+
         @Override
         public void visit(OWLAnnotationAssertionAxiom axiom) {
             process(axiom);
@@ -82,6 +90,40 @@ public class OWLOntologyProfileWalker extends OWLOntologyWalker {
      */
     public OWLOntologyProfileWalker(Collection<OWLOntology> objects) {
         super(objects);
-        setStructureWalker(new ProfileWalker(this));
+        profileWalker = new ProfileWalker(this);
+        setStructureWalker(profileWalker);
+    }
+
+    /**
+     * Visit an ontology and its annotations, without walking its axioms.
+     *
+     * @param o
+     *        ontology to visit
+     * @param v
+     *        visitor
+     */
+    void walkOntologyHeader(OWLOntology o, OWLObjectVisitor v) {
+        setVisitor(v);
+        ontology = o;
+        setAxiom(null);
+        profileWalker.walkHeader(o);
+    }
+
+    /**
+     * Walk some of the axioms of an ontology, as if the whole ontology was
+     * being walked.
+     *
+     * @param o
+     *        ontology containing the axioms
+     * @param axioms
+     *        axioms to walk
+     * @param v
+     *        visitor
+     */
+    void walkAxioms(OWLOntology o, Collection<? extends OWLAxiom> axioms, OWLObjectVisitor v) {
+        setVisitor(v);
+        ontology = o;
+        setAxiom(null);
+        axioms.forEach(ax -> ax.accept(profileWalker));
     }
 }
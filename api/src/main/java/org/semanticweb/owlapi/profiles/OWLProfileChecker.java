@@ -0,0 +1,360 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.profiles;
+
+import static org.semanticweb.owlapi.model.parameters.Imports.INCLUDED;
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.EntityType;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.model.OWLObjectVisitor;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyChange;
+import org.semanticweb.owlapi.model.OWLRuntimeException;
+import org.semanticweb.owlapi.util.OWLObjectPropertyManager;
+import org.semanticweb.owlapi.util.OWLOntologyWalker;
+
+/**
+ * Checks an ontology and its imports closure against several profiles at once.
+ * The OWL 2, OWL 2 DL, EL, QL and RL profiles are checked in a single walk of
+ * the imports closure, which can be split across threads: most violations only
+ * depend on the axiom being walked, and the checks that depend on the whole
+ * closure, such as the property hierarchy used for simple properties and
+ * property chain regularity, are computed once and shared by all threads.
+ * Other profiles are checked with {@link OWLProfile#checkOntology(OWLOntology)}.
+ * <p>
+ * After a first check, {@link #checkChanges(List)} checks again only the axioms
+ * touched by a list of changes, and the axioms sharing IRIs with them; changes
+ * to the property hierarchy, to datatype definitions or to the imports closure
+ * cause the whole closure to be checked again.
+ * <p>
+ * A checker is not thread safe; the ontologies must not change while a check
+ * is in progress.
+ *
+ * @author ignazio
+ * @since 5.0.5
+ */
+public class OWLProfileChecker {
+
+    /** axiom types whose changes can affect the violations of any axiom */
+    private static final Set<AxiomType<?>> GLOBAL_AXIOM_TYPES = new HashSet<>(Arrays.asList(
+        AxiomType.SUB_OBJECT_PROPERTY, AxiomType.EQUIVALENT_OBJECT_PROPERTIES, AxiomType.INVERSE_OBJECT_PROPERTIES,
+        AxiomType.SYMMETRIC_OBJECT_PROPERTY, AxiomType.TRANSITIVE_OBJECT_PROPERTY, AxiomType.SUB_PROPERTY_CHAIN_OF,
+        AxiomType.OBJECT_PROPERTY_RANGE, AxiomType.DATATYPE_DEFINITION));
+    /** smallest number of axioms worth a separate task */
+    private static final int MIN_CHUNK = 256;
+    private final OWLOntology ontology;
+    /** checks to run for each profile; empty for profiles checked on their own */
+    private final Map<OWLProfile, Set<Check>> profiles = new LinkedHashMap<>();
+    private final Set<Check> checks = EnumSet.noneOf(Check.class);
+    private final Map<Check, List<OWLProfileViolation>> violations = new EnumMap<>(Check.class);
+    /** the imports closure at the time of the last check */
+    private List<OWLOntology> members = Collections.emptyList();
+    private int threads = 1;
+    private boolean checked = false;
+
+    /**
+     * @param ontology
+     *        the ontology to check, together with its imports closure
+     * @param profiles
+     *        the profiles to check
+     */
+    public OWLProfileChecker(OWLOntology ontology, Collection<? extends OWLProfile> profiles) {
+        this.ontology = checkNotNull(ontology, "ontology cannot be null");
+        checkNotNull(profiles, "profiles cannot be null").forEach(p -> {
+            Set<Check> c = Check.of(p);
+            this.profiles.put(p, c);
+            checks.addAll(c);
+        });
+    }
+
+    /**
+     * @param ontology
+     *        the ontology to check, together with its imports closure
+     * @param profiles
+     *        the profiles to check
+     */
+    public OWLProfileChecker(OWLOntology ontology, OWLProfile... profiles) {
+        this(ontology, Arrays.asList(profiles));
+    }
+
+    /**
+     * Check the ontology and its imports closure.
+     *
+     * @param threadCount
+     *        number of threads to use
+     * @return the report for each profile, in the order the profiles were
+     *         specified
+     */
+    public Map<OWLProfile, OWLProfileReport> checkOntology(int threadCount) {
+        threads = Math.max(1, threadCount);
+        members = asList(ontology.importsClosure());
+        violations.clear();
+        checks.forEach(c -> violations.put(c, new ArrayList<>()));
+        if (!checks.isEmpty()) {
+            PropertyManagers managers = new PropertyManagers();
+            int total = members.stream().mapToInt(OWLOntology::getAxiomCount).sum();
+            int chunk = Math.max(MIN_CHUNK, total / (threads * 4) + 1);
+            List<Callable<Map<Check, Set<OWLProfileViolation>>>> tasks = new ArrayList<>();
+            for (OWLOntology o : members) {
+                tasks.add(() -> walk(o, null, managers));
+                List<OWLAxiom> axioms = asList(o.axioms());
+                for (int i = 0; i < axioms.size(); i += chunk) {
+                    List<OWLAxiom> part = axioms.subList(i, Math.min(axioms.size(), i + chunk));
+                    tasks.add(() -> walk(o, part, managers));
+                }
+            }
+            run(tasks).forEach(m -> m.forEach((c, v) -> violations.get(c).addAll(v)));
+        }
+        checked = true;
+        return reports();
+    }
+
+    /**
+     * Check again the axioms touched by the specified changes, which must have
+     * been applied after the last check. If the ontology has not been checked
+     * yet, the whole imports closure is checked.
+     *
+     * @param changes
+     *        the changes applied since the last check
+     * @return the report for each profile, in the order the profiles were
+     *         specified
+     */
+    public Map<OWLProfile, OWLProfileReport> checkChanges(List<? extends OWLOntologyChange> changes) {
+        checkNotNull(changes, "changes cannot be null");
+        if (!checked || !members.equals(asList(ontology.importsClosure()))) {
+            return checkOntology(threads);
+        }
+        Set<OWLAxiom> touched = new HashSet<>();
+        for (OWLOntologyChange change : changes) {
+            if (!members.contains(change.getOntology())) {
+                continue;
+            }
+            if (change.isImportChange() || change.isAxiomChange() && GLOBAL_AXIOM_TYPES.contains(change.getAxiom()
+                .getAxiomType())) {
+                return checkOntology(threads);
+            }
+            if (change.isAxiomChange()) {
+                touched.add(change.getAxiom());
+            }
+        }
+        // declarations and punning depend on all the axioms using an IRI
+        OWLDataFactory df = ontology.getOWLOntologyManager().getOWLDataFactory();
+        Set<OWLAxiom> recheck = new HashSet<>(touched);
+        touched.forEach(ax -> ax.signature().forEach(e -> {
+            for (EntityType<?> type : EntityType.values()) {
+                ontology.referencingAxioms(df.getOWLEntity(type, e.getIRI()), INCLUDED).forEach(recheck::add);
+            }
+        }));
+        // ontology headers are cheap and carry no axiom; walk them again too
+        violations.values().forEach(list -> list.removeIf(v -> v.axiom == null || recheck.contains(v.axiom)));
+        if (!checks.isEmpty()) {
+            PropertyManagers managers = new PropertyManagers();
+            for (OWLOntology o : members) {
+                List<OWLAxiom> axioms = asList(recheck.stream().filter(o::containsAxiom));
+                walk(o, null, managers).forEach((c, v) -> violations.get(c).addAll(v));
+                walk(o, axioms, managers).forEach((c, v) -> violations.get(c).addAll(v));
+            }
+        }
+        return reports();
+    }
+
+    private Map<OWLProfile, OWLProfileReport> reports() {
+        Map<OWLProfile, OWLProfileReport> reports = new LinkedHashMap<>();
+        profiles.forEach((p, c) -> {
+            if (c.isEmpty()) {
+                reports.put(p, p.checkOntology(ontology));
+            } else {
+                List<OWLProfileViolation> list = new ArrayList<>();
+                c.forEach(check -> list.addAll(violations.get(check)));
+                reports.put(p, new OWLProfileReport(p, list));
+            }
+        });
+        return reports;
+    }
+
+    /**
+     * Walk an ontology header or some axioms with the visitors for all the
+     * checks.
+     *
+     * @param o
+     *        ontology being walked
+     * @param axioms
+     *        axioms to walk, or null to walk the ontology header
+     * @param managers
+     *        property managers
+     * @return violations found for each check
+     */
+    private Map<Check, Set<OWLProfileViolation>> walk(OWLOntology o, @Nullable Collection<OWLAxiom> axioms,
+        PropertyManagers managers) {
+        OWLOntologyProfileWalker walker = new OWLOntologyProfileWalker(Collections.<OWLOntology> emptyList());
+        Map<Check, ProfileVisitor> visitors = new EnumMap<>(Check.class);
+        // the DL checks use the property hierarchy of the checked ontology,
+        // the EL checks the one of the ontology being walked
+        Function<OWLOntology, OWLObjectPropertyManager> root = x -> managers.get(ontology);
+        checks.forEach(c -> visitors.put(c, c.profile.visitor(walker, c == Check.DL ? root : managers::get)));
+        Dispatcher dispatcher = new Dispatcher(visitors.values());
+        if (axioms == null) {
+            walker.walkOntologyHeader(o, dispatcher);
+        } else {
+            walker.walkAxioms(o, axioms, dispatcher);
+        }
+        Map<Check, Set<OWLProfileViolation>> found = new EnumMap<>(Check.class);
+        visitors.forEach((c, v) -> found.put(c, v.getProfileViolations()));
+        return found;
+    }
+
+    private <T> List<T> run(List<Callable<T>> tasks) {
+        List<T> results = new ArrayList<>(tasks.size());
+        if (threads == 1 || tasks.size() == 1) {
+            try {
+                for (Callable<T> task : tasks) {
+                    results.add(task.call());
+                }
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new OWLRuntimeException(e);
+            }
+            return results;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<T>> futures = new ArrayList<>(tasks.size());
+            for (Callable<T> task : tasks) {
+                futures.add(executor.submit(task));
+            }
+            for (Future<T> f : futures) {
+                results.add(f.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OWLRuntimeException(e);
+        } catch (ExecutionException e) {
+            throw new OWLRuntimeException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /** The profiles whose visitors can share a walk. */
+    private enum Check {
+        //@formatter:off
+        FULL    (new OWL2Profile()::visitor),
+        DL      (new OWL2DLProfile()::visitor),
+        EL      (new OWL2ELProfile()::visitor),
+        QL      (new OWL2QLProfile()::visitor),
+        RL      (new OWL2RLProfile()::visitor);
+        //@formatter:on
+        final Profile profile;
+
+        Check(Profile profile) {
+            this.profile = profile;
+        }
+
+        /**
+         * @param p
+         *        profile
+         * @return the checks whose violations make up the report of the
+         *         profile; each profile includes the OWL 2 DL checks, which
+         *         include the OWL 2 checks
+         */
+        static Set<Check> of(OWLProfile p) {
+            OWLProfile profile = p instanceof Profiles ? ((Profiles) p).getOWLProfile() : p;
+            if (profile instanceof OWL2Profile) {
+                return EnumSet.of(FULL);
+            }
+            if (profile instanceof OWL2DLProfile) {
+                return EnumSet.of(FULL, DL);
+            }
+            if (profile instanceof OWL2ELProfile) {
+                return EnumSet.of(FULL, DL, EL);
+            }
+            if (profile instanceof OWL2QLProfile) {
+                return EnumSet.of(FULL, DL, QL);
+            }
+            if (profile instanceof OWL2RLProfile) {
+                return EnumSet.of(FULL, DL, RL);
+            }
+            return EnumSet.noneOf(Check.class);
+        }
+    }
+
+    /** Factory for the visitor of a profile. */
+    private interface Profile {
+
+        ProfileVisitor visitor(OWLOntologyWalker walker,
+            Function<OWLOntology, OWLObjectPropertyManager> propertyManagers);
+    }
+
+    /** Property managers, fully computed so that threads can share them. */
+    private static class PropertyManagers {
+
+        private final Map<OWLOntology, OWLObjectPropertyManager> managers = new ConcurrentHashMap<>();
+
+        OWLObjectPropertyManager get(OWLOntology o) {
+            return managers.computeIfAbsent(o, PropertyManagers::prepare);
+        }
+
+        private static OWLObjectPropertyManager prepare(OWLOntology o) {
+            OWLObjectPropertyManager manager = new OWLObjectPropertyManager(o);
+            // computes composite properties and the hierarchy closure as well
+            manager.getNonSimpleProperties();
+            manager.getPropertyPartialOrdering();
+            return manager;
+        }
+    }
+
+    /** Passes each walked object to several visitors. */
+    private static class Dispatcher implements OWLObjectVisitor {
+
+        private final Collection<? extends OWLObjectVisitor> visitors;
+
+        Dispatcher(Collection<? extends OWLObjectVisitor> visitors) {
+            this.visitors = visitors;
+        }
+
+        @Override
+        public void doDefault(Object object) {
+            // the walker only passes OWL objects to its visitor
+            OWLObject o = (OWLObject) object;
+            visitors.forEach(v -> o.accept(v));
+        }
+    }
+}
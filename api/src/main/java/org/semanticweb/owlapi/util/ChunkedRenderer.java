@@ -0,0 +1,129 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.util;
+
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.semanticweb.owlapi.model.OWLRuntimeException;
+
+/**
+ * Renders a sequence of objects, such as the sorted entities of an ontology, on
+ * a thread pool. The sequence is split into contiguous chunks; each chunk is
+ * rendered into its own buffer by a renderer created for that chunk, so
+ * renderers need not be thread safe. The buffers are handed back in sequence
+ * order on the calling thread; if rendering an object does not depend on the
+ * objects rendered before it, their concatenation is what a single renderer
+ * would have written. At most two chunks per thread are buffered at any time.
+ *
+ * @author ignazio
+ * @since 5.0.5
+ * @param <T>
+ *        type of the rendered objects
+ */
+public class ChunkedRenderer<T> {
+
+    /** Default number of objects in a chunk. */
+    public static final int DEFAULT_CHUNK_SIZE = 1024;
+    private final int threads;
+    private final int chunkSize;
+
+    /**
+     * @param threads
+     *        number of rendering threads
+     */
+    public ChunkedRenderer(int threads) {
+        this(threads, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * @param threads
+     *        number of rendering threads
+     * @param chunkSize
+     *        number of objects in a chunk
+     */
+    public ChunkedRenderer(int threads, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunk size must be positive: " + chunkSize);
+        }
+        this.threads = Math.max(1, threads);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * @param objects
+     *        objects to render, in output order
+     * @param renderers
+     *        creates the renderer for a chunk; the renderer writes each object
+     *        it accepts to the given writer
+     * @param output
+     *        receives the rendering of each chunk, in order
+     */
+    public void render(Iterable<? extends T> objects, Function<Writer, Consumer<T>> renderers,
+        Consumer<String> output) {
+        Iterator<? extends T> iterator = objects.iterator();
+        if (threads == 1) {
+            while (iterator.hasNext()) {
+                output.accept(render(nextChunk(iterator), renderers));
+            }
+            return;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        Deque<Future<String>> pending = new ArrayDeque<>();
+        try {
+            while (iterator.hasNext() || !pending.isEmpty()) {
+                while (iterator.hasNext() && pending.size() < 2 * threads) {
+                    List<T> chunk = nextChunk(iterator);
+                    pending.add(executor.submit(() -> render(chunk, renderers)));
+                }
+                output.accept(pending.poll().get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OWLRuntimeException(e);
+        } catch (ExecutionException e) {
+            // same exceptions as a sequential rendering
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new OWLRuntimeException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<T> nextChunk(Iterator<? extends T> iterator) {
+        List<T> chunk = new ArrayList<>(chunkSize);
+        while (iterator.hasNext() && chunk.size() < chunkSize) {
+            chunk.add(iterator.next());
+        }
+        return chunk;
+    }
+
+    private static <T> String render(List<T> chunk, Function<Writer, Consumer<T>> renderers) {
+        StringWriter buffer = new StringWriter();
+        chunk.forEach(renderers.apply(buffer));
+        return buffer.toString();
+    }
+}
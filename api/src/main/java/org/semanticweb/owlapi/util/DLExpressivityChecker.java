@@ -60,7 +60,36 @@ public class DLExpressivityChecker implements OWLObjectVisitor {
         return Joiner.on("").join(getOrderedConstructs());
     }
 
-    private void pruneConstructs() {
+    /**
+     * @param axiom
+     *        axiom to check
+     * @return the constructs used by the axiom, before the simplifications
+     *         applied to the constructs of a whole ontology; non logical axioms
+     *         use no constructs
+     */
+    public Set<Construct> getConstructs(OWLAxiom axiom) {
+        constructs.clear();
+        if (axiom.isLogicalAxiom()) {
+            axiom.accept(this);
+        }
+        return constructs.isEmpty() ? EnumSet.noneOf(Construct.class) : EnumSet.copyOf(constructs);
+    }
+
+    /**
+     * @param used
+     *        the constructs used by the logical axioms of some ontologies, as
+     *        returned by {@link #getConstructs(OWLAxiom)}
+     * @return the DL name for the constructs, as returned by
+     *         {@link #getDescriptionLogicName()} for the same ontologies
+     */
+    public static String getDescriptionLogicName(Collection<Construct> used) {
+        Set<Construct> set = new HashSet<>(used);
+        set.add(AL);
+        pruneConstructs(set);
+        return Joiner.on("").join(set.stream().sorted(constructComparator).iterator());
+    }
+
+    private static void pruneConstructs(Set<Construct> constructs) {
         if (constructs.contains(AL)) {
             // AL + U + E can be represented using ALC
             if (constructs.contains(C)) {
@@ -98,7 +127,7 @@ public class DLExpressivityChecker implements OWLObjectVisitor {
         constructs.clear();
         constructs.add(AL);
         ontologies.stream().flatMap(OWLOntology::logicalAxioms).forEach(ax -> ax.accept(this));
-        pruneConstructs();
+        pruneConstructs(constructs);
         return asList(constructs.stream().sorted(constructComparator));
     }
 
@@ -1,8 +1,8 @@
 package org.semanticweb.owlapi.util;
 
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.semanticweb.owlapi.model.OWLAnonymousIndividual;
 import org.semanticweb.owlapi.model.OWLDataFactory;
@@ -14,7 +14,8 @@ import org.semanticweb.owlapi.model.providers.AnonymousIndividualByIdProvider;
 /**
  * A provider for anonymous individuals that remaps input ids consistently
  * across all requests. This class obeys the preferences set in
- * {@link OWLOntologyManager#getOntologyWriterConfiguration()}.
+ * {@link OWLOntologyManager#getOntologyWriterConfiguration()}. Instances can
+ * be shared between threads parsing parts of the same document.
  */
 public class RemappingIndividualProvider implements AnonymousIndividualByIdProvider {
 
@@ -32,7 +33,7 @@ public class RemappingIndividualProvider implements AnonymousIndividualByIdProvi
         this.df = df;
         cf = m.buildWriterConfiguration();
         if (cf.shouldRemapAllAnonymousIndividualsIds()) {
-            map = new HashMap<>();
+            map = new ConcurrentHashMap<>();
         } else {
             map = Collections.emptyMap();
         }
@@ -43,11 +44,6 @@ public class RemappingIndividualProvider implements AnonymousIndividualByIdProvi
         if (!cf.shouldRemapAllAnonymousIndividualsIds()) {
             return df.getOWLAnonymousIndividual(nodeId);
         }
-        OWLAnonymousIndividual toReturn = map.get(nodeId);
-        if (toReturn == null) {
-            toReturn = df.getOWLAnonymousIndividual();
-            map.put(nodeId, toReturn);
-        }
-        return toReturn;
+        return map.computeIfAbsent(nodeId, id -> df.getOWLAnonymousIndividual());
     }
 }
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2005, 2014, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.semanticweb.owlapi.benchmarks;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.semanticweb.owlapi.model.*;
+
+import uk.ac.manchester.cs.owl.owlapi.OWLDataFactoryImpl;
+
+/**
+ * Throughput of building axioms and adding them to a hash set, the pattern
+ * followed when loading and indexing an ontology. Every axiom is built and
+ * added twice, so that half of the insertions find an equal axiom already in
+ * the set. The {@code fields} variant uses the axioms' own hashCode and
+ * equals; the {@code components} variant wraps each axiom in a key that hashes
+ * and compares through {@code components()} streams, the way
+ * {@code OWLObjectImpl} did for all objects before field based hashing.
+ */
+@SuppressWarnings("javadoc")
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+public class AxiomSetInsertionBenchmark {
+
+    @Param({ "fields", "components" })
+    public String hashing;
+    @Param({ "100000" })
+    public int size;
+    private final OWLDataFactory df = new OWLDataFactoryImpl();
+    private OWLClass[] classes;
+    private OWLNamedIndividual[] individuals;
+    private OWLObjectProperty property;
+    private OWLAnnotationProperty label;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        classes = new OWLClass[size];
+        individuals = new OWLNamedIndividual[size];
+        for (int i = 0; i < size; i++) {
+            classes[i] = df.getOWLClass(IRI.create("http://purl.obolibrary.org/obo/", "C_" + i));
+            individuals[i] = df.getOWLNamedIndividual(IRI.create("http://purl.obolibrary.org/obo/", "I_" + i));
+        }
+        property = df.getOWLObjectProperty(IRI.create("http://purl.obolibrary.org/obo/", "part_of"));
+        label = df.getRDFSLabel();
+    }
+
+    @Benchmark
+    public void insertAxioms(Blackhole bh) {
+        Set<Object> set = new HashSet<>();
+        boolean components = "components".equals(hashing);
+        for (int copy = 0; copy < 2; copy++) {
+            for (int i = 1; i < size; i++) {
+                add(set, df.getOWLSubClassOfAxiom(classes[i], classes[i / 2]), components);
+                add(set, df.getOWLSubClassOfAxiom(classes[i], df.getOWLObjectSomeValuesFrom(property,
+                    classes[i - 1])), components);
+                add(set, df.getOWLClassAssertionAxiom(classes[i], individuals[i]), components);
+                add(set, df.getOWLAnnotationAssertionAxiom(label, classes[i].getIRI(), df.getOWLLiteral("c" + i)),
+                    components);
+            }
+        }
+        bh.consume(set.size());
+    }
+
+    private static void add(Set<Object> set, OWLAxiom axiom, boolean components) {
+        if (components) {
+            set.add(new ComponentsKey(axiom));
+        } else {
+            set.add(axiom);
+        }
+    }
+
+    /**
+     * Hashes and compares an object through its components, recursing into
+     * nested objects for equality. Hash codes of nested objects are cached by
+     * the objects in both variants, so they are not recomputed here.
+     */
+    static class ComponentsKey {
+
+        private final OWLObject object;
+        private final int hash;
+
+        ComponentsKey(OWLObject object) {
+            this.object = object;
+            hash = object.components().sequential().mapToInt(ComponentsKey::hash).reduce(object.hashIndex(),
+                (a, b) -> a * 37 + b);
+        }
+
+        private static int hash(Object o) {
+            if (o instanceof Stream) {
+                return ((Stream<?>) o).mapToInt(Object::hashCode).sum();
+            }
+            return o.hashCode();
+        }
+
+        private static boolean equal(Object o1, Object o2) {
+            if (o1 instanceof Stream && o2 instanceof Stream) {
+                return equal(((Stream<?>) o1).iterator(), ((Stream<?>) o2).iterator());
+            }
+            if (o1 == o2) {
+                return true;
+            }
+            if (o1 instanceof OWLObject && o2 instanceof OWLObject && !(o1 instanceof IRI)
+                && !(o1 instanceof OWLLiteral)) {
+                OWLObject a = (OWLObject) o1;
+                OWLObject b = (OWLObject) o2;
+                return a.typeIndex() == b.typeIndex() && equal(a.components().iterator(), b.components().iterator());
+            }
+            return o1.equals(o2);
+        }
+
+        private static boolean equal(Iterator<?> i1, Iterator<?> i2) {
+            while (i1.hasNext() && i2.hasNext()) {
+                if (!equal(i1.next(), i2.next())) {
+                    return false;
+                }
+            }
+            return i1.hasNext() == i2.hasNext();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof ComponentsKey && equal(object, ((ComponentsKey) obj).object);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2005, 2014, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.semanticweb.owlapi.benchmarks;
+
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.GZIPInputStream;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.io.FileDocumentSource;
+import org.semanticweb.owlapi.model.*;
+
+import uk.ac.manchester.cs.owl.owlapi.concurrent.ConcurrentOWLOntologyImpl;
+
+/**
+ * Read throughput of a shared ontology under concurrent queries. The
+ * {@code synchronized} variant wraps an ontology built by a non concurrent
+ * manager, so that every index lookup goes through a synchronized map pointer;
+ * the {@code concurrent} variant is built by a concurrent manager and uses lock
+ * free map pointers. Run with {@code -t 1}, {@code -t 2}, ... up to the number
+ * of cores to see how throughput scales with the number of reader threads.
+ */
+@SuppressWarnings("javadoc")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Threads(Threads.MAX)
+public class ConcurrentReadBenchmark {
+
+    @Param({ "synchronized", "concurrent" })
+    public String indexes;
+    private OWLOntology ontology;
+    private OWLClass[] classes;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, OWLOntologyCreationException {
+        File uncompressedTaxonFile = File.createTempFile("taxons", "ofn");
+        InputStream resourceAsStream = getClass().getResourceAsStream("/ncbitaxon.rdf.ofn.gz");
+        try (GZIPInputStream in = new GZIPInputStream(resourceAsStream);
+            FileOutputStream out = new FileOutputStream(uncompressedTaxonFile)) {
+            int n;
+            byte[] buf = new byte[8192];
+            while ((n = in.read(buf)) >= 0) {
+                out.write(buf, 0, n);
+            }
+            out.flush();
+        }
+        OWLOntologyLoaderConfiguration config = new OWLOntologyLoaderConfiguration().setStrict(false);
+        if ("concurrent".equals(indexes)) {
+            OWLOntologyManager manager = OWLManager.createConcurrentOWLOntologyManager();
+            ontology = manager.loadOntologyFromOntologyDocument(new FileDocumentSource(uncompressedTaxonFile),
+                config);
+        } else {
+            OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+            ontology = new ConcurrentOWLOntologyImpl(manager.loadOntologyFromOntologyDocument(new FileDocumentSource(
+                uncompressedTaxonFile), config), new ReentrantReadWriteLock());
+        }
+        uncompressedTaxonFile.delete();
+        List<OWLClass> list = asList(ontology.classesInSignature());
+        classes = list.toArray(new OWLClass[list.size()]);
+        // initialize the lazy indexes before measuring
+        ontology.subClassAxiomsForSubClass(classes[0]).count();
+        ontology.subClassAxiomsForSuperClass(classes[0]).count();
+    }
+
+    private OWLClass randomClass() {
+        return classes[ThreadLocalRandom.current().nextInt(classes.length)];
+    }
+
+    @Benchmark
+    public void subClassAxiomsForRandomClass(Blackhole bh) {
+        OWLClass c = randomClass();
+        bh.consume(ontology.subClassAxiomsForSubClass(c).count());
+        bh.consume(ontology.subClassAxiomsForSuperClass(c).count());
+    }
+
+    @Benchmark
+    public void annotationsAndDeclarationsForRandomClass(Blackhole bh) {
+        OWLClass c = randomClass();
+        bh.consume(ontology.annotationAssertionAxioms(c.getIRI()).count());
+        bh.consume(ontology.declarationAxioms(c).count());
+        bh.consume(ontology.containsClassInSignature(c.getIRI()));
+    }
+}
@@ -1,13 +1,15 @@
 package org.semanticweb.owlapi.benchmarks;
 
 import java.nio.file.FileSystems;
+import java.nio.file.Path;
 
 @SuppressWarnings("javadoc")
 public class FullGalenMemoryBenchmark {
 
     public static void main(String[] args) throws Exception {
-        MemoryBenchmark.memoryProfile(FileSystems.getDefault().getPath(
-        "/Users/ignazio/full-galen.owl"), FileSystems.getDefault().getPath(
+        Path ontologyPath = FileSystems.getDefault().getPath("/Users/ignazio/full-galen.owl");
+        MemoryBenchmark.memoryProfile(ontologyPath, FileSystems.getDefault().getPath(
         "fullgalen.hprof"));
+        MemoryBenchmark.freezeProfile(ontologyPath);
     }
 }
@@ -11,8 +11,14 @@ import org.obolibrary.oboformat.parser.OBOFormatParser;
 public class GazetteerMemoryBenchmark {
 
     public static void main(String[] args) throws Exception {
-        memoryProfile(FileSystems.getDefault().getPath("/Users/ignazio/gaz-fixed.obo"), FileSystems.getDefault()
-            .getPath("gazetteer" + new Date() + ".hprof"));
+        Path gazetteer = FileSystems.getDefault().getPath("/Users/ignazio/gaz-fixed.obo");
+        if (args.length > 0 && "--literals".equals(args[0])) {
+            // gazetteer entries are dominated by repeated synonym and xref
+            // literals
+            MemoryBenchmark.literalInterningProfile(gazetteer);
+            return;
+        }
+        memoryProfile(gazetteer, FileSystems.getDefault().getPath("gazetteer" + new Date() + ".hprof"));
     }
 
     public static void memoryProfile(Path ontologyPath, Path hprofPath) throws IOException {
@@ -12,6 +12,7 @@ import org.semanticweb.owlapi.apibinding.OWLManager;
 import org.semanticweb.owlapi.io.FileDocumentSource;
 import org.semanticweb.owlapi.io.GZipFileDocumentSource;
 import org.semanticweb.owlapi.io.OWLOntologyDocumentSource;
+import org.semanticweb.owlapi.model.OWLDataFactory;
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyCreationException;
 import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
@@ -20,6 +21,11 @@ import org.semanticweb.owlapi.util.AutoIRIMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import uk.ac.manchester.cs.owl.owlapi.HasFreeze;
+import uk.ac.manchester.cs.owl.owlapi.OWLDataFactoryImpl;
+import uk.ac.manchester.cs.owl.owlapi.OWLOntologyManagerImpl;
+import uk.ac.manchester.cs.owl.owlapi.concurrent.NoOpReadWriteLock;
+
 import com.sun.management.HotSpotDiagnosticMXBean;
 import com.sun.management.VMOption;
 
@@ -61,6 +67,66 @@ public class MemoryBenchmark {
     public static void memoryProfile(Path ontologyPath, Path hprofPath) throws OWLOntologyCreationException,
         IOException {
         OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+        OWLOntology ontology = load(manager, ontologyPath);
+        getDiagnostics().dumpHeap(hprofPath.toString(), true);
+        manager.removeOntology(ontology);
+    }
+
+    /**
+     * Load an input ontology and report the used heap before and after
+     * freezing it.
+     * 
+     * @param ontologyPath
+     *        input ontology
+     * @throws OWLOntologyCreationException
+     *         if the ontology cannot be created or loaded
+     */
+    public static void freezeProfile(Path ontologyPath) throws OWLOntologyCreationException {
+        OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+        OWLOntology ontology = load(manager, ontologyPath);
+        long before = usedHeap();
+        long start = System.currentTimeMillis();
+        ((HasFreeze) ontology).freeze();
+        System.out.println("MemoryBenchmark.freezeProfile() freeze elapsed: " + (System.currentTimeMillis()
+            - start));
+        long after = usedHeap();
+        System.out.println("MemoryBenchmark.freezeProfile() used heap before freeze: " + before / 1024 / 1024
+            + "MB, after freeze: " + after / 1024 / 1024 + "MB");
+        manager.removeOntology(ontology);
+    }
+
+    /**
+     * Load an input ontology with and without literal interning in the data
+     * factory, and report the used heap in both cases.
+     * 
+     * @param ontologyPath
+     *        input ontology
+     * @throws OWLOntologyCreationException
+     *         if the ontology cannot be created or loaded
+     */
+    public static void literalInterningProfile(Path ontologyPath) throws OWLOntologyCreationException {
+        long base = usedHeap();
+        long[] used = new long[2];
+        for (int i = 0; i < 2; i++) {
+            OWLOntologyManager manager = createManager(new OWLDataFactoryImpl(false, false, i == 1));
+            OWLOntology ontology = load(manager, ontologyPath);
+            used[i] = usedHeap() - base;
+            manager.removeOntology(ontology);
+        }
+        System.out.println("MemoryBenchmark.literalInterningProfile() used heap without interning: " + used[0]
+            / 1024 / 1024 + "MB, with interning: " + used[1] / 1024 / 1024 + "MB");
+    }
+
+    private static OWLOntologyManager createManager(OWLDataFactory dataFactory) {
+        OWLOntologyManager defaults = OWLManager.createOWLOntologyManager();
+        OWLOntologyManager manager = new OWLOntologyManagerImpl(dataFactory, new NoOpReadWriteLock());
+        manager.getOntologyFactories().set(defaults.getOntologyFactories());
+        manager.getOntologyParsers().set(defaults.getOntologyParsers());
+        return manager;
+    }
+
+    private static OWLOntology load(OWLOntologyManager manager, Path ontologyPath)
+        throws OWLOntologyCreationException {
         File file = ontologyPath.toFile();
         manager.getIRIMappers().add(new AutoIRIMapper(file.getParentFile(), false));
         OWLOntologyDocumentSource ds = null;
@@ -73,8 +139,15 @@ public class MemoryBenchmark {
         long start = System.currentTimeMillis();
         OWLOntology ontology = manager.loadOntologyFromOntologyDocument(ds, config);
         System.out.println("MemoryBenchmark.memoryProfile() elapsed: " + (System.currentTimeMillis() - start));
-        getDiagnostics().dumpHeap(hprofPath.toString(), true);
-        manager.removeOntology(ontology);
+        return ontology;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
     }
 
     protected static HotSpotDiagnosticMXBean getDiagnostics() throws IOException {
@@ -32,11 +32,10 @@ import java.util.zip.GZIPInputStream;
 
 import org.openjdk.jmh.annotations.*;
 import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.formats.BinarySnapshotDocumentFormat;
 import org.semanticweb.owlapi.io.FileDocumentSource;
 import org.semanticweb.owlapi.io.OWLOntologyDocumentSource;
-import org.semanticweb.owlapi.model.OWLOntologyCreationException;
-import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
-import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.*;
 
 import uk.ac.manchester.cs.owl.owlapi.OWLOntologyImpl;
 
@@ -45,9 +44,10 @@ import uk.ac.manchester.cs.owl.owlapi.OWLOntologyImpl;
 public class MyBenchmark {
 
     private File uncompressedTaxonFile;
+    private File binaryTaxonFile;
 
     @Setup(Level.Trial)
-    public void setUp() throws IOException {
+    public void setUp() throws IOException, OWLOntologyCreationException, OWLOntologyStorageException {
         uncompressedTaxonFile = File.createTempFile("taxons", "ofn");
         InputStream resourceAsStream = getClass().getResourceAsStream(
             "/ncbitaxon.rdf.ofn.gz");
@@ -60,11 +60,16 @@ public class MyBenchmark {
             }
             out.flush();
         }
+        binaryTaxonFile = File.createTempFile("taxons", "owlb");
+        OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+        OWLOntology ontology = manager.loadOntologyFromOntologyDocument(uncompressedTaxonFile);
+        manager.saveOntology(ontology, new BinarySnapshotDocumentFormat(), IRI.create(binaryTaxonFile));
     }
 
     @TearDown(Level.Trial)
     public void tearDown() {
         uncompressedTaxonFile.delete();
+        binaryTaxonFile.delete();
     }
 
     @BenchmarkMode(Mode.AverageTime)
@@ -79,4 +84,25 @@ public class MyBenchmark {
             .loadOntologyFromOntologyDocument(ds, config);
         manager.removeOntology(ontology);
     }
+
+    @BenchmarkMode(Mode.AverageTime)
+    @Benchmark
+    public void testLoadTaxonFSSParallel() throws OWLOntologyCreationException {
+        OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+        OWLOntologyDocumentSource ds = new FileDocumentSource(uncompressedTaxonFile);
+        OWLOntologyLoaderConfiguration config = new OWLOntologyLoaderConfiguration().setStrict(false)
+            .setParsingThreads(Runtime.getRuntime().availableProcessors());
+        OWLOntology ontology = manager.loadOntologyFromOntologyDocument(ds, config);
+        manager.removeOntology(ontology);
+    }
+
+    @BenchmarkMode(Mode.AverageTime)
+    @Benchmark
+    public void testLoadTaxonBinary() throws OWLOntologyCreationException {
+        OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+        OWLOntologyDocumentSource ds = new FileDocumentSource(binaryTaxonFile, new BinarySnapshotDocumentFormat());
+        OWLOntologyLoaderConfiguration config = new OWLOntologyLoaderConfiguration().setStrict(false);
+        OWLOntology ontology = manager.loadOntologyFromOntologyDocument(ds, config);
+        manager.removeOntology(ontology);
+    }
 }
@@ -1,6 +1,7 @@
 package org.semanticweb.owlapi.benchmarks;
 
 import java.nio.file.FileSystems;
+import java.nio.file.Path;
 
 /**
  * Convenience for NCBI memory benchmark
@@ -9,9 +10,9 @@ import java.nio.file.FileSystems;
 public class NCBITaxonMemoryBenchmark {
 
     public static void main(String[] args) throws Exception {
-        MemoryBenchmark.memoryProfile(
-                FileSystems.getDefault().getPath(
-                        "/Users/ignazio/workspace/benchmarks/ncbitaxon/src/main/resources/ncbitaxon.rdf.ofn.gz"),
-                FileSystems.getDefault().getPath("ncbitaxon.hprof"));
+        Path ontologyPath = FileSystems.getDefault().getPath(
+                        "/Users/ignazio/workspace/benchmarks/ncbitaxon/src/main/resources/ncbitaxon.rdf.ofn.gz");
+        MemoryBenchmark.memoryProfile(ontologyPath, FileSystems.getDefault().getPath("ncbitaxon.hprof"));
+        MemoryBenchmark.freezeProfile(ontologyPath);
     }
 }
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2005, 2014, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.semanticweb.owlapi.benchmarks;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.formats.RDFXMLDocumentFormat;
+import org.semanticweb.owlapi.formats.TurtleDocumentFormat;
+import org.semanticweb.owlapi.io.FileDocumentSource;
+import org.semanticweb.owlapi.io.StringDocumentTarget;
+import org.semanticweb.owlapi.model.*;
+
+/**
+ * Time to save an ontology to Turtle and RDF/XML. The {@code abox} ontology
+ * has many individuals with a few assertions each, so most of the time goes
+ * into building and indexing a small RDF graph per individual; run with
+ * {@code -prof gc} to see the allocation rate as well.
+ */
+@SuppressWarnings("javadoc")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+public class RDFSaveBenchmark {
+
+    private static final String NS = "http://www.example.org/abox#";
+    private static final int INDIVIDUALS = 200000;
+    @Param({ "abox", "ncbitaxon" })
+    public String ontologyName;
+    @Param({ "turtle", "rdfxml" })
+    public String format;
+    private OWLOntology ontology;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, OWLOntologyCreationException {
+        OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+        if ("abox".equals(ontologyName)) {
+            ontology = createABox(manager);
+            return;
+        }
+        File uncompressedTaxonFile = File.createTempFile("taxons", "ofn");
+        InputStream resourceAsStream = getClass().getResourceAsStream("/ncbitaxon.rdf.ofn.gz");
+        try (GZIPInputStream in = new GZIPInputStream(resourceAsStream);
+            FileOutputStream out = new FileOutputStream(uncompressedTaxonFile)) {
+            int n;
+            byte[] buf = new byte[8192];
+            while ((n = in.read(buf)) >= 0) {
+                out.write(buf, 0, n);
+            }
+            out.flush();
+        }
+        OWLOntologyLoaderConfiguration config = new OWLOntologyLoaderConfiguration().setStrict(false);
+        ontology = manager.loadOntologyFromOntologyDocument(new FileDocumentSource(uncompressedTaxonFile), config);
+        uncompressedTaxonFile.delete();
+    }
+
+    private static OWLOntology createABox(OWLOntologyManager manager) throws OWLOntologyCreationException {
+        OWLDataFactory df = manager.getOWLDataFactory();
+        OWLOntology o = manager.createOntology(IRI.create(NS));
+        OWLObjectProperty knows = df.getOWLObjectProperty(IRI.create(NS, "knows"));
+        OWLDataProperty age = df.getOWLDataProperty(IRI.create(NS, "age"));
+        OWLClass[] classes = new OWLClass[100];
+        for (int i = 0; i < classes.length; i++) {
+            classes[i] = df.getOWLClass(IRI.create(NS, "C" + i));
+        }
+        for (int i = 0; i < INDIVIDUALS; i++) {
+            OWLNamedIndividual ind = df.getOWLNamedIndividual(IRI.create(NS, "i" + i));
+            OWLNamedIndividual next = df.getOWLNamedIndividual(IRI.create(NS, "i" + (i + 1) % INDIVIDUALS));
+            o.add(df.getOWLDeclarationAxiom(ind), df.getOWLClassAssertionAxiom(classes[i % classes.length], ind), df
+                .getOWLObjectPropertyAssertionAxiom(knows, ind, next), df.getOWLDataPropertyAssertionAxiom(age, ind,
+                    i % 100), df.getOWLAnnotationAssertionAxiom(df.getRDFSLabel(), ind.getIRI(), df.getOWLLiteral(
+                        "individual " + i, "en")));
+        }
+        return o;
+    }
+
+    @Benchmark
+    public void save(Blackhole bh) throws OWLOntologyStorageException {
+        StringDocumentTarget target = new StringDocumentTarget();
+        OWLDocumentFormat documentFormat = "rdfxml".equals(format) ? new RDFXMLDocumentFormat()
+            : new TurtleDocumentFormat();
+        ontology.getOWLOntologyManager().saveOntology(ontology, documentFormat, target);
+        bh.consume(target.toString().length());
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2005, 2014, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.semanticweb.owlapi.benchmarks;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.formats.FunctionalSyntaxDocumentFormat;
+import org.semanticweb.owlapi.formats.ManchesterSyntaxDocumentFormat;
+import org.semanticweb.owlapi.formats.OWLXMLDocumentFormat;
+import org.semanticweb.owlapi.io.FileDocumentSource;
+import org.semanticweb.owlapi.io.StringDocumentTarget;
+import org.semanticweb.owlapi.model.*;
+
+/**
+ * Time to save NCBITaxon or GALEN with one or more rendering threads. GALEN is
+ * not bundled; its location is read from the {@code galen} system property,
+ * e.g., {@code -jvmArgs -Dgalen=/path/to/full-galen.owl}.
+ */
+@SuppressWarnings("javadoc")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+public class SaveBenchmark {
+
+    @Param({ "ncbitaxon", "galen" })
+    public String ontologyName;
+    @Param({ "functional", "manchester", "owlxml" })
+    public String format;
+    @Param({ "1", "2", "4" })
+    public int threads;
+    private OWLOntology ontology;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, OWLOntologyCreationException {
+        OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+        manager.getOntologyConfigurator().withRenderingThreads(threads);
+        OWLOntologyLoaderConfiguration config = new OWLOntologyLoaderConfiguration().setStrict(false);
+        if ("galen".equals(ontologyName)) {
+            ontology = manager.loadOntologyFromOntologyDocument(new FileDocumentSource(new File(System.getProperty(
+                "galen", "full-galen.owl"))), config);
+            return;
+        }
+        File uncompressedTaxonFile = File.createTempFile("taxons", "ofn");
+        InputStream resourceAsStream = getClass().getResourceAsStream("/ncbitaxon.rdf.ofn.gz");
+        try (GZIPInputStream in = new GZIPInputStream(resourceAsStream);
+            FileOutputStream out = new FileOutputStream(uncompressedTaxonFile)) {
+            int n;
+            byte[] buf = new byte[8192];
+            while ((n = in.read(buf)) >= 0) {
+                out.write(buf, 0, n);
+            }
+            out.flush();
+        }
+        ontology = manager.loadOntologyFromOntologyDocument(new FileDocumentSource(uncompressedTaxonFile), config);
+        uncompressedTaxonFile.delete();
+    }
+
+    private OWLDocumentFormat documentFormat() {
+        switch (format) {
+            case "manchester":
+                return new ManchesterSyntaxDocumentFormat();
+            case "owlxml":
+                return new OWLXMLDocumentFormat();
+            default:
+                return new FunctionalSyntaxDocumentFormat();
+        }
+    }
+
+    @Benchmark
+    public void save(Blackhole bh) throws OWLOntologyStorageException {
+        StringDocumentTarget target = new StringDocumentTarget();
+        ontology.getOWLOntologyManager().saveOntology(ontology, documentFormat(), target);
+        bh.consume(target.toString().length());
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2005, 2014, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.semanticweb.owlapi.benchmarks;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.*;
+import org.semanticweb.owlapi.model.parameters.ChangeApplied;
+import org.semanticweb.owlapi.reasoner.BufferingMode;
+import org.semanticweb.owlapi.reasoner.SimpleConfiguration;
+import org.semanticweb.owlapi.reasoner.structural.StructuralReasoner;
+
+/**
+ * Precomputation time and query latency of the structural reasoner on a
+ * generated told hierarchy, shaped like an OBO ontology: a deep tree of
+ * classes with a few equivalences, instances, and property domains. The
+ * reasoner is non buffering, so {@code addAndRemoveSubClassAxiom} measures
+ * the incremental maintenance of the hierarchy for one change.
+ */
+@SuppressWarnings("javadoc")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StructuralReasonerBenchmark {
+
+    @Param({ "100000" })
+    public int size;
+    private OWLDataFactory df;
+    private OWLOntology ontology;
+    private StructuralReasoner reasoner;
+    private OWLClass[] classes;
+    private OWLNamedIndividual[] individuals;
+    private OWLObjectProperty[] properties;
+
+    @Setup(Level.Trial)
+    public void setUp() throws OWLOntologyCreationException {
+        OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+        df = manager.getOWLDataFactory();
+        ontology = manager.createOntology(IRI.create("urn:benchmark:", "hierarchy"));
+        classes = new OWLClass[size];
+        individuals = new OWLNamedIndividual[size / 10];
+        properties = new OWLObjectProperty[100];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < size; i++) {
+            classes[i] = df.getOWLClass("urn:benchmark:", "C" + i);
+            if (i > 0) {
+                ontology.add(df.getOWLSubClassOfAxiom(classes[i], classes[random.nextInt(i)]));
+            }
+            if (i > 0 && i % 1000 == 0) {
+                ontology.add(df.getOWLEquivalentClassesAxiom(classes[i], classes[i - 1]));
+            }
+        }
+        for (int i = 0; i < individuals.length; i++) {
+            individuals[i] = df.getOWLNamedIndividual("urn:benchmark:", "i" + i);
+            ontology.add(df.getOWLClassAssertionAxiom(classes[random.nextInt(size)], individuals[i]));
+        }
+        for (int i = 0; i < properties.length; i++) {
+            properties[i] = df.getOWLObjectProperty("urn:benchmark:", "p" + i);
+            ontology.add(df.getOWLObjectPropertyDomainAxiom(properties[i], classes[random.nextInt(size)]));
+        }
+        reasoner = new StructuralReasoner(ontology, new SimpleConfiguration(), BufferingMode.NON_BUFFERING);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        reasoner.dispose();
+    }
+
+    private static <T> T random(T[] array) {
+        return array[ThreadLocalRandom.current().nextInt(array.length)];
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void precompute(Blackhole bh) {
+        StructuralReasoner r = new StructuralReasoner(ontology, new SimpleConfiguration(),
+            BufferingMode.NON_BUFFERING);
+        bh.consume(r.getTopClassNode());
+        r.dispose();
+    }
+
+    @Benchmark
+    public void superClasses(Blackhole bh) {
+        bh.consume(reasoner.getSuperClasses(random(classes), false));
+    }
+
+    @Benchmark
+    public void directSubClasses(Blackhole bh) {
+        bh.consume(reasoner.getSubClasses(random(classes), true));
+    }
+
+    @Benchmark
+    public void types(Blackhole bh) {
+        bh.consume(reasoner.getTypes(random(individuals), false));
+    }
+
+    @Benchmark
+    public void objectPropertyDomains(Blackhole bh) {
+        bh.consume(reasoner.getObjectPropertyDomains(random(properties), false));
+    }
+
+    @Benchmark
+    public void addAndRemoveSubClassAxiom(Blackhole bh) {
+        OWLSubClassOfAxiom axiom = df.getOWLSubClassOfAxiom(random(classes), random(classes));
+        if (ontology.add(axiom) == ChangeApplied.SUCCESSFULLY) {
+            ontology.remove(axiom);
+        }
+        bh.consume(reasoner.getSuperClasses(axiom.getSubClass(), true));
+    }
+}
@@ -0,0 +1,89 @@
+package org.obolibrary.oboformat;
+
+import static org.junit.Assert.*;
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.verifyNotNull;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asSet;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.Test;
+import org.obolibrary.obo2owl.OWLAPIObo2Owl;
+import org.obolibrary.oboformat.model.Clause;
+import org.obolibrary.oboformat.model.Frame;
+import org.obolibrary.oboformat.model.OBODoc;
+import org.obolibrary.oboformat.parser.OBOFormatConstants.OboFormatTag;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+
+@SuppressWarnings("javadoc")
+public class ParallelObo2OwlTestCase extends OboFormatTestBasics {
+
+    private static String generate(int terms) {
+        StringBuilder b = new StringBuilder();
+        b.append("format-version: 1.2\nontology: test\nsynonymtypedef: UK_SPELLING \"British spelling\" EXACT\n\n");
+        for (int i = 0; i < terms; i++) {
+            b.append("[Term]\nid: TEST:").append(i).append('\n');
+            b.append("name: term ").append(i).append('\n');
+            b.append("def: \"definition of ").append(i).append("\" [PMID:").append(i).append("]\n");
+            b.append("synonym: \"synonym ").append(i).append("\" EXACT UK_SPELLING []\n");
+            b.append("xref: XREF:").append(i).append(" \"label ").append(i).append("\"\n");
+            if (i > 0) {
+                b.append("is_a: TEST:").append(i - 1).append(" {source=\"src\"}\n");
+                b.append("relationship: part_of TEST:").append(i / 2).append('\n');
+            }
+            if (i % 10 == 0) {
+                b.append("alt_id: ALT:").append(i).append('\n');
+                b.append("intersection_of: TEST:").append(i / 3).append('\n');
+                b.append("intersection_of: part_of TEST:").append(i / 5).append('\n');
+                b.append("property_value: shown_by \"").append(i).append("\" xsd:integer\n");
+            }
+            if (i % 7 == 0) {
+                b.append("relationship: has_pun TEST:").append(i / 7).append(" {cardinality=\"2\"}\n");
+            }
+            b.append('\n');
+        }
+        b.append("[Typedef]\nid: part_of\nname: part of\nxref: BFO:0000050\nis_transitive: true\n\n");
+        b.append("[Typedef]\nid: has_pun\nname: has pun\nis_class_level: true\n\n");
+        b.append("[Typedef]\nid: shown_by\nname: shown by\nis_metadata_tag: true\n");
+        return b.toString();
+    }
+
+    private OWLOntology convert(OBODoc doc, int threads) throws OWLOntologyCreationException {
+        OWLAPIObo2Owl bridge = new OWLAPIObo2Owl(setupManager());
+        bridge.setThreads(threads);
+        return bridge.convert(doc);
+    }
+
+    @Test
+    public void shouldTranslateAsSequentialConversion() throws IOException, OWLOntologyCreationException {
+        OBODoc doc = parseOBOFile(new StringReader(generate(3000)), false);
+        OWLOntology expected = convert(doc, 1);
+        OWLOntology actual = convert(doc, 4);
+        assertEquals(expected.getOntologyID(), actual.getOntologyID());
+        assertEquals(asSet(expected.annotations()), asSet(actual.annotations()));
+        assertEquals(asSet(expected.axioms()), asSet(actual.axioms()));
+    }
+
+    private RuntimeException conversionError(OBODoc doc, int threads) throws OWLOntologyCreationException {
+        try {
+            convert(doc, threads);
+        } catch (RuntimeException e) {
+            return e;
+        }
+        fail("error expected");
+        return null;
+    }
+
+    @Test
+    public void shouldRethrowTranslationErrors() throws IOException, OWLOntologyCreationException {
+        OBODoc doc = parseOBOFile(new StringReader(generate(3000)), false);
+        Frame frame = verifyNotNull(doc.getTermFrame("TEST:1500"));
+        frame.addClause(new Clause(OboFormatTag.TAG_IS_A, "TEST:bad id"));
+        RuntimeException expected = conversionError(doc, 1);
+        RuntimeException actual = conversionError(doc, 4);
+        assertEquals(expected.getClass(), actual.getClass());
+        assertEquals(expected.getMessage(), actual.getMessage());
+        assertTrue(actual.getMessage(), actual.getMessage().contains("spaces not allowed"));
+    }
+}
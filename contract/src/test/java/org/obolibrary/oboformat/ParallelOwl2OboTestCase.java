@@ -0,0 +1,104 @@
+package org.obolibrary.oboformat;
+
+import static org.junit.Assert.*;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import org.junit.Test;
+import org.obolibrary.oboformat.parser.OBOFormatConstants.OboFormatTag;
+import org.semanticweb.owlapi.formats.OBODocumentFormat;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyStorageException;
+import org.semanticweb.owlapi.oboformat.OBOFormatRenderer;
+
+@SuppressWarnings("javadoc")
+public class ParallelOwl2OboTestCase extends OboFormatTestBasics {
+
+    private static String generate(int terms) {
+        StringBuilder b = new StringBuilder();
+        b.append("format-version: 1.2\nontology: test\nsubsetdef: test_slim \"test slim\"\n\n");
+        for (int i = 0; i < terms; i++) {
+            b.append("[Term]\nid: TEST:").append(i).append('\n');
+            b.append("name: term ").append(i).append('\n');
+            b.append("def: \"definition of ").append(i).append("\" [PMID:").append(i).append("]\n");
+            b.append("subset: test_slim\n");
+            if (i > 0) {
+                b.append("is_a: TEST:").append(i - 1).append(" {source=\"src\"}\n");
+                b.append("relationship: part_of TEST:").append(i / 2).append('\n');
+            }
+            if (i % 10 == 0) {
+                b.append("alt_id: ALT:").append(i).append('\n');
+                b.append("intersection_of: TEST:").append(i / 3).append('\n');
+                b.append("intersection_of: part_of TEST:").append(i / 5).append('\n');
+            }
+            if (i % 7 == 0) {
+                b.append("disjoint_from: TEST:").append(i + 1).append('\n');
+                b.append("relationship: part_of TEST:").append(i / 7);
+                b.append(" {gci_relation=\"part_of\", gci_filler=\"TEST:").append(i / 3).append("\"}\n");
+            }
+            b.append('\n');
+        }
+        b.append("[Typedef]\nid: part_of\nname: part of\nxref: BFO:0000050\nis_transitive: true\n");
+        return b.toString();
+    }
+
+    private static String save(OWLOntology o, int threads, boolean streaming) throws OWLOntologyStorageException {
+        o.getOWLOntologyManager().getOntologyConfigurator().withRenderingThreads(threads);
+        OBODocumentFormat format = new OBODocumentFormat();
+        format.setParameter(OBODocumentFormat.STREAMING, Boolean.valueOf(streaming));
+        StringWriter writer = new StringWriter();
+        OBOFormatRenderer.render(o, writer, format);
+        return writer.toString();
+    }
+
+    private static void assertSameOutput(OWLOntology o) throws OWLOntologyStorageException {
+        String expected = save(o, 1, false);
+        assertEquals(expected, save(o, 4, false));
+        assertEquals(expected, save(o, 1, true));
+        assertEquals(expected, save(o, 4, true));
+    }
+
+    @Test
+    public void shouldWriteCaroAsSequentialTranslation() throws OWLOntologyStorageException {
+        assertSameOutput(convertOBOFile("caro.obo"));
+    }
+
+    @Test
+    public void shouldWriteAltIdsAsSequentialTranslation() throws OWLOntologyStorageException {
+        assertSameOutput(convertOBOFile("alt_id_test.obo"));
+    }
+
+    @Test
+    public void shouldWriteQualifiedAltIdsOnce() throws OWLOntologyStorageException {
+        // TEST:0002 is both a term and a qualified alt_id of TEST:0001
+        assertSameOutput(convertOBOFile("trailing_qualifier.obo"));
+    }
+
+    @Test
+    public void shouldWriteNamesOfReferencedObsoleteTerms() throws OWLOntologyStorageException {
+        OWLOntology o = convertOBOFile("obsolete_reference_test.obo");
+        String expected = save(o, 1, false);
+        assertTrue(expected, expected.contains("is_a: XX:0000002 ! obsolete parent"));
+        assertSameOutput(o);
+    }
+
+    @Test
+    public void shouldWriteGeneratedOntologyAsSequentialTranslation() throws IOException,
+        OWLOntologyStorageException {
+        OWLOntology o = convert(parseOBOFile(new StringReader(generate(3000)), false));
+        // untranslatable, written in the header
+        OWLClass a = Class(IRI("http://purl.obolibrary.org/obo/", "TEST_5"));
+        OWLClass b = Class(IRI("http://purl.obolibrary.org/obo/", "TEST_6"));
+        OWLClass c = Class(IRI("http://purl.obolibrary.org/obo/", "TEST_7"));
+        o.add(DisjointUnion(a, b, c));
+        String expected = save(o, 1, false);
+        assertTrue(expected.contains(OboFormatTag.TAG_OWL_AXIOMS.getTag()));
+        assertTrue(expected.contains("alt_id: ALT:2990"));
+        assertTrue(expected.contains("is_a: TEST:2998 {source=\"src\"} ! term 2998"));
+        assertSameOutput(o);
+    }
+}
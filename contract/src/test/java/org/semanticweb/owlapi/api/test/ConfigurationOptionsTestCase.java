@@ -34,6 +34,11 @@ public class ConfigurationOptionsTestCase {
         toReturn.add(new Object[] { ConfigurationOptions.LABELS_AS_BANNER, Boolean.FALSE });
         toReturn.add(new Object[] { ConfigurationOptions.LOAD_ANNOTATIONS, Boolean.TRUE });
         toReturn.add(new Object[] { ConfigurationOptions.PARSE_WITH_STRICT_CONFIGURATION, Boolean.FALSE });
+        toReturn.add(new Object[] { ConfigurationOptions.PARSING_THREADS, 1 });
+        toReturn.add(new Object[] { ConfigurationOptions.IMPORTS_LOADING_THREADS, 1 });
+        toReturn.add(new Object[] { ConfigurationOptions.STREAMING_RDF_TRANSLATION, Boolean.FALSE });
+        toReturn.add(new Object[] { ConfigurationOptions.ENCODE_RDF_TRIPLES, Boolean.FALSE });
+        toReturn.add(new Object[] { ConfigurationOptions.BULK_LOAD, Boolean.TRUE });
         toReturn.add(new Object[] { ConfigurationOptions.MISSING_IMPORT_HANDLING_STRATEGY,
             MissingImportHandlingStrategy.THROW_EXCEPTION });
         toReturn.add(new Object[] { ConfigurationOptions.MISSING_ONTOLOGY_HEADER_STRATEGY,
@@ -0,0 +1,209 @@
+package org.semanticweb.owlapi.api.test;
+
+import static org.junit.Assert.*;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.*;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.io.StringDocumentSource;
+import org.semanticweb.owlapi.metrics.*;
+import org.semanticweb.owlapi.model.*;
+import org.semanticweb.owlapi.util.DLExpressivityChecker;
+
+@SuppressWarnings("javadoc")
+public class IncrementalMetricsTestCase extends TestBase {
+
+    private final OWLClass a = Class(IRI("urn:test#", "A"));
+    private final OWLClass b = Class(IRI("urn:test#", "B"));
+    private final OWLClass c = Class(IRI("urn:test#", "C"));
+    private final OWLClass d = Class(IRI("urn:test#", "D"));
+    private final OWLObjectProperty p = ObjectProperty(IRI("urn:test#", "p"));
+    private final OWLNamedIndividual i = NamedIndividual(IRI("urn:test#", "i"));
+    private final OWLAxiom aSubB = SubClassOf(a, b);
+    private final OWLAxiom aSubC = SubClassOf(a, c);
+    private final OWLAxiom gci = SubClassOf(ObjectSomeValuesFrom(p, c), d);
+    private final OWLAxiom aEquiv = EquivalentClasses(a, ObjectIntersectionOf(b, c));
+    private final OWLAxiom dEquiv = EquivalentClasses(d, ObjectSomeValuesFrom(p, ObjectComplementOf(b)));
+    private final OWLAxiom iType = ClassAssertion(d, i);
+    private final OWLAxiom transitive = TransitiveObjectProperty(p);
+    private OWLOntology top;
+    private OWLOntology imported;
+
+    @Before
+    public void setUpOntologies() throws Exception {
+        top = m.createOntology(IRI("urn:test:", "top"));
+        imported = m.createOntology(IRI("urn:test:", "imported"));
+        m.applyChange(new AddImport(top, ImportsDeclaration(IRI("urn:test:", "imported"))));
+        top.add(Declaration(a), aSubB, gci);
+        imported.add(Declaration(a), aSubC, aEquiv);
+    }
+
+    private static List<OWLMetric<?>> metrics(OWLOntology o, boolean closure) {
+        List<OWLMetric<?>> list = new ArrayList<>();
+        list.add(new AxiomCount(o));
+        list.add(new LogicalAxiomCount(o));
+        list.add(new AxiomTypeMetric(o, AxiomType.SUBCLASS_OF));
+        list.add(new AxiomTypeMetric(o, AxiomType.DECLARATION));
+        list.add(new GCICount(o));
+        list.add(new HiddenGCICount(o));
+        list.add(new ReferencedClassCount(o));
+        list.add(new ReferencedObjectPropertyCount(o));
+        list.add(new ReferencedDataPropertyCount(o));
+        list.add(new ReferencedIndividualCount(o));
+        list.add(new DLExpressivity(o));
+        list.add(new AverageAssertedNamedSuperclassCount(o));
+        list.add(new MaximumNumberOfNamedSuperclasses(o));
+        list.add(new NumberOfClassesWithMultipleInheritance(o));
+        list.add(new ImportClosureSize(o));
+        list.forEach(x -> x.setImportsClosureUsed(closure));
+        return list;
+    }
+
+    private static List<OWLMetric<?>> inheritanceMetrics(OWLOntology o) {
+        List<OWLMetric<?>> list = Arrays.asList(new NumberOfClassesWithMultipleInheritance(o), new HiddenGCICount(
+            o));
+        list.forEach(x -> x.setImportsClosureUsed(true));
+        return list;
+    }
+
+    private static void assertSameValues(List<OWLMetric<?>> expected, List<OWLMetric<?>> actual) {
+        for (int k = 0; k < expected.size(); k++) {
+            assertEquals(expected.get(k).getName(), expected.get(k).getValue(), actual.get(k).getValue());
+        }
+        expected.forEach(OWLMetric::dispose);
+    }
+
+    private void assertUpToDate(OWLMetricManager manager, OWLOntology o, boolean closure) {
+        assertSameValues(metrics(o, closure), manager.getMetrics());
+    }
+
+    @Test
+    public void shouldMatchFullScan() {
+        List<OWLMetric<?>> metrics = metrics(top, true);
+        OWLMetricManager manager = new OWLMetricManager(metrics);
+        // 2 declarations, 2 subclass axioms and 1 GCI in top, plus 3 in imported
+        assertEquals(Integer.valueOf(6), metrics.get(0).getValue());
+        assertEquals(Integer.valueOf(4), metrics.get(1).getValue());
+        assertEquals(Integer.valueOf(1), metrics.get(3).getValue());
+        assertEquals(Integer.valueOf(1), metrics.get(4).getValue());
+        assertEquals(Integer.valueOf(4), metrics.get(6).getValue());
+        assertEquals(new DLExpressivityChecker(asList(top.importsClosure())).getDescriptionLogicName(), metrics
+            .get(10).getValue());
+        assertEquals(Integer.valueOf(asUnorderedSet(top.importsClosure().flatMap(OWLOntology::logicalAxioms))
+            .size()), metrics.get(1).getValue());
+        assertUpToDate(manager, top, true);
+    }
+
+    @Test
+    public void shouldFollowAxiomChanges() {
+        for (boolean closure : new boolean[] { true, false }) {
+            OWLMetricManager manager = new OWLMetricManager(metrics(top, closure));
+            assertUpToDate(manager, top, closure);
+            top.add(dEquiv, iType, transitive);
+            assertUpToDate(manager, top, closure);
+            // already in the imported ontology
+            top.add(aSubC, aEquiv);
+            assertUpToDate(manager, top, closure);
+            imported.remove(aSubC);
+            assertUpToDate(manager, top, closure);
+            top.remove(aSubC, aEquiv, gci);
+            assertUpToDate(manager, top, closure);
+            imported.add(gci, iType);
+            imported.remove(aEquiv);
+            assertUpToDate(manager, top, closure);
+            top.remove(dEquiv, iType, transitive);
+            imported.add(aSubC, aEquiv);
+            imported.remove(gci, iType);
+            top.add(gci);
+            assertUpToDate(manager, top, closure);
+            manager.getMetrics().forEach(OWLMetric::dispose);
+        }
+    }
+
+    @Test
+    public void shouldFollowImportsAndOntologyChanges() throws Exception {
+        OWLMetricManager manager = new OWLMetricManager(metrics(top, true));
+        assertUpToDate(manager, top, true);
+        m.applyChange(new RemoveImport(top, ImportsDeclaration(IRI("urn:test:", "imported"))));
+        assertUpToDate(manager, top, true);
+        m.applyChange(new AddImport(top, ImportsDeclaration(IRI("urn:test:", "imported"))));
+        imported.add(dEquiv);
+        assertUpToDate(manager, top, true);
+        manager.setOntology(imported);
+        assertUpToDate(manager, imported, true);
+        imported.remove(aEquiv);
+        assertUpToDate(manager, imported, true);
+    }
+
+    @Test
+    public void shouldRecomputeMetricsAfterChangesNotAppliedThroughTheManager() {
+        List<OWLMetric<?>> metrics = inheritanceMetrics(top);
+        int before = ((Integer) metrics.get(0).getValue()).intValue();
+        OWLClass e = Class(IRI("urn:test#", "E"));
+        ((OWLMutableOntology) imported).applyChanges(Arrays.asList(new AddAxiom(imported, EquivalentClasses(e,
+            b)), new AddAxiom(imported, EquivalentClasses(e, c)), new AddAxiom(imported, dEquiv)));
+        assertEquals(Integer.valueOf(before + 1), metrics.get(0).getValue());
+        assertSameValues(inheritanceMetrics(top), metrics);
+        // a change that is not broadcast, followed by one that is
+        ((OWLMutableOntology) imported).applyChanges(Arrays.asList(new RemoveAxiom(imported,
+            EquivalentClasses(e, b)), new RemoveAxiom(imported, EquivalentClasses(e, c))));
+        imported.add(SubClassOf(c, d));
+        assertEquals(Integer.valueOf(before), metrics.get(0).getValue());
+        assertSameValues(inheritanceMetrics(top), metrics);
+        metrics.forEach(OWLMetric::dispose);
+    }
+
+    @Test
+    public void shouldCountChangesNotAppliedThroughTheManager() {
+        MetricCounters counters = new MetricCounters(top, true);
+        counters.retain();
+        assertEquals(6, counters.getAxiomCount());
+        long version = counters.getVersion();
+        ((OWLMutableOntology) imported).applyChanges(Arrays.asList(new AddAxiom(imported, transitive)));
+        assertEquals(7, counters.getAxiomCount());
+        assertEquals(version + 1, counters.getVersion());
+        assertTrue(counters.getDescriptionLogicName(), counters.getDescriptionLogicName().contains("+"));
+        top.add(dEquiv);
+        assertEquals(8, counters.getAxiomCount());
+        assertEquals(version + 1, counters.getVersion());
+        counters.release();
+    }
+
+    @Test
+    public void shouldRecomputeMetricsAfterChangesThatKeepTheAxiomCount() {
+        List<OWLMetric<?>> metrics = metrics(top, true);
+        OWLMetricManager manager = new OWLMetricManager(metrics);
+        assertUpToDate(manager, top, true);
+        // not broadcast, and the axiom count does not change
+        ((OWLMutableOntology) imported).applyChanges(Arrays.asList(new RemoveAxiom(imported, aSubC), new AddAxiom(
+            imported, SubClassOf(Class(IRI("urn:test#", "E")), b))));
+        assertUpToDate(manager, top, true);
+        MetricCounters counters = new MetricCounters(top, true);
+        counters.retain();
+        assertEquals(6, counters.getAxiomCount());
+        long version = counters.getVersion();
+        ((OWLMutableOntology) imported).applyChanges(Arrays.asList(new RemoveAxiom(imported, aEquiv), new AddAxiom(
+            imported, transitive)));
+        assertEquals(version + 1, counters.getVersion());
+        assertTrue(counters.getDescriptionLogicName(), counters.getDescriptionLogicName().contains("+"));
+        counters.release();
+        manager.getMetrics().forEach(OWLMetric::dispose);
+    }
+
+    @Test
+    public void shouldFollowLoadedImports() throws Exception {
+        OWLMetricManager manager = new OWLMetricManager(metrics(top, true));
+        m.applyChange(new AddImport(top, ImportsDeclaration(IRI("urn:test:", "loaded"))));
+        assertUpToDate(manager, top, true);
+        m.loadOntologyFromOntologyDocument(new StringDocumentSource(
+            "Ontology(<urn:test:loaded> SubClassOf(<urn:test#E> <urn:test#B>))"));
+        assertUpToDate(manager, top, true);
+        manager.getMetrics().forEach(OWLMetric::dispose);
+    }
+}
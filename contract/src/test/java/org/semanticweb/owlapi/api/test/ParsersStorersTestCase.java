@@ -12,15 +12,20 @@
  * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
 package org.semanticweb.owlapi.api.test;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asUnorderedSet;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.util.Collection;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.binary.BinarySnapshotParserFactory;
+import org.semanticweb.owlapi.binary.BinarySnapshotStorerFactory;
 import org.semanticweb.owlapi.dlsyntax.parser.DLSyntaxOWLParserFactory;
 import org.semanticweb.owlapi.dlsyntax.renderer.DLSyntaxStorerFactory;
 import org.semanticweb.owlapi.formats.*;
@@ -28,6 +33,8 @@ import org.semanticweb.owlapi.functional.parser.OWLFunctionalSyntaxOWLParserFact
 import org.semanticweb.owlapi.functional.renderer.FunctionalSyntaxStorerFactory;
 import org.semanticweb.owlapi.io.OWLParserException;
 import org.semanticweb.owlapi.io.OWLParserFactory;
+import org.semanticweb.owlapi.io.StreamDocumentSource;
+import org.semanticweb.owlapi.io.StreamDocumentTarget;
 import org.semanticweb.owlapi.io.StringDocumentSource;
 import org.semanticweb.owlapi.io.StringDocumentTarget;
 import org.semanticweb.owlapi.krss1.parser.KRSSOWLParserFactory;
@@ -153,6 +160,17 @@ public class ParsersStorersTestCase extends TestBase {
         test(new RDFXMLStorerFactory(), new RDFXMLParserFactory(), new RDFXMLDocumentFormat(), true, true);
     }
 
+    @Test
+    public void testBinarySnapshot() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new BinarySnapshotStorerFactory().createStorer().storeOntology(ont(), new StreamDocumentTarget(out),
+            new BinarySnapshotDocumentFormat());
+        OWLOntology o = getAnonymousOWLOntology();
+        new BinarySnapshotParserFactory().createParser().parse(new StreamDocumentSource(new ByteArrayInputStream(out
+            .toByteArray())), o, new OWLOntologyLoaderConfiguration());
+        assertEquals(asUnorderedSet(ont().axioms()), asUnorderedSet(o.axioms()));
+    }
+
     @Test
     public void testDLSyntax() throws Exception {
         // XXX at some point roundtripping should be supported
@@ -0,0 +1,122 @@
+package org.semanticweb.owlapi.api.test.imports;
+
+import static org.junit.Assert.*;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.*;
+import static org.semanticweb.owlapi.model.parameters.Imports.*;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.model.*;
+import org.semanticweb.owlapi.model.parameters.AxiomAnnotations;
+import org.semanticweb.owlapi.model.parameters.Navigation;
+
+@SuppressWarnings("javadoc")
+public class ImportsClosureIndexTestCase extends TestBase {
+
+    private final OWLClass a = Class(IRI("urn:test#", "A"));
+    private final OWLClass b = Class(IRI("urn:test#", "B"));
+    private final OWLClass c = Class(IRI("urn:test#", "C"));
+    private final OWLAxiom declarationA = Declaration(a);
+    private final OWLAxiom aSubB = SubClassOf(a, b);
+    private final OWLAxiom bSubC = SubClassOf(b, c);
+    private OWLOntology top;
+    private OWLOntology imported;
+
+    @Before
+    public void setUpOntologies() throws Exception {
+        top = m.createOntology(IRI("urn:test:", "top"));
+        imported = m.createOntology(IRI("urn:test:", "imported"));
+        m.applyChange(new AddImport(top, ImportsDeclaration(IRI("urn:test:", "imported"))));
+        top.add(declarationA, aSubB);
+        imported.add(declarationA, bSubC);
+    }
+
+    private static void assertSameAxioms(List<? extends OWLAxiom> actual, OWLAxiom... expected) {
+        assertEquals("duplicates in " + actual, actual.size(), new HashSet<>(actual).size());
+        assertEquals(new HashSet<>(Arrays.asList(expected)), new HashSet<>(actual));
+    }
+
+    @Test
+    public void shouldMergeAxiomsAcrossImportsClosure() {
+        assertSameAxioms(asList(top.axioms(AxiomType.DECLARATION, INCLUDED)), declarationA);
+        assertSameAxioms(asList(top.referencingAxioms(b, INCLUDED)), aSubB, bSubC);
+        assertSameAxioms(asList(top.axioms(OWLSubClassOfAxiom.class, OWLClass.class, b, INCLUDED,
+            Navigation.IN_SUB_POSITION)), bSubC);
+        assertSameAxioms(asList(top.axioms(OWLSubClassOfAxiom.class, OWLClass.class, b, INCLUDED,
+            Navigation.IN_SUPER_POSITION)), aSubB);
+        assertTrue(top.containsAxiom(bSubC, INCLUDED, AxiomAnnotations.CONSIDER_AXIOM_ANNOTATIONS));
+        assertTrue(top.containsReference(c, INCLUDED));
+        // the importing ontology is not in the closure of the imported one
+        assertSameAxioms(asList(imported.referencingAxioms(a, INCLUDED)), declarationA);
+    }
+
+    @Test
+    public void shouldCountAxiomsWithoutDuplicates() {
+        assertEquals(1, top.getAxiomCount(AxiomType.DECLARATION, INCLUDED));
+        assertEquals(top.axioms(AxiomType.SUBCLASS_OF, INCLUDED).count(), top.getAxiomCount(AxiomType.SUBCLASS_OF,
+            INCLUDED));
+        // the declaration is in both ontologies
+        assertEquals(3, top.getAxiomCount(INCLUDED));
+        assertEquals(AxiomType.AXIOM_TYPES.stream().mapToInt(t -> top.getAxiomCount(t, INCLUDED)).sum(), top
+            .getAxiomCount(INCLUDED));
+        imported.remove(declarationA);
+        assertEquals(3, top.getAxiomCount(INCLUDED));
+        top.remove(declarationA);
+        assertEquals(0, top.getAxiomCount(AxiomType.DECLARATION, INCLUDED));
+        assertEquals(2, top.getAxiomCount(INCLUDED));
+        ((OWLMutableOntology) imported).applyChanges(Arrays.asList(new AddAxiom(imported, declarationA)));
+        assertEquals(3, top.getAxiomCount(INCLUDED));
+        assertEquals(2, imported.getAxiomCount(INCLUDED));
+    }
+
+    @Test
+    public void shouldFollowAxiomChanges() {
+        OWLAxiom cSubA = SubClassOf(c, a);
+        assertSameAxioms(asList(top.referencingAxioms(c, INCLUDED)), bSubC);
+        imported.add(cSubA);
+        assertSameAxioms(asList(top.referencingAxioms(c, INCLUDED)), bSubC, cSubA);
+        assertTrue(top.containsAxiom(cSubA, INCLUDED, AxiomAnnotations.CONSIDER_AXIOM_ANNOTATIONS));
+        // still in the importing ontology
+        imported.remove(declarationA);
+        assertSameAxioms(asList(top.axioms(AxiomType.DECLARATION, INCLUDED)), declarationA);
+        assertTrue(top.containsAxiom(declarationA, INCLUDED, AxiomAnnotations.CONSIDER_AXIOM_ANNOTATIONS));
+        imported.remove(cSubA);
+        assertSameAxioms(asList(top.referencingAxioms(c, INCLUDED)), bSubC);
+        assertFalse(top.containsAxiom(cSubA, INCLUDED, AxiomAnnotations.CONSIDER_AXIOM_ANNOTATIONS));
+    }
+
+    @Test
+    public void shouldFollowChangesNotAppliedThroughTheManager() {
+        OWLAxiom cSubA = SubClassOf(c, a);
+        assertFalse(top.containsAxiom(cSubA, INCLUDED, AxiomAnnotations.CONSIDER_AXIOM_ANNOTATIONS));
+        ((OWLMutableOntology) imported).applyChanges(Arrays.asList(new AddAxiom(imported, cSubA)));
+        assertTrue(top.containsAxiom(cSubA, INCLUDED, AxiomAnnotations.CONSIDER_AXIOM_ANNOTATIONS));
+        assertSameAxioms(asList(top.axioms(OWLSubClassOfAxiom.class, OWLClass.class, c, INCLUDED,
+            Navigation.IN_SUB_POSITION)), cSubA);
+    }
+
+    @Test
+    public void shouldFollowImportsChanges() throws Exception {
+        OWLOntology other = m.createOntology(IRI("urn:test:", "other"));
+        assertSameAxioms(asList(top.referencingAxioms(c, INCLUDED)), bSubC);
+        assertSameAxioms(asList(other.referencingAxioms(c, INCLUDED)));
+        m.applyChange(new RemoveImport(top, ImportsDeclaration(IRI("urn:test:", "imported"))));
+        assertSameAxioms(asList(top.referencingAxioms(c, INCLUDED)));
+        m.applyChange(new AddImport(other, ImportsDeclaration(IRI("urn:test:", "imported"))));
+        assertSameAxioms(asList(other.referencingAxioms(c, INCLUDED)), bSubC);
+        // an import that can be resolved only once the ontology exists
+        m.applyChange(new AddImport(top, ImportsDeclaration(IRI("urn:test:", "later"))));
+        assertSameAxioms(asList(top.referencingAxioms(c, INCLUDED)));
+        OWLOntology later = m.createOntology(IRI("urn:test:", "later"));
+        later.add(bSubC);
+        assertSameAxioms(asList(top.referencingAxioms(c, INCLUDED)), bSubC);
+        m.removeOntology(later);
+        assertSameAxioms(asList(top.referencingAxioms(c, INCLUDED)));
+    }
+}
@@ -0,0 +1,122 @@
+package org.semanticweb.owlapi.api.test.imports;
+
+import static org.junit.Assert.*;
+import static org.semanticweb.owlapi.model.parameters.Imports.INCLUDED;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asSet;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.io.FileDocumentSource;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.MissingImportHandlingStrategy;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyID;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderListener;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.util.SimpleIRIMapper;
+
+@SuppressWarnings("javadoc")
+public class ParallelImportsLoadingTestCase extends TestBase {
+
+    private static final String ROOT = "Prefix(:=<urn:test#>)\nOntology(<urn:test:root>\n"
+        + "Import(<urn:test:a>)\nImport(<urn:test:b>)\nImport(<urn:test:missing>)\nSubClassOf(:A :B))";
+    // p and q are declared only in the imported ontology c
+    private static final String A = "@prefix owl: <http://www.w3.org/2002/07/owl#> .\n"
+        + "@prefix rdfs: <http://www.w3.org/2000/01/rdf-schema#> .\n"
+        + "<urn:test:a> a owl:Ontology ; owl:imports <urn:test:c> .\n"
+        + "<urn:test#A> a owl:Class ; rdfs:subClassOf [ a owl:Restriction ; owl:onProperty <urn:test#p> ; "
+        + "owl:someValuesFrom <urn:test#C> ] .";
+    private static final String B = "@prefix owl: <http://www.w3.org/2002/07/owl#> .\n"
+        + "@prefix rdfs: <http://www.w3.org/2000/01/rdf-schema#> .\n"
+        + "<urn:test:b> a owl:Ontology ; owl:imports <urn:test:c> .\n"
+        + "<urn:test#B> a owl:Class ; rdfs:subClassOf <urn:test#D> .\n<urn:test#D> a owl:Class .\n"
+        + "<urn:test#i> a owl:NamedIndividual ; <urn:test#q> \"x\" .";
+    private static final String C = "Prefix(:=<urn:test#>)\nOntology(<urn:test:c>\n"
+        + "Declaration(ObjectProperty(:p))\nDeclaration(DataProperty(:q))\nDeclaration(Class(:C))\nSubClassOf(:C :D))";
+    private File root;
+    private final OWLOntologyLoaderConfiguration sequential = new OWLOntologyLoaderConfiguration()
+        .setMissingImportHandlingStrategy(MissingImportHandlingStrategy.SILENT);
+    private final OWLOntologyLoaderConfiguration parallel = sequential.setImportsLoadingThreads(3);
+
+    private File write(String name, String content) throws IOException {
+        File file = new File(folder.getRoot(), name);
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private void map(OWLOntologyManager manager, String name, File file) {
+        manager.getIRIMappers().add(new SimpleIRIMapper(IRI.create("urn:test:" + name), IRI.create(file)));
+    }
+
+    @Before
+    public void setUpDocuments() throws IOException {
+        root = write("root.ofn", ROOT);
+        File a = write("a.ttl", A);
+        File b = write("b.ttl", B);
+        File c = write("c.ofn", C);
+        for (OWLOntologyManager manager : new OWLOntologyManager[] { m, m1 }) {
+            map(manager, "a", a);
+            map(manager, "b", b);
+            map(manager, "c", c);
+            map(manager, "missing", new File(folder.getRoot(), "missing.ofn"));
+        }
+    }
+
+    @Test
+    public void shouldLoadSameOntologiesAsSequentialLoading() throws Exception {
+        OWLOntology expected = m1.loadOntologyFromOntologyDocument(new FileDocumentSource(root), sequential);
+        OWLOntology actual = m.loadOntologyFromOntologyDocument(new FileDocumentSource(root), parallel);
+        assertEquals(asSet(m1.ontologies().map(OWLOntology::getOntologyID)), asSet(m.ontologies().map(
+            OWLOntology::getOntologyID)));
+        m1.ontologies().forEach(o -> {
+            OWLOntology loaded = m.getOntology(o.getOntologyID());
+            assertNotNull(loaded);
+            assertEquals(asSet(o.axioms()), asSet(loaded.axioms()));
+            assertEquals(asSet(o.importsDeclarations()), asSet(loaded.importsDeclarations()));
+            assertEquals(m1.getOntologyDocumentIRI(o), m.getOntologyDocumentIRI(loaded));
+            assertSame(m, loaded.getOWLOntologyManager());
+        });
+        assertEquals(asSet(expected.axioms(INCLUDED)), asSet(actual.axioms(INCLUDED)));
+        assertEquals(4, actual.importsClosure().count());
+    }
+
+    @Test
+    public void shouldReportParseTimes() throws Exception {
+        Map<IRI, Long> times = new HashMap<>();
+        List<OWLOntologyID> order = new ArrayList<>();
+        m.addOntologyLoaderListener(new OWLOntologyLoaderListener() {
+
+            @Override
+            public void startedLoadingOntology(LoadingStartedEvent event) {}
+
+            @Override
+            public void finishedLoadingOntology(LoadingFinishedEvent event) {
+                if (event.isSuccessful()) {
+                    times.put(event.getDocumentIRI(), Long.valueOf(event.getParseTime()));
+                    order.add(event.getOntologyID());
+                }
+            }
+        });
+        m.loadOntologyFromOntologyDocument(new FileDocumentSource(root), parallel);
+        assertEquals(4, times.size());
+        for (Long time : times.values()) {
+            assertTrue(time.longValue() >= 0);
+        }
+        // imports finish loading before the ontologies importing them
+        Set<OWLOntologyID> ids = asSet(m.ontologies().map(OWLOntology::getOntologyID));
+        assertEquals(ids, asSet(order.stream()));
+        assertEquals(IRI.create("urn:test:root"), order.get(order.size() - 1).getOntologyIRI().get());
+    }
+}
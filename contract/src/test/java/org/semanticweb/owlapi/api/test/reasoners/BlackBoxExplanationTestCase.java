@@ -0,0 +1,98 @@
+package org.semanticweb.owlapi.api.test.reasoners;
+
+import static org.junit.Assert.*;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.*;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.reasoner.OWLReasonerFactory;
+
+import com.clarkparsia.owlapi.explanation.BlackBoxExplanation;
+
+@SuppressWarnings("javadoc")
+public class BlackBoxExplanationTestCase extends TestBase {
+
+    private final OWLClass a = Class(iri("A"));
+    private final OWLClass b = Class(iri("B"));
+    private final OWLClass c = Class(iri("C"));
+    private final OWLClass d = Class(iri("D"));
+    private final OWLClass e = Class(iri("E"));
+    private final OWLClass f = Class(iri("F"));
+    private final OWLClass g = Class(iri("G"));
+    private final OWLAxiom aSubB = SubClassOf(a, b);
+    private final OWLAxiom bUnsat = SubClassOf(b, OWLNothing());
+    private final OWLAxiom cSubD = SubClassOf(c, d);
+    private final OWLAxiom dUnsat = SubClassOf(d, OWLNothing());
+    private final OWLReasonerFactory factory = new ToldUnsatisfiabilityReasonerFactory();
+    private OWLOntology ontology;
+
+    @Before
+    public void setUpOntology() throws Exception {
+        ontology = m.createOntology();
+        ontology.add(aSubB, bUnsat, SubClassOf(a, e), SubClassOf(e, f), cSubD, dUnsat, SubClassOf(f, c),
+            Declaration(g));
+    }
+
+    private Set<OWLAxiom> explain(OWLClassExpression unsatClass, boolean incremental) {
+        BlackBoxExplanation explanation = new BlackBoxExplanation(ontology, factory, factory
+            .createNonBufferingReasoner(ontology), incremental);
+        try {
+            return explanation.getExplanation(unsatClass);
+        } finally {
+            explanation.dispose();
+        }
+    }
+
+    private void assertSameExplanation(OWLClassExpression unsatClass, Set<OWLAxiom> expected) {
+        assertEquals(expected, explain(unsatClass, false));
+        assertEquals(expected, explain(unsatClass, true));
+    }
+
+    @Test
+    public void shouldMatchNonIncrementalExplanations() {
+        assertSameExplanation(c, new HashSet<>(Arrays.asList(cSubD, dUnsat)));
+        assertSameExplanation(b, new HashSet<>(Arrays.asList(bUnsat)));
+        // A has two justifications, either can be found first
+        Set<Set<OWLAxiom>> justifications = new HashSet<>(Arrays.asList(new HashSet<>(Arrays.asList(aSubB,
+            bUnsat)), new HashSet<>(Arrays.asList(SubClassOf(a, e), SubClassOf(e, f), SubClassOf(f, c), cSubD,
+                dUnsat))));
+        Set<OWLAxiom> explanation = explain(a, false);
+        assertTrue(explanation.toString(), justifications.contains(explanation));
+        explanation = explain(a, true);
+        assertTrue(explanation.toString(), justifications.contains(explanation));
+    }
+
+    @Test
+    public void shouldMatchNonIncrementalExplanationsOfClassExpressions() {
+        // the modules are small enough to be the initial set of axioms, but
+        // only the expansion of the class expression declares G
+        assertSameExplanation(ObjectIntersectionOf(d, g), new HashSet<>(Arrays.asList(dUnsat)));
+        assertSameExplanation(ObjectIntersectionOf(e, g), new HashSet<>(Arrays.asList(SubClassOf(e, f), SubClassOf(
+            f, c), cSubD, dUnsat)));
+    }
+
+    @Test
+    public void shouldFollowOntologyChangesInIncrementalMode() {
+        BlackBoxExplanation explanation = new BlackBoxExplanation(ontology, factory, factory
+            .createNonBufferingReasoner(ontology), true);
+        try {
+            assertEquals(new HashSet<>(Arrays.asList(cSubD, dUnsat)), explanation.getExplanation(c));
+            OWLAxiom cUnsat = SubClassOf(c, OWLNothing());
+            ontology.remove(cSubD);
+            ontology.add(cUnsat);
+            assertEquals(new HashSet<>(Arrays.asList(cUnsat)), explanation.getExplanation(c));
+            assertEquals(explain(c, false), explanation.getExplanation(c));
+        } finally {
+            explanation.dispose();
+        }
+    }
+}
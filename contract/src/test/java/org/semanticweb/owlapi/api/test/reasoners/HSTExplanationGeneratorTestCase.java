@@ -0,0 +1,129 @@
+package org.semanticweb.owlapi.api.test.reasoners;
+
+import static org.junit.Assert.*;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.*;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLRuntimeException;
+import org.semanticweb.owlapi.reasoner.OWLReasonerFactory;
+
+import com.clarkparsia.owlapi.explanation.BlackBoxExplanation;
+import com.clarkparsia.owlapi.explanation.HSTExplanationGenerator;
+
+@SuppressWarnings("javadoc")
+public class HSTExplanationGeneratorTestCase extends TestBase {
+
+    private final OWLClass a = Class(iri("A"));
+    private final OWLClass b = Class(iri("B"));
+    private final OWLClass c = Class(iri("C"));
+    private final OWLClass d = Class(iri("D"));
+    private final OWLClass e = Class(iri("E"));
+    private final OWLClass h = Class(iri("H"));
+    private final OWLReasonerFactory factory = new ToldUnsatisfiabilityReasonerFactory();
+    /** the four justifications for the unsatisfiability of A */
+    private final Set<Set<OWLAxiom>> justifications = new HashSet<>(Arrays.asList(
+        // A -> B -> Nothing
+        axioms(SubClassOf(a, b), SubClassOf(b, OWLNothing())),
+        // A -> H -> Nothing
+        axioms(SubClassOf(a, h), SubClassOf(h, OWLNothing())),
+        // A -> E -> C -> D -> Nothing
+        axioms(SubClassOf(a, e), SubClassOf(e, c), SubClassOf(c, d), SubClassOf(d, OWLNothing())),
+        // A -> E -> D -> Nothing
+        axioms(SubClassOf(a, e), SubClassOf(e, d), SubClassOf(d, OWLNothing()))));
+    private OWLOntology ontology;
+
+    private static Set<OWLAxiom> axioms(OWLAxiom... axioms) {
+        return new HashSet<>(Arrays.asList(axioms));
+    }
+
+    @Before
+    public void setUpOntology() throws Exception {
+        ontology = m.createOntology();
+        justifications.forEach(ontology::add);
+    }
+
+    private BlackBoxExplanation explanation(OWLOntology o) {
+        return new BlackBoxExplanation(o, factory, factory.createNonBufferingReasoner(o));
+    }
+
+    private HSTExplanationGenerator sequential() {
+        return new HSTExplanationGenerator(explanation(ontology));
+    }
+
+    /** Workers explain their own copy of the ontology, in their own manager. */
+    private HSTExplanationGenerator parallel() {
+        return new HSTExplanationGenerator(explanation(ontology), () -> {
+            try {
+                OWLOntology copy = setupManager().createOntology(ontology.axioms());
+                return explanation(copy);
+            } catch (OWLOntologyCreationException ex) {
+                throw new OWLRuntimeException(ex);
+            }
+        }, 3);
+    }
+
+    @Test
+    public void shouldFindAllJustifications() {
+        HSTExplanationGenerator generator = sequential();
+        try {
+            assertEquals(justifications, generator.getExplanations(a));
+        } finally {
+            generator.dispose();
+        }
+    }
+
+    @Test
+    public void shouldFindSameJustificationsInParallel() {
+        HSTExplanationGenerator generator = parallel();
+        try {
+            assertEquals(justifications, generator.getExplanations(a));
+            // the workers did not change the ontology
+            assertEquals(justifications.stream().flatMap(Set::stream).collect(Collectors.toSet()), ontology.axioms()
+                .collect(Collectors.toSet()));
+        } finally {
+            generator.dispose();
+        }
+    }
+
+    @Test
+    public void shouldStopAtMaxExplanations() {
+        for (HSTExplanationGenerator generator : Arrays.asList(sequential(), parallel())) {
+            try {
+                Set<Set<OWLAxiom>> explanations = generator.getExplanations(a, 2);
+                assertEquals(explanations.toString(), 2, explanations.size());
+                assertTrue(explanations.toString(), justifications.containsAll(explanations));
+            } finally {
+                generator.dispose();
+            }
+        }
+    }
+
+    @Test
+    public void shouldReturnExplanationsFoundBeforeTimeout() {
+        for (HSTExplanationGenerator generator : Arrays.asList(sequential(), parallel())) {
+            try {
+                // expires while the first explanation is computed
+                generator.setTimeout(1, TimeUnit.NANOSECONDS);
+                Set<Set<OWLAxiom>> explanations = generator.getExplanations(a);
+                assertEquals(explanations.toString(), 1, explanations.size());
+                assertTrue(explanations.toString(), justifications.containsAll(explanations));
+                generator.setTimeout(0, TimeUnit.NANOSECONDS);
+                assertEquals(justifications, generator.getExplanations(a));
+            } finally {
+                generator.dispose();
+            }
+        }
+    }
+}
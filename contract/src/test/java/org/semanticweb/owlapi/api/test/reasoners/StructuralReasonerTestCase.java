@@ -18,12 +18,15 @@ import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.*;
 import org.junit.Test;
 import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
 import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyManager;
 import org.semanticweb.owlapi.reasoner.BufferingMode;
 import org.semanticweb.owlapi.reasoner.Node;
 import org.semanticweb.owlapi.reasoner.NodeSet;
 import org.semanticweb.owlapi.reasoner.SimpleConfiguration;
+import org.semanticweb.owlapi.reasoner.impl.OWLClassNodeSet;
+import org.semanticweb.owlapi.reasoner.impl.OWLNamedIndividualNode;
 import org.semanticweb.owlapi.reasoner.structural.StructuralReasoner;
 
 /**
@@ -54,6 +57,95 @@ public class StructuralReasonerTestCase extends TestBase {
         testClassHierarchy(reasoner);
     }
 
+    @Test
+    public void shouldKeepEquivalentsOfTopAfterUnrelatedChanges() {
+        OWLClass clsX = Class(iri("X"));
+        OWLOntology ont = getOWLOntology();
+        ont.add(EquivalentClasses(OWLThing(), clsX));
+        StructuralReasoner reasoner = new StructuralReasoner(ont, new SimpleConfiguration(),
+            BufferingMode.NON_BUFFERING);
+        ont.add(SubClassOf(Class(iri("B")), Class(iri("C"))));
+        assertTrue(reasoner.getEquivalentClasses(OWLThing()).contains(clsX));
+        assertTrue(reasoner.getSuperClasses(Class(iri("C")), true).isTopSingleton());
+    }
+
+    @Test
+    public void shouldMatchFreshReasonerAfterChanges() {
+        OWLClass[] classes = new OWLClass[8];
+        for (int i = 0; i < classes.length; i++) {
+            classes[i] = Class(iri("C" + i));
+        }
+        OWLOntology ont = getOWLOntology();
+        for (int i = 1; i < classes.length; i++) {
+            ont.add(SubClassOf(classes[i], classes[(i - 1) / 2]));
+        }
+        StructuralReasoner reasoner = new StructuralReasoner(ont, new SimpleConfiguration(),
+            BufferingMode.NON_BUFFERING);
+        // a cycle with a branch, an equivalence to top, and removal of the
+        // only axiom mentioning a class
+        ont.add(SubClassOf(classes[0], classes[5]));
+        assertSameHierarchy(ont, classes, reasoner);
+        ont.add(SubClassOf(classes[2], classes[6]), SubClassOf(classes[6], classes[2]));
+        assertSameHierarchy(ont, classes, reasoner);
+        ont.add(EquivalentClasses(OWLThing(), classes[7]));
+        assertSameHierarchy(ont, classes, reasoner);
+        ont.remove(SubClassOf(classes[0], classes[5]));
+        ont.remove(SubClassOf(classes[7], classes[3]));
+        assertSameHierarchy(ont, classes, reasoner);
+        ont.remove(EquivalentClasses(OWLThing(), classes[7]));
+        assertSameHierarchy(ont, classes, reasoner);
+    }
+
+    private static void assertSameHierarchy(OWLOntology ont, OWLClass[] classes, StructuralReasoner reasoner) {
+        StructuralReasoner fresh = new StructuralReasoner(ont, new SimpleConfiguration(),
+            BufferingMode.NON_BUFFERING);
+        for (OWLClass c : classes) {
+            assertEquals(fresh.getEquivalentClasses(c), reasoner.getEquivalentClasses(c));
+            assertEquals(fresh.getSubClasses(c, true), reasoner.getSubClasses(c, true));
+            assertEquals(fresh.getSuperClasses(c, false), reasoner.getSuperClasses(c, false));
+        }
+        assertEquals(fresh.getSubClasses(OWLThing(), true), reasoner.getSubClasses(OWLThing(), true));
+        assertEquals(fresh.getSuperClasses(OWLNothing(), true), reasoner.getSuperClasses(OWLNothing(), true));
+        fresh.dispose();
+    }
+
+    @Test
+    public void shouldRefreshCachedAnswersOnFlush() {
+        OWLClass clsA = Class(iri("A"));
+        OWLClass clsB = Class(iri("B"));
+        OWLNamedIndividual ind = NamedIndividual(iri("i"));
+        OWLOntology ont = getOWLOntology();
+        ont.add(SubClassOf(clsA, clsB), ClassAssertion(clsB, ind));
+        StructuralReasoner reasoner = new StructuralReasoner(ont, new SimpleConfiguration(),
+            BufferingMode.BUFFERING);
+        assertFalse(reasoner.getTypes(ind, true).containsEntity(clsA));
+        ont.add(ClassAssertion(clsA, ind));
+        // cached and uncached answers agree while changes are pending
+        assertEquals(reasoner.getTypes(ind, true).containsEntity(clsA),
+            reasoner.getTypes(ind, false).containsEntity(clsA));
+        assertEquals(reasoner.getInstances(clsA, true).containsEntity(ind),
+            reasoner.getTypes(ind, true).containsEntity(clsA));
+        reasoner.flush();
+        assertTrue(reasoner.getTypes(ind, true).containsEntity(clsA));
+        assertTrue(reasoner.getTypes(ind, false).containsEntity(clsA));
+        assertTrue(reasoner.getInstances(clsB, false).containsEntity(ind));
+    }
+
+    @Test
+    public void shouldNotShareCachedAnswers() {
+        OWLClass clsA = Class(iri("A"));
+        OWLClass clsB = Class(iri("B"));
+        OWLNamedIndividual ind = NamedIndividual(iri("i"));
+        OWLOntology ont = getOWLOntology();
+        ont.add(ClassAssertion(clsA, ind));
+        StructuralReasoner reasoner = new StructuralReasoner(ont, new SimpleConfiguration(),
+            BufferingMode.BUFFERING);
+        ((OWLClassNodeSet) reasoner.getTypes(ind, true)).addEntity(clsB);
+        assertFalse(reasoner.getTypes(ind, true).containsEntity(clsB));
+        ((OWLNamedIndividualNode) reasoner.getSameIndividuals(ind)).add(NamedIndividual(iri("j")));
+        assertEquals(1, reasoner.getSameIndividuals(ind).getSize());
+    }
+
     private static void testClassHierarchy(StructuralReasoner reasoner) {
         OWLClass clsX = Class(iri("X"));
         OWLClass clsA = Class(iri("A"));
@@ -0,0 +1,64 @@
+package org.semanticweb.owlapi.api.test.reasoners;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.reasoner.BufferingMode;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
+import org.semanticweb.owlapi.reasoner.OWLReasonerConfiguration;
+import org.semanticweb.owlapi.reasoner.structural.StructuralReasoner;
+import org.semanticweb.owlapi.reasoner.structural.StructuralReasonerFactory;
+
+/**
+ * Structural reasoners that find a class expression unsatisfiable if a chain of
+ * told subclass axioms, through the conjuncts of intersections, leads to
+ * owl:Nothing; enough to have non trivial explanations.
+ */
+@SuppressWarnings("javadoc")
+public class ToldUnsatisfiabilityReasonerFactory extends StructuralReasonerFactory {
+
+    @Override
+    public OWLReasoner createNonBufferingReasoner(OWLOntology ontology, OWLReasonerConfiguration config) {
+        return new ToldUnsatisfiabilityReasoner(ontology, config, BufferingMode.NON_BUFFERING);
+    }
+
+    @Override
+    public OWLReasoner createReasoner(OWLOntology ontology, OWLReasonerConfiguration config) {
+        return new ToldUnsatisfiabilityReasoner(ontology, config, BufferingMode.BUFFERING);
+    }
+
+    private static class ToldUnsatisfiabilityReasoner extends StructuralReasoner {
+
+        ToldUnsatisfiabilityReasoner(OWLOntology ontology, OWLReasonerConfiguration config,
+            BufferingMode bufferingMode) {
+            super(ontology, config, bufferingMode);
+        }
+
+        @Override
+        public boolean isSatisfiable(OWLClassExpression classExpression) {
+            Deque<OWLClassExpression> toVisit = new ArrayDeque<>();
+            Set<OWLClassExpression> visited = new HashSet<>();
+            toVisit.add(classExpression);
+            while (!toVisit.isEmpty()) {
+                OWLClassExpression ce = toVisit.poll();
+                if (ce.isOWLNothing()) {
+                    return false;
+                }
+                if (!visited.add(ce)) {
+                    continue;
+                }
+                if (ce.isAnonymous()) {
+                    toVisit.addAll(ce.asConjunctSet());
+                } else {
+                    getRootOntology().importsClosure().flatMap(o -> o.subClassAxiomsForSubClass(ce
+                        .asOWLClass())).forEach(ax -> toVisit.add(ax.getSuperClass()));
+                }
+            }
+            return true;
+        }
+    }
+}
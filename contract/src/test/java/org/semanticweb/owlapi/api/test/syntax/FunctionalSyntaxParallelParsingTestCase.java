@@ -0,0 +1,62 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.api.test.syntax;
+
+import static org.junit.Assert.*;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asSet;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.formats.FunctionalSyntaxDocumentFormat;
+import org.semanticweb.owlapi.io.StringDocumentSource;
+import org.semanticweb.owlapi.model.*;
+
+@SuppressWarnings("javadoc")
+public class FunctionalSyntaxParallelParsingTestCase extends TestBase {
+
+    private final OWLOntologyLoaderConfiguration parallel = new OWLOntologyLoaderConfiguration().setParsingThreads(4);
+
+    @Test
+    public void shouldParseSameAxiomsInParallel() throws Exception {
+        OWLOntology o = getOWLOntology();
+        o.getOWLOntologyManager().applyChange(new AddOntologyAnnotation(o, df.getOWLAnnotation(df.getRDFSComment(),
+            df.getOWLLiteral("not an axiom: SubClassOf(:a :b)"))));
+        OWLClass top = df.getOWLClass(iri("Top"));
+        // enough text for several chunks
+        for (int i = 0; i < 30000; i++) {
+            OWLClass c = df.getOWLClass(iri("C" + i));
+            o.add(df.getOWLDeclarationAxiom(c), df.getOWLSubClassOfAxiom(c, top), df.getOWLAnnotationAssertionAxiom(c
+                .getIRI(), df.getRDFSLabel("label ) ( # \" " + i)));
+        }
+        OWLOntology sequential = roundTrip(o, new FunctionalSyntaxDocumentFormat(), config);
+        OWLOntology parsed = roundTrip(o, new FunctionalSyntaxDocumentFormat(), parallel);
+        assertEquals(o.getOntologyID(), parsed.getOntologyID());
+        assertEquals(asSet(o.annotations()), asSet(parsed.annotations()));
+        assertEquals(asSet(sequential.axioms()), asSet(parsed.axioms()));
+        assertEquals(sequential.getAxiomCount(), parsed.getAxiomCount());
+    }
+
+    @Test
+    public void shouldParseCommentsAndWhitespaceInParallel() throws OWLOntologyCreationException {
+        String input = "Prefix(:=<urn:test#>)\n# comment with Ontology( in it\nOntology (<urn:test>\n"
+            + "Annotation(rdfs:comment \"header\")\n" + "Declaration (Class(:A))\n" + "#Declaration(Class(:B))\n"
+            + "SubClassOf(:A :C#tail\n)\n) # end\n";
+        OWLOntology o = loadOntologyWithConfig(new StringDocumentSource(input), parallel);
+        OWLClass a = df.getOWLClass(IRI.create("urn:test#", "A"));
+        OWLClass c = df.getOWLClass(IRI.create("urn:test#C", "#tail"));
+        assertEquals(1, o.annotations().count());
+        assertTrue(o.containsAxiom(df.getOWLDeclarationAxiom(a)));
+        assertTrue(o.containsAxiom(df.getOWLSubClassOfAxiom(a, c)));
+        assertEquals(2, o.getAxiomCount());
+    }
+}
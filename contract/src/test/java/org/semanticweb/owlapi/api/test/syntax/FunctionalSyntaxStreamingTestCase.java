@@ -0,0 +1,66 @@
+package org.semanticweb.owlapi.api.test.syntax;
+
+import static org.junit.Assert.assertEquals;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.*;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.formats.FunctionalSyntaxDocumentFormat;
+import org.semanticweb.owlapi.model.*;
+
+@SuppressWarnings("javadoc")
+public class FunctionalSyntaxStreamingTestCase extends TestBase {
+
+    private static final String NS = "urn:test#";
+
+    private String save(OWLOntology o, boolean streaming, int batchSize) throws OWLOntologyStorageException {
+        FunctionalSyntaxDocumentFormat format = new FunctionalSyntaxDocumentFormat();
+        format.setParameter(FunctionalSyntaxDocumentFormat.STREAMING, Boolean.valueOf(streaming));
+        format.setParameter(FunctionalSyntaxDocumentFormat.STREAMING_BATCH_SIZE, Integer.valueOf(batchSize));
+        return saveOntology(o, format).toString();
+    }
+
+    private void assertSameOutput(OWLOntology o) throws OWLOntologyStorageException {
+        String expected = save(o, false, 1);
+        assertEquals(expected, save(o, true, 100000));
+        // several batches spilled to disk
+        assertEquals(expected, save(o, true, 3));
+        assertEquals(expected, save(o, true, 1));
+    }
+
+    @Test
+    public void shouldWritePizzaAsNonStreamingRenderer() throws OWLOntologyStorageException {
+        assertSameOutput(ontologyFromClasspathFile("pizza.owl"));
+    }
+
+    @Test
+    public void shouldWritePrimerAsNonStreamingRenderer() throws OWLOntologyStorageException {
+        assertSameOutput(ontologyFromClasspathFile("primer.functionalsyntax.txt"));
+    }
+
+    @Test
+    public void shouldWriteSharedAndUnownedAxiomsOnce() throws Exception {
+        OWLOntology o = getOWLOntology(IRI(NS, "o"));
+        OWLClass a = Class(IRI(NS, "A"));
+        OWLClass b = Class(IRI(NS, "B"));
+        OWLClass c = Class(IRI(NS, "C"));
+        OWLObjectProperty p = ObjectProperty(IRI(NS, "p"));
+        OWLObjectProperty q = ObjectProperty(IRI(NS, "q"));
+        OWLDataProperty d = DataProperty(IRI(NS, "d"));
+        OWLNamedIndividual i = NamedIndividual(IRI(NS, "i"));
+        OWLNamedIndividual j = NamedIndividual(IRI(NS, "j"));
+        // punned with the class A
+        OWLNamedIndividual ai = NamedIndividual(IRI(NS, "A"));
+        OWLAnonymousIndividual anon = AnonymousIndividual();
+        o.add(Declaration(a), SubClassOf(a, b), EquivalentClasses(b, a), DisjointClasses(a, b, c), DisjointClasses(b,
+            c), DisjointUnion(c, a, b), SubClassOf(ObjectSomeValuesFrom(p, a), c), InverseObjectProperties(q, p),
+            SubObjectPropertyOf(ObjectInverseOf(p), q), SubPropertyChainOf(java.util.Arrays.asList(p, q), p),
+            FunctionalObjectProperty(ObjectInverseOf(q)), ObjectPropertyDomain(p, a), DataPropertyRange(d, Integer()),
+            ClassAssertion(a, i), ClassAssertion(c, anon), ObjectPropertyAssertion(p, i, j), ObjectPropertyAssertion(p,
+                anon, i), DataPropertyAssertion(d, j, Literal(3)), SameIndividual(j, i), DifferentIndividuals(i, j),
+            ClassAssertion(b, ai), HasKey(a, p), AnnotationAssertion(RDFSLabel(), a.getIRI(), Literal("A")),
+            AnnotationAssertion(RDFSComment(), IRI(NS, "nothing"), Literal("no entity")), AnnotationAssertion(
+                RDFSComment(), anon, Literal("anonymous")));
+        assertSameOutput(o);
+    }
+}
@@ -0,0 +1,99 @@
+package org.semanticweb.owlapi.api.test.syntax;
+
+import static org.junit.Assert.*;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.formats.FunctionalSyntaxDocumentFormat;
+import org.semanticweb.owlapi.formats.ManchesterSyntaxDocumentFormat;
+import org.semanticweb.owlapi.formats.OWLXMLDocumentFormat;
+import org.semanticweb.owlapi.model.*;
+import org.semanticweb.owlapi.util.ChunkedRenderer;
+
+@SuppressWarnings("javadoc")
+public class ParallelRenderingTestCase extends TestBase {
+
+    private static final String NS = "urn:test#";
+
+    private String save(OWLOntology o, OWLDocumentFormat format, int threads) throws OWLOntologyStorageException {
+        o.getOWLOntologyManager().getOntologyConfigurator().withRenderingThreads(threads);
+        return saveOntology(o, format).toString();
+    }
+
+    private void assertSameOutput(OWLOntology o) throws OWLOntologyStorageException {
+        for (OWLDocumentFormat format : Arrays.asList(new FunctionalSyntaxDocumentFormat(),
+            new ManchesterSyntaxDocumentFormat(), new OWLXMLDocumentFormat())) {
+            String expected = save(o, format, 1);
+            assertEquals(format.getKey(), expected, save(o, format, 4));
+        }
+    }
+
+    @Test
+    public void shouldWritePizzaAsSequentialRenderer() throws OWLOntologyStorageException {
+        assertSameOutput(ontologyFromClasspathFile("pizza.owl"));
+    }
+
+    @Test
+    public void shouldWritePrimerAsSequentialRenderer() throws OWLOntologyStorageException {
+        assertSameOutput(ontologyFromClasspathFile("primer.functionalsyntax.txt"));
+    }
+
+    @Test
+    public void shouldWriteManyChunksAsSequentialRenderer() throws OWLOntologyStorageException {
+        OWLOntology o = getOWLOntology();
+        OWLObjectProperty p = ObjectProperty(IRI(NS, "p"));
+        OWLDataProperty d = DataProperty(IRI(NS, "d"));
+        OWLClass previous = OWLThing();
+        // several chunks per section
+        for (int i = 0; i < 3 * ChunkedRenderer.DEFAULT_CHUNK_SIZE; i++) {
+            OWLClass c = Class(IRI(NS, "C" + i));
+            OWLNamedIndividual ind = NamedIndividual(IRI(NS, "i" + i));
+            o.add(Declaration(c), SubClassOf(c, ObjectSomeValuesFrom(p, previous)), AnnotationAssertion(RDFSLabel(),
+                c.getIRI(), Literal("class\n" + i)), ClassAssertion(c, ind), DataPropertyAssertion(d, ind, Literal(i)));
+            if (i % 3 == 0) {
+                o.add(DisjointClasses(c, previous, OWLNothing()), ObjectPropertyAssertion(p, ind, AnonymousIndividual()));
+            }
+            previous = c;
+        }
+        assertSameOutput(o);
+    }
+
+    @Test
+    public void shouldHandBackChunksInOrder() {
+        List<Integer> numbers = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            numbers.add(Integer.valueOf(i));
+        }
+        StringBuilder expected = new StringBuilder();
+        numbers.forEach(i -> expected.append(i).append(' '));
+        StringBuilder actual = new StringBuilder();
+        new ChunkedRenderer<Integer>(4, 3).render(numbers, w -> i -> {
+            try {
+                w.write(i + " ");
+            } catch (java.io.IOException e) {
+                throw new OWLRuntimeException(e);
+            }
+        }, actual::append);
+        assertEquals(expected.toString(), actual.toString());
+    }
+
+    @Test
+    public void shouldRethrowRenderingErrors() {
+        IllegalStateException error = new IllegalStateException("cannot render");
+        try {
+            new ChunkedRenderer<Integer>(4, 3).render(Arrays.asList(1, 2, 3, 4, 5, 6, 7), w -> i -> {
+                if (i.intValue() == 5) {
+                    throw error;
+                }
+            }, s -> {});
+            fail("error expected");
+        } catch (IllegalStateException e) {
+            assertSame(error, e);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.api.test.syntax.rdf;
+
+import static org.junit.Assert.*;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asSet;
+
+import java.util.Collections;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.formats.RDFXMLDocumentFormat;
+import org.semanticweb.owlapi.formats.TurtleDocumentFormat;
+import org.semanticweb.owlapi.io.OWLOntologyLoaderMetaData;
+import org.semanticweb.owlapi.io.StringDocumentSource;
+import org.semanticweb.owlapi.model.*;
+
+@SuppressWarnings("javadoc")
+public class EncodedRDFTriplesTestCase extends TestBase {
+
+    private final OWLOntologyLoaderConfiguration encoded = new OWLOntologyLoaderConfiguration().setEncodeRDFTriples(
+        true);
+
+    private OWLOntology createOntology() {
+        OWLOntology o = getOWLOntology();
+        OWLObjectProperty p = df.getOWLObjectProperty(iri("p"));
+        OWLDataProperty d = df.getOWLDataProperty(iri("d"));
+        OWLClass c = df.getOWLClass(iri("C"));
+        o.add(df.getOWLDeclarationAxiom(p), df.getOWLDeclarationAxiom(d), df.getOWLDeclarationAxiom(c));
+        for (int i = 0; i < 50; i++) {
+            OWLClass k = df.getOWLClass(iri("K" + i));
+            OWLNamedIndividual x = df.getOWLNamedIndividual(iri("i" + i));
+            o.add(df.getOWLEquivalentClassesAxiom(k, df.getOWLObjectIntersectionOf(c, df.getOWLObjectAllValuesFrom(p,
+                k), df.getOWLDataHasValue(d, df.getOWLLiteral(i)))), df.getOWLSubClassOfAxiom(k, c, Collections
+                    .singleton(df.getRDFSComment("K" + i))), df.getOWLClassAssertionAxiom(k, x), df
+                        .getOWLDataPropertyAssertionAxiom(d, x, i), df.getOWLAnnotationAssertionAxiom(x.getIRI(), df
+                            .getRDFSLabel("i" + i)));
+        }
+        return o;
+    }
+
+    private void assertEncodedEquivalent(OWLDocumentFormat format) throws Exception {
+        OWLOntology o = createOntology();
+        OWLOntology mapped = roundTrip(o, format, config);
+        OWLOntology encodedOntology = roundTrip(o, format, encoded);
+        assertEquals(asSet(mapped.axioms()), asSet(encodedOntology.axioms()));
+        OWLOntologyLoaderMetaData mappedData = get(mapped.getFormat().getOntologyLoaderMetaData());
+        OWLOntologyLoaderMetaData encodedData = get(encodedOntology.getFormat().getOntologyLoaderMetaData());
+        assertEquals(mappedData.getPeakBufferedTriples(), encodedData.getPeakBufferedTriples());
+        assertEquals(0, encodedData.getUnparsedTriples().count());
+    }
+
+    @Test
+    public void shouldParseRDFXMLWithEncodedTriples() throws Exception {
+        assertEncodedEquivalent(new RDFXMLDocumentFormat());
+    }
+
+    @Test
+    public void shouldParseTurtleWithEncodedTriples() throws Exception {
+        assertEncodedEquivalent(new TurtleDocumentFormat());
+    }
+
+    @Test
+    public void shouldIgnoreDuplicateTriples() throws Exception {
+        String input = "@prefix : <urn:test#> .\n@prefix owl: <http://www.w3.org/2002/07/owl#> .\n"
+            + ":p a owl:DatatypeProperty .\n:a :p \"x\" .\n:a :p \"x\" .\n:a :p \"y\" .\n:a a owl:NamedIndividual .";
+        OWLOntology o = loadOntologyWithConfig(new StringDocumentSource(input), encoded);
+        OWLOntology expected = loadOntologyWithConfig(new StringDocumentSource(input), config);
+        assertEquals(asSet(expected.axioms()), asSet(o.axioms()));
+        assertEquals(2, o.axioms(AxiomType.DATA_PROPERTY_ASSERTION).count());
+    }
+}
@@ -0,0 +1,115 @@
+package org.semanticweb.owlapi.api.test.syntax.rdf;
+
+import static org.junit.Assert.*;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.io.RDFResourceBlankNode;
+import org.semanticweb.owlapi.io.RDFResourceIRI;
+import org.semanticweb.owlapi.io.RDFTriple;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.rdf.model.RDFGraph;
+import org.semanticweb.owlapi.rdf.model.RDFTranslator;
+import org.semanticweb.owlapi.vocab.OWLRDFVocabulary;
+
+@SuppressWarnings("javadoc")
+public class RDFGraphReuseTestCase extends TestBase {
+
+    private static RDFResourceIRI iri(String name) {
+        return new RDFResourceIRI(IRI.create("urn:test#", name));
+    }
+
+    private final RDFResourceIRI a = iri("a");
+    private final RDFResourceIRI b = iri("b");
+    private final RDFResourceIRI p = iri("p");
+    private final RDFResourceIRI type = new RDFResourceIRI(OWLRDFVocabulary.RDF_TYPE.getIRI());
+    private final RDFResourceBlankNode anon = new RDFResourceBlankNode(1, false, false);
+
+    @Test
+    public void shouldKeepTriplesInInsertionOrderWithoutDuplicates() {
+        RDFGraph graph = new RDFGraph();
+        RDFTriple t1 = new RDFTriple(a, type, b);
+        RDFTriple t2 = new RDFTriple(a, p, anon);
+        RDFTriple t3 = new RDFTriple(anon, p, b);
+        graph.addTriple(t1);
+        graph.addTriple(t2);
+        graph.addTriple(t3);
+        graph.addTriple(new RDFTriple(a, type, b));
+        assertEquals(Arrays.asList(t1, t2), asList(graph.getTriplesForSubject(a).stream()));
+        assertEquals(Collections.singletonList(t3), asList(graph.getTriplesForSubject(anon).stream()));
+        assertEquals(3, graph.getAllTriples().size());
+        assertTrue(graph.getAllTriples().contains(t3));
+        assertTrue(graph.getRootAnonymousNodes().isEmpty());
+    }
+
+    @Test
+    public void shouldBeEmptyAfterClear() {
+        RDFGraph graph = new RDFGraph();
+        graph.addTriple(new RDFTriple(anon, p, a));
+        graph.addTriple(new RDFTriple(a, p, b));
+        assertEquals(Collections.singleton(anon), graph.getRootAnonymousNodes());
+        graph.clear();
+        assertTrue(graph.isEmpty());
+        assertTrue(graph.getTriplesForSubject(a).isEmpty());
+        assertTrue(graph.getRootAnonymousNodes().isEmpty());
+        assertTrue(graph.computeRemappingForSharedNodes().isEmpty());
+        // index lists are reused for the new subjects
+        RDFTriple t = new RDFTriple(b, p, a);
+        graph.addTriple(t);
+        assertEquals(Collections.singletonList(t), asList(graph.getTriplesForSubject(b).stream()));
+        assertTrue(graph.getTriplesForSubject(anon).isEmpty());
+        assertEquals(Collections.singleton(t), graph.getAllTriples());
+    }
+
+    @Test
+    public void shouldRemapSharedBlankNodes() {
+        RDFGraph graph = new RDFGraph();
+        graph.addTriple(new RDFTriple(a, p, anon));
+        graph.addTriple(new RDFTriple(b, p, anon));
+        assertEquals(2, graph.computeRemappingForSharedNodes().size());
+        graph.clear();
+        graph.addTriple(new RDFTriple(a, p, b));
+        assertTrue(graph.computeRemappingForSharedNodes().isEmpty());
+    }
+
+    private static class ReusableTranslator extends RDFTranslator {
+
+        ReusableTranslator(OWLOntology o) {
+            super(o.getOWLOntologyManager(), o, false, x -> false);
+        }
+
+        void recycle() {
+            clearForReuse();
+        }
+    }
+
+    @Test
+    public void shouldKeepGraphsObtainedBeforeReset() throws Exception {
+        OWLOntology o = m.createOntology();
+        OWLDataFactory f = o.getOWLOntologyManager().getOWLDataFactory();
+        OWLClass c = f.getOWLClass(IRI.create("urn:test#", "C"));
+        OWLClass d = f.getOWLClass(IRI.create("urn:test#", "D"));
+        ReusableTranslator translator = new ReusableTranslator(o);
+        f.getOWLSubClassOfAxiom(c, d).accept(translator);
+        RDFGraph first = translator.getGraph();
+        assertFalse(first.isEmpty());
+        translator.reset();
+        assertNotSame(first, translator.getGraph());
+        assertFalse(first.isEmpty());
+        assertTrue(translator.getGraph().isEmpty());
+        f.getOWLSubClassOfAxiom(d, c).accept(translator);
+        RDFGraph second = translator.getGraph();
+        translator.recycle();
+        // reused in place
+        assertSame(second, translator.getGraph());
+        assertTrue(second.isEmpty());
+        assertFalse(first.isEmpty());
+    }
+}
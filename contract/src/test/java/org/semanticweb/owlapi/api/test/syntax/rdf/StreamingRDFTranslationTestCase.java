@@ -0,0 +1,86 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.api.test.syntax.rdf;
+
+import static org.junit.Assert.*;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asSet;
+
+import java.util.Collections;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.formats.RDFXMLDocumentFormat;
+import org.semanticweb.owlapi.formats.TurtleDocumentFormat;
+import org.semanticweb.owlapi.io.OWLOntologyLoaderMetaData;
+import org.semanticweb.owlapi.io.StringDocumentSource;
+import org.semanticweb.owlapi.model.*;
+
+@SuppressWarnings("javadoc")
+public class StreamingRDFTranslationTestCase extends TestBase {
+
+    private final OWLOntologyLoaderConfiguration streaming = new OWLOntologyLoaderConfiguration()
+        .setStreamingRDFTranslation(true);
+
+    private OWLOntology createABox() {
+        OWLOntology o = getOWLOntology();
+        OWLObjectProperty p = df.getOWLObjectProperty(iri("p"));
+        OWLDataProperty d = df.getOWLDataProperty(iri("d"));
+        OWLClass c = df.getOWLClass(iri("C"));
+        o.add(df.getOWLDeclarationAxiom(p), df.getOWLDeclarationAxiom(d), df.getOWLDeclarationAxiom(c), df
+            .getOWLSubClassOfAxiom(c, df.getOWLObjectSomeValuesFrom(p, c)));
+        for (int i = 0; i < 100; i++) {
+            OWLNamedIndividual x = df.getOWLNamedIndividual(iri("i" + i));
+            OWLNamedIndividual y = df.getOWLNamedIndividual(iri("i" + (i + 1) % 100));
+            o.add(df.getOWLDeclarationAxiom(x), df.getOWLClassAssertionAxiom(c, x), df
+                .getOWLObjectPropertyAssertionAxiom(p, x, y), df.getOWLDataPropertyAssertionAxiom(d, x, i));
+        }
+        // annotated assertions are reified; the plain version must not remain
+        o.add(df.getOWLObjectPropertyAssertionAxiom(p, df.getOWLNamedIndividual(iri("i0")), df.getOWLNamedIndividual(
+            iri("i5")), Collections.singleton(df.getRDFSComment("annotated"))));
+        return o;
+    }
+
+    private void assertStreamingEquivalent(OWLDocumentFormat format) throws Exception {
+        OWLOntology o = createABox();
+        OWLOntology buffered = roundTrip(o, format, config);
+        OWLOntology streamed = roundTrip(o, format, streaming);
+        assertEquals(asSet(buffered.axioms()), asSet(streamed.axioms()));
+        OWLOntologyLoaderMetaData bufferedData = get(buffered.getFormat().getOntologyLoaderMetaData());
+        OWLOntologyLoaderMetaData streamedData = get(streamed.getFormat().getOntologyLoaderMetaData());
+        assertEquals(0, bufferedData.getEagerlyTranslatedTriples());
+        assertEquals(201, streamedData.getEagerlyTranslatedTriples());
+        assertTrue(streamedData.getPeakBufferedTriples() < bufferedData.getPeakBufferedTriples());
+        assertEquals(0, streamedData.getUnparsedTriples().count());
+    }
+
+    @Test
+    public void shouldTranslateRDFXMLEagerly() throws Exception {
+        assertStreamingEquivalent(new RDFXMLDocumentFormat());
+    }
+
+    @Test
+    public void shouldTranslateTurtleEagerly() throws Exception {
+        assertStreamingEquivalent(new TurtleDocumentFormat());
+    }
+
+    @Test
+    public void shouldBufferUndeclaredProperties() throws Exception {
+        String input = "@prefix : <urn:test#> .\n@prefix owl: <http://www.w3.org/2002/07/owl#> .\n"
+            + ":a :p :b .\n:p a owl:ObjectProperty .\n:a a owl:NamedIndividual .\n:b a owl:NamedIndividual .";
+        OWLOntology o = loadOntologyWithConfig(new StringDocumentSource(input), streaming);
+        OWLOntologyLoaderMetaData data = get(o.getFormat().getOntologyLoaderMetaData());
+        assertEquals(0, data.getEagerlyTranslatedTriples());
+        assertTrue(o.containsAxiom(df.getOWLObjectPropertyAssertionAxiom(df.getOWLObjectProperty("urn:test#", "p"), df
+            .getOWLNamedIndividual("urn:test#", "a"), df.getOWLNamedIndividual("urn:test#", "b"))));
+    }
+}
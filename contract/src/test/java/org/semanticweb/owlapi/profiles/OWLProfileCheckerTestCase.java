@@ -0,0 +1,126 @@
+package org.semanticweb.owlapi.profiles;
+
+import static org.junit.Assert.*;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.model.*;
+import org.semanticweb.owlapi.vocab.OWL2Datatype;
+
+@SuppressWarnings("javadoc")
+public class OWLProfileCheckerTestCase extends TestBase {
+
+    private static final String NS = "urn:test#";
+    private static final List<OWLProfile> PROFILES = Arrays.asList(new OWL2Profile(), Profiles.OWL2_DL,
+        new OWL2ELProfile(), new OWL2QLProfile(), new OWL2RLProfile());
+    private final OWLObjectProperty p = ObjectProperty(IRI(NS, "p"));
+    private final OWLObjectProperty q = ObjectProperty(IRI(NS, "q"));
+    private final OWLClass undeclared = Class(IRI(NS, "undeclared"));
+    private OWLOntology top;
+    private OWLOntology imported;
+
+    private static OWLClass c(int i) {
+        return Class(IRI(NS, "C" + i));
+    }
+
+    @Before
+    public void setUpOntologies() throws Exception {
+        top = m.createOntology(IRI("urn:test:", "top"));
+        imported = m.createOntology(IRI("urn:test:", "imported"));
+        m.applyChange(new AddImport(top, ImportsDeclaration(IRI("urn:test:", "imported"))));
+        imported.add(Declaration(p), Declaration(q), TransitiveObjectProperty(p));
+        for (int i = 0; i < 600; i++) {
+            OWLOntology o = i % 3 == 0 ? imported : top;
+            o.add(Declaration(c(i)), SubClassOf(c(i), c(i + 1)));
+            switch (i % 7) {
+                case 0:
+                    o.add(SubClassOf(c(i), ObjectUnionOf(c(i + 2), c(i + 3))));
+                    break;
+                case 1:
+                    o.add(SubClassOf(c(i), ObjectMinCardinality(2, p, c(i + 2))));
+                    break;
+                case 2:
+                    o.add(ClassAssertion(c(i), AnonymousIndividual()));
+                    break;
+                case 3:
+                    o.add(SubClassOf(ObjectAllValuesFrom(q, c(i)), c(i + 1)));
+                    break;
+                case 4:
+                    o.add(DataPropertyRange(DataProperty(IRI(NS, "d" + i)), OWL2Datatype.XSD_BYTE.getDatatype(df)));
+                    break;
+                default:
+                    break;
+            }
+        }
+        top.add(SubClassOf(undeclared, c(0)));
+    }
+
+    /** violations are not comparable, their descriptions are */
+    private static List<String> describe(OWLProfileReport report) {
+        List<String> list = new ArrayList<>();
+        report.getViolations().forEach(v -> list.add(v.getClass().getSimpleName() + ' ' + v));
+        Collections.sort(list);
+        return list;
+    }
+
+    private static void assertSameReports(Map<OWLProfile, OWLProfileReport> expected,
+        Map<OWLProfile, OWLProfileReport> actual) {
+        assertEquals(expected.keySet(), actual.keySet());
+        expected.forEach((p, r) -> assertEquals(p.getName(), describe(r), describe(actual.get(p))));
+    }
+
+    @Test
+    public void shouldMatchSingleProfileChecks() {
+        Map<OWLProfile, OWLProfileReport> reports = new OWLProfileChecker(top, PROFILES).checkOntology(1);
+        for (OWLProfile profile : PROFILES) {
+            OWLProfileReport report = reports.get(profile);
+            assertSame(profile, report.getProfile());
+            assertEquals(describe(profile.checkOntology(top)), describe(report));
+        }
+        assertTrue(reports.get(PROFILES.get(0)).isInProfile());
+        assertTrue(describe(reports.get(Profiles.OWL2_DL)).stream().anyMatch(s -> s.startsWith(
+            "UseOfUndeclaredClass")));
+        assertTrue(describe(reports.get(Profiles.OWL2_DL)).stream().anyMatch(s -> s.startsWith(
+            "UseOfNonSimplePropertyInCardinalityRestriction")));
+    }
+
+    @Test
+    public void shouldFindSameViolationsInParallel() {
+        Map<OWLProfile, OWLProfileReport> expected = new OWLProfileChecker(top, PROFILES).checkOntology(1);
+        assertSameReports(expected, new OWLProfileChecker(top, PROFILES).checkOntology(4));
+    }
+
+    private List<OWLOntologyChange> apply(OWLOntologyChange... changes) {
+        List<OWLOntologyChange> list = Arrays.asList(changes);
+        m.applyChanges(list);
+        return list;
+    }
+
+    private void assertUpToDate(OWLProfileChecker checker, List<OWLOntologyChange> changes) {
+        assertSameReports(new OWLProfileChecker(top, PROFILES).checkOntology(1), checker.checkChanges(changes));
+    }
+
+    @Test
+    public void shouldCheckChangedAxiomsOnly() {
+        OWLProfileChecker checker = new OWLProfileChecker(top, PROFILES);
+        checker.checkOntology(4);
+        // declaring the class fixes the violations of axioms using it
+        assertUpToDate(checker, apply(new AddAxiom(top, Declaration(undeclared)), new RemoveAxiom(imported,
+            SubClassOf(c(0), ObjectUnionOf(c(2), c(3)))), new AddAxiom(top, SubClassOf(c(1), ObjectHasSelf(q))),
+            new AddAxiom(top, ClassAssertion(Class(IRI(NS, "new")), AnonymousIndividual()))));
+        // punning an existing class as a datatype
+        assertUpToDate(checker, apply(new AddAxiom(imported, DataPropertyRange(DataProperty(IRI(NS, "d4")), Datatype(
+            IRI(NS, "C5"))))));
+        // q becomes non simple everywhere
+        assertUpToDate(checker, apply(new AddAxiom(top, SubObjectPropertyOf(p, q))));
+        assertUpToDate(checker, apply(new RemoveImport(top, ImportsDeclaration(IRI("urn:test:", "imported")))));
+    }
+}
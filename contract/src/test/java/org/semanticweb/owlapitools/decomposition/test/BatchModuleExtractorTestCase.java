@@ -0,0 +1,68 @@
+package org.semanticweb.owlapitools.decomposition.test;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.io.StringDocumentSource;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.parameters.Imports;
+
+import uk.ac.manchester.cs.atomicdecomposition.AtomicDecompositionImpl;
+import uk.ac.manchester.cs.owlapi.modularity.BatchModuleExtractor;
+import uk.ac.manchester.cs.owlapi.modularity.ModuleType;
+import uk.ac.manchester.cs.owlapi.modularity.SyntacticLocalityModuleExtractor;
+
+@SuppressWarnings("javadoc")
+public class BatchModuleExtractorTestCase extends TestBase {
+
+    private OWLOntology koala() throws Exception {
+        return m.loadOntologyFromOntologyDocument(new StringDocumentSource(OldModularisationEquivalenceTestCase.KOALA));
+    }
+
+    private void assertSameModules(OWLOntology o, ModuleType type, BatchModuleExtractor batch) {
+        List<Set<OWLEntity>> signatures = OldModularisationEquivalenceTestCase.params();
+        List<Set<OWLAxiom>> modules = batch.extract(signatures, 4);
+        SyntacticLocalityModuleExtractor extractor = new SyntacticLocalityModuleExtractor(m, o, type);
+        for (int i = 0; i < signatures.size(); i++) {
+            assertEquals(type + " " + signatures.get(i), extractor.extract(signatures.get(i)), modules.get(i));
+        }
+    }
+
+    @Test
+    public void shouldMatchModuleExtractor() throws Exception {
+        OWLOntology o = koala();
+        for (ModuleType type : ModuleType.values()) {
+            assertSameModules(o, type, new BatchModuleExtractor(m, o, type));
+        }
+    }
+
+    @Test
+    public void shouldMatchModuleExtractorWithPrincipalIdeals() throws Exception {
+        OWLOntology o = koala();
+        for (ModuleType type : new ModuleType[] { ModuleType.TOP, ModuleType.BOT }) {
+            assertSameModules(o, type, new BatchModuleExtractor(m, o.axioms(Imports.INCLUDED), type,
+                new AtomicDecompositionImpl(o, type)));
+        }
+    }
+
+    @Test
+    public void shouldRecordCacheHits() throws Exception {
+        OWLOntology o = koala();
+        BatchModuleExtractor batch = new BatchModuleExtractor(m, o, ModuleType.BOT);
+        List<Set<OWLEntity>> signatures = OldModularisationEquivalenceTestCase.params();
+        List<Set<OWLAxiom>> modules = batch.extract(signatures, 2);
+        long hits = batch.getStatistics().getCacheHits();
+        // all modules are cached the second time
+        assertEquals(modules, batch.extract(signatures, 2));
+        BatchModuleExtractor.Statistics statistics = batch.getStatistics();
+        assertEquals(2 * signatures.size(), statistics.getRequests());
+        assertEquals(hits + signatures.size(), statistics.getCacheHits());
+        assertTrue(statistics.getMaxNanos() > 0);
+    }
+}
@@ -0,0 +1,91 @@
+package org.semanticweb.owlapitools.decomposition.test;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.io.StringDocumentSource;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapitools.decomposition.AtomListCache;
+import org.semanticweb.owlapitools.decomposition.AxiomSelector;
+
+import uk.ac.manchester.cs.atomicdecomposition.Atom;
+import uk.ac.manchester.cs.atomicdecomposition.AtomicDecomposition;
+import uk.ac.manchester.cs.atomicdecomposition.AtomicDecompositionImpl;
+import uk.ac.manchester.cs.owlapi.modularity.ModuleType;
+
+@SuppressWarnings("javadoc")
+public class ParallelAtomicDecompositionTestCase extends TestBase {
+
+    private static Map<Atom, Set<Atom>> dependencies(AtomicDecomposition ad) {
+        Map<Atom, Set<Atom>> map = new HashMap<>();
+        for (Atom atom : ad.getAtoms()) {
+            map.put(atom, ad.getDependencies(atom, true));
+        }
+        return map;
+    }
+
+    private static void assertSameDecomposition(AtomicDecomposition expected, AtomicDecomposition actual) {
+        assertEquals(expected.getAtoms(), actual.getAtoms());
+        assertEquals(dependencies(expected), dependencies(actual));
+        assertEquals(expected.getTautologies(), actual.getTautologies());
+        assertEquals(expected.getTopAtoms(), actual.getTopAtoms());
+        assertEquals(expected.getBottomAtoms(), actual.getBottomAtoms());
+    }
+
+    @Test
+    public void shouldMatchSequentialDecomposition() throws Exception {
+        OWLOntology o = m.loadOntologyFromOntologyDocument(new StringDocumentSource(
+            OldModularisationEquivalenceTestCase.KOALA));
+        for (ModuleType type : ModuleType.values()) {
+            AtomicDecomposition sequential = new AtomicDecompositionImpl(o, type);
+            assertFalse(sequential.getAtoms().isEmpty());
+            assertSameDecomposition(sequential, new AtomicDecompositionImpl(o, type, 4, null));
+        }
+    }
+
+    @Test
+    public void shouldReuseCachedDecomposition() throws Exception {
+        OWLOntology o = m.loadOntologyFromOntologyDocument(new StringDocumentSource(
+            OldModularisationEquivalenceTestCase.KOALA));
+        File directory = folder.newFolder();
+        AtomListCache cache = new AtomListCache(directory.toPath());
+        AtomicDecomposition computed = new AtomicDecompositionImpl(o, ModuleType.BOT, 2, cache);
+        assertEquals(1, directory.list().length);
+        // a different axiom order must find the same file
+        List<OWLAxiom> axioms = new ArrayList<>(AxiomSelector.selectAxioms(o));
+        Collections.reverse(axioms);
+        AtomicDecomposition cached = new AtomicDecompositionImpl(axioms, ModuleType.BOT, 2, cache);
+        assertSameDecomposition(computed, cached);
+        assertEquals(1, directory.list().length);
+        // a different module type must not
+        new AtomicDecompositionImpl(o, ModuleType.TOP, 2, cache);
+        assertEquals(2, directory.list().length);
+    }
+
+    @Test
+    public void shouldIgnoreCachedDecompositionOfOtherAxioms() throws Exception {
+        OWLOntology o = m.loadOntologyFromOntologyDocument(new StringDocumentSource(
+            OldModularisationEquivalenceTestCase.KOALA));
+        List<OWLAxiom> axioms = new ArrayList<>(AxiomSelector.selectAxioms(o));
+        // as many axioms, so that only the axioms themselves differ
+        List<OWLAxiom> fewer = axioms.subList(0, axioms.size() / 2);
+        List<OWLAxiom> others = axioms.subList(axioms.size() - fewer.size(), axioms.size());
+        File directory = folder.newFolder();
+        AtomListCache cache = new AtomListCache(directory.toPath());
+        AtomicDecomposition expected = new AtomicDecompositionImpl(fewer, ModuleType.BOT, 2, null);
+        new AtomicDecompositionImpl(fewer, ModuleType.BOT, 2, cache);
+        File file = directory.listFiles()[0];
+        // a file named after the hash of other axioms, as in a hash collision
+        File other = folder.newFolder();
+        new AtomicDecompositionImpl(others, ModuleType.BOT, 2, new AtomListCache(other.toPath()));
+        Files.copy(other.listFiles()[0].toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        assertSameDecomposition(expected, new AtomicDecompositionImpl(fewer, ModuleType.BOT, 2, cache));
+    }
+}
@@ -0,0 +1,299 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.reasoner.impl;
+
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asUnorderedSet;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.reasoner.Node;
+import org.semanticweb.owlapi.reasoner.NodeSet;
+
+/**
+ * An immutable node set over the ids of a {@link NodeIndex}. Nodes and
+ * entities are streamed from the index on demand, and intersections and unions
+ * of node sets on the same index are computed on the ids directly. The ids are
+ * kept in a bit set, or, if the set is so sparse that a bit set sized to the
+ * largest id would be bigger, in a sorted array; the choice only depends on
+ * the ids, so equal sets on the same index always have the same
+ * representation.
+ *
+ * @author ignazio
+ * @since 5.0.5
+ * @param <E>
+ *        the type of owl objects in the nodes
+ */
+public class BitSetNodeSet<E extends OWLObject> implements NodeSet<E> {
+
+    private static final int[] NO_IDS = {};
+    private final NodeIndex<E> index;
+    /** ids of the nodes, if dense; null if sparse */
+    @Nullable private final BitSet bits;
+    /** sorted ids of the nodes, if sparse */
+    private final int[] ids;
+
+    /**
+     * @param index
+     *        index assigning ids to nodes
+     * @param bits
+     *        ids of the nodes in this set; the bit set is not copied and must
+     *        not be modified afterwards
+     */
+    public BitSetNodeSet(NodeIndex<E> index, BitSet bits) {
+        this.index = checkNotNull(index, "index cannot be null");
+        checkNotNull(bits, "bits cannot be null");
+        if (isSparse(bits.cardinality(), bits.length())) {
+            this.bits = null;
+            ids = bits.stream().toArray();
+        } else {
+            this.bits = bits;
+            ids = NO_IDS;
+        }
+    }
+
+    /**
+     * @param index
+     *        index assigning ids to nodes
+     * @param ids
+     *        sorted ids of the nodes in this set; the array is not copied
+     */
+    private BitSetNodeSet(NodeIndex<E> index, int[] ids) {
+        this.index = index;
+        if (ids.length == 0 || isSparse(ids.length, ids[ids.length - 1] + 1)) {
+            bits = ids.length == 0 ? new BitSet(0) : null;
+            this.ids = ids.length == 0 ? NO_IDS : ids;
+        } else {
+            BitSet set = new BitSet(ids[ids.length - 1] + 1);
+            for (int id : ids) {
+                set.set(id);
+            }
+            bits = set;
+            this.ids = NO_IDS;
+        }
+    }
+
+    /**
+     * @param cardinality
+     *        number of ids
+     * @param length
+     *        largest id plus one
+     * @return true if an array of the ids is smaller than a bit set
+     */
+    private static boolean isSparse(int cardinality, int length) {
+        return (long) cardinality * Integer.SIZE < length;
+    }
+
+    /**
+     * @return the index this node set is based on
+     */
+    public NodeIndex<E> getIndex() {
+        return index;
+    }
+
+    private IntStream ids() {
+        BitSet set = bits;
+        return set == null ? Arrays.stream(ids) : set.stream();
+    }
+
+    private boolean containsId(int id) {
+        BitSet set = bits;
+        return set == null ? Arrays.binarySearch(ids, id) >= 0 : set.get(id);
+    }
+
+    private int firstId() {
+        BitSet set = bits;
+        return set == null ? ids[0] : set.nextSetBit(0);
+    }
+
+    /**
+     * @return number of nodes in this set
+     */
+    public int size() {
+        BitSet set = bits;
+        return set == null ? ids.length : set.cardinality();
+    }
+
+    /**
+     * @param node
+     *        node to check
+     * @return true if the node is in this set
+     */
+    public boolean containsNode(Node<E> node) {
+        int id = index.getIdIfPresent(node);
+        return id >= 0 && containsId(id);
+    }
+
+    /**
+     * @return a new bit set with the ids of this set
+     */
+    private BitSet copyBits() {
+        BitSet set = bits;
+        if (set != null) {
+            return (BitSet) set.clone();
+        }
+        BitSet copy = new BitSet();
+        for (int id : ids) {
+            copy.set(id);
+        }
+        return copy;
+    }
+
+    @Nullable
+    private BitSetNodeSet<E> sameIndex(NodeSet<E> other) {
+        if (other instanceof BitSetNodeSet && ((BitSetNodeSet<E>) other).index == index) {
+            return (BitSetNodeSet<E>) other;
+        }
+        return null;
+    }
+
+    private BitSet asBits(NodeSet<E> other) {
+        BitSetNodeSet<E> same = sameIndex(other);
+        if (same != null) {
+            BitSet set = same.bits;
+            return set == null ? same.copyBits() : set;
+        }
+        BitSet otherBits = new BitSet();
+        other.nodes().forEach(n -> otherBits.set(index.getId(n)));
+        return otherBits;
+    }
+
+    /**
+     * @param other
+     *        node set to intersect with
+     * @return the nodes in both this set and the other set
+     */
+    public BitSetNodeSet<E> intersection(NodeSet<E> other) {
+        BitSetNodeSet<E> same = sameIndex(other);
+        // a sparse operand makes for a sparse result, without bit sets
+        if (bits == null) {
+            IntPredicate inOther = same == null ? asBits(other)::get : same::containsId;
+            return new BitSetNodeSet<>(index, Arrays.stream(ids).filter(inOther).toArray());
+        }
+        if (same != null && same.bits == null) {
+            return new BitSetNodeSet<>(index, Arrays.stream(same.ids).filter(this::containsId).toArray());
+        }
+        BitSet result = copyBits();
+        result.and(asBits(other));
+        return new BitSetNodeSet<>(index, result);
+    }
+
+    /**
+     * @param other
+     *        node set to add
+     * @return the nodes in either this set or the other set
+     */
+    public BitSetNodeSet<E> union(NodeSet<E> other) {
+        BitSet result = copyBits();
+        result.or(asBits(other));
+        return new BitSetNodeSet<>(index, result);
+    }
+
+    /**
+     * @param other
+     *        node set to remove
+     * @return the nodes in this set and not in the other set
+     */
+    public BitSetNodeSet<E> difference(NodeSet<E> other) {
+        if (bits == null) {
+            BitSetNodeSet<E> same = sameIndex(other);
+            if (same != null) {
+                return new BitSetNodeSet<>(index, Arrays.stream(ids).filter(id -> !same.containsId(id)).toArray());
+            }
+        }
+        BitSet result = copyBits();
+        result.andNot(asBits(other));
+        return new BitSetNodeSet<>(index, result);
+    }
+
+    @Override
+    public Stream<Node<E>> nodes() {
+        return ids().mapToObj(index::getNode);
+    }
+
+    @Override
+    public Stream<E> entities() {
+        return nodes().flatMap(Node::entities);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public boolean containsEntity(E e) {
+        int id = index.getEntityId(e);
+        if (id >= 0 && containsId(id)) {
+            return true;
+        }
+        // if nodes overlap, a different node in this set might contain it
+        return id >= 0 && index.hasOverlappingNodes() && nodes().anyMatch(n -> n.contains(e));
+    }
+
+    @Override
+    public boolean isSingleton() {
+        return size() == 1;
+    }
+
+    @Override
+    public boolean isTopSingleton() {
+        return isSingleton() && index.getNode(firstId()).isTopNode();
+    }
+
+    @Override
+    public boolean isBottomSingleton() {
+        return isSingleton() && index.getNode(firstId()).isBottomNode();
+    }
+
+    @Override
+    public Iterator<Node<E>> iterator() {
+        return nodes().iterator();
+    }
+
+    @Override
+    public String toString() {
+        return "Nodeset" + asUnorderedSet(nodes());
+    }
+
+    @Override
+    public boolean equals(@Nullable Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof NodeSet)) {
+            return false;
+        }
+        if (obj instanceof BitSetNodeSet && ((BitSetNodeSet<?>) obj).index == index) {
+            // equal sets have the same representation
+            BitSetNodeSet<?> other = (BitSetNodeSet<?>) obj;
+            BitSet set = bits;
+            return set == null ? Arrays.equals(ids, other.ids) : set.equals(other.bits);
+        }
+        return asUnorderedSet(nodes()).equals(asUnorderedSet(((NodeSet<?>) obj).nodes()));
+    }
+
+    @Override
+    public int hashCode() {
+        // same as a set of the nodes, for consistency with DefaultNodeSet
+        return nodes().mapToInt(Object::hashCode).sum();
+    }
+}
@@ -0,0 +1,109 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.reasoner.impl;
+
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.reasoner.Node;
+
+import gnu.trove.map.hash.TObjectIntHashMap;
+
+/**
+ * Assigns dense int ids to the nodes of a hierarchy, so that sets of nodes can
+ * be represented as bit sets (see {@link BitSetNodeSet}). Ids are assigned on
+ * first use and never change; a reasoner keeps one index for as long as its
+ * nodes do not change, and starts a new one when they do. Node sets built on a
+ * previous index remain valid, since they keep a reference to it. Ids are
+ * assigned while queries are answered, so access is synchronized.
+ *
+ * @author ignazio
+ * @since 5.0.5
+ * @param <E>
+ *        the type of owl objects in the nodes
+ */
+public class NodeIndex<E extends OWLObject> {
+
+    private static final int NONE = -1;
+    private final List<Node<E>> nodes = new ArrayList<>();
+    private final TObjectIntHashMap<Node<E>> nodeIds = new TObjectIntHashMap<>(16, 0.5F, NONE);
+    private final TObjectIntHashMap<E> entityIds = new TObjectIntHashMap<>(16, 0.5F, NONE);
+    private boolean overlapping = false;
+
+    /**
+     * @param node
+     *        node to look up; it is added to the index if not already present
+     * @return id of the node
+     */
+    public synchronized int getId(Node<E> node) {
+        int id = nodeIds.get(checkNotNull(node, "node cannot be null"));
+        if (id == NONE) {
+            id = nodes.size();
+            nodes.add(node);
+            nodeIds.put(node, id);
+            int nodeId = id;
+            node.entities().forEach(e -> {
+                if (entityIds.put(e, nodeId) != NONE) {
+                    overlapping = true;
+                }
+            });
+        }
+        return id;
+    }
+
+    /**
+     * @return true if some entity belongs to more than one indexed node; this
+     *         happens if nodes from different hierarchies are indexed together
+     */
+    public synchronized boolean hasOverlappingNodes() {
+        return overlapping;
+    }
+
+    /**
+     * @param entity
+     *        entity to look up
+     * @return id of the last indexed node containing the entity, or -1 if no
+     *         such node has been indexed
+     */
+    public synchronized int getEntityId(E entity) {
+        return entityIds.get(entity);
+    }
+
+    /**
+     * @param node
+     *        node to look up
+     * @return id of the node, or -1 if the node has not been indexed
+     */
+    public synchronized int getIdIfPresent(Node<E> node) {
+        return nodeIds.get(node);
+    }
+
+    /**
+     * @param id
+     *        node id
+     * @return the node with the specified id
+     */
+    public synchronized Node<E> getNode(int id) {
+        return nodes.get(id);
+    }
+
+    /**
+     * @return number of indexed nodes
+     */
+    public synchronized int size() {
+        return nodes.size();
+    }
+}
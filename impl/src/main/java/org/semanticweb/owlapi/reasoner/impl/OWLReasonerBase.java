@@ -104,6 +104,13 @@ public abstract class OWLReasonerBase implements OWLReasoner {
         return new ArrayList<>(rawChanges);
     }
 
+    /**
+     * @return true if there are changes that have not been flushed yet
+     */
+    protected synchronized boolean hasPendingChanges() {
+        return !rawChanges.isEmpty();
+    }
+
     @Override
     public Set<OWLAxiom> getPendingAxiomAdditions() {
         Set<OWLAxiom> added = new HashSet<>();
@@ -18,7 +18,9 @@ import static org.semanticweb.owlapi.util.OWLAPIPreconditions.*;
 import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.*;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import javax.annotation.Nonnull;
@@ -34,6 +36,9 @@ import org.semanticweb.owlapi.util.CollectionFactory;
 import org.semanticweb.owlapi.util.OWLObjectPropertyManager;
 import org.semanticweb.owlapi.util.Version;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
 /**
  * This is a simple structural reasoner that essentially answers with told
  * information. It is incomplete.
@@ -44,6 +49,13 @@ import org.semanticweb.owlapi.util.Version;
  */
 public class StructuralReasoner extends OWLReasonerBase {
 
+    /**
+     * Hierarchies with at least this many entities have their told parents and
+     * children looked up in parallel.
+     */
+    private static final int MIN_PARALLEL_ENTITIES = 10_000;
+    /** Maximum number of memoized query answers. */
+    private static final int MAX_CACHED_ANSWERS = 100_000;
     @Nonnull private final ClassHierarchyInfo classHierarchyInfo = new ClassHierarchyInfo();
     @Nonnull private final ObjectPropertyHierarchyInfo objectPropertyHierarchyInfo = new ObjectPropertyHierarchyInfo();
     @Nonnull private final DataPropertyHierarchyInfo dataPropertyHierarchyInfo = new DataPropertyHierarchyInfo();
@@ -51,6 +63,17 @@ public class StructuralReasoner extends OWLReasonerBase {
     private boolean interrupted = false;
     @Nonnull protected final ReasonerProgressMonitor pm;
     private boolean prepared = false;
+    /**
+     * Answers to queries that walk the imports closure, such as domains, types
+     * and instances. Answers are discarded whenever changes are processed, and
+     * are neither read nor stored while there are pending changes, so that in
+     * buffering mode cached answers are never mixed with answers that read the
+     * pending changes.
+     */
+    private final Cache<List<Object>, Object> answers = Caffeine.newBuilder().maximumSize(MAX_CACHED_ANSWERS)
+        .build();
+    /** Ids for individual nodes in instance answers; replaced with the answers. */
+    private volatile NodeIndex<OWLNamedIndividual> individualIndex = new NodeIndex<>();
 
     /**
      * @param rootOntology
@@ -90,6 +113,8 @@ public class StructuralReasoner extends OWLReasonerBase {
 
     @Override
     protected void handleChanges(Set<OWLAxiom> addAxioms, Set<OWLAxiom> removeAxioms) {
+        answers.invalidateAll();
+        individualIndex = new NodeIndex<>();
         handleChanges(addAxioms, removeAxioms, classHierarchyInfo);
         handleChanges(addAxioms, removeAxioms, objectPropertyHierarchyInfo);
         handleChanges(addAxioms, removeAxioms, dataPropertyHierarchyInfo);
@@ -102,6 +127,49 @@ public class StructuralReasoner extends OWLReasonerBase {
         hierarchyInfo.processChanges(sig, added, removed);
     }
 
+    /**
+     * @param key
+     *        query name followed by the query arguments
+     * @param answer
+     *        computes the answer if it is not cached
+     * @return cached or computed answer
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T memoize(Supplier<T> answer, Object... key) {
+        if (hasPendingChanges()) {
+            // the cache holds answers for the flushed state only
+            return answer.get();
+        }
+        List<Object> k = Arrays.asList(key);
+        // not Cache::get, since computing an answer can ask other queries
+        Object value = answers.getIfPresent(k);
+        if (value == null) {
+            value = answer.get();
+            answers.put(k, value);
+        }
+        return (T) value;
+    }
+
+    /*
+     * Memoized answers are shared between calls, and nodes and node sets can be
+     * modified by the caller, so each call receives its own copy.
+     */
+    private static NodeSet<OWLClass> copyClasses(NodeSet<OWLClass> answer) {
+        return new OWLClassNodeSet(answer.nodes().map(n -> new OWLClassNode(n.entities())));
+    }
+
+    private static NodeSet<OWLDataProperty> copyDataProperties(NodeSet<OWLDataProperty> answer) {
+        return new OWLDataPropertyNodeSet(answer.nodes().map(n -> new OWLDataPropertyNode(n.entities())));
+    }
+
+    private static NodeSet<OWLNamedIndividual> copyIndividuals(NodeSet<OWLNamedIndividual> answer) {
+        return new OWLNamedIndividualNodeSet(answer.nodes().map(StructuralReasoner::copyIndividuals));
+    }
+
+    private static Node<OWLNamedIndividual> copyIndividuals(Node<OWLNamedIndividual> answer) {
+        return new OWLNamedIndividualNode(answer.entities());
+    }
+
     @Override
     public void interrupt() {
         interrupted = true;
@@ -120,6 +188,8 @@ public class StructuralReasoner extends OWLReasonerBase {
      *         on timeout
      */
     public final void prepareReasoner() {
+        answers.invalidateAll();
+        individualIndex = new NodeIndex<>();
         classHierarchyInfo.computeHierarchy();
         objectPropertyHierarchyInfo.computeHierarchy();
         dataPropertyHierarchyInfo.computeHierarchy();
@@ -199,22 +269,20 @@ public class StructuralReasoner extends OWLReasonerBase {
 
     @Override
     public NodeSet<OWLClass> getSubClasses(OWLClassExpression ce, boolean direct) {
-        OWLClassNodeSet ns = new OWLClassNodeSet();
         if (!ce.isAnonymous()) {
             ensurePrepared();
-            return classHierarchyInfo.getNodeHierarchyChildren(ce.asOWLClass(), direct, ns);
+            return classHierarchyInfo.getNodeHierarchyChildren(ce.asOWLClass(), direct);
         }
-        return ns;
+        return new OWLClassNodeSet();
     }
 
     @Override
     public NodeSet<OWLClass> getSuperClasses(OWLClassExpression ce, boolean direct) {
-        OWLClassNodeSet ns = new OWLClassNodeSet();
         if (!ce.isAnonymous()) {
             ensurePrepared();
-            return classHierarchyInfo.getNodeHierarchyParents(ce.asOWLClass(), direct, ns);
+            return classHierarchyInfo.getNodeHierarchyParents(ce.asOWLClass(), direct);
         }
-        return ns;
+        return new OWLClassNodeSet();
     }
 
     @Override
@@ -230,14 +298,16 @@ public class StructuralReasoner extends OWLReasonerBase {
     @Override
     public NodeSet<OWLClass> getDisjointClasses(OWLClassExpression ce) {
         ensurePrepared();
-        OWLClassNodeSet nodeSet = new OWLClassNodeSet();
-        if (ce.isAnonymous()) {
+        return copyClasses(memoize(() -> {
+            OWLClassNodeSet nodeSet = new OWLClassNodeSet();
+            if (ce.isAnonymous()) {
+                return nodeSet;
+            }
+            getRootOntology().importsClosure().flatMap(o -> o.disjointClassesAxioms(ce.asOWLClass()))
+                .flatMap(ax -> ax.classExpressions()).filter(op -> !op.isAnonymous())
+                .forEach(op -> nodeSet.addNode(getEquivalentClasses(op)));
             return nodeSet;
-        }
-        getRootOntology().importsClosure().flatMap(o -> o.disjointClassesAxioms(ce.asOWLClass()))
-            .flatMap(ax -> ax.classExpressions()).filter(op -> !op.isAnonymous())
-            .forEach(op -> nodeSet.addNode(getEquivalentClasses(op)));
-        return nodeSet;
+        }, "disjointClasses", ce));
     }
 
     @Override
@@ -254,17 +324,15 @@ public class StructuralReasoner extends OWLReasonerBase {
 
     @Override
     public NodeSet<OWLObjectPropertyExpression> getSubObjectProperties(OWLObjectPropertyExpression pe, boolean direct) {
-        OWLObjectPropertyNodeSet ns = new OWLObjectPropertyNodeSet();
         ensurePrepared();
-        return objectPropertyHierarchyInfo.getNodeHierarchyChildren(pe, direct, ns);
+        return objectPropertyHierarchyInfo.getNodeHierarchyChildren(pe, direct);
     }
 
     @Override
     public NodeSet<OWLObjectPropertyExpression> getSuperObjectProperties(OWLObjectPropertyExpression pe,
         boolean direct) {
-        OWLObjectPropertyNodeSet ns = new OWLObjectPropertyNodeSet();
         ensurePrepared();
-        return objectPropertyHierarchyInfo.getNodeHierarchyParents(pe, direct, ns);
+        return objectPropertyHierarchyInfo.getNodeHierarchyParents(pe, direct);
     }
 
     @Override
@@ -288,44 +356,49 @@ public class StructuralReasoner extends OWLReasonerBase {
     @Override
     public NodeSet<OWLClass> getObjectPropertyDomains(OWLObjectPropertyExpression pe, boolean direct) {
         ensurePrepared();
-        DefaultNodeSet<OWLClass> result = new OWLClassNodeSet();
-        Consumer<? super OWLObjectPropertyDomainAxiom> domains = axiom -> {
-            result.addNode(getEquivalentClasses(axiom.getDomain()));
-            if (!direct) {
-                result.addAllNodes(getSuperClasses(axiom.getDomain(), false).nodes());
-            }
-        };
-        Consumer<? super OWLObjectPropertyRangeAxiom> inverseRanges = ax -> {
-            result.addNode(getEquivalentClasses(ax.getRange()));
-            if (!direct) {
-                result.addAllNodes(getSuperClasses(ax.getRange(), false).nodes());
-            }
-        };
-        getRootOntology().importsClosure().flatMap(o -> o.objectPropertyDomainAxioms(pe)).forEach(domains);
-        getRootOntology().importsClosure().forEach(o -> getInverseObjectProperties(pe).entities()
-            .forEach(invPe -> o.objectPropertyRangeAxioms(invPe).forEach(inverseRanges)));
-        return result;
+        return copyClasses(memoize(() -> {
+            DefaultNodeSet<OWLClass> result = new OWLClassNodeSet();
+            Consumer<? super OWLObjectPropertyDomainAxiom> domains = axiom -> {
+                result.addNode(getEquivalentClasses(axiom.getDomain()));
+                if (!direct) {
+                    result.addAllNodes(getSuperClasses(axiom.getDomain(), false).nodes());
+                }
+            };
+            Consumer<? super OWLObjectPropertyRangeAxiom> inverseRanges = ax -> {
+                result.addNode(getEquivalentClasses(ax.getRange()));
+                if (!direct) {
+                    result.addAllNodes(getSuperClasses(ax.getRange(), false).nodes());
+                }
+            };
+            getRootOntology().importsClosure().flatMap(o -> o.objectPropertyDomainAxioms(pe)).forEach(domains);
+            getRootOntology().importsClosure().forEach(o -> getInverseObjectProperties(pe).entities()
+                .forEach(invPe -> o.objectPropertyRangeAxioms(invPe).forEach(inverseRanges)));
+            return result;
+        }, "objectPropertyDomains", pe, Boolean.valueOf(direct)));
     }
 
     @Override
     public NodeSet<OWLClass> getObjectPropertyRanges(OWLObjectPropertyExpression pe, boolean direct) {
         ensurePrepared();
-        DefaultNodeSet<OWLClass> result = new OWLClassNodeSet();
-        getRootOntology().importsClosure().forEach(ontology -> {
-            ontology.objectPropertyRangeAxioms(pe).forEach(axiom -> {
-                result.addNode(getEquivalentClasses(axiom.getRange()));
-                if (!direct) {
-                    result.addAllNodes(getSuperClasses(axiom.getRange(), false).nodes());
-                }
-            });
-            getInverseObjectProperties(pe).entities().flatMap(ontology::objectPropertyDomainAxioms).forEach(axiom -> {
-                result.addNode(getEquivalentClasses(axiom.getDomain()));
-                if (!direct) {
-                    result.addAllNodes(getSuperClasses(axiom.getDomain(), false).nodes());
-                }
+        return copyClasses(memoize(() -> {
+            DefaultNodeSet<OWLClass> result = new OWLClassNodeSet();
+            getRootOntology().importsClosure().forEach(ontology -> {
+                ontology.objectPropertyRangeAxioms(pe).forEach(axiom -> {
+                    result.addNode(getEquivalentClasses(axiom.getRange()));
+                    if (!direct) {
+                        result.addAllNodes(getSuperClasses(axiom.getRange(), false).nodes());
+                    }
+                });
+                getInverseObjectProperties(pe).entities().flatMap(ontology::objectPropertyDomainAxioms).forEach(
+                    axiom -> {
+                        result.addNode(getEquivalentClasses(axiom.getDomain()));
+                        if (!direct) {
+                            result.addAllNodes(getSuperClasses(axiom.getDomain(), false).nodes());
+                        }
+                    });
             });
-        });
-        return result;
+            return result;
+        }, "objectPropertyRanges", pe, Boolean.valueOf(direct)));
     }
 
     @Override
@@ -343,15 +416,13 @@ public class StructuralReasoner extends OWLReasonerBase {
     @Override
     public NodeSet<OWLDataProperty> getSubDataProperties(OWLDataProperty pe, boolean direct) {
         ensurePrepared();
-        OWLDataPropertyNodeSet ns = new OWLDataPropertyNodeSet();
-        return dataPropertyHierarchyInfo.getNodeHierarchyChildren(pe, direct, ns);
+        return dataPropertyHierarchyInfo.getNodeHierarchyChildren(pe, direct);
     }
 
     @Override
     public NodeSet<OWLDataProperty> getSuperDataProperties(OWLDataProperty pe, boolean direct) {
         ensurePrepared();
-        OWLDataPropertyNodeSet ns = new OWLDataPropertyNodeSet();
-        return dataPropertyHierarchyInfo.getNodeHierarchyParents(pe, direct, ns);
+        return dataPropertyHierarchyInfo.getNodeHierarchyParents(pe, direct);
     }
 
     @Override
@@ -363,26 +434,30 @@ public class StructuralReasoner extends OWLReasonerBase {
     @Override
     public NodeSet<OWLDataProperty> getDisjointDataProperties(OWLDataPropertyExpression pe) {
         ensurePrepared();
-        DefaultNodeSet<OWLDataProperty> result = new OWLDataPropertyNodeSet();
-        getRootOntology().importsClosure().flatMap(o -> o.disjointDataPropertiesAxioms(pe.asOWLDataProperty()))
-            .forEach(axiom -> {
-                for (OWLDataPropertyExpression dpe : axiom.getPropertiesMinus(pe)) {
-                    if (!dpe.isAnonymous()) {
-                        result.addNode(dataPropertyHierarchyInfo.getEquivalents(dpe.asOWLDataProperty()));
-                        result.addAllNodes(getSubDataProperties(dpe.asOWLDataProperty(), false).nodes());
+        return copyDataProperties(memoize(() -> {
+            DefaultNodeSet<OWLDataProperty> result = new OWLDataPropertyNodeSet();
+            getRootOntology().importsClosure().flatMap(o -> o.disjointDataPropertiesAxioms(pe.asOWLDataProperty()))
+                .forEach(axiom -> {
+                    for (OWLDataPropertyExpression dpe : axiom.getPropertiesMinus(pe)) {
+                        if (!dpe.isAnonymous()) {
+                            result.addNode(dataPropertyHierarchyInfo.getEquivalents(dpe.asOWLDataProperty()));
+                            result.addAllNodes(getSubDataProperties(dpe.asOWLDataProperty(), false).nodes());
+                        }
                     }
-                }
-            });
-        return result;
+                });
+            return result;
+        }, "disjointDataProperties", pe));
     }
 
     @Override
     public NodeSet<OWLClass> getDataPropertyDomains(OWLDataProperty pe, boolean direct) {
         ensurePrepared();
-        DefaultNodeSet<OWLClass> result = new OWLClassNodeSet();
-        getRootOntology().importsClosure().flatMap(o -> o.dataPropertyDomainAxioms(pe))
-            .forEach(ax -> addClasses(direct, result, ax.getDomain()));
-        return result;
+        return copyClasses(memoize(() -> {
+            DefaultNodeSet<OWLClass> result = new OWLClassNodeSet();
+            getRootOntology().importsClosure().flatMap(o -> o.dataPropertyDomainAxioms(pe))
+                .forEach(ax -> addClasses(direct, result, ax.getDomain()));
+            return result;
+        }, "dataPropertyDomains", pe, Boolean.valueOf(direct)));
     }
 
     protected void addClasses(boolean direct, DefaultNodeSet<OWLClass> result, OWLClassExpression domain) {
@@ -395,124 +470,139 @@ public class StructuralReasoner extends OWLReasonerBase {
     @Override
     public NodeSet<OWLClass> getTypes(OWLNamedIndividual ind, boolean direct) {
         ensurePrepared();
-        DefaultNodeSet<OWLClass> result = new OWLClassNodeSet();
-        getRootOntology().importsClosure().flatMap(o -> o.classAssertionAxioms(ind))
-            .forEach(ax -> addClasses(direct, result, ax.getClassExpression()));
-        return result;
+        return copyClasses(memoize(() -> {
+            DefaultNodeSet<OWLClass> result = new OWLClassNodeSet();
+            getRootOntology().importsClosure().flatMap(o -> o.classAssertionAxioms(ind))
+                .forEach(ax -> addClasses(direct, result, ax.getClassExpression()));
+            return result;
+        }, "types", ind, Boolean.valueOf(direct)));
     }
 
     @Override
     public NodeSet<OWLNamedIndividual> getInstances(OWLClassExpression ce, boolean direct) {
         ensurePrepared();
-        DefaultNodeSet<OWLNamedIndividual> result = new OWLNamedIndividualNodeSet();
-        if (ce.isAnonymous()) {
-            return result;
-        }
-        OWLClass cls = ce.asOWLClass();
-        Set<OWLClass> clses = new HashSet<>();
-        clses.add(cls);
-        if (!direct) {
-            clses.addAll(asList(getSubClasses(cls, false).entities()));
-        }
-        for (OWLClass curCls : clses) {
-            getRootOntology().importsClosure().flatMap(o -> o.classAssertionAxioms(curCls))
-                .map(ax -> ax.getIndividual()).filter(i -> !i.isAnonymous()).map(i -> i.asOWLNamedIndividual())
-                .forEach(i -> {
-                    if (getIndividualNodeSetPolicy().equals(IndividualNodeSetPolicy.BY_SAME_AS)) {
-                        result.addNode(getSameIndividuals(i));
-                    } else {
-                        result.addNode(new OWLNamedIndividualNode(i));
-                    }
-                });
-        }
-        return result;
+        return memoize(() -> {
+            if (ce.isAnonymous()) {
+                return new OWLNamedIndividualNodeSet();
+            }
+            OWLClass cls = ce.asOWLClass();
+            Set<OWLClass> clses = new HashSet<>();
+            clses.add(cls);
+            if (!direct) {
+                clses.addAll(asList(getSubClasses(cls, false).entities()));
+            }
+            NodeIndex<OWLNamedIndividual> index = individualIndex;
+            BitSet result = new BitSet();
+            for (OWLClass curCls : clses) {
+                getRootOntology().importsClosure().flatMap(o -> o.classAssertionAxioms(curCls))
+                    .map(ax -> ax.getIndividual()).filter(i -> !i.isAnonymous()).map(i -> i.asOWLNamedIndividual())
+                    .forEach(i -> {
+                        if (getIndividualNodeSetPolicy().equals(IndividualNodeSetPolicy.BY_SAME_AS)) {
+                            result.set(index.getId(getSameIndividuals(i)));
+                        } else {
+                            result.set(index.getId(new OWLNamedIndividualNode(i)));
+                        }
+                    });
+            }
+            return new BitSetNodeSet<>(index, result);
+        }, "instances", ce, Boolean.valueOf(direct));
     }
 
     @Override
     public NodeSet<OWLNamedIndividual> getObjectPropertyValues(OWLNamedIndividual ind, OWLObjectPropertyExpression pe) {
         ensurePrepared();
-        OWLNamedIndividualNodeSet result = new OWLNamedIndividualNodeSet();
-        Node<OWLObjectPropertyExpression> inverses = getInverseObjectProperties(pe);
-        getRootOntology().importsClosure().flatMap(o -> o.objectPropertyAssertionAxioms(ind)).forEach(axiom -> {
-            if (!axiom.getObject().isAnonymous() && axiom.getProperty().getSimplified().equals(pe.getSimplified())) {
-                if (getIndividualNodeSetPolicy().equals(IndividualNodeSetPolicy.BY_SAME_AS)) {
-                    result.addNode(getSameIndividuals(axiom.getObject().asOWLNamedIndividual()));
-                } else {
-                    result.addNode(new OWLNamedIndividualNode(axiom.getObject().asOWLNamedIndividual()));
-                }
-            }
-            // Inverse of pe
-            if (axiom.getObject().equals(ind) && !axiom.getSubject().isAnonymous()) {
-                OWLObjectPropertyExpression invPe = axiom.getProperty().getInverseProperty().getSimplified();
-                if (!invPe.isAnonymous() && inverses.contains(invPe.asOWLObjectProperty())) {
+        return copyIndividuals(memoize(() -> {
+            OWLNamedIndividualNodeSet result = new OWLNamedIndividualNodeSet();
+            Node<OWLObjectPropertyExpression> inverses = getInverseObjectProperties(pe);
+            getRootOntology().importsClosure().flatMap(o -> o.objectPropertyAssertionAxioms(ind)).forEach(axiom -> {
+                if (!axiom.getObject().isAnonymous() && axiom.getProperty().getSimplified().equals(pe
+                    .getSimplified())) {
                     if (getIndividualNodeSetPolicy().equals(IndividualNodeSetPolicy.BY_SAME_AS)) {
                         result.addNode(getSameIndividuals(axiom.getObject().asOWLNamedIndividual()));
                     } else {
                         result.addNode(new OWLNamedIndividualNode(axiom.getObject().asOWLNamedIndividual()));
                     }
                 }
-            }
-        });
-        // Could do other stuff like inspecting owl:hasValue restrictions
-        return result;
+                // Inverse of pe
+                if (axiom.getObject().equals(ind) && !axiom.getSubject().isAnonymous()) {
+                    OWLObjectPropertyExpression invPe = axiom.getProperty().getInverseProperty().getSimplified();
+                    if (!invPe.isAnonymous() && inverses.contains(invPe.asOWLObjectProperty())) {
+                        if (getIndividualNodeSetPolicy().equals(IndividualNodeSetPolicy.BY_SAME_AS)) {
+                            result.addNode(getSameIndividuals(axiom.getObject().asOWLNamedIndividual()));
+                        } else {
+                            result.addNode(new OWLNamedIndividualNode(axiom.getObject().asOWLNamedIndividual()));
+                        }
+                    }
+                }
+            });
+            // Could do other stuff like inspecting owl:hasValue restrictions
+            return result;
+        }, "objectPropertyValues", ind, pe));
     }
 
     @Override
     public Set<OWLLiteral> getDataPropertyValues(OWLNamedIndividual ind, OWLDataProperty pe) {
         ensurePrepared();
-        Set<OWLLiteral> literals = new HashSet<>();
-        Set<OWLDataProperty> superProperties = asUnorderedSet(
-            Stream.concat(getSuperDataProperties(pe, false).entities(), getEquivalentDataProperties(pe).entities()));
-        getRootOntology().importsClosure().flatMap(o -> o.dataPropertyAssertionAxioms(ind)).forEach(ax -> {
-            if (superProperties.contains(ax.getProperty().asOWLDataProperty())) {
-                literals.add(ax.getObject());
-            }
-        });
-        return literals;
+        // callers expect a set they can modify
+        return new HashSet<>(memoize(() -> {
+            Set<OWLLiteral> literals = new HashSet<>();
+            Set<OWLDataProperty> superProperties = asUnorderedSet(Stream.concat(getSuperDataProperties(pe, false)
+                .entities(), getEquivalentDataProperties(pe).entities()));
+            getRootOntology().importsClosure().flatMap(o -> o.dataPropertyAssertionAxioms(ind)).forEach(ax -> {
+                if (superProperties.contains(ax.getProperty().asOWLDataProperty())) {
+                    literals.add(ax.getObject());
+                }
+            });
+            return literals;
+        }, "dataPropertyValues", ind, pe));
     }
 
     @Override
     public Node<OWLNamedIndividual> getSameIndividuals(OWLNamedIndividual ind) {
         ensurePrepared();
-        Set<OWLNamedIndividual> inds = new HashSet<>();
-        Set<OWLSameIndividualAxiom> processed = new HashSet<>();
-        List<OWLNamedIndividual> stack = new LinkedList<>();
-        stack.add(ind);
-        while (!stack.isEmpty()) {
-            OWLNamedIndividual currentInd = stack.remove(0);
-            Stream<OWLSameIndividualAxiom> axioms = getRootOntology().importsClosure()
-                .flatMap(o -> o.sameIndividualAxioms(currentInd)).filter(processed::add);
-            axioms.forEach(ax -> ax.individuals().filter(i -> i.isNamed())
-                .filter(i -> inds.add(i.asOWLNamedIndividual())).forEach(i -> stack.add(i.asOWLNamedIndividual())));
-        }
-        if (inds.isEmpty()) {
-            inds.add(ind);
-        }
-        return new OWLNamedIndividualNode(inds);
+        return copyIndividuals(memoize(() -> {
+            Set<OWLNamedIndividual> inds = new HashSet<>();
+            Set<OWLSameIndividualAxiom> processed = new HashSet<>();
+            List<OWLNamedIndividual> stack = new LinkedList<>();
+            stack.add(ind);
+            while (!stack.isEmpty()) {
+                OWLNamedIndividual currentInd = stack.remove(0);
+                Stream<OWLSameIndividualAxiom> axioms = getRootOntology().importsClosure()
+                    .flatMap(o -> o.sameIndividualAxioms(currentInd)).filter(processed::add);
+                axioms.forEach(ax -> ax.individuals().filter(i -> i.isNamed())
+                    .filter(i -> inds.add(i.asOWLNamedIndividual())).forEach(i -> stack.add(i.asOWLNamedIndividual())));
+            }
+            if (inds.isEmpty()) {
+                inds.add(ind);
+            }
+            return new OWLNamedIndividualNode(inds);
+        }, "sameIndividuals", ind));
     }
 
     @Override
     public NodeSet<OWLNamedIndividual> getDifferentIndividuals(OWLNamedIndividual ind) {
         ensurePrepared();
-        Set<OWLNamedIndividual> inds = new HashSet<>();
-        Set<OWLDifferentIndividualsAxiom> processed = new HashSet<>();
-        List<OWLNamedIndividual> stack = new LinkedList<>();
-        stack.add(ind);
-        while (!stack.isEmpty()) {
-            OWLNamedIndividual currentInd = stack.remove(0);
-            Stream<OWLDifferentIndividualsAxiom> axioms = Imports.INCLUDED.stream(getRootOntology())
-                .flatMap(o -> o.differentIndividualAxioms(currentInd)).filter(processed::add);
-            axioms.forEach(ax -> ax.individuals().filter(i -> i.isOWLNamedIndividual())
-                .map(i -> i.asOWLNamedIndividual()).forEach(i -> {
-                    if (inds.add(i)) {
-                        stack.add(i);
-                    }
-                }));
-        }
-        if (inds.isEmpty()) {
-            inds.add(ind);
-        }
-        return new OWLNamedIndividualNodeSet(asUnorderedSet(inds.stream().map(this::getSameIndividuals)));
+        return copyIndividuals(memoize(() -> {
+            Set<OWLNamedIndividual> inds = new HashSet<>();
+            Set<OWLDifferentIndividualsAxiom> processed = new HashSet<>();
+            List<OWLNamedIndividual> stack = new LinkedList<>();
+            stack.add(ind);
+            while (!stack.isEmpty()) {
+                OWLNamedIndividual currentInd = stack.remove(0);
+                Stream<OWLDifferentIndividualsAxiom> axioms = Imports.INCLUDED.stream(getRootOntology())
+                    .flatMap(o -> o.differentIndividualAxioms(currentInd)).filter(processed::add);
+                axioms.forEach(ax -> ax.individuals().filter(i -> i.isOWLNamedIndividual())
+                    .map(i -> i.asOWLNamedIndividual()).forEach(i -> {
+                        if (inds.add(i)) {
+                            stack.add(i);
+                        }
+                    }));
+            }
+            if (inds.isEmpty()) {
+                inds.add(ind);
+            }
+            return new OWLNamedIndividualNodeSet(asUnorderedSet(inds.stream().map(this::getSameIndividuals)));
+        }, "differentIndividuals", ind));
     }
 
     protected OWLDataFactory getDataFactory() {
@@ -598,6 +688,8 @@ public class StructuralReasoner extends OWLReasonerBase {
         @Nonnull private final Set<T> directChildrenOfTopNode = new HashSet<>();
         @Nonnull private final Set<T> directParentsOfBottomNode = new HashSet<>();
         private final NodeCache<T> nodeCache;
+        /** Ids for the nodes in answers; replaced whenever nodes change. */
+        private volatile NodeIndex<T> nodeIndex = new NodeIndex<>();
         private final String name;
         private int classificationSize;
 
@@ -652,32 +744,63 @@ public class StructuralReasoner extends OWLReasonerBase {
             pm.reasonerTaskStarted("Computing " + name + " hierarchy");
             pm.reasonerTaskBusy();
             nodeCache.clear();
-            Map<T, Collection<T>> cache = new HashMap<>();
+            directChildrenOfTopNode.clear();
+            directParentsOfBottomNode.clear();
             Set<T> entities = asUnorderedSet(getRootOntology().importsClosure().flatMap(this::getEntities));
             classificationSize = entities.size();
             pm.reasonerTaskProgressChanged(0, classificationSize);
-            updateForSignature(entities, cache);
+            updateForSignature(entities, new ConcurrentHashMap<>(), entities.size() >= MIN_PARALLEL_ENTITIES);
             pm.reasonerTaskStopped();
         }
 
-        private void updateForSignature(Set<T> signature, @Nullable Map<T, Collection<T>> cache) {
+        /**
+         * @param signature
+         *        entities to recompute
+         * @param cache
+         *        A cache of children to parents - may be {@code null} if no
+         *        caching is to take place.
+         * @param parallel
+         *        true if raw parents and children should be looked up on the
+         *        common fork join pool before the hierarchy is walked; this
+         *        requires a cache, and pays off only for large signatures
+         */
+        private void updateForSignature(Set<T> signature, @Nullable Map<T, Collection<T>> cache,
+            boolean parallel) {
             HashSet<Set<T>> cyclesResult = new HashSet<>();
             Set<T> processed = new HashSet<>();
+            nodeIndex = new NodeIndex<>();
             nodeCache.clearTopNode();
             nodeCache.clearBottomNode();
             nodeCache.clearNodes(signature);
             directChildrenOfTopNode.removeAll(signature);
-            Set<T> equivTopOrChildrenOfTop = new HashSet<>();
-            Set<T> equivBottomOrParentsOfBottom = new HashSet<>();
+            directParentsOfBottomNode.removeAll(signature);
+            Set<T> equivTopOrChildrenOfTop = parallel ? ConcurrentHashMap.newKeySet() : new HashSet<>();
+            Set<T> equivBottomOrParentsOfBottom = parallel ? ConcurrentHashMap.newKeySet() : new HashSet<>();
+            if (parallel && cache != null) {
+                // the told lookups dominate the computation and are
+                // independent of each other; the cycle detection below then
+                // only reads the cache
+                signature.parallelStream().forEach(entity -> {
+                    throwExceptionIfInterrupted();
+                    cache.put(entity, computeParents(entity, equivTopOrChildrenOfTop));
+                    if (isParentOfBottom(entity)) {
+                        equivBottomOrParentsOfBottom.add(entity);
+                    }
+                });
+            }
             for (T entity : signature) {
                 if (!processed.contains(entity)) {
                     pm.reasonerTaskProgressChanged(processed.size(), signature.size());
                     tarjan(entity, 0, new LinkedList<T>(), new HashMap<T, Integer>(), new HashMap<T, Integer>(),
-                        cyclesResult, processed, new HashSet<T>(), cache, equivTopOrChildrenOfTop,
-                        equivBottomOrParentsOfBottom);
+                        cyclesResult, processed, new HashSet<T>(), cache, equivTopOrChildrenOfTop);
                     throwExceptionIfInterrupted();
                 }
             }
+            for (T entity : processed) {
+                if ((!parallel || !signature.contains(entity)) && isParentOfBottom(entity)) {
+                    equivBottomOrParentsOfBottom.add(entity);
+                }
+            }
             // Store new cycles
             for (Set<T> cycle : cyclesResult) {
                 nodeCache.addNode(cycle);
@@ -732,7 +855,27 @@ public class StructuralReasoner extends OWLReasonerBase {
          */
         @SuppressWarnings("unused")
         public void processChanges(Set<T> signature, Set<OWLAxiom> added, Set<OWLAxiom> removed) {
-            updateForSignature(signature, null);
+            // the nodes of changed entities, and the top and bottom nodes, are
+            // dropped and rebuilt; all their members must be walked again,
+            // otherwise equivalences that did not change would be lost. The
+            // top and bottom entities are reached from their equivalents.
+            Set<T> affected = new HashSet<>(signature);
+            Stream.concat(signature.stream().map(nodeCache::getNode), Stream.of(nodeCache.getTopNode(), nodeCache
+                .getBottomNode())).flatMap(Node::entities).filter(e -> !e.equals(topEntity) && !e.equals(
+                    bottomEntity)).forEach(affected::add);
+            // entities no longer used anywhere are dropped rather than walked,
+            // or they would linger as children of top and parents of bottom
+            Set<T> unused = new HashSet<>();
+            for (T entity : affected) {
+                if (entity.signature().anyMatch(e -> !getRootOntology().containsEntityInSignature(e, INCLUDED))) {
+                    unused.add(entity);
+                }
+            }
+            nodeCache.clearNodes(unused);
+            directChildrenOfTopNode.removeAll(unused);
+            directParentsOfBottomNode.removeAll(unused);
+            affected.removeAll(unused);
+            updateForSignature(affected, null, false);
         }
 
         /**
@@ -761,25 +904,16 @@ public class StructuralReasoner extends OWLReasonerBase {
          * @param childrenOfTop
          *        A set of entities that have a raw parent that is the top
          *        entity
-         * @param parentsOfBottom
-         *        A set of entities that have a raw parent that is the bottom
-         *        entity
          */
         public void tarjan(T entity, int inputIndex, Deque<T> stack, Map<T, Integer> indexMap,
             Map<T, Integer> lowlinkMap, Set<Set<T>> result, Set<T> processed, Set<T> stackEntities,
-            @Nullable Map<T, Collection<T>> cache, Set<T> childrenOfTop, Set<T> parentsOfBottom) {
+            @Nullable Map<T, Collection<T>> cache, Set<T> childrenOfTop) {
             int index = inputIndex;
             throwExceptionIfInterrupted();
-            if (processed.add(entity)) {
-                Collection<T> rawChildren = rawParentChildProvider.getChildren(entity);
-                if (rawChildren.isEmpty() || rawChildren.contains(bottomEntity)) {
-                    parentsOfBottom.add(entity);
-                }
-            }
+            processed.add(entity);
             pm.reasonerTaskProgressChanged(processed.size(), classificationSize);
             indexMap.put(entity, Integer.valueOf(index));
             lowlinkMap.put(entity, Integer.valueOf(index));
-            index += 1;
             stack.push(entity);
             stackEntities.add(entity);
             // Get the raw parents - cache if necessary
@@ -792,8 +926,10 @@ public class StructuralReasoner extends OWLReasonerBase {
             }
             for (T superEntity : rawParents) {
                 if (!indexMap.containsKey(superEntity)) {
-                    tarjan(superEntity, index, stack, indexMap, lowlinkMap, result, processed, stackEntities, cache,
-                        childrenOfTop, parentsOfBottom);
+                    // indexes must be unique across the whole search, not
+                    // just along a path
+                    tarjan(superEntity, indexMap.size(), stack, indexMap, lowlinkMap, result, processed,
+                        stackEntities, cache, childrenOfTop);
                     lowlinkMap.put(entity, Integer
                         .valueOf(Math.min(lowlinkMap.get(entity).intValue(), lowlinkMap.get(superEntity).intValue())));
                 } else if (stackEntities.contains(superEntity)) {
@@ -818,6 +954,17 @@ public class StructuralReasoner extends OWLReasonerBase {
             }
         }
 
+        /**
+         * @param entity
+         *        entity to check
+         * @return true if the entity has no raw children, or has the bottom
+         *         entity as a raw child
+         */
+        protected boolean isParentOfBottom(T entity) {
+            Collection<T> rawChildren = rawParentChildProvider.getChildren(entity);
+            return rawChildren.isEmpty() || rawChildren.contains(bottomEntity);
+        }
+
         protected Collection<T> computeParents(T entity, Set<T> childrenOfTop) {
             Collection<T> rawParents;
             rawParents = rawParentChildProvider.getParents(entity);
@@ -828,60 +975,90 @@ public class StructuralReasoner extends OWLReasonerBase {
             return rawParents;
         }
 
-        public NodeSet<T> getNodeHierarchyChildren(T parent, boolean direct, DefaultNodeSet<T> ns) {
-            Node<T> node = nodeCache.getNode(parent);
-            if (node.isBottomNode()) {
-                return ns;
-            }
-            Set<T> directChildren = new HashSet<>();
-            for (T equiv : node) {
-                directChildren.addAll(rawParentChildProvider.getChildren(equiv));
-                if (directParentsOfBottomNode.contains(equiv)) {
-                    ns.addNode(nodeCache.getBottomNode());
+        /**
+         * @param parent
+         *        entity whose descendants are required
+         * @param direct
+         *        true if only direct children are required
+         * @return the child nodes; nodes reachable on more than one path are
+         *         expanded only once
+         */
+        public NodeSet<T> getNodeHierarchyChildren(T parent, boolean direct) {
+            NodeIndex<T> ids = nodeIndex;
+            BitSet result = new BitSet();
+            Deque<Node<T>> toExpand = new ArrayDeque<>();
+            toExpand.push(nodeCache.getNode(parent));
+            while (!toExpand.isEmpty()) {
+                Node<T> node = toExpand.pop();
+                if (node.isBottomNode()) {
+                    continue;
                 }
-            }
-            node.entities().forEach(directChildren::remove);
-            if (node.isTopNode()) {
-                // Special treatment
-                directChildren.addAll(directChildrenOfTopNode);
-            }
-            for (Node<T> childNode : nodeCache.getNodes(directChildren)) {
-                ns.addNode(childNode);
-            }
-            if (!direct) {
-                for (T child : directChildren) {
-                    getNodeHierarchyChildren(child, direct, ns);
+                Set<T> directChildren = new HashSet<>();
+                for (T equiv : node) {
+                    directChildren.addAll(rawParentChildProvider.getChildren(equiv));
+                    if (directParentsOfBottomNode.contains(equiv)) {
+                        result.set(ids.getId(nodeCache.getBottomNode()));
+                    }
+                }
+                node.entities().forEach(directChildren::remove);
+                if (node.isTopNode()) {
+                    // Special treatment
+                    directChildren.addAll(directChildrenOfTopNode);
+                }
+                for (Node<T> childNode : nodeCache.getNodes(directChildren)) {
+                    int id = ids.getId(childNode);
+                    if (!result.get(id)) {
+                        result.set(id);
+                        if (!direct) {
+                            toExpand.push(childNode);
+                        }
+                    }
                 }
             }
-            return ns;
+            return new BitSetNodeSet<>(ids, result);
         }
 
-        public NodeSet<T> getNodeHierarchyParents(T child, boolean direct, DefaultNodeSet<T> ns) {
-            Node<T> node = nodeCache.getNode(child);
-            if (node.isTopNode()) {
-                return ns;
-            }
-            Set<T> directParents = new HashSet<>();
-            for (T equiv : node) {
-                directParents.addAll(rawParentChildProvider.getParents(equiv));
-                if (directChildrenOfTopNode.contains(equiv)) {
-                    ns.addNode(nodeCache.getTopNode());
+        /**
+         * @param child
+         *        entity whose ancestors are required
+         * @param direct
+         *        true if only direct parents are required
+         * @return the parent nodes; nodes reachable on more than one path are
+         *         expanded only once
+         */
+        public NodeSet<T> getNodeHierarchyParents(T child, boolean direct) {
+            NodeIndex<T> ids = nodeIndex;
+            BitSet result = new BitSet();
+            Deque<Node<T>> toExpand = new ArrayDeque<>();
+            toExpand.push(nodeCache.getNode(child));
+            while (!toExpand.isEmpty()) {
+                Node<T> node = toExpand.pop();
+                if (node.isTopNode()) {
+                    continue;
                 }
-            }
-            node.entities().forEach(directParents::remove);
-            if (node.isBottomNode()) {
-                // Special treatment
-                directParents.addAll(directParentsOfBottomNode);
-            }
-            for (Node<T> parentNode : nodeCache.getNodes(directParents)) {
-                ns.addNode(parentNode);
-            }
-            if (!direct) {
-                for (T parent : directParents) {
-                    getNodeHierarchyParents(parent, direct, ns);
+                Set<T> directParents = new HashSet<>();
+                for (T equiv : node) {
+                    directParents.addAll(rawParentChildProvider.getParents(equiv));
+                    if (directChildrenOfTopNode.contains(equiv)) {
+                        result.set(ids.getId(nodeCache.getTopNode()));
+                    }
+                }
+                node.entities().forEach(directParents::remove);
+                if (node.isBottomNode()) {
+                    // Special treatment
+                    directParents.addAll(directParentsOfBottomNode);
+                }
+                for (Node<T> parentNode : nodeCache.getNodes(directParents)) {
+                    int id = ids.getId(parentNode);
+                    if (!result.get(id)) {
+                        result.set(id);
+                        if (!direct) {
+                            toExpand.push(parentNode);
+                        }
+                    }
                 }
             }
-            return ns;
+            return new BitSetNodeSet<>(ids, result);
         }
 
         public Node<T> getEquivalents(T element) {
@@ -19,7 +19,7 @@ import org.semanticweb.owlapi.model.*;
 /**
  * @author ignazio
  */
-public class ClassAxiomByClassPointer extends MapPointer<OWLClass, OWLClassAxiom> {
+public class ClassAxiomByClassPointer extends SynchronizedMapPointer<OWLClass, OWLClassAxiom> {
 
     /**
      * @param t
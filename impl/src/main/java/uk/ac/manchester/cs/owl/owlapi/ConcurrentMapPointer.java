@@ -0,0 +1,388 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owl.owlapi;
+
+import java.lang.ref.SoftReference;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.model.*;
+import org.semanticweb.owlapi.util.CollectionFactory;
+import org.semanticweb.owlapi.util.OWLAxiomSearchFilter;
+
+import uk.ac.manchester.cs.owl.owlapi.InitVisitorFactory.InitCollectionVisitor;
+import uk.ac.manchester.cs.owl.owlapi.InitVisitorFactory.InitVisitor;
+
+/**
+ * A map pointer whose reads do not acquire any lock. Keys are held in a
+ * {@link ConcurrentHashMap}; values for a key are held in a copy on write list
+ * while small, and in a concurrent set once they grow past
+ * {@link #MAX_LIST_BUCKET}. Updates lock only the bin of the key being
+ * updated, so readers never block each other and never block on writers.
+ * Lazy initialization is the only synchronized operation and happens once.
+ *
+ * @author ignazio
+ * @param <K>
+ *        key
+ * @param <V>
+ *        value
+ */
+public class ConcurrentMapPointer<K, V extends OWLAxiom> extends MapPointer<K, V> {
+
+    /** Largest bucket kept as a copy on write list. */
+    private static final int MAX_LIST_BUCKET = 16;
+    @Nullable private final AxiomType<?> type;
+    @Nullable private final OWLAxiomVisitorEx<?> visitor;
+    private volatile boolean initialized;
+    @Nullable private volatile SoftReference<Set<IRI>> iris;
+    private final AtomicInteger size = new AtomicInteger();
+    private final ConcurrentHashMap<K, Collection<V>> map = new ConcurrentHashMap<>(17, 0.75F);
+
+    /**
+     * @param t
+     *        type of axioms contained
+     * @param v
+     *        visitor
+     * @param initialized
+     *        true if initialized
+     * @param i
+     *        internals containing this pointer
+     */
+    public ConcurrentMapPointer(@Nullable AxiomType<?> t, @Nullable OWLAxiomVisitorEx<?> v, boolean initialized,
+        Internals i) {
+        super(i);
+        type = t;
+        visitor = v;
+        this.initialized = initialized;
+    }
+
+    @Override
+    public void forEach(BiConsumer<K, V> consumer) {
+        init();
+        map.forEach((k, values) -> values.forEach(v -> consumer.accept(k, v)));
+    }
+
+    @Override
+    public boolean containsReference(OWLEntity e) {
+        return map.containsKey(e);
+    }
+
+    @Override
+    public boolean containsReference(IRI e) {
+        SoftReference<Set<IRI>> reference = iris;
+        Set<IRI> set = null;
+        if (reference != null) {
+            set = reference.get();
+        }
+        if (set == null) {
+            set = initSet();
+        }
+        return set.contains(e);
+    }
+
+    private Set<IRI> initSet() {
+        Set<IRI> set = CollectionFactory.createSet();
+        for (K k : map.keySet()) {
+            if (k instanceof HasIRI) {
+                set.add(((HasIRI) k).getIRI());
+            } else if (k instanceof IRI) {
+                set.add((IRI) k);
+            }
+        }
+        iris = new SoftReference<>(set);
+        return set;
+    }
+
+    @Override
+    public boolean isInitialized() {
+        return initialized;
+    }
+
+    @Override
+    public ConcurrentMapPointer<K, V> init() {
+        if (initialized) {
+            return this;
+        }
+        synchronized (this) {
+            if (!initialized) {
+                loadValues();
+                initialized = true;
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Fills the map from the axioms already in the ontology; called at most
+     * once, while holding the lock on this pointer and before the pointer is
+     * marked as initialized.
+     */
+    @SuppressWarnings("unchecked")
+    protected void loadValues() {
+        OWLAxiomVisitorEx<?> v = visitor;
+        AxiomType<?> t = type;
+        if (v == null || t == null) {
+            return;
+        }
+        if (v instanceof InitVisitor) {
+            i.getAxiomsByType().forEach(t, ax -> putInternal(ax.accept((InitVisitor<K>) v), (V) ax));
+        } else if (v instanceof InitCollectionVisitor) {
+            i.getAxiomsByType().forEach(t,
+                ax -> ax.accept((InitCollectionVisitor<K>) v).forEach(key -> putInternal(key, (V) ax)));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return initialized + map.toString();
+    }
+
+    @Override
+    public Collection<K> keySet() {
+        init();
+        return Collections.unmodifiableSet(map.keySet());
+    }
+
+    @Override
+    public Stream<V> getValues(K key) {
+        init();
+        Collection<V> t = map.get(key);
+        if (t == null) {
+            return Stream.empty();
+        }
+        return t.stream();
+    }
+
+    @Override
+    public void forEach(K key, Consumer<V> function) {
+        init();
+        Collection<V> t = map.get(key);
+        if (t != null) {
+            t.forEach(function);
+        }
+    }
+
+    @Override
+    public boolean matchOnValues(K key, Predicate<V> function) {
+        init();
+        Collection<V> t = map.get(key);
+        if (t == null) {
+            return false;
+        }
+        for (V v : t) {
+            if (function.test(v)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Collection<V> getValuesAsCollection(K key) {
+        init();
+        Collection<V> t = map.get(key);
+        if (t == null) {
+            return Collections.emptySet();
+        }
+        if (t instanceof List) {
+            // list buckets are never modified after publication
+            return Collections.unmodifiableCollection(t);
+        }
+        return new ArrayList<>(t);
+    }
+
+    @Override
+    public int countValues(K key) {
+        init();
+        Collection<V> t = map.get(key);
+        if (t == null) {
+            return 0;
+        }
+        return t.size();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <O extends V> Stream<O> values(K key, @SuppressWarnings("unused") Class<O> classType) {
+        init();
+        Collection<V> t = map.get(key);
+        if (t == null) {
+            return Stream.empty();
+        }
+        return ((Collection<O>) t).stream();
+    }
+
+    @Override
+    public <T> Collection<OWLAxiom> filterAxioms(OWLAxiomSearchFilter filter, T key) {
+        init();
+        List<OWLAxiom> toReturn = new ArrayList<>();
+        for (AxiomType<?> at : filter.getAxiomTypes()) {
+            Collection<V> collection = map.get(at);
+            if (collection != null) {
+                collection.stream().filter(x -> filter.pass(x, key)).forEach(toReturn::add);
+            }
+        }
+        return toReturn;
+    }
+
+    @Override
+    public boolean hasValues(K key) {
+        init();
+        return map.containsKey(key);
+    }
+
+    @Override
+    public boolean put(K key, V value) {
+        // lazy init: no elements added until a recall is made; if
+        // initialization is in progress, wait for it to complete
+        if (!initialized) {
+            synchronized (this) {
+                if (!initialized) {
+                    return false;
+                }
+            }
+        }
+        iris = null;
+        return putInternal(key, value);
+    }
+
+    @Override
+    public boolean remove(K key, V value) {
+        if (!initialized) {
+            synchronized (this) {
+                if (!initialized) {
+                    return false;
+                }
+            }
+        }
+        iris = null;
+        return removeInternal(key, value);
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        init();
+        return map.containsKey(key);
+    }
+
+    @Override
+    public boolean contains(K key, V value) {
+        init();
+        Collection<V> t = map.get(key);
+        if (t == null) {
+            return false;
+        }
+        return t.contains(value);
+    }
+
+    @Override
+    public Stream<V> getAllValues() {
+        init();
+        return map.values().stream().flatMap(Collection::stream);
+    }
+
+    @Override
+    public int size() {
+        init();
+        return size.get();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        init();
+        return size.get() == 0;
+    }
+
+    /**
+     * Buckets are replaced rather than modified while they are lists, so
+     * readers always see a consistent bucket; list buckets larger than
+     * {@link #MAX_LIST_BUCKET} are promoted to concurrent sets, which are
+     * modified in place.
+     *
+     * @param k
+     *        key
+     * @param v
+     *        value
+     * @return true if the value was added
+     */
+    protected boolean putInternal(@Nullable K k, V v) {
+        if (k == null) {
+            return false;
+        }
+        boolean[] added = new boolean[1];
+        map.compute(k, (key, bucket) -> {
+            if (bucket == null) {
+                added[0] = true;
+                return Collections.singletonList(v);
+            }
+            if (bucket instanceof Set) {
+                added[0] = bucket.add(v);
+                return bucket;
+            }
+            if (bucket.contains(v)) {
+                return bucket;
+            }
+            added[0] = true;
+            if (bucket.size() < MAX_LIST_BUCKET) {
+                List<V> list = new ArrayList<>(bucket.size() + 1);
+                list.addAll(bucket);
+                list.add(v);
+                return list;
+            }
+            Set<V> set = ConcurrentHashMap.newKeySet(bucket.size() * 2);
+            set.addAll(bucket);
+            set.add(v);
+            return set;
+        });
+        if (added[0]) {
+            size.incrementAndGet();
+        }
+        return added[0];
+    }
+
+    private boolean removeInternal(K k, V v) {
+        boolean[] removed = new boolean[1];
+        map.computeIfPresent(k, (key, bucket) -> {
+            if (bucket instanceof Set) {
+                removed[0] = bucket.remove(v);
+                return bucket.isEmpty() ? null : bucket;
+            }
+            if (!bucket.contains(v)) {
+                return bucket;
+            }
+            removed[0] = true;
+            if (bucket.size() == 1) {
+                return null;
+            }
+            List<V> list = new ArrayList<>(bucket);
+            list.remove(v);
+            return list;
+        });
+        if (removed[0]) {
+            size.decrementAndGet();
+        }
+        return removed[0];
+    }
+
+    @Override
+    public void trimToSize() {
+        // buckets are already sized to their contents
+    }
+}
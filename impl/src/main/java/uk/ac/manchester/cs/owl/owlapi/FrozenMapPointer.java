@@ -0,0 +1,303 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owl.owlapi;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.model.*;
+import org.semanticweb.owlapi.util.OWLAxiomSearchFilter;
+
+/**
+ * An immutable, array based copy of a map pointer. Keys are stored in an array
+ * sorted by hash code and located by binary search; the values for all keys
+ * are stored in a single array, where the values for the key at position
+ * {@code i} occupy the slice {@code offsets[i]..offsets[i+1]}, each slice
+ * sorted by hash code. There are no per key collections and no hash table
+ * slack, and since nothing can change, no locking is needed for reads.
+ *
+ * @author ignazio
+ * @param <K>
+ *        key
+ * @param <V>
+ *        value
+ */
+public class FrozenMapPointer<K, V extends OWLAxiom> extends MapPointer<K, V> {
+
+    private static final Comparator<Object> BY_HASH = (a, b) -> Integer.compare(a.hashCode(), b.hashCode());
+    private final Object[] keys;
+    private final int[] hashes;
+    private final int[] offsets;
+    private final Object[] values;
+    @Nullable private volatile IRI[] iris;
+
+    /**
+     * @param source
+     *        map pointer to copy; it is initialized if necessary
+     * @param i
+     *        internals containing this pointer
+     */
+    public FrozenMapPointer(MapPointer<K, V> source, Internals i) {
+        super(i);
+        source.init();
+        keys = source.keySet().toArray();
+        Arrays.sort(keys, BY_HASH);
+        hashes = new int[keys.length];
+        offsets = new int[keys.length + 1];
+        int total = 0;
+        for (int k = 0; k < keys.length; k++) {
+            hashes[k] = keys[k].hashCode();
+            offsets[k] = total;
+            total += source.countValues(key(k));
+        }
+        offsets[keys.length] = total;
+        values = new Object[total];
+        int[] next = { 0 };
+        for (int k = 0; k < keys.length; k++) {
+            source.forEach(key(k), v -> values[next[0]++] = v);
+            Arrays.sort(values, offsets[k], offsets[k + 1], BY_HASH);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private K key(int k) {
+        return (K) keys[k];
+    }
+
+    @SuppressWarnings("unchecked")
+    private V value(int v) {
+        return (V) values[v];
+    }
+
+    /**
+     * @return true if o is in the slice from..to of array, which must be
+     *         sorted by hash code
+     */
+    private static boolean find(Object[] array, int from, int to, Object o) {
+        int h = o.hashCode();
+        int index = Arrays.binarySearch(array, from, to, o, BY_HASH);
+        if (index < 0) {
+            return false;
+        }
+        while (index > from && array[index - 1].hashCode() == h) {
+            index--;
+        }
+        for (; index < to && array[index].hashCode() == h; index++) {
+            if (array[index].equals(o)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return position of key in the keys array, or -1 if not present
+     */
+    private int indexOf(Object key) {
+        int h = key.hashCode();
+        int index = Arrays.binarySearch(hashes, h);
+        if (index < 0) {
+            return -1;
+        }
+        while (index > 0 && hashes[index - 1] == h) {
+            index--;
+        }
+        for (; index < hashes.length && hashes[index] == h; index++) {
+            if (keys[index].equals(key)) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Stream<V> slice(int k) {
+        if (k < 0) {
+            return Stream.empty();
+        }
+        return (Stream<V>) (Stream<?>) Arrays.stream(values, offsets[k], offsets[k + 1]);
+    }
+
+    @Override
+    public void forEach(BiConsumer<K, V> consumer) {
+        for (int k = 0; k < keys.length; k++) {
+            for (int v = offsets[k]; v < offsets[k + 1]; v++) {
+                consumer.accept(key(k), value(v));
+            }
+        }
+    }
+
+    @Override
+    public boolean containsReference(OWLEntity e) {
+        return indexOf(e) >= 0;
+    }
+
+    @Override
+    public boolean containsReference(IRI e) {
+        IRI[] set = iris;
+        if (set == null) {
+            set = Arrays.stream(keys).map(k -> k instanceof HasIRI ? ((HasIRI) k).getIRI() : k).filter(
+                k -> k instanceof IRI).distinct().sorted(BY_HASH).toArray(IRI[]::new);
+            iris = set;
+        }
+        return find(set, 0, set.length, e);
+    }
+
+    @Override
+    public boolean isInitialized() {
+        return true;
+    }
+
+    @Override
+    public FrozenMapPointer<K, V> init() {
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "frozen" + keySet();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Collection<K> keySet() {
+        return Collections.unmodifiableList((List<K>) (List<?>) Arrays.asList(keys));
+    }
+
+    @Override
+    public Stream<V> getValues(K key) {
+        return slice(indexOf(key));
+    }
+
+    @Override
+    public void forEach(K key, Consumer<V> function) {
+        int k = indexOf(key);
+        if (k < 0) {
+            return;
+        }
+        for (int v = offsets[k]; v < offsets[k + 1]; v++) {
+            function.accept(value(v));
+        }
+    }
+
+    @Override
+    public boolean matchOnValues(K key, Predicate<V> function) {
+        int k = indexOf(key);
+        if (k < 0) {
+            return false;
+        }
+        for (int v = offsets[k]; v < offsets[k + 1]; v++) {
+            if (function.test(value(v))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Collection<V> getValuesAsCollection(K key) {
+        int k = indexOf(key);
+        if (k < 0) {
+            return Collections.emptySet();
+        }
+        return Collections.unmodifiableList((List<V>) (List<?>) Arrays.asList(values).subList(offsets[k],
+            offsets[k + 1]));
+    }
+
+    @Override
+    public int countValues(K key) {
+        int k = indexOf(key);
+        if (k < 0) {
+            return 0;
+        }
+        return offsets[k + 1] - offsets[k];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <O extends V> Stream<O> values(K key, @SuppressWarnings("unused") Class<O> classType) {
+        return (Stream<O>) slice(indexOf(key));
+    }
+
+    @Override
+    public <T> Collection<OWLAxiom> filterAxioms(OWLAxiomSearchFilter filter, T key) {
+        List<OWLAxiom> toReturn = new ArrayList<>();
+        for (AxiomType<?> at : filter.getAxiomTypes()) {
+            int k = indexOf(at);
+            if (k >= 0) {
+                for (int v = offsets[k]; v < offsets[k + 1]; v++) {
+                    if (filter.pass(value(v), key)) {
+                        toReturn.add(value(v));
+                    }
+                }
+            }
+        }
+        return toReturn;
+    }
+
+    @Override
+    public boolean hasValues(K key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public boolean put(K key, V value) {
+        throw new UnsupportedOperationException("Frozen indexes cannot be modified");
+    }
+
+    @Override
+    public boolean remove(K key, V value) {
+        throw new UnsupportedOperationException("Frozen indexes cannot be modified");
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public boolean contains(K key, V value) {
+        int k = indexOf(key);
+        if (k < 0) {
+            return false;
+        }
+        return find(values, offsets[k], offsets[k + 1], value);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Stream<V> getAllValues() {
+        return (Stream<V>) (Stream<?>) Arrays.stream(values);
+    }
+
+    @Override
+    public int size() {
+        return values.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return values.length == 0;
+    }
+
+    @Override
+    public void trimToSize() {
+        // arrays are already sized to their contents
+    }
+}
@@ -0,0 +1,20 @@
+package uk.ac.manchester.cs.owl.owlapi;
+
+/**
+ * Implemented by ontologies that can defer building their axiom indexes while
+ * a large number of axioms is added, for example by a parser.
+ */
+public interface HasBulkLoad {
+
+    /**
+     * Start a bulk load. Axioms added from now on are indexed in one pass when
+     * {@link #endBulkLoad()} is called; queries made in between are still
+     * answered correctly, but cause the axioms added so far to be indexed.
+     */
+    void beginBulkLoad();
+
+    /**
+     * End a bulk load and index all axioms added since it started.
+     */
+    void endBulkLoad();
+}
@@ -0,0 +1,16 @@
+package uk.ac.manchester.cs.owl.owlapi;
+
+/**
+ * Implemented by ontologies that can be turned into read only snapshots.
+ */
+@FunctionalInterface
+public interface HasFreeze {
+
+    /**
+     * Replace the axiom indexes with compact, immutable copies. An application
+     * can use this operation on an ontology that will only be queried from now
+     * on, to minimize its storage and avoid any locking on reads; any further
+     * change to the ontology will be rejected.
+     */
+    void freeze();
+}
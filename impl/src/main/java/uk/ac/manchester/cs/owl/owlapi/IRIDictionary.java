@@ -0,0 +1,228 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owl.owlapi;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.semanticweb.owlapi.model.IRI;
+
+/**
+ * A dictionary assigning dense int ids to IRIs. Each namespace is stored once;
+ * remainders are stored UTF-8 encoded in a single byte arena, and the lookup
+ * table is an open addressing array of ids, so the dictionary keeps no IRI or
+ * String object alive for its entries. IRIs are rebuilt from their parts on
+ * request, and the most recently rebuilt ones are kept in a small direct
+ * mapped cache. Ids are never reused; entries cannot be removed.
+ * <p>
+ * Ids are assigned under the lock on the dictionary. Arrays are only replaced
+ * by larger copies, and an entry is published by a volatile write of the
+ * entry count after it has been written, so lookups of IRIs already in
+ * the dictionary and {@link #getIRI(int)} do not need the lock.
+ *
+ * @author ignazio
+ */
+public class IRIDictionary {
+
+    private static final int CACHE_SIZE = 8192;
+    private final Map<String, Integer> namespaceIds = new ConcurrentHashMap<>();
+    private volatile String[] namespaces = new String[16];
+    private volatile int[] namespaceOf = new int[1024];
+    private volatile int[] hashes = new int[1024];
+    private volatile int[] offsets = new int[1025];
+    private volatile byte[] arena = new byte[16 * 1024];
+    private volatile int[] table = new int[2048];
+    private int size = 0;
+    /** number of entries that can be read without the lock */
+    private volatile int published = 0;
+    private final CachedIRI[] cache = new CachedIRI[CACHE_SIZE];
+
+    /**
+     * @return number of IRIs in the dictionary
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * @param iri
+     *        iri to look up
+     * @return the id for the iri; a new id is assigned if the iri is not
+     *         already in the dictionary
+     */
+    public int getId(IRI iri) {
+        byte[] remainder = iri.getRemainder().orElse("").getBytes(UTF_8);
+        int hash = iri.hashCode();
+        Integer namespaceId = namespaceIds.get(iri.getNamespace());
+        if (namespaceId != null) {
+            int id = find(namespaceId.intValue(), remainder, hash);
+            if (id >= 0) {
+                return id;
+            }
+        }
+        return assign(iri, remainder, hash);
+    }
+
+    /**
+     * @return the id of a published entry, or -1 if the entry is not found;
+     *         entries being added concurrently might not be found
+     */
+    private int find(int namespaceId, byte[] remainder, int hash) {
+        int limit = published;
+        int[] t = table;
+        int mask = t.length - 1;
+        int slot = mix(hash) & mask;
+        while (t[slot] != 0) {
+            int id = t[slot] - 1;
+            if (id < limit && hashes[id] == hash && namespaceOf[id] == namespaceId && sameRemainder(id,
+                remainder)) {
+                return id;
+            }
+            slot = slot + 1 & mask;
+        }
+        return -1;
+    }
+
+    private synchronized int assign(IRI iri, byte[] remainder, int hash) {
+        String namespace = iri.getNamespace();
+        Integer namespaceId = namespaceIds.get(namespace);
+        int[] t = table;
+        int mask = t.length - 1;
+        int slot = mix(hash) & mask;
+        while (t[slot] != 0) {
+            int id = t[slot] - 1;
+            if (namespaceId != null && hashes[id] == hash && namespaceOf[id] == namespaceId.intValue()
+                && sameRemainder(id, remainder)) {
+                return id;
+            }
+            slot = slot + 1 & mask;
+        }
+        if (namespaceId == null) {
+            namespaceId = Integer.valueOf(addNamespace(namespace));
+        }
+        int id = add(namespaceId.intValue(), remainder, hash);
+        t[slot] = id + 1;
+        if (size * 2 > t.length) {
+            rehash();
+        }
+        published = size;
+        return id;
+    }
+
+    /**
+     * @param id
+     *        id returned by {@link #getId(IRI)}
+     * @return the iri with the specified id
+     */
+    public IRI getIRI(int id) {
+        // the volatile read makes the entry visible to this thread
+        if (id < 0 || id >= published) {
+            throw new IllegalArgumentException("Unknown id: " + id);
+        }
+        int slot = id & CACHE_SIZE - 1;
+        CachedIRI cached = cache[slot];
+        if (cached != null && cached.id == id) {
+            return cached.iri;
+        }
+        int[] o = offsets;
+        String remainder = new String(arena, o[id], o[id + 1] - o[id], UTF_8);
+        IRI iri = IRI.create(namespaces[namespaceOf[id]], remainder);
+        // racy but safe: entries are immutable, and a lost update is a miss
+        cache[slot] = new CachedIRI(id, iri);
+        return iri;
+    }
+
+    /**
+     * @param id
+     *        id returned by {@link #getId(IRI)}
+     * @return the hash code of the iri with the specified id
+     */
+    public int hashCode(int id) {
+        return hashes[id];
+    }
+
+    private static int mix(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ h >>> 16;
+    }
+
+    private boolean sameRemainder(int id, byte[] remainder) {
+        int start = offsets[id];
+        if (offsets[id + 1] - start != remainder.length) {
+            return false;
+        }
+        byte[] a = arena;
+        for (int i = 0; i < remainder.length; i++) {
+            if (a[start + i] != remainder[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int addNamespace(String namespace) {
+        int id = namespaceIds.size();
+        if (id == namespaces.length) {
+            namespaces = Arrays.copyOf(namespaces, id * 2);
+        }
+        namespaces[id] = namespace;
+        namespaceIds.put(namespace, Integer.valueOf(id));
+        return id;
+    }
+
+    private int add(int namespaceId, byte[] remainder, int hash) {
+        int id = size;
+        if (id == hashes.length) {
+            namespaceOf = Arrays.copyOf(namespaceOf, id * 2);
+            hashes = Arrays.copyOf(hashes, id * 2);
+            offsets = Arrays.copyOf(offsets, id * 2 + 1);
+        }
+        int start = offsets[id];
+        if (start + remainder.length > arena.length) {
+            arena = Arrays.copyOf(arena, Math.max(arena.length * 2, start + remainder.length));
+        }
+        System.arraycopy(remainder, 0, arena, start, remainder.length);
+        namespaceOf[id] = namespaceId;
+        hashes[id] = hash;
+        offsets[id + 1] = start + remainder.length;
+        size++;
+        return id;
+    }
+
+    private static class CachedIRI {
+
+        final int id;
+        final IRI iri;
+
+        CachedIRI(int id, IRI iri) {
+            this.id = id;
+            this.iri = iri;
+        }
+    }
+
+    private void rehash() {
+        int[] newTable = new int[table.length * 2];
+        int mask = newTable.length - 1;
+        for (int id = 0; id < size; id++) {
+            int slot = mix(hashes[id]) & mask;
+            while (newTable[slot] != 0) {
+                slot = slot + 1 & mask;
+            }
+            newTable[slot] = id + 1;
+        }
+        table = newTable;
+    }
+}
@@ -0,0 +1,327 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owl.owlapi;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.parameters.Navigation;
+
+/**
+ * A merged, deduplicated view of the axiom indexes of the ontologies in an
+ * imports closure. Lookups are materialized on first use, one key at a time,
+ * so that repeated lookups cost one probe rather than one per ontology in the
+ * closure. Membership checks probe each member in turn, since materializing
+ * them would copy every axiom in the closure. The manager reports the axiom
+ * changes it applies to the members: the materialized entries for the keys
+ * the changed axiom can be indexed under are dropped, to be merged again on
+ * the next lookup. Changes
+ * applied without going through the manager are detected by comparing the
+ * modification counts of the members, and drop the whole view.
+ *
+ * @author ignazio
+ * @since 5.0.5
+ */
+class ImportsClosureIndex {
+
+    private final List<OWLImmutableOntologyImpl> members;
+    /** modification counts of the members that the view reflects */
+    private final AtomicLongArray versions;
+    /** incremented at each invalidation; entries merged across one are not kept */
+    private final AtomicLong stamp = new AtomicLong();
+    private final Map<AxiomType<?>, List<OWLAxiom>> axiomsByType = new ConcurrentHashMap<>();
+    private final Map<OWLEntity, List<OWLAxiom>> referencingAxioms = new ConcurrentHashMap<>();
+    private final Map<ViewKey, Map<OWLObject, List<OWLAxiom>>> views = new ConcurrentHashMap<>();
+    /** number of distinct axioms in the closure, and the stamp it was counted at */
+    private int axiomCount = -1;
+    private long axiomCountStamp;
+
+    /**
+     * @param members
+     *        the ontologies in the imports closure
+     */
+    ImportsClosureIndex(List<OWLImmutableOntologyImpl> members) {
+        this.members = members;
+        versions = new AtomicLongArray(members.size());
+        for (int i = 0; i < members.size(); i++) {
+            versions.set(i, members.get(i).ints.getAxiomModificationCount());
+        }
+    }
+
+    /**
+     * @param closure
+     *        the ontologies in an imports closure
+     * @return an index for the closure, or null if some of the ontologies do
+     *         not keep their axioms in {@link Internals}
+     */
+    @Nullable
+    static ImportsClosureIndex of(Stream<OWLOntology> closure) {
+        List<OWLImmutableOntologyImpl> list = new ArrayList<>();
+        for (OWLOntology o : (Iterable<OWLOntology>) closure::iterator) {
+            if (!(o instanceof OWLImmutableOntologyImpl)) {
+                return null;
+            }
+            list.add((OWLImmutableOntologyImpl) o);
+        }
+        return new ImportsClosureIndex(list);
+    }
+
+    /** @return the ontologies in the imports closure */
+    List<? extends OWLOntology> getMembers() {
+        return members;
+    }
+
+    /**
+     * @param ontology
+     *        ontology to check
+     * @return true if the ontology is in the imports closure
+     */
+    boolean isMember(OWLOntology ontology) {
+        return indexOf(ontology) >= 0;
+    }
+
+    private int indexOf(OWLOntology ontology) {
+        for (int i = 0; i < members.size(); i++) {
+            if (members.get(i) == ontology) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param axiom
+     *        axiom to look for
+     * @return true if some ontology in the closure contains the axiom
+     */
+    boolean containsAxiom(OWLAxiom axiom) {
+        return members.stream().anyMatch(o -> o.containsAxiom(axiom));
+    }
+
+    /**
+     * @return number of distinct axioms in the closure; each axiom is counted
+     *         in the first member that contains it, so that the axioms are not
+     *         copied
+     */
+    int axiomCount() {
+        if (members.size() == 1) {
+            return members.get(0).getAxiomCount();
+        }
+        checkVersions();
+        long s;
+        synchronized (this) {
+            s = stamp.get();
+            if (axiomCount >= 0 && axiomCountStamp == s) {
+                return axiomCount;
+            }
+        }
+        int count = 0;
+        for (int i = 0; i < members.size(); i++) {
+            List<OWLImmutableOntologyImpl> previous = members.subList(0, i);
+            count += (int) members.get(i).axioms().filter(ax -> previous.stream().noneMatch(o -> o.containsAxiom(
+                ax))).count();
+        }
+        synchronized (this) {
+            if (stamp.get() == s) {
+                axiomCount = count;
+                axiomCountStamp = s;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @param type
+     *        axiom type
+     * @return the axioms of the given type in the closure, without duplicates
+     */
+    Stream<OWLAxiom> axioms(AxiomType<?> type) {
+        if (members.size() == 1) {
+            return members.get(0).axioms(type).map(OWLAxiom.class::cast);
+        }
+        return lookup(axiomsByType, type, o -> o.axioms(type)).stream();
+    }
+
+    /**
+     * @param entity
+     *        entity
+     * @return the axioms referencing the entity in the closure, without
+     *         duplicates
+     */
+    Stream<OWLAxiom> referencingAxioms(OWLEntity entity) {
+        if (members.size() == 1) {
+            return members.get(0).referencingAxioms(entity);
+        }
+        return lookup(referencingAxioms, entity, o -> o.referencingAxioms(entity)).stream();
+    }
+
+    /**
+     * @param entity
+     *        entity
+     * @return true if some ontology in the closure references the entity
+     */
+    boolean containsReference(OWLEntity entity) {
+        return members.stream().anyMatch(o -> o.containsReference(entity));
+    }
+
+    /**
+     * @param type
+     *        type of axioms
+     * @param explicitClass
+     *        key type of the index
+     * @param entity
+     *        key
+     * @param position
+     *        sub or super position for the key
+     * @return the matching axioms in the closure, without duplicates
+     */
+    @SuppressWarnings("unchecked")
+    <A extends OWLAxiom> Stream<A> axioms(Class<A> type, Class<? extends OWLObject> explicitClass,
+        OWLObject entity, Navigation position) {
+        if (members.size() == 1) {
+            return members.get(0).axioms(type, explicitClass, entity, position);
+        }
+        Map<OWLObject, List<OWLAxiom>> view = views.computeIfAbsent(new ViewKey(type, explicitClass, position),
+            k -> new ConcurrentHashMap<>());
+        return (Stream<A>) lookup(view, entity, o -> o.axioms(type, explicitClass, entity, position)).stream();
+    }
+
+    private <K> List<OWLAxiom> lookup(Map<K, List<OWLAxiom>> view, K key,
+        Function<OWLOntology, Stream<? extends OWLAxiom>> query) {
+        checkVersions();
+        List<OWLAxiom> values = view.get(key);
+        if (values != null) {
+            return values;
+        }
+        long s = stamp.get();
+        Set<OWLAxiom> merged = new LinkedHashSet<>();
+        members.forEach(o -> query.apply(o).forEach(merged::add));
+        values = merged.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(new ArrayList<>(
+            merged));
+        // under the lock held by invalidations, so that no invalidation can
+        // fall between the check and the insertion
+        synchronized (this) {
+            if (stamp.get() == s) {
+                view.putIfAbsent(key, values);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Drops everything if some member has changed since the view was last
+     * updated.
+     */
+    private void checkVersions() {
+        for (int i = 0; i < members.size(); i++) {
+            if (versions.get(i) != members.get(i).ints.getAxiomModificationCount()) {
+                clear();
+                return;
+            }
+        }
+    }
+
+    private synchronized void clear() {
+        stamp.incrementAndGet();
+        axiomsByType.clear();
+        referencingAxioms.clear();
+        views.clear();
+        for (int i = 0; i < members.size(); i++) {
+            versions.set(i, members.get(i).ints.getAxiomModificationCount());
+        }
+    }
+
+    /**
+     * Update the view after an axiom has been added to or removed from one of
+     * the ontologies in the closure.
+     *
+     * @param ontology
+     *        the changed ontology
+     * @param axiom
+     *        the added or removed axiom
+     */
+    synchronized void axiomChanged(OWLOntology ontology, OWLAxiom axiom) {
+        int i = indexOf(ontology);
+        if (i < 0) {
+            return;
+        }
+        long current = members.get(i).ints.getAxiomModificationCount();
+        if (versions.get(i) + 1 != current) {
+            // some other change has not been reported
+            clear();
+            return;
+        }
+        stamp.incrementAndGet();
+        axiomsByType.remove(axiom.getAxiomType());
+        axiom.signature().forEach(referencingAxioms::remove);
+        views.forEach((k, view) -> {
+            if (k.type.isInstance(axiom)) {
+                if (OWLEntity.class.isAssignableFrom(k.explicitClass)) {
+                    axiom.signature().forEach(view::remove);
+                } else {
+                    // keys such as class expressions or IRIs cannot be listed
+                    view.clear();
+                }
+            }
+        });
+        versions.set(i, current);
+    }
+
+    /** type, key type and position of an axiom index */
+    private static class ViewKey {
+
+        final Class<?> type;
+        final Class<?> explicitClass;
+        final Navigation position;
+        private final int hash;
+
+        ViewKey(Class<?> type, Class<?> explicitClass, Navigation position) {
+            this.type = type;
+            this.explicitClass = explicitClass;
+            this.position = position;
+            hash = Objects.hash(type, explicitClass, position);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            if (!(obj instanceof ViewKey)) {
+                return false;
+            }
+            ViewKey other = (ViewKey) obj;
+            return type.equals(other.type) && explicitClass.equals(other.explicitClass)
+                && position == other.position;
+        }
+    }
+}
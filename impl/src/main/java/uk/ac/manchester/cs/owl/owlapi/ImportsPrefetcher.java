@@ -0,0 +1,387 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owl.owlapi;
+
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.verifyNotNull;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.io.IRIDocumentSource;
+import org.semanticweb.owlapi.io.OWLOntologyDocumentSource;
+import org.semanticweb.owlapi.io.OWLOntologyLoaderMetaData;
+import org.semanticweb.owlapi.io.OWLParserFactory;
+import org.semanticweb.owlapi.io.RDFParserMetaData;
+import org.semanticweb.owlapi.model.EntityType;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.MissingOntologyHeaderStrategy;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLDocumentFormat;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLImportsDeclaration;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyFactory;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
+import org.semanticweb.owlapi.model.OWLRuntimeException;
+import org.semanticweb.owlapi.model.parameters.Imports;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.ac.manchester.cs.owl.owlapi.concurrent.NoOpReadWriteLock;
+
+/**
+ * Parses the documents in the imports closure of an ontology before the
+ * ontology is loaded, several at a time. Each document is parsed into its own
+ * private manager, which records the imports requested by the parser instead
+ * of loading them; the requested imports are resolved to document IRIs with
+ * the mappers of the loading manager, on the calling thread, and parsed in
+ * turn. The loading manager then loads the ontology as usual, one document at
+ * a time and in the usual order, but takes over the parsed ontologies instead
+ * of parsing their documents again, replaying the recorded import requests.
+ * Therefore the loaded ontologies, and the order in which they are loaded, do
+ * not depend on the number of threads.
+ * <p>
+ * A document is parsed again, rather than taken over, when its parse could
+ * have depended on the imported ontologies that were missing: for RDF
+ * documents, when some triples were left unparsed, some declarations were
+ * guessed, an imported ontology must be merged into the importing one, or the
+ * imports give entities of the document types that the document itself does
+ * not give them; for other formats, when the parser looked at the imports
+ * closure. Documents on an imports cycle are always parsed again, since the
+ * ontology id seen by the other documents on the cycle depends on how far the
+ * parse has gone.
+ *
+ * @author ignazio
+ * @since 5.0.5
+ */
+class ImportsPrefetcher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ImportsPrefetcher.class);
+    private final OWLOntologyManagerImpl manager;
+    private final OWLOntologyDocumentSource rootSource;
+    private final OWLOntologyLoaderConfiguration configuration;
+    private final List<OWLOntologyFactory> factories;
+    private final List<OWLParserFactory> parsers;
+    @Nullable private Prefetched root;
+    private final Map<IRI, Prefetched> documents = new HashMap<>();
+
+    /**
+     * @param manager
+     *        the manager that will load the ontology
+     * @param rootSource
+     *        document source of the ontology to load
+     * @param configuration
+     *        loader configuration
+     */
+    ImportsPrefetcher(OWLOntologyManagerImpl manager, OWLOntologyDocumentSource rootSource,
+        OWLOntologyLoaderConfiguration configuration) {
+        this.manager = manager;
+        this.rootSource = rootSource;
+        this.configuration = configuration;
+        factories = new ArrayList<>();
+        manager.getOntologyFactories().forEach(factories::add);
+        parsers = new ArrayList<>();
+        manager.getOntologyParsers().forEach(parsers::add);
+    }
+
+    /**
+     * Parse the root document and the documents in its imports closure, on
+     * the number of threads set in the configuration.
+     */
+    void prefetch() {
+        Set<IRI> submitted = new HashSet<>();
+        ExecutorService executor = Executors.newFixedThreadPool(configuration.getImportsLoadingThreads());
+        try {
+            CompletionService<Prefetched> service = new ExecutorCompletionService<>(executor);
+            service.submit(() -> parse(rootSource, configuration));
+            int pending = 1;
+            while (pending > 0) {
+                Prefetched p = service.take().get();
+                pending--;
+                if (p.source == rootSource) {
+                    root = p;
+                } else {
+                    documents.put(p.source.getDocumentIRI(), p);
+                }
+                for (ImportRequest r : p.requests) {
+                    IRI iri = r.declaration.getIRI();
+                    if (r.configuration.isIgnoredImport(iri)) {
+                        continue;
+                    }
+                    IRI documentIRI = manager.prefetchableDocumentIRI(iri);
+                    if (documentIRI != null) {
+                        p.imported.add(documentIRI);
+                        if (submitted.add(documentIRI)) {
+                            service.submit(() -> parse(new IRIDocumentSource(documentIRI, null, null),
+                                r.configuration));
+                            pending++;
+                        }
+                    }
+                }
+            }
+            markCycles();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OWLRuntimeException(e);
+        } catch (ExecutionException e) {
+            throw new OWLRuntimeException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Prefetched parse(OWLOntologyDocumentSource source, OWLOntologyLoaderConfiguration config) {
+        ScratchManager scratch = new ScratchManager(manager.getOWLDataFactory(), factories, parsers, config);
+        long start = System.nanoTime();
+        OWLOntology ontology = null;
+        for (OWLOntologyFactory factory : factories) {
+            if (factory.canAttemptLoading(source)) {
+                try {
+                    ontology = factory.loadOWLOntology(scratch, source, scratch, config);
+                } catch (OWLOntologyCreationException | RuntimeException e) {
+                    // the document will be parsed again, and the error
+                    // reported, when its turn comes
+                    LOGGER.debug("Parsing {} ahead of loading failed", source.getDocumentIRI(), e);
+                }
+                break;
+            }
+        }
+        return new Prefetched(source, config, scratch, ontology, System.nanoTime() - start);
+    }
+
+    /** Flag the documents that can reach themselves through their imports. */
+    private void markCycles() {
+        Map<IRI, Prefetched> all = new HashMap<>(documents);
+        Prefetched r = root;
+        if (r != null) {
+            all.putIfAbsent(r.source.getDocumentIRI(), r);
+        }
+        for (Prefetched p : all.values()) {
+            IRI documentIRI = p.source.getDocumentIRI();
+            Set<IRI> visited = new HashSet<>();
+            List<IRI> toVisit = new ArrayList<>(p.imported);
+            while (!toVisit.isEmpty() && !p.onCycle) {
+                IRI next = toVisit.remove(toVisit.size() - 1);
+                p.onCycle = next.equals(documentIRI);
+                Prefetched q = all.get(next);
+                if (visited.add(next) && q != null) {
+                    toVisit.addAll(q.imported);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param source
+     *        the document source about to be parsed by the loading manager
+     * @return the prefetched parse of the document, or null if there is none;
+     *         a parse is returned only once
+     */
+    @Nullable
+    Prefetched take(OWLOntologyDocumentSource source) {
+        if (source == rootSource) {
+            Prefetched p = root;
+            root = null;
+            return p;
+        }
+        if (source instanceof IRIDocumentSource && !source.getFormat().isPresent() && !source.getMIMEType()
+            .isPresent()) {
+            return documents.remove(source.getDocumentIRI());
+        }
+        return null;
+    }
+
+    /** An import requested by a parser. */
+    static class ImportRequest {
+
+        final OWLImportsDeclaration declaration;
+        final OWLOntologyLoaderConfiguration configuration;
+
+        ImportRequest(OWLImportsDeclaration declaration, OWLOntologyLoaderConfiguration configuration) {
+            this.declaration = declaration;
+            this.configuration = configuration;
+        }
+    }
+
+    /** The outcome of parsing one document ahead of loading. */
+    static class Prefetched {
+
+        final OWLOntologyDocumentSource source;
+        private final OWLOntologyLoaderConfiguration configuration;
+        private final ScratchManager scratch;
+        @Nullable private final OWLOntology ontology;
+        @Nullable private final OWLDocumentFormat format;
+        /** imports requested by the parser, in order */
+        final List<ImportRequest> requests;
+        /** document IRIs of the imports that were parsed ahead */
+        final List<IRI> imported = new ArrayList<>();
+        /** time spent parsing, in nanoseconds */
+        final long parseTime;
+        boolean onCycle = false;
+
+        Prefetched(OWLOntologyDocumentSource source, OWLOntologyLoaderConfiguration configuration,
+            ScratchManager scratch, @Nullable OWLOntology ontology, long parseTime) {
+            this.source = source;
+            this.configuration = configuration;
+            this.scratch = scratch;
+            this.ontology = ontology;
+            format = ontology == null ? null : scratch.getOntologyFormat(ontology);
+            requests = Collections.unmodifiableList(scratch.requests);
+            this.parseTime = parseTime;
+        }
+
+        /**
+         * @return the parsed ontology, detached from the manager that parsed
+         *         it, or null if the document could not be parsed or must be
+         *         parsed again
+         */
+        @Nullable
+        OWLOntology release() {
+            OWLOntology o = ontology;
+            if (o == null || format == null || onCycle) {
+                return null;
+            }
+            if (scratch.closureConsulted && !(metaData() instanceof RDFParserMetaData)) {
+                return null;
+            }
+            scratch.removeOntology(o);
+            return o;
+        }
+
+        /** @return the format of the parsed ontology */
+        OWLDocumentFormat getFormat() {
+            return verifyNotNull(format);
+        }
+
+        @Nullable
+        private OWLOntologyLoaderMetaData metaData() {
+            OWLDocumentFormat f = format;
+            return f == null ? null : f.getOntologyLoaderMetaData().orElse(null);
+        }
+
+        /**
+         * Checks whether the ontology, once its imports have been loaded, is
+         * the same as the one the parser would have built with the imports in
+         * place.
+         *
+         * @param o
+         *        the released ontology, with its imports loaded
+         * @param df
+         *        data factory
+         * @return true if the ontology can be used as it is
+         */
+        boolean isReusable(OWLOntology o, OWLDataFactory df) {
+            if (!scratch.closureConsulted) {
+                return true;
+            }
+            RDFParserMetaData rdf = (RDFParserMetaData) verifyNotNull(metaData());
+            if (rdf.getUnparsedTriples().findAny().isPresent() || !rdf.getGuessedDeclarations().isEmpty()) {
+                return false;
+            }
+            if (configuration.getMissingOntologyHeaderStrategy() == MissingOntologyHeaderStrategy.INCLUDE_GRAPH && o
+                .directImports().anyMatch(OWLOntology::isAnonymous)) {
+                return false;
+            }
+            List<OWLOntology> imports = asList(o.imports());
+            Set<IRI> iris = new HashSet<>();
+            o.signature().forEach(e -> iris.add(e.getIRI()));
+            for (IRI iri : iris) {
+                for (EntityType<?> type : EntityType.values()) {
+                    OWLEntity e = df.getOWLEntity(type, iri);
+                    if (!o.containsEntityInSignature(e, Imports.EXCLUDED) && imports.stream().anyMatch(
+                        i -> i.containsEntityInSignature(e, Imports.EXCLUDED))) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * A manager that parses a single document, recording the imports requested
+     * by the parser rather than loading them, and whether the parser looked at
+     * the imports closure after requesting an import.
+     */
+    static class ScratchManager extends OWLOntologyManagerImpl {
+
+        final List<ImportRequest> requests = new ArrayList<>();
+        boolean closureConsulted = false;
+
+        ScratchManager(OWLDataFactory dataFactory, List<OWLOntologyFactory> factories,
+            List<OWLParserFactory> parsers, OWLOntologyLoaderConfiguration configuration) {
+            super(dataFactory, new NoOpReadWriteLock());
+            getOntologyFactories().set(factories);
+            getOntologyParsers().set(parsers);
+            setOntologyLoaderConfiguration(configuration);
+        }
+
+        @Override
+        public void makeLoadImportRequest(OWLImportsDeclaration declaration,
+            OWLOntologyLoaderConfiguration config) {
+            requests.add(new ImportRequest(declaration, config));
+        }
+
+        private void consulted() {
+            if (!requests.isEmpty()) {
+                closureConsulted = true;
+            }
+        }
+
+        @Nullable
+        @Override
+        public OWLOntology getImportedOntology(OWLImportsDeclaration declaration) {
+            consulted();
+            return super.getImportedOntology(declaration);
+        }
+
+        @Override
+        public Stream<OWLOntology> directImports(OWLOntology ontology) {
+            consulted();
+            return super.directImports(ontology);
+        }
+
+        @Override
+        public Stream<OWLOntology> imports(OWLOntology ontology) {
+            consulted();
+            return super.imports(ontology);
+        }
+
+        @Override
+        public Stream<OWLOntology> importsClosure(OWLOntology ontology) {
+            consulted();
+            return super.importsClosure(ontology);
+        }
+
+        @Override
+        public List<OWLOntology> getSortedImportsClosure(OWLOntology ontology) {
+            consulted();
+            return super.getSortedImportsClosure(ontology);
+        }
+    }
+}
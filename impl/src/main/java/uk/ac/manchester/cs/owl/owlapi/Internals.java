@@ -27,7 +27,10 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Stream;
 
 import javax.annotation.Nonnull;
@@ -44,66 +47,73 @@ import org.semanticweb.owlapi.util.OWLAxiomSearchFilter;
  */
 public class Internals implements Serializable {
 
+    /** Smallest number of queued axioms indexed on two threads. */
+    private static final int MIN_PARALLEL_BULK_AXIOMS = 10_000;
+
     //@formatter:off
-@Nonnull     protected transient MapPointer<OWLClassExpression, OWLClassAssertionAxiom>                          classAssertionAxiomsByClass                         = buildLazy(CLASS_ASSERTION, CLASSEXPRESSIONS);
-@Nonnull     protected transient MapPointer<OWLAnnotationSubject, OWLAnnotationAssertionAxiom>                   annotationAssertionAxiomsBySubject                  = buildLazy(ANNOTATION_ASSERTION, ANNOTSUPERNAMED);
-@Nonnull     protected transient MapPointer<OWLClass, OWLSubClassOfAxiom>                                        subClassAxiomsBySubPosition                         = buildLazy(SUBCLASS_OF, CLASSSUBNAMED);
-@Nonnull     protected transient MapPointer<OWLClass, OWLSubClassOfAxiom>                                        subClassAxiomsBySuperPosition                       = buildLazy(SUBCLASS_OF, CLASSSUPERNAMED);
-@Nonnull     protected transient MapPointer<OWLObjectPropertyExpression, OWLSubObjectPropertyOfAxiom>            objectSubPropertyAxiomsBySubPosition                = buildLazy(SUB_OBJECT_PROPERTY, OPSUBNAMED);
-@Nonnull     protected transient MapPointer<OWLObjectPropertyExpression, OWLSubObjectPropertyOfAxiom>            objectSubPropertyAxiomsBySuperPosition              = buildLazy(SUB_OBJECT_PROPERTY, OPSUPERNAMED);
-@Nonnull     protected transient MapPointer<OWLDataPropertyExpression, OWLSubDataPropertyOfAxiom>                dataSubPropertyAxiomsBySubPosition                  = buildLazy(SUB_DATA_PROPERTY, DPSUBNAMED);
-@Nonnull     protected transient MapPointer<OWLDataPropertyExpression, OWLSubDataPropertyOfAxiom>                dataSubPropertyAxiomsBySuperPosition                = buildLazy(SUB_DATA_PROPERTY, DPSUPERNAMED);
-
-@Nonnull     protected transient MapPointer<OWLClass, OWLClassAxiom>                                             classAxiomsByClass                                  = buildClassAxiomByClass();
-@Nonnull     protected transient MapPointer<OWLClass, OWLEquivalentClassesAxiom>                                 equivalentClassesAxiomsByClass                      = buildLazy(EQUIVALENT_CLASSES, CLASSCOLLECTIONS);
-@Nonnull     protected transient MapPointer<OWLClass, OWLDisjointClassesAxiom>                                   disjointClassesAxiomsByClass                        = buildLazy(DISJOINT_CLASSES, CLASSCOLLECTIONS);
-@Nonnull     protected transient MapPointer<OWLClass, OWLDisjointUnionAxiom>                                     disjointUnionAxiomsByClass                          = buildLazy(DISJOINT_UNION, CLASSCOLLECTIONS);
-@Nonnull     protected transient MapPointer<OWLClass, OWLHasKeyAxiom>                                            hasKeyAxiomsByClass                                 = buildLazy(HAS_KEY, CLASSSUPERNAMED);
-
-@Nonnull     protected transient MapPointer<OWLObjectPropertyExpression, OWLEquivalentObjectPropertiesAxiom>     equivalentObjectPropertyAxiomsByProperty            = buildLazy(EQUIVALENT_OBJECT_PROPERTIES, OPCOLLECTIONS);
-@Nonnull     protected transient MapPointer<OWLObjectPropertyExpression, OWLDisjointObjectPropertiesAxiom>       disjointObjectPropertyAxiomsByProperty              = buildLazy(DISJOINT_OBJECT_PROPERTIES, OPCOLLECTIONS);
-@Nonnull     protected transient MapPointer<OWLObjectPropertyExpression, OWLObjectPropertyDomainAxiom>           objectPropertyDomainAxiomsByProperty                = buildLazy(OBJECT_PROPERTY_DOMAIN, OPSUBNAMED);
-@Nonnull     protected transient MapPointer<OWLObjectPropertyExpression, OWLObjectPropertyRangeAxiom>            objectPropertyRangeAxiomsByProperty                 = buildLazy(OBJECT_PROPERTY_RANGE, OPSUBNAMED);
-@Nonnull     protected transient MapPointer<OWLObjectPropertyExpression, OWLFunctionalObjectPropertyAxiom>       functionalObjectPropertyAxiomsByProperty            = buildLazy(FUNCTIONAL_OBJECT_PROPERTY, OPSUBNAMED);
-@Nonnull     protected transient MapPointer<OWLObjectPropertyExpression, OWLInverseFunctionalObjectPropertyAxiom>inverseFunctionalPropertyAxiomsByProperty           = buildLazy(INVERSE_FUNCTIONAL_OBJECT_PROPERTY, OPSUBNAMED);
-@Nonnull     protected transient MapPointer<OWLObjectPropertyExpression, OWLSymmetricObjectPropertyAxiom>        symmetricPropertyAxiomsByProperty                   = buildLazy(SYMMETRIC_OBJECT_PROPERTY, OPSUBNAMED);
-@Nonnull     protected transient MapPointer<OWLObjectPropertyExpression, OWLAsymmetricObjectPropertyAxiom>       asymmetricPropertyAxiomsByProperty                  = buildLazy(ASYMMETRIC_OBJECT_PROPERTY, OPSUBNAMED);
-@Nonnull     protected transient MapPointer<OWLObjectPropertyExpression, OWLReflexiveObjectPropertyAxiom>        reflexivePropertyAxiomsByProperty                   = buildLazy(REFLEXIVE_OBJECT_PROPERTY, OPSUBNAMED);
-@Nonnull     protected transient MapPointer<OWLObjectPropertyExpression, OWLIrreflexiveObjectPropertyAxiom>      irreflexivePropertyAxiomsByProperty                 = buildLazy(IRREFLEXIVE_OBJECT_PROPERTY, OPSUBNAMED);
-@Nonnull     protected transient MapPointer<OWLObjectPropertyExpression, OWLTransitiveObjectPropertyAxiom>       transitivePropertyAxiomsByProperty                  = buildLazy(TRANSITIVE_OBJECT_PROPERTY, OPSUBNAMED);
-@Nonnull     protected transient MapPointer<OWLObjectPropertyExpression, OWLInverseObjectPropertiesAxiom>        inversePropertyAxiomsByProperty                     = buildLazy(INVERSE_OBJECT_PROPERTIES, OPCOLLECTIONS);
-
-@Nonnull     protected transient MapPointer<OWLDataPropertyExpression, OWLEquivalentDataPropertiesAxiom>         equivalentDataPropertyAxiomsByProperty              = buildLazy(EQUIVALENT_DATA_PROPERTIES, DPCOLLECTIONS);
-@Nonnull     protected transient MapPointer<OWLDataPropertyExpression, OWLDisjointDataPropertiesAxiom>           disjointDataPropertyAxiomsByProperty                = buildLazy(DISJOINT_DATA_PROPERTIES, DPCOLLECTIONS);
-@Nonnull     protected transient MapPointer<OWLDataPropertyExpression, OWLDataPropertyDomainAxiom>               dataPropertyDomainAxiomsByProperty                  = buildLazy(DATA_PROPERTY_DOMAIN, DPSUBNAMED);
-@Nonnull     protected transient MapPointer<OWLDataPropertyExpression, OWLDataPropertyRangeAxiom>                dataPropertyRangeAxiomsByProperty                   = buildLazy(DATA_PROPERTY_RANGE, DPSUBNAMED);
-@Nonnull     protected transient MapPointer<OWLDataPropertyExpression, OWLFunctionalDataPropertyAxiom>           functionalDataPropertyAxiomsByProperty              = buildLazy(FUNCTIONAL_DATA_PROPERTY, DPSUBNAMED);
-
-@Nonnull     protected transient MapPointer<OWLIndividual, OWLClassAssertionAxiom>                               classAssertionAxiomsByIndividual                    = buildLazy(CLASS_ASSERTION, INDIVIDUALSUBNAMED);
-@Nonnull     protected transient MapPointer<OWLIndividual, OWLObjectPropertyAssertionAxiom>                      objectPropertyAssertionsByIndividual                = buildLazy(OBJECT_PROPERTY_ASSERTION, INDIVIDUALSUBNAMED);
-@Nonnull     protected transient MapPointer<OWLIndividual, OWLDataPropertyAssertionAxiom>                        dataPropertyAssertionsByIndividual                  = buildLazy(DATA_PROPERTY_ASSERTION, INDIVIDUALSUBNAMED);
-@Nonnull     protected transient MapPointer<OWLIndividual, OWLNegativeObjectPropertyAssertionAxiom>              negativeObjectPropertyAssertionAxiomsByIndividual   = buildLazy(NEGATIVE_OBJECT_PROPERTY_ASSERTION, INDIVIDUALSUBNAMED);
-@Nonnull     protected transient MapPointer<OWLIndividual, OWLNegativeDataPropertyAssertionAxiom>                negativeDataPropertyAssertionAxiomsByIndividual     = buildLazy(NEGATIVE_DATA_PROPERTY_ASSERTION, INDIVIDUALSUBNAMED);
-@Nonnull     protected transient MapPointer<OWLIndividual, OWLDifferentIndividualsAxiom>                         differentIndividualsAxiomsByIndividual              = buildLazy(DIFFERENT_INDIVIDUALS, ICOLLECTIONS);
-@Nonnull     protected transient MapPointer<OWLIndividual, OWLSameIndividualAxiom>                               sameIndividualsAxiomsByIndividual                   = buildLazy(SAME_INDIVIDUAL, ICOLLECTIONS);
+@Nonnull     protected transient MapPointer<OWLClassExpression, OWLClassAssertionAxiom>                          classAssertionAxiomsByClass;
+@Nonnull     protected transient MapPointer<OWLAnnotationSubject, OWLAnnotationAssertionAxiom>                   annotationAssertionAxiomsBySubject;
+@Nonnull     protected transient MapPointer<OWLClass, OWLSubClassOfAxiom>                                        subClassAxiomsBySubPosition;
+@Nonnull     protected transient MapPointer<OWLClass, OWLSubClassOfAxiom>                                        subClassAxiomsBySuperPosition;
+@Nonnull     protected transient MapPointer<OWLObjectPropertyExpression, OWLSubObjectPropertyOfAxiom>            objectSubPropertyAxiomsBySubPosition;
+@Nonnull     protected transient MapPointer<OWLObjectPropertyExpression, OWLSubObjectPropertyOfAxiom>            objectSubPropertyAxiomsBySuperPosition;
+@Nonnull     protected transient MapPointer<OWLDataPropertyExpression, OWLSubDataPropertyOfAxiom>                dataSubPropertyAxiomsBySubPosition;
+@Nonnull     protected transient MapPointer<OWLDataPropertyExpression, OWLSubDataPropertyOfAxiom>                dataSubPropertyAxiomsBySuperPosition;
+
+@Nonnull     protected transient MapPointer<OWLClass, OWLClassAxiom>                                             classAxiomsByClass;
+@Nonnull     protected transient MapPointer<OWLClass, OWLEquivalentClassesAxiom>                                 equivalentClassesAxiomsByClass;
+@Nonnull     protected transient MapPointer<OWLClass, OWLDisjointClassesAxiom>                                   disjointClassesAxiomsByClass;
+@Nonnull     protected transient MapPointer<OWLClass, OWLDisjointUnionAxiom>                                     disjointUnionAxiomsByClass;
+@Nonnull     protected transient MapPointer<OWLClass, OWLHasKeyAxiom>                                            hasKeyAxiomsByClass;
+
+@Nonnull     protected transient MapPointer<OWLObjectPropertyExpression, OWLEquivalentObjectPropertiesAxiom>     equivalentObjectPropertyAxiomsByProperty;
+@Nonnull     protected transient MapPointer<OWLObjectPropertyExpression, OWLDisjointObjectPropertiesAxiom>       disjointObjectPropertyAxiomsByProperty;
+@Nonnull     protected transient MapPointer<OWLObjectPropertyExpression, OWLObjectPropertyDomainAxiom>           objectPropertyDomainAxiomsByProperty;
+@Nonnull     protected transient MapPointer<OWLObjectPropertyExpression, OWLObjectPropertyRangeAxiom>            objectPropertyRangeAxiomsByProperty;
+@Nonnull     protected transient MapPointer<OWLObjectPropertyExpression, OWLFunctionalObjectPropertyAxiom>       functionalObjectPropertyAxiomsByProperty;
+@Nonnull     protected transient MapPointer<OWLObjectPropertyExpression, OWLInverseFunctionalObjectPropertyAxiom>inverseFunctionalPropertyAxiomsByProperty;
+@Nonnull     protected transient MapPointer<OWLObjectPropertyExpression, OWLSymmetricObjectPropertyAxiom>        symmetricPropertyAxiomsByProperty;
+@Nonnull     protected transient MapPointer<OWLObjectPropertyExpression, OWLAsymmetricObjectPropertyAxiom>       asymmetricPropertyAxiomsByProperty;
+@Nonnull     protected transient MapPointer<OWLObjectPropertyExpression, OWLReflexiveObjectPropertyAxiom>        reflexivePropertyAxiomsByProperty;
+@Nonnull     protected transient MapPointer<OWLObjectPropertyExpression, OWLIrreflexiveObjectPropertyAxiom>      irreflexivePropertyAxiomsByProperty;
+@Nonnull     protected transient MapPointer<OWLObjectPropertyExpression, OWLTransitiveObjectPropertyAxiom>       transitivePropertyAxiomsByProperty;
+@Nonnull     protected transient MapPointer<OWLObjectPropertyExpression, OWLInverseObjectPropertiesAxiom>        inversePropertyAxiomsByProperty;
+
+@Nonnull     protected transient MapPointer<OWLDataPropertyExpression, OWLEquivalentDataPropertiesAxiom>         equivalentDataPropertyAxiomsByProperty;
+@Nonnull     protected transient MapPointer<OWLDataPropertyExpression, OWLDisjointDataPropertiesAxiom>           disjointDataPropertyAxiomsByProperty;
+@Nonnull     protected transient MapPointer<OWLDataPropertyExpression, OWLDataPropertyDomainAxiom>               dataPropertyDomainAxiomsByProperty;
+@Nonnull     protected transient MapPointer<OWLDataPropertyExpression, OWLDataPropertyRangeAxiom>                dataPropertyRangeAxiomsByProperty;
+@Nonnull     protected transient MapPointer<OWLDataPropertyExpression, OWLFunctionalDataPropertyAxiom>           functionalDataPropertyAxiomsByProperty;
+
+@Nonnull     protected transient MapPointer<OWLIndividual, OWLClassAssertionAxiom>                               classAssertionAxiomsByIndividual;
+@Nonnull     protected transient MapPointer<OWLIndividual, OWLObjectPropertyAssertionAxiom>                      objectPropertyAssertionsByIndividual;
+@Nonnull     protected transient MapPointer<OWLIndividual, OWLDataPropertyAssertionAxiom>                        dataPropertyAssertionsByIndividual;
+@Nonnull     protected transient MapPointer<OWLIndividual, OWLNegativeObjectPropertyAssertionAxiom>              negativeObjectPropertyAssertionAxiomsByIndividual;
+@Nonnull     protected transient MapPointer<OWLIndividual, OWLNegativeDataPropertyAssertionAxiom>                negativeDataPropertyAssertionAxiomsByIndividual;
+@Nonnull     protected transient MapPointer<OWLIndividual, OWLDifferentIndividualsAxiom>                         differentIndividualsAxiomsByIndividual;
+@Nonnull     protected transient MapPointer<OWLIndividual, OWLSameIndividualAxiom>                               sameIndividualsAxiomsByIndividual;
 
 @Nonnull     protected  SetPointer<OWLImportsDeclaration>                        importsDeclarations                 = new SetPointer<>();
 @Nonnull     protected  SetPointer<OWLAnnotation>                                ontologyAnnotations                 = new SetPointer<>();
 @Nonnull     protected  SetPointer<OWLClassAxiom>                                generalClassAxioms                  = new SetPointer<>();
 @Nonnull     protected  SetPointer<OWLSubPropertyChainOfAxiom>                   propertyChainSubPropertyAxioms      = new SetPointer<>();
 
-@Nonnull     protected transient MapPointer<AxiomType<?>, OWLAxiom>              axiomsByType                        = build();
+@Nonnull     protected transient MapPointer<AxiomType<?>, OWLAxiom>              axiomsByType;
 
-@Nonnull     protected transient MapPointer<OWLClass, OWLAxiom>                  owlClassReferences                  = build();
-@Nonnull     protected transient MapPointer<OWLObjectProperty, OWLAxiom>         owlObjectPropertyReferences         = build();
-@Nonnull     protected transient MapPointer<OWLDataProperty, OWLAxiom>           owlDataPropertyReferences           = build();
-@Nonnull     protected transient MapPointer<OWLNamedIndividual, OWLAxiom>        owlIndividualReferences             = build();
-@Nonnull     protected transient MapPointer<OWLAnonymousIndividual, OWLAxiom>    owlAnonymousIndividualReferences    = build();
-@Nonnull     protected transient MapPointer<OWLDatatype, OWLAxiom>               owlDatatypeReferences               = build();
-@Nonnull     protected transient MapPointer<OWLAnnotationProperty, OWLAxiom>     owlAnnotationPropertyReferences     = build();
-@Nonnull     protected transient MapPointer<OWLEntity, OWLDeclarationAxiom>      declarationsByEntity                = build();
+@Nonnull     protected transient MapPointer<OWLClass, OWLAxiom>                  owlClassReferences;
+@Nonnull     protected transient MapPointer<OWLObjectProperty, OWLAxiom>         owlObjectPropertyReferences;
+@Nonnull     protected transient MapPointer<OWLDataProperty, OWLAxiom>           owlDataPropertyReferences;
+@Nonnull     protected transient MapPointer<OWLNamedIndividual, OWLAxiom>        owlIndividualReferences;
+@Nonnull     protected transient MapPointer<OWLAnonymousIndividual, OWLAxiom>    owlAnonymousIndividualReferences;
+@Nonnull     protected transient MapPointer<OWLDatatype, OWLAxiom>               owlDatatypeReferences;
+@Nonnull     protected transient MapPointer<OWLAnnotationProperty, OWLAxiom>     owlAnnotationPropertyReferences;
+@Nonnull     protected transient MapPointer<OWLEntity, OWLDeclarationAxiom>      declarationsByEntity;
 
 @Nullable     private List<OWLAxiom> axiomsForSerialization;
+              private final boolean concurrentIndexes;
+              private boolean frozen;
+@Nullable     private transient volatile List<OWLAxiom> bulkAxioms;
+@Nonnull      private final AtomicLong axiomModificationCount = new AtomicLong();
 @Nonnull      private final AddAxiomVisitor addChangeVisitor = new AddAxiomVisitor();
 @Nonnull      private final RemoveAxiomVisitor removeChangeVisitor = new RemoveAxiomVisitor();
 @Nonnull      private final ReferenceChecker refChecker = new ReferenceChecker();
@@ -169,9 +179,31 @@ public class Internals implements Serializable {
         }
     }
 
-    @SuppressWarnings("null")
-    private void readObject(ObjectInputStream stream) throws IOException, ClassNotFoundException {
-        stream.defaultReadObject();
+    /**
+     * Default constructor; the axiom indexes are synchronized maps.
+     */
+    public Internals() {
+        this(false);
+    }
+
+    /**
+     * @param concurrentIndexes
+     *        true if the axiom indexes should support lock free reads from
+     *        multiple threads, false for synchronized indexes
+     */
+    public Internals(boolean concurrentIndexes) {
+        this.concurrentIndexes = concurrentIndexes;
+        initMapPointers();
+    }
+
+    /**
+     * @return true if the axiom indexes support lock free reads
+     */
+    public boolean hasConcurrentIndexes() {
+        return concurrentIndexes;
+    }
+
+    private void initMapPointers() {
         axiomsByType = build();
         owlClassReferences = build();
         owlObjectPropertyReferences = build();
@@ -220,8 +252,94 @@ public class Internals implements Serializable {
             INDIVIDUALSUBNAMED);
         differentIndividualsAxiomsByIndividual = buildLazy(DIFFERENT_INDIVIDUALS, ICOLLECTIONS);
         sameIndividualsAxiomsByIndividual = buildLazy(SAME_INDIVIDUAL, ICOLLECTIONS);
+    }
+
+    @SuppressWarnings("null")
+    private void readObject(ObjectInputStream stream) throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        initMapPointers();
+        boolean wasFrozen = frozen;
+        frozen = false;
         axiomsForSerialization.forEach(this::addAxiom);
         axiomsForSerialization = null;
+        if (wasFrozen) {
+            freeze();
+        }
+    }
+
+    /**
+     * Replaces the initialized axiom indexes with compact, immutable copies.
+     * Lazy indexes that have not been used yet are left as they are, and built
+     * from the frozen axioms by type if they are ever needed. Once frozen, the
+     * internals cannot be modified; attempting to do so causes an
+     * {@code UnsupportedOperationException}.
+     */
+    public void freeze() {
+        if (frozen) {
+            return;
+        }
+        endBulkLoad();
+        axiomsByType = freeze(axiomsByType);
+        owlClassReferences = freeze(owlClassReferences);
+        owlObjectPropertyReferences = freeze(owlObjectPropertyReferences);
+        owlDataPropertyReferences = freeze(owlDataPropertyReferences);
+        owlIndividualReferences = freeze(owlIndividualReferences);
+        owlAnonymousIndividualReferences = freeze(owlAnonymousIndividualReferences);
+        owlDatatypeReferences = freeze(owlDatatypeReferences);
+        owlAnnotationPropertyReferences = freeze(owlAnnotationPropertyReferences);
+        declarationsByEntity = freeze(declarationsByEntity);
+        classAssertionAxiomsByClass = freeze(classAssertionAxiomsByClass);
+        annotationAssertionAxiomsBySubject = freeze(annotationAssertionAxiomsBySubject);
+        subClassAxiomsBySubPosition = freeze(subClassAxiomsBySubPosition);
+        subClassAxiomsBySuperPosition = freeze(subClassAxiomsBySuperPosition);
+        objectSubPropertyAxiomsBySubPosition = freeze(objectSubPropertyAxiomsBySubPosition);
+        objectSubPropertyAxiomsBySuperPosition = freeze(objectSubPropertyAxiomsBySuperPosition);
+        dataSubPropertyAxiomsBySubPosition = freeze(dataSubPropertyAxiomsBySubPosition);
+        dataSubPropertyAxiomsBySuperPosition = freeze(dataSubPropertyAxiomsBySuperPosition);
+        classAxiomsByClass = freeze(classAxiomsByClass);
+        equivalentClassesAxiomsByClass = freeze(equivalentClassesAxiomsByClass);
+        disjointClassesAxiomsByClass = freeze(disjointClassesAxiomsByClass);
+        disjointUnionAxiomsByClass = freeze(disjointUnionAxiomsByClass);
+        hasKeyAxiomsByClass = freeze(hasKeyAxiomsByClass);
+        equivalentObjectPropertyAxiomsByProperty = freeze(equivalentObjectPropertyAxiomsByProperty);
+        disjointObjectPropertyAxiomsByProperty = freeze(disjointObjectPropertyAxiomsByProperty);
+        objectPropertyDomainAxiomsByProperty = freeze(objectPropertyDomainAxiomsByProperty);
+        objectPropertyRangeAxiomsByProperty = freeze(objectPropertyRangeAxiomsByProperty);
+        functionalObjectPropertyAxiomsByProperty = freeze(functionalObjectPropertyAxiomsByProperty);
+        inverseFunctionalPropertyAxiomsByProperty = freeze(inverseFunctionalPropertyAxiomsByProperty);
+        symmetricPropertyAxiomsByProperty = freeze(symmetricPropertyAxiomsByProperty);
+        asymmetricPropertyAxiomsByProperty = freeze(asymmetricPropertyAxiomsByProperty);
+        reflexivePropertyAxiomsByProperty = freeze(reflexivePropertyAxiomsByProperty);
+        irreflexivePropertyAxiomsByProperty = freeze(irreflexivePropertyAxiomsByProperty);
+        transitivePropertyAxiomsByProperty = freeze(transitivePropertyAxiomsByProperty);
+        inversePropertyAxiomsByProperty = freeze(inversePropertyAxiomsByProperty);
+        equivalentDataPropertyAxiomsByProperty = freeze(equivalentDataPropertyAxiomsByProperty);
+        disjointDataPropertyAxiomsByProperty = freeze(disjointDataPropertyAxiomsByProperty);
+        dataPropertyDomainAxiomsByProperty = freeze(dataPropertyDomainAxiomsByProperty);
+        dataPropertyRangeAxiomsByProperty = freeze(dataPropertyRangeAxiomsByProperty);
+        functionalDataPropertyAxiomsByProperty = freeze(functionalDataPropertyAxiomsByProperty);
+        classAssertionAxiomsByIndividual = freeze(classAssertionAxiomsByIndividual);
+        objectPropertyAssertionsByIndividual = freeze(objectPropertyAssertionsByIndividual);
+        dataPropertyAssertionsByIndividual = freeze(dataPropertyAssertionsByIndividual);
+        negativeObjectPropertyAssertionAxiomsByIndividual = freeze(negativeObjectPropertyAssertionAxiomsByIndividual);
+        negativeDataPropertyAssertionAxiomsByIndividual = freeze(negativeDataPropertyAssertionAxiomsByIndividual);
+        differentIndividualsAxiomsByIndividual = freeze(differentIndividualsAxiomsByIndividual);
+        sameIndividualsAxiomsByIndividual = freeze(sameIndividualsAxiomsByIndividual);
+        frozen = true;
+    }
+
+    private <K, V extends OWLAxiom> MapPointer<K, V> freeze(MapPointer<K, V> pointer) {
+        if (!pointer.isInitialized()) {
+            return pointer;
+        }
+        return new FrozenMapPointer<>(pointer, this);
+    }
+
+    /**
+     * @return true if the axiom indexes have been frozen
+     */
+    public boolean isFrozen() {
+        return frozen;
     }
 
     /**
@@ -229,6 +347,7 @@ public class Internals implements Serializable {
      * operation to minimize the storage of the internals instance.
      */
     public void trimToSize() {
+        indexBulkAxioms();
         axiomsByType.trimToSize();
         owlClassReferences.trimToSize();
         owlObjectPropertyReferences.trimToSize();
@@ -278,6 +397,7 @@ public class Internals implements Serializable {
     }
 
     private void writeObject(ObjectOutputStream stream) throws IOException {
+        indexBulkAxioms();
         axiomsForSerialization = asList(axiomsByType.getAllValues());
         stream.defaultWriteObject();
     }
@@ -288,6 +408,7 @@ public class Internals implements Serializable {
      * @return true if a class with this iri exists
      */
     public boolean containsClassInSignature(IRI i) {
+        indexBulkAxioms();
         return owlClassReferences.containsReference(i);
     }
 
@@ -297,6 +418,7 @@ public class Internals implements Serializable {
      * @return true if an object property with this iri exists
      */
     public boolean containsObjectPropertyInSignature(IRI i) {
+        indexBulkAxioms();
         return owlObjectPropertyReferences.containsReference(i);
     }
 
@@ -306,6 +428,7 @@ public class Internals implements Serializable {
      * @return true if a data property with this iri exists
      */
     public boolean containsDataPropertyInSignature(IRI i) {
+        indexBulkAxioms();
         return owlDataPropertyReferences.containsReference(i);
     }
 
@@ -315,6 +438,7 @@ public class Internals implements Serializable {
      * @return true if an annotation property with this iri exists
      */
     public boolean containsAnnotationPropertyInSignature(IRI i) {
+        indexBulkAxioms();
         return owlAnnotationPropertyReferences.containsReference(i);
     }
 
@@ -324,6 +448,7 @@ public class Internals implements Serializable {
      * @return true if a individual with this iri exists
      */
     public boolean containsIndividualInSignature(IRI i) {
+        indexBulkAxioms();
         return owlIndividualReferences.containsReference(i);
     }
 
@@ -333,6 +458,7 @@ public class Internals implements Serializable {
      * @return true if a datatype with this iri exists
      */
     public boolean containsDatatypeInSignature(IRI i) {
+        indexBulkAxioms();
         return owlDatatypeReferences.containsReference(i);
     }
 
@@ -342,6 +468,7 @@ public class Internals implements Serializable {
      * @return true if a class with this iri exists
      */
     public boolean containsClassInSignature(OWLClass i) {
+        indexBulkAxioms();
         return owlClassReferences.containsReference(i);
     }
 
@@ -351,6 +478,7 @@ public class Internals implements Serializable {
      * @return true if an object property with this iri exists
      */
     public boolean containsObjectPropertyInSignature(OWLObjectProperty i) {
+        indexBulkAxioms();
         return owlObjectPropertyReferences.containsReference(i);
     }
 
@@ -360,6 +488,7 @@ public class Internals implements Serializable {
      * @return true if a data property with this iri exists
      */
     public boolean containsDataPropertyInSignature(OWLDataProperty i) {
+        indexBulkAxioms();
         return owlDataPropertyReferences.containsReference(i);
     }
 
@@ -369,6 +498,7 @@ public class Internals implements Serializable {
      * @return true if an annotation property with this iri exists
      */
     public boolean containsAnnotationPropertyInSignature(OWLAnnotationProperty i) {
+        indexBulkAxioms();
         return owlAnnotationPropertyReferences.containsReference(i);
     }
 
@@ -378,6 +508,7 @@ public class Internals implements Serializable {
      * @return true if a individual with this iri exists
      */
     public boolean containsIndividualInSignature(OWLNamedIndividual i) {
+        indexBulkAxioms();
         return owlIndividualReferences.containsReference(i);
     }
 
@@ -387,6 +518,7 @@ public class Internals implements Serializable {
      * @return true if a datatype with this iri exists
      */
     public boolean containsDatatypeInSignature(OWLDatatype i) {
+        indexBulkAxioms();
         return owlDatatypeReferences.containsReference(i);
     }
 
@@ -424,6 +556,7 @@ public class Internals implements Serializable {
     @SuppressWarnings({ "unchecked" })
     <T extends OWLObject, A extends OWLAxiom> Optional<MapPointer<T, A>> get(Class<T> type, Class<A> axiom,
         Navigation position) {
+        indexBulkAxioms();
         if (OWLEntity.class.isAssignableFrom(type) && axiom.equals(OWLDeclarationAxiom.class)) {
             return optional((MapPointer<T, A>) declarationsByEntity);
         }
@@ -578,16 +711,33 @@ public class Internals implements Serializable {
     }
 
     protected <K, V extends OWLAxiom> MapPointer<K, V> buildLazy(AxiomType<?> t, OWLAxiomVisitorEx<?> v) {
-        return new MapPointer<>(t, v, false, this);
+        if (concurrentIndexes) {
+            return new ConcurrentMapPointer<>(t, v, false, this);
+        }
+        return new SynchronizedMapPointer<>(t, v, false, this);
     }
 
-    protected ClassAxiomByClassPointer buildClassAxiomByClass() {
+    protected MapPointer<OWLClass, OWLClassAxiom> buildClassAxiomByClass() {
+        if (concurrentIndexes) {
+            return new ConcurrentClassAxiomByClassPointer(null, null, false, this);
+        }
         return new ClassAxiomByClassPointer(null, null, false, this);
     }
 
     protected <K, V extends OWLAxiom> MapPointer<K, V> build(@Nullable AxiomType<?> t,
         @Nullable OWLAxiomVisitorEx<?> v) {
-        return new MapPointer<>(t, v, true, this);
+        if (concurrentIndexes) {
+            return new ConcurrentMapPointer<>(t, v, true, this);
+        }
+        return new SynchronizedMapPointer<>(t, v, true, this);
+    }
+
+    /**
+     * @return number of axioms added or removed so far; views built on top of
+     *         the indexes compare it to detect changes they have not seen
+     */
+    public long getAxiomModificationCount() {
+        return axiomModificationCount.get();
     }
 
     /**
@@ -598,48 +748,126 @@ public class Internals implements Serializable {
     public boolean addAxiom(final OWLAxiom axiom) {
         checkNotNull(axiom, "axiom cannot be null");
         if (getAxiomsByType().put(axiom.getAxiomType(), axiom)) {
+            axiomModificationCount.incrementAndGet();
+            List<OWLAxiom> pending = bulkAxioms;
+            if (pending != null) {
+                // same lock as the drain; the load might have ended since
+                // the queue was read, and then the axiom is indexed here
+                synchronized (pending) {
+                    if (pending == bulkAxioms) {
+                        pending.add(axiom);
+                        return true;
+                    }
+                }
+            }
             axiom.accept(addChangeVisitor);
-            AbstractCollector referenceAdder = new AbstractCollector() {
+            addReferences(axiom);
+            return true;
+        }
+        return false;
+    }
 
-                @Override
-                public void visit(OWLClass ce) {
-                    owlClassReferences.put(ce, axiom);
-                }
+    private void addReferences(OWLAxiom axiom) {
+        AbstractCollector referenceAdder = new AbstractCollector() {
 
-                @Override
-                public void visit(OWLObjectProperty property) {
-                    owlObjectPropertyReferences.put(property, axiom);
-                }
+            @Override
+            public void visit(OWLClass ce) {
+                owlClassReferences.put(ce, axiom);
+            }
 
-                @Override
-                public void visit(OWLDataProperty property) {
-                    owlDataPropertyReferences.put(property, axiom);
-                }
+            @Override
+            public void visit(OWLObjectProperty property) {
+                owlObjectPropertyReferences.put(property, axiom);
+            }
 
-                @Override
-                public void visit(OWLNamedIndividual individual) {
-                    owlIndividualReferences.put(individual, axiom);
-                }
+            @Override
+            public void visit(OWLDataProperty property) {
+                owlDataPropertyReferences.put(property, axiom);
+            }
 
-                @Override
-                public void visit(OWLAnnotationProperty property) {
-                    owlAnnotationPropertyReferences.put(property, axiom);
-                }
+            @Override
+            public void visit(OWLNamedIndividual individual) {
+                owlIndividualReferences.put(individual, axiom);
+            }
 
-                @Override
-                public void visit(OWLDatatype node) {
-                    owlDatatypeReferences.put(node, axiom);
-                }
+            @Override
+            public void visit(OWLAnnotationProperty property) {
+                owlAnnotationPropertyReferences.put(property, axiom);
+            }
 
-                @Override
-                public void visit(OWLAnonymousIndividual individual) {
-                    owlAnonymousIndividualReferences.put(individual, axiom);
-                }
-            };
-            axiom.accept(referenceAdder);
-            return true;
+            @Override
+            public void visit(OWLDatatype node) {
+                owlDatatypeReferences.put(node, axiom);
+            }
+
+            @Override
+            public void visit(OWLAnonymousIndividual individual) {
+                owlAnonymousIndividualReferences.put(individual, axiom);
+            }
+        };
+        axiom.accept(referenceAdder);
+    }
+
+    /**
+     * Starts a bulk load: until {@link #endBulkLoad()} is called, added axioms
+     * are only indexed by type and queued; all other indexes are updated in
+     * one pass when the load ends, or earlier if a query or a removal needs
+     * them. Calling this method during a bulk load has no effect.
+     */
+    public void beginBulkLoad() {
+        if (bulkAxioms == null) {
+            bulkAxioms = new ArrayList<>();
+        }
+    }
+
+    /**
+     * Ends a bulk load, indexing all queued axioms. Calling this method outside
+     * a bulk load has no effect.
+     */
+    public void endBulkLoad() {
+        List<OWLAxiom> pending = bulkAxioms;
+        if (pending == null) {
+            return;
+        }
+        synchronized (pending) {
+            indexBulkAxioms();
+            bulkAxioms = null;
+        }
+    }
+
+    /**
+     * @return true if a bulk load is in progress
+     */
+    public boolean isBulkLoading() {
+        return bulkAxioms != null;
+    }
+
+    /**
+     * Indexes the axioms queued during a bulk load. Reference indexes and
+     * axiom type specific indexes do not overlap, so the two are filled
+     * concurrently when there are enough axioms to make it worthwhile. The
+     * queue is only read and written while holding its lock.
+     */
+    private void indexBulkAxioms() {
+        List<OWLAxiom> pending = bulkAxioms;
+        if (pending == null) {
+            return;
+        }
+        synchronized (pending) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            if (pending.size() < MIN_PARALLEL_BULK_AXIOMS) {
+                pending.forEach(this::addReferences);
+                pending.forEach(ax -> ax.accept(addChangeVisitor));
+            } else {
+                ForkJoinTask<?> references = ForkJoinPool.commonPool().submit(() -> pending.forEach(
+                    this::addReferences));
+                pending.forEach(ax -> ax.accept(addChangeVisitor));
+                references.join();
+            }
+            pending.clear();
         }
-        return false;
     }
 
     /**
@@ -649,7 +877,9 @@ public class Internals implements Serializable {
      */
     public boolean removeAxiom(final OWLAxiom axiom) {
         checkNotNull(axiom, "axiom cannot be null");
+        indexBulkAxioms();
         if (getAxiomsByType().remove(axiom.getAxiomType(), axiom)) {
+            axiomModificationCount.incrementAndGet();
             axiom.accept(removeChangeVisitor);
             AbstractCollector referenceRemover = new AbstractCollector() {
 
@@ -700,6 +930,7 @@ public class Internals implements Serializable {
      * @return true if the entity is declared in the ontology
      */
     public boolean isDeclared(OWLEntity e) {
+        indexBulkAxioms();
         return declarationsByEntity.containsKey(e);
     }
 
@@ -869,6 +1100,7 @@ public class Internals implements Serializable {
      * @return copy of GCI axioms
      */
     public Stream<OWLClassAxiom> getGeneralClassAxioms() {
+        indexBulkAxioms();
         return generalClassAxioms.stream();
     }
 
@@ -1349,6 +1581,7 @@ public class Internals implements Serializable {
      * @return true if reference is contained
      */
     public boolean containsReference(OWLEntity entity) {
+        indexBulkAxioms();
         return entity.accept(refChecker).booleanValue();
     }
 
@@ -1358,6 +1591,7 @@ public class Internals implements Serializable {
      * @return referencing axioms
      */
     public Stream<OWLAxiom> getReferencingAxioms(OWLEntity owlEntity) {
+        indexBulkAxioms();
         return owlEntity.accept(refAxiomsCollector);
     }
 
@@ -13,33 +13,26 @@
 package uk.ac.manchester.cs.owl.owlapi;
 
 import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
-import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.empty;
 
-import java.lang.ref.SoftReference;
-import java.util.*;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.Collection;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 import javax.annotation.Nonnull;
-import javax.annotation.Nullable;
 
-import org.semanticweb.owlapi.model.*;
-import org.semanticweb.owlapi.util.CollectionFactory;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLEntity;
 import org.semanticweb.owlapi.util.OWLAxiomSearchFilter;
-import org.semanticweb.owlapi.util.SmallSet;
-
-import gnu.trove.map.hash.THashMap;
-import gnu.trove.set.hash.THashSet;
-import uk.ac.manchester.cs.owl.owlapi.InitVisitorFactory.InitCollectionVisitor;
-import uk.ac.manchester.cs.owl.owlapi.InitVisitorFactory.InitVisitor;
 
 /**
  * * Objects that identify contained maps - so that getting the keys of a
  * specific map does not require a specific method for each map nor does it
- * require the map to be copied and returned.
+ * require the map to be copied and returned. Storage is left to the
+ * implementations: {@link SynchronizedMapPointer}, {@link ConcurrentMapPointer}
+ * and {@link FrozenMapPointer}.
  * 
  * @author ignazio
  * @param <K>
@@ -47,35 +40,15 @@ import uk.ac.manchester.cs.owl.owlapi.InitVisitorFactory.InitVisitor;
  * @param <V>
  *        value
  */
-public class MapPointer<K, V extends OWLAxiom> {
+public abstract class MapPointer<K, V extends OWLAxiom> {
 
-    private static final AtomicLong totalInUse = new AtomicLong(0);
-    private static final AtomicLong totalAllocated = new AtomicLong(0);
-    private static final float DEFAULT_LOAD_FACTOR = 0.75F;
-    private static final int DEFAULT_INITIAL_CAPACITY = 5;
-    @Nullable private final AxiomType<?> type;
-    @Nullable private final OWLAxiomVisitorEx<?> visitor;
-    private boolean initialized;
     @Nonnull protected final Internals i;
-    private SoftReference<Set<IRI>> iris;
-    private int size = 0;
-    private final THashMap<K, Collection<V>> map = new THashMap<>(17, 0.75F);
-    private boolean neverTrimmed = true;
 
     /**
-     * @param t
-     *        type of axioms contained
-     * @param v
-     *        visitor
-     * @param initialized
-     *        true if initialized
      * @param i
      *        internals containing this pointer
      */
-    public MapPointer(@Nullable AxiomType<?> t, @Nullable OWLAxiomVisitorEx<?> v, boolean initialized, Internals i) {
-        type = t;
-        visitor = v;
-        this.initialized = initialized;
+    protected MapPointer(Internals i) {
         this.i = checkNotNull(i, "i cannot be null");
     }
 
@@ -85,9 +58,7 @@ public class MapPointer<K, V extends OWLAxiom> {
      * @param consumer
      *        a consumer with two arguments
      */
-    public void forEach(BiConsumer<K, V> consumer) {
-        keySet().forEach(k -> forEach(k, v -> consumer.accept(k, v)));
-    }
+    public abstract void forEach(BiConsumer<K, V> consumer);
 
     /**
      * @param e
@@ -95,9 +66,7 @@ public class MapPointer<K, V extends OWLAxiom> {
      * @return true if an entity with the same iri as the input exists in the
      *         collection
      */
-    public synchronized boolean containsReference(OWLEntity e) {
-        return map.containsKey(e);
-    }
+    public abstract boolean containsReference(OWLEntity e);
 
     /**
      * @param e
@@ -105,93 +74,31 @@ public class MapPointer<K, V extends OWLAxiom> {
      * @return true if an entity with the same iri as the input exists in the
      *         collection
      */
-    public synchronized boolean containsReference(IRI e) {
-        Set<IRI> set = null;
-        if (iris != null) {
-            set = iris.get();
-        }
-        if (set == null) {
-            set = initSet();
-        }
-        return set.contains(e);
-    }
-
-    private Set<IRI> initSet() {
-        Set<IRI> set = CollectionFactory.createSet();
-        for (K k : map.keySet()) {
-            if (k instanceof HasIRI) {
-                set.add(((HasIRI) k).getIRI());
-            } else if (k instanceof IRI) {
-                set.add((IRI) k);
-            }
-        }
-        iris = new SoftReference<>(set);
-        return set;
-    }
+    public abstract boolean containsReference(IRI e);
 
     /**
      * @return true if initialized
      */
-    public synchronized boolean isInitialized() {
-        return initialized;
-    }
+    public abstract boolean isInitialized();
 
     /**
      * init the map pointer
      * 
      * @return the map pointer
      */
-    @SuppressWarnings({ "unchecked" })
-    public synchronized MapPointer<K, V> init() {
-        if (initialized) {
-            return this;
-        }
-        initialized = true;
-        if (visitor == null || type == null) {
-            return this;
-        }
-        assert visitor != null;
-        assert type != null;
-        if (visitor instanceof InitVisitor) {
-            i.getAxiomsByType().forEach(type, ax -> putInternal(ax.accept((InitVisitor<K>) visitor), (V) ax));
-        } else if (visitor instanceof InitCollectionVisitor) {
-            i.getAxiomsByType().forEach(type,
-                ax -> ax.accept((InitCollectionVisitor<K>) visitor).forEach(key -> putInternal(key, (V) ax)));
-        }
-        return this;
-    }
-
-    @Override
-    public synchronized String toString() {
-        return initialized + map.toString();
-    }
+    public abstract MapPointer<K, V> init();
 
     /**
      * @return keyset
      */
-    public synchronized Collection<K> keySet() {
-        init();
-        Set<K> keySet = map.keySet();
-        assert keySet != null;
-        return keySet;
-    }
+    public abstract Collection<K> keySet();
 
     /**
      * @param key
      *        key to look up
      * @return value
      */
-    public synchronized Stream<V> getValues(K key) {
-        init();
-        Collection<V> t = map.get(key);
-        if (t == null) {
-            return Stream.empty();
-        }
-        if (t.size() < 3) {
-            return t.stream();
-        }
-        return new ArrayList<>(t).stream();
-    }
+    public abstract Stream<V> getValues(K key);
 
     /**
      * @param key
@@ -199,10 +106,7 @@ public class MapPointer<K, V extends OWLAxiom> {
      * @param function
      *        consumer to apply
      */
-    public synchronized void forEach(K key, Consumer<V> function) {
-        init();
-        get(key).forEach(function);
-    }
+    public abstract void forEach(K key, Consumer<V> function);
 
     /**
      * @param key
@@ -211,46 +115,21 @@ public class MapPointer<K, V extends OWLAxiom> {
      *        predicate to evaluate
      * @return value
      */
-    public synchronized boolean matchOnValues(K key, Predicate<V> function) {
-        init();
-        return get(key).anyMatch(function);
-    }
+    public abstract boolean matchOnValues(K key, Predicate<V> function);
 
     /**
      * @param key
      *        key to look up
      * @return value
      */
-    public synchronized Collection<V> getValuesAsCollection(K key) {
-        init();
-        return getCollection(key);
-    }
-
-    private Collection<V> getCollection(K k) {
-        Collection<V> t = map.get(k);
-        if (t == null) {
-            return Collections.emptySet();
-        }
-        return new ArrayList<>(t);
-    }
+    public abstract Collection<V> getValuesAsCollection(K key);
 
     /**
      * @param key
      *        key to look up
      * @return value
      */
-    public synchronized int countValues(K key) {
-        init();
-        return count(key);
-    }
-
-    private int count(K k) {
-        Collection<V> t = map.get(k);
-        if (t == null) {
-            return 0;
-        }
-        return t.size();
-    }
+    public abstract int countValues(K key);
 
     /**
      * @param key
@@ -259,15 +138,7 @@ public class MapPointer<K, V extends OWLAxiom> {
      *        type of the returned values
      * @return value
      */
-    @SuppressWarnings("unchecked")
-    public synchronized <O extends V> Stream<O> values(K key, @SuppressWarnings("unused") Class<O> classType) {
-        init();
-        Collection<V> t = map.get(key);
-        if (t == null) {
-            return empty();
-        }
-        return ((Collection<O>) t).stream();
-    }
+    public abstract <O extends V> Stream<O> values(K key, Class<O> classType);
 
     /**
      * @param <T>
@@ -278,27 +149,14 @@ public class MapPointer<K, V extends OWLAxiom> {
      *        key
      * @return set of values
      */
-    public synchronized <T> Collection<OWLAxiom> filterAxioms(OWLAxiomSearchFilter filter, T key) {
-        init();
-        List<OWLAxiom> toReturn = new ArrayList<>();
-        for (AxiomType<?> at : filter.getAxiomTypes()) {
-            Collection<V> collection = map.get(at);
-            if (collection != null) {
-                collection.stream().filter(x -> filter.pass(x, key)).forEach(toReturn::add);
-            }
-        }
-        return toReturn;
-    }
+    public abstract <T> Collection<OWLAxiom> filterAxioms(OWLAxiomSearchFilter filter, T key);
 
     /**
      * @param key
      *        key to look up
      * @return true if there are values for key
      */
-    public synchronized boolean hasValues(K key) {
-        init();
-        return map.containsKey(key);
-    }
+    public abstract boolean hasValues(K key);
 
     /**
      * @param key
@@ -307,14 +165,7 @@ public class MapPointer<K, V extends OWLAxiom> {
      *        value to add
      * @return true if addition happens
      */
-    public synchronized boolean put(K key, V value) {
-        // lazy init: no elements added until a recall is made
-        if (!initialized) {
-            return false;
-        }
-        iris = null;
-        return putInternal(key, value);
-    }
+    public abstract boolean put(K key, V value);
 
     /**
      * @param key
@@ -323,23 +174,14 @@ public class MapPointer<K, V extends OWLAxiom> {
      *        value to remove
      * @return true if removal happens
      */
-    public synchronized boolean remove(K key, V value) {
-        if (!initialized) {
-            return false;
-        }
-        iris = null;
-        return removeInternal(key, value);
-    }
+    public abstract boolean remove(K key, V value);
 
     /**
      * @param key
      *        key to look up
      * @return true if there are values for key
      */
-    public synchronized boolean containsKey(K key) {
-        init();
-        return map.containsKey(key);
-    }
+    public abstract boolean containsKey(K key);
 
     /**
      * @param key
@@ -348,206 +190,26 @@ public class MapPointer<K, V extends OWLAxiom> {
      *        value to look up
      * @return true if key and value are contained
      */
-    public synchronized boolean contains(K key, V value) {
-        init();
-        return containsEntry(key, value);
-    }
+    public abstract boolean contains(K key, V value);
 
     /**
      * @return all values contained
      */
-    public synchronized Stream<V> getAllValues() {
-        init();
-        return values();
-    }
+    public abstract Stream<V> getAllValues();
 
     /**
      * @return number of mapping contained
      */
-    public synchronized int size() {
-        init();
-        if (neverTrimmed) {
-            trimToSize();
-        }
-        return size;
-    }
+    public abstract int size();
 
     /**
      * @return true if empty
      */
-    public synchronized boolean isEmpty() {
-        init();
-        return size == 0;
-    }
-
-    private boolean putInternal(@Nullable K k, V v) {
-        if (k == null) {
-            return false;
-        }
-        Collection<V> set = map.get(k);
-        if (set == null) {
-            set = Collections.singleton(v);
-            map.put(k, set);
-            size++;
-            return true;
-        }
-        if (set.size() == 1) {
-            if (set.contains(v)) {
-                return false;
-            } else {
-                set = new SmallSet<>(set);
-                map.put(k, set);
-            }
-        } else if (set.size() == 3) {
-            if (set.contains(v)) {
-                return false;
-            } else {
-                set = makeSet(set, v);
-                map.put(k, set);
-                size++;
-                return true;
-            }
-        }
-        boolean added = set.add(v);
-        if (added) {
-            size++;
-        }
-        return added;
-    }
-
-    private boolean containsEntry(K k, V v) {
-        Collection<V> t = map.get(k);
-        if (t == null) {
-            return false;
-        }
-        return t.contains(v);
-    }
-
-    private boolean removeInternal(K k, V v) {
-        if (neverTrimmed) {
-            trimToSize();
-        }
-        Collection<V> t = map.get(k);
-        if (t == null) {
-            return false;
-        }
-        if (t.size() == 1) {
-            if (t.contains(v)) {
-                map.remove(k);
-                size--;
-                return true;
-            } else {
-                return false;
-            }
-        }
-        boolean removed = t.remove(v);
-        if (removed) {
-            size--;
-        }
-        if (t.isEmpty()) {
-            map.remove(k);
-        }
-        return removed;
-    }
-
-    private static class THashSetForSet<E> extends THashSet<E> {
-
-        private boolean constructing = true;
-
-        public THashSetForSet(Collection<E> set, E toAdd, int capacity, float load) {
-            super(capacity, load);
-            for (E e : set) {
-                add(e);
-            }
-            add(toAdd);
-            constructing = false;
-        }
-
-        public THashSetForSet(int capacity, float load) {
-            super(capacity, load);
-            constructing = false;
-        }
-
-        @Override
-        protected boolean equals(@Nullable Object notnull, @Nullable Object two) {
-            // shortcut: during construction from a set, no element is
-            // duplicate. The extra element is also guaranteed to be unique,
-            // given the use made in this class.
-            if (constructing) {
-                return notnull == two;
-            }
-            return super.equals(notnull, two);
-        }
-
-        @Override
-        public Stream<E> stream() {
-            return new ArrayList<>(this).stream();
-        }
-    }
-
-    private Collection<V> makeSet(Collection<V> collection, V extra) {
-        if (neverTrimmed) {
-            List<V> list = new ArrayList<>(collection);
-            list.add(extra);
-            return list;
-        }
-        return new THashSetForSet<>(collection, extra, DEFAULT_INITIAL_CAPACITY, DEFAULT_LOAD_FACTOR);
-    }
-
-    private Stream<V> values() {
-        return map.values().stream().flatMap(Collection::stream);
-    }
-
-    private Stream<V> get(K k) {
-        Collection<V> t = map.get(k);
-        if (t == null) {
-            return Stream.empty();
-        }
-        return t.stream();
-    }
+    public abstract boolean isEmpty();
 
     /**
      * Trims the capacity of the map entries . An application can use this
      * operation to minimize the storage of the map pointer instance.
      */
-    public synchronized void trimToSize() {
-        if (initialized) {
-            map.trimToSize();
-            neverTrimmed = false;
-            for (Map.Entry<K, Collection<V>> entry : map.entrySet()) {
-                Collection<V> set = entry.getValue();
-                if (set instanceof ArrayList) {
-                    THashSet<V> value = new THashSetForSet<>(DEFAULT_INITIAL_CAPACITY, DEFAULT_LOAD_FACTOR);
-                    value.addAll(set);
-                    entry.setValue(value);
-                    size = size - set.size() + value.size();
-                    value.trimToSize();
-                } else if (set instanceof THashSet) {
-                    THashSet<V> vs = (THashSet<V>) set;
-                    vs.trimToSize();
-                    totalInUse.addAndGet(set.size());
-                    totalAllocated.addAndGet(vs.capacity());
-                } else if (set instanceof SmallSet<?>) {
-                    totalInUse.addAndGet(set.size());
-                    totalAllocated.addAndGet(3);
-                } else {
-                    totalInUse.addAndGet(1);
-                    totalAllocated.addAndGet(1);
-                }
-            }
-        }
-    }
-
-    static synchronized void resetCounts() {
-        totalAllocated.set(0);
-        totalInUse.set(0);
-    }
-
-    static synchronized long getTotalInUse() {
-        return totalInUse.get();
-    }
-
-    static synchronized long getTotalAllocated() {
-        return totalAllocated.get();
-    }
+    public abstract void trimToSize();
 }
@@ -48,6 +48,7 @@ public class OWLAnnotationAssertionAxiomImpl extends OWLAxiomImpl implements OWL
         this.subject = checkNotNull(subject, "subject cannot be null");
         this.property = checkNotNull(property, "property cannot be null");
         this.value = checkNotNull(value, "value cannot be null");
+        hashCode = hashCode(this);
     }
 
     @Override
@@ -95,4 +96,37 @@ public class OWLAnnotationAssertionAxiomImpl extends OWLAxiomImpl implements OWL
     public OWLAnnotation getAnnotation() {
         return new OWLAnnotationImplNotAnnotated(property, value);
     }
+
+    @Override
+    protected int hashCode(OWLObject object) {
+        int hash = hashComponent(hashIndex(), subject);
+        hash = hashComponent(hash, property);
+        hash = hashComponent(hash, value);
+        return hashComponent(hash, annotations);
+    }
+
+    @Override
+    protected boolean equalsSameClass(OWLObjectImpl object) {
+        OWLAnnotationAssertionAxiomImpl other = (OWLAnnotationAssertionAxiomImpl) object;
+        return subject.equals(other.subject) && property.equals(other.property) && value.equals(other.value)
+            && annotations.equals(other.annotations);
+    }
+
+    @Override
+    protected int compareSameClass(OWLObjectImpl object) {
+        OWLAnnotationAssertionAxiomImpl other = (OWLAnnotationAssertionAxiomImpl) object;
+        int diff = subject.compareTo(other.subject);
+        if (diff != 0) {
+            return diff;
+        }
+        diff = property.compareTo(other.property);
+        if (diff != 0) {
+            return diff;
+        }
+        diff = value.compareTo(other.value);
+        if (diff != 0) {
+            return diff;
+        }
+        return compareAnnotations(annotations, other.annotations);
+    }
 }
@@ -47,6 +47,7 @@ public class OWLAnnotationImpl extends OWLAnnotationImplNotAnnotated {
         super(property, value);
         checkNotNull(annotations, "annotations cannot be null");
         anns = sortOptionally(annotations.distinct());
+        hashCode = hashCode(this);
     }
 
     @Override
@@ -54,6 +55,11 @@ public class OWLAnnotationImpl extends OWLAnnotationImplNotAnnotated {
         return anns.stream();
     }
 
+    @Override
+    protected List<OWLAnnotation> annotationsAsList() {
+        return anns;
+    }
+
     @Override
     public OWLAnnotation getAnnotatedAnnotation(Collection<OWLAnnotation> annotations) {
         if (annotations.isEmpty()) {
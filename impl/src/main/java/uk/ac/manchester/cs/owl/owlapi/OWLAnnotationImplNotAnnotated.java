@@ -15,6 +15,8 @@ package uk.ac.manchester.cs.owl.owlapi;
 import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
 
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.stream.Stream;
 
 import javax.annotation.Nonnull;
@@ -23,6 +25,7 @@ import org.semanticweb.owlapi.model.OWLAnnotation;
 import org.semanticweb.owlapi.model.OWLAnnotationProperty;
 import org.semanticweb.owlapi.model.OWLAnnotationValue;
 import org.semanticweb.owlapi.model.OWLLiteral;
+import org.semanticweb.owlapi.model.OWLObject;
 
 /**
  * @author Matthew Horridge, The University Of Manchester, Bio-Health
@@ -73,4 +76,37 @@ public class OWLAnnotationImplNotAnnotated extends OWLObjectImpl implements OWLA
         return property.isDeprecated() && value instanceof OWLLiteral && ((OWLLiteral) value).isBoolean()
             && ((OWLLiteral) value).parseBoolean();
     }
+
+    /**
+     * @return the annotations on this annotation, as a list
+     */
+    protected List<OWLAnnotation> annotationsAsList() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    protected int hashCode(OWLObject object) {
+        return hashComponent(hashComponent(hashComponent(hashIndex(), property), value), annotationsAsList());
+    }
+
+    @Override
+    protected boolean equalsSameClass(OWLObjectImpl object) {
+        OWLAnnotationImplNotAnnotated other = (OWLAnnotationImplNotAnnotated) object;
+        return property.equals(other.property) && value.equals(other.value)
+            && annotationsAsList().equals(other.annotationsAsList());
+    }
+
+    @Override
+    protected int compareSameClass(OWLObjectImpl object) {
+        OWLAnnotationImplNotAnnotated other = (OWLAnnotationImplNotAnnotated) object;
+        int diff = property.compareTo(other.property);
+        if (diff != 0) {
+            return diff;
+        }
+        diff = value.compareTo(other.value);
+        if (diff != 0) {
+            return diff;
+        }
+        return compareAnnotations(annotationsAsList(), other.annotationsAsList());
+    }
 }
@@ -18,6 +18,7 @@ import javax.annotation.Nonnull;
 
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLAnnotationProperty;
+import org.semanticweb.owlapi.model.OWLObject;
 
 /**
  * @author Matthew Horridge, The University of Manchester, Information
@@ -34,6 +35,7 @@ public class OWLAnnotationPropertyImpl extends OWLObjectImpl implements OWLAnnot
      */
     public OWLAnnotationPropertyImpl(IRI i) {
         iri = checkNotNull(i, "i cannot be null");
+        hashCode = hashCode(this);
     }
 
     @Override
@@ -45,4 +47,19 @@ public class OWLAnnotationPropertyImpl extends OWLObjectImpl implements OWLAnnot
     public String toStringID() {
         return iri.toString();
     }
+
+    @Override
+    protected int hashCode(OWLObject object) {
+        return hashComponent(hashIndex(), iri);
+    }
+
+    @Override
+    protected boolean equalsSameClass(OWLObjectImpl other) {
+        return iri.equals(((OWLAnnotationPropertyImpl) other).iri);
+    }
+
+    @Override
+    protected int compareSameClass(OWLObjectImpl other) {
+        return iri.compareTo(((OWLAnnotationPropertyImpl) other).iri);
+    }
 }
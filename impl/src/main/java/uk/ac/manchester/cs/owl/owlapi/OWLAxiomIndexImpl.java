@@ -11,15 +11,44 @@ import org.semanticweb.owlapi.search.Filters;
  * @author ignazio
  * @since 4.0.0
  */
-public abstract class OWLAxiomIndexImpl extends OWLObjectImpl implements OWLAxiomIndex, HasTrimToSize {
+public abstract class OWLAxiomIndexImpl extends OWLObjectImpl implements OWLAxiomIndex, HasTrimToSize, HasFreeze,
+    HasBulkLoad {
 
-    @Nonnull protected final Internals ints = new Internals();
+    @Nonnull protected final Internals ints;
+
+    protected OWLAxiomIndexImpl() {
+        this(false);
+    }
+
+    /**
+     * @param concurrentIndexes
+     *        true if the axiom indexes must support lock free reads from
+     *        multiple threads
+     */
+    protected OWLAxiomIndexImpl(boolean concurrentIndexes) {
+        ints = new Internals(concurrentIndexes);
+    }
 
     @Override
     public void trimToSize() {
         ints.trimToSize();
     }
 
+    @Override
+    public void freeze() {
+        ints.freeze();
+    }
+
+    @Override
+    public void beginBulkLoad() {
+        ints.beginBulkLoad();
+    }
+
+    @Override
+    public void endBulkLoad() {
+        ints.endBulkLoad();
+    }
+
     @Override
     public Stream<OWLDatatypeDefinitionAxiom> datatypeDefinitions(OWLDatatype datatype) {
         // XXX stream better?
@@ -44,6 +44,7 @@ public class OWLClassAssertionAxiomImpl extends OWLIndividualAxiomImpl implement
         super(annotations);
         this.individual = checkNotNull(individual, "individual cannot be null");
         this.classExpression = checkNotNull(classExpression, "classExpression cannot be null");
+        hashCode = hashCode(this);
     }
 
     @Override
@@ -74,4 +75,32 @@ public class OWLClassAssertionAxiomImpl extends OWLIndividualAxiomImpl implement
         return new OWLSubClassOfAxiomImpl(new OWLObjectOneOfImpl(getIndividual()), getClassExpression(),
             NO_ANNOTATIONS);
     }
+
+    @Override
+    protected int hashCode(OWLObject object) {
+        int hash = hashComponent(hashIndex(), individual);
+        hash = hashComponent(hash, classExpression);
+        return hashComponent(hash, annotations);
+    }
+
+    @Override
+    protected boolean equalsSameClass(OWLObjectImpl object) {
+        OWLClassAssertionAxiomImpl other = (OWLClassAssertionAxiomImpl) object;
+        return individual.equals(other.individual) && classExpression.equals(other.classExpression)
+            && annotations.equals(other.annotations);
+    }
+
+    @Override
+    protected int compareSameClass(OWLObjectImpl object) {
+        OWLClassAssertionAxiomImpl other = (OWLClassAssertionAxiomImpl) object;
+        int diff = individual.compareTo(other.individual);
+        if (diff != 0) {
+            return diff;
+        }
+        diff = classExpression.compareTo(other.classExpression);
+        if (diff != 0) {
+            return diff;
+        }
+        return compareAnnotations(annotations, other.annotations);
+    }
 }
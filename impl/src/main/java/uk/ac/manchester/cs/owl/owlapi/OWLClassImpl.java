@@ -22,6 +22,7 @@ import javax.annotation.Nonnull;
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLClass;
 import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLObject;
 import org.semanticweb.owlapi.util.CollectionFactory;
 
 /**
@@ -43,6 +44,7 @@ public class OWLClassImpl extends OWLClassExpressionImpl implements OWLClass, Se
         this.iri = checkNotNull(iri, "iri cannot be null");
         isThing = getIRI().isThing();
         isNothing = getIRI().isNothing();
+        hashCode = hashCode(this);
     }
 
     @Override
@@ -99,4 +101,19 @@ public class OWLClassImpl extends OWLClassExpressionImpl implements OWLClass, Se
     public OWLClassExpression getComplementNNF() {
         return new OWLObjectComplementOfImpl(this);
     }
+
+    @Override
+    protected int hashCode(OWLObject object) {
+        return hashComponent(hashIndex(), iri);
+    }
+
+    @Override
+    protected boolean equalsSameClass(OWLObjectImpl other) {
+        return iri.equals(((OWLClassImpl) other).iri);
+    }
+
+    @Override
+    protected int compareSameClass(OWLObjectImpl other) {
+        return iri.compareTo(((OWLClassImpl) other).iri);
+    }
 }
@@ -42,11 +42,21 @@ import org.semanticweb.owlapi.vocab.OWLRDFVocabulary;
 public class OWLDataFactoryImpl implements OWLDataFactory, Serializable, ClassProvider {
 
     private final boolean useCompression;
+    private final boolean useDictionary;
+    private final int literalCacheSize;
     private transient OWLDataFactoryInternals dataFactoryInternals;
 
     private void readObject(ObjectInputStream stream) throws IOException, ClassNotFoundException {
         stream.defaultReadObject();
-        dataFactoryInternals = new OWLDataFactoryInternalsImpl(useCompression);
+        dataFactoryInternals = createInternals(useCompression, useDictionary, literalCacheSize);
+    }
+
+    private static OWLDataFactoryInternals createInternals(boolean useCompression, boolean useDictionary,
+        int literalCacheSize) {
+        if (useDictionary) {
+            return new OWLDataFactoryInternalsImplDictionary(useCompression, literalCacheSize);
+        }
+        return new OWLDataFactoryInternalsImpl(useCompression, literalCacheSize);
     }
 
     /**
@@ -62,8 +72,51 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable, ClassPr
      */
     @Inject
     public OWLDataFactoryImpl(@CompressionEnabled boolean useCompression) {
+        this(useCompression, false);
+    }
+
+    /**
+     * @param useCompression
+     *        true if compression should be used
+     * @param useDictionary
+     *        true if class and individual IRIs should be dictionary encoded;
+     *        this reduces memory use for ontologies with millions of entities,
+     *        at the cost of rebuilding IRIs on access and never releasing
+     *        classes and individuals
+     */
+    public OWLDataFactoryImpl(boolean useCompression, boolean useDictionary) {
+        this(useCompression, useDictionary, true);
+    }
+
+    /**
+     * @param useCompression
+     *        true if compression should be used
+     * @param useDictionary
+     *        true if class and individual IRIs should be dictionary encoded
+     * @param internLiterals
+     *        true if equal literals should be shared; small integers are
+     *        always shared, other values are kept in size limited caches that
+     *        favour frequently used values
+     */
+    public OWLDataFactoryImpl(boolean useCompression, boolean useDictionary, boolean internLiterals) {
+        this(useCompression, useDictionary, internLiterals ? OWLDataFactoryInternalsImpl.DEFAULT_LITERAL_CACHE_SIZE
+            : 0);
+    }
+
+    /**
+     * @param useCompression
+     *        true if compression should be used
+     * @param useDictionary
+     *        true if class and individual IRIs should be dictionary encoded
+     * @param literalCacheSize
+     *        maximum number of values kept in each literal cache; 0 if equal
+     *        literals should not be shared. Small integers are always shared.
+     */
+    public OWLDataFactoryImpl(boolean useCompression, boolean useDictionary, int literalCacheSize) {
         this.useCompression = useCompression;
-        dataFactoryInternals = new OWLDataFactoryInternalsImpl(this.useCompression);
+        this.useDictionary = useDictionary;
+        this.literalCacheSize = literalCacheSize;
+        dataFactoryInternals = createInternals(useCompression, useDictionary, literalCacheSize);
     }
 
     @Override
@@ -12,8 +12,11 @@
  * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
 package uk.ac.manchester.cs.owl.owlapi;
 
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNegative;
+
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import javax.annotation.Nonnull;
@@ -42,7 +45,7 @@ public class OWLDataFactoryInternalsImpl extends OWLDataFactoryInternalsImplNoCa
      * reused extremely frequently. for ontologies in the OBO family, a few
      * annotations will be reused extremely frequently.
      */
-    private final transient LoadingCache<OWLAnnotation, OWLAnnotation> annotations = builder(key -> key);
+    @Nonnull private final LoadingCache<OWLAnnotation, OWLAnnotation> annotations = builder(key -> key);
     @Nonnull private final LoadingCache<IRI, OWLClass> classes = builder(key -> new OWLClassImpl(key));
     @Nonnull private final LoadingCache<IRI, OWLObjectProperty> objectProperties = builder(
         key -> new OWLObjectPropertyImpl(key));
@@ -53,13 +56,82 @@ public class OWLDataFactoryInternalsImpl extends OWLDataFactoryInternalsImplNoCa
         key -> new OWLNamedIndividualImpl(key));
     @Nonnull private final LoadingCache<IRI, OWLAnnotationProperty> annotationProperties = builder(
         key -> new OWLAnnotationPropertyImpl(key));
+    /**
+     * Integer literals between -128 and 1023 are shared; these values make up
+     * most integer literals in cardinality restrictions and in data property
+     * assertions, and cost nothing to keep.
+     */
+    private static final OWLLiteral[] SMALL_INTEGERS = IntStream.range(-128, 1024).mapToObj(
+        OWLLiteralImplInteger::new).toArray(OWLLiteral[]::new);
+    /**
+     * Default maximum size of each literal cache. Literal values recur across
+     * many more axioms than entities do, and a real ontology has tens of
+     * thousands of distinct frequent values, so the caches are much larger
+     * than the entity caches.
+     */
+    public static final int DEFAULT_LITERAL_CACHE_SIZE = 1 << 16;
+    private final boolean internLiterals;
+    /**
+     * Literal caches work as the annotations cache, with one cache per kind of
+     * literal, so that frequent values in one datatype are not evicted by a
+     * long tail of values in another. Eviction is frequency aware: values seen
+     * once, such as most labels and comments, do not displace values that
+     * recur through the whole ontology. Entries do not expire, so that values
+     * are still shared when an ontology takes longer than a few minutes to
+     * load. Strings are keyed by their lexical form, so that large repeated
+     * strings are only held once.
+     */
+    @Nonnull private final LoadingCache<String, OWLLiteral> strings;
+    @Nonnull private final LoadingCache<OWLLiteral, OWLLiteral> langStrings;
+    @Nonnull private final LoadingCache<Integer, OWLLiteral> integers;
+    @Nonnull private final LoadingCache<Double, OWLLiteral> doubles;
+    @Nonnull private final LoadingCache<Float, OWLLiteral> floats;
+    @Nonnull private final LoadingCache<OWLLiteral, OWLLiteral> typedLiterals;
 
     /**
      * @param useCompression
      *        true if literals should be compressed
      */
     public OWLDataFactoryInternalsImpl(boolean useCompression) {
+        this(useCompression, DEFAULT_LITERAL_CACHE_SIZE);
+    }
+
+    /**
+     * @param useCompression
+     *        true if literals should be compressed
+     * @param internLiterals
+     *        true if literals should be shared through size limited caches of
+     *        the default size
+     */
+    public OWLDataFactoryInternalsImpl(boolean useCompression, boolean internLiterals) {
+        this(useCompression, internLiterals ? DEFAULT_LITERAL_CACHE_SIZE : 0);
+    }
+
+    /**
+     * @param useCompression
+     *        true if literals should be compressed
+     * @param literalCacheSize
+     *        maximum number of values kept in each literal cache; 0 if
+     *        literals should not be shared
+     */
+    public OWLDataFactoryInternalsImpl(boolean useCompression, int literalCacheSize) {
         super(useCompression);
+        checkNotNegative(literalCacheSize, "literalCacheSize cannot be negative");
+        strings = literalBuilder(literalCacheSize, key -> super.getOWLLiteral(key));
+        langStrings = literalBuilder(literalCacheSize, key -> key);
+        integers = literalBuilder(literalCacheSize, key -> super.getOWLLiteral(key.intValue()));
+        doubles = literalBuilder(literalCacheSize, key -> super.getOWLLiteral(key.doubleValue()));
+        floats = literalBuilder(literalCacheSize, key -> super.getOWLLiteral(key.floatValue()));
+        typedLiterals = literalBuilder(literalCacheSize, key -> key);
+        internLiterals = literalCacheSize > 0;
+    }
+
+    private static <F, T> LoadingCache<F, T> literalBuilder(int size, CacheLoader<F, T> f) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder().maximumSize(size);
+        if (logger.isDebugEnabled()) {
+            builder.recordStats();
+        }
+        return builder.build(f);
     }
 
     private static <F, T> LoadingCache<F, T> builder(CacheLoader<F, T> f) {
@@ -85,6 +157,12 @@ public class OWLDataFactoryInternalsImpl extends OWLDataFactoryInternalsImplNoCa
         individuals.invalidateAll();
         annotationProperties.invalidateAll();
         annotations.invalidateAll();
+        strings.invalidateAll();
+        langStrings.invalidateAll();
+        integers.invalidateAll();
+        doubles.invalidateAll();
+        floats.invalidateAll();
+        typedLiterals.invalidateAll();
     }
 
     @Override
@@ -114,7 +192,59 @@ public class OWLDataFactoryInternalsImpl extends OWLDataFactoryInternalsImplNoCa
 
     @Override
     public OWLLiteral getOWLLiteral(String literal, @Nullable String lang) {
-        return super.getOWLLiteral(literal, lang);
+        if (!internLiterals) {
+            return super.getOWLLiteral(literal, lang);
+        }
+        if (lang == null || lang.trim().isEmpty()) {
+            return strings.get(literal);
+        }
+        return langStrings.get(super.getOWLLiteral(literal, lang));
+    }
+
+    @Override
+    public OWLLiteral getOWLLiteral(String value) {
+        if (!internLiterals) {
+            return super.getOWLLiteral(value);
+        }
+        return strings.get(value);
+    }
+
+    @Override
+    public OWLLiteral getOWLLiteral(int value) {
+        if (value >= -128 && value < 1024) {
+            return SMALL_INTEGERS[value + 128];
+        }
+        if (!internLiterals) {
+            return super.getOWLLiteral(value);
+        }
+        return integers.get(Integer.valueOf(value));
+    }
+
+    @Override
+    public OWLLiteral getOWLLiteral(double value) {
+        if (!internLiterals) {
+            return super.getOWLLiteral(value);
+        }
+        return doubles.get(Double.valueOf(value));
+    }
+
+    @Override
+    public OWLLiteral getOWLLiteral(float value) {
+        if (!internLiterals) {
+            return super.getOWLLiteral(value);
+        }
+        return floats.get(Float.valueOf(value));
+    }
+
+    @Override
+    protected OWLLiteral getBasicLiteral(String lexicalValue, String lang, @Nullable OWLDatatype datatype) {
+        OWLLiteral literal = super.getBasicLiteral(lexicalValue, lang, datatype);
+        // internLiterals is still false while the superclass constructor runs,
+        // before the caches are initialized
+        if (!internLiterals) {
+            return literal;
+        }
+        return typedLiterals.get(literal);
     }
 
     @Override
@@ -0,0 +1,122 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owl.owlapi;
+
+import java.util.Arrays;
+
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+
+/**
+ * Data factory internals for ontologies with very large numbers of classes and
+ * individuals. Class and individual IRIs are encoded in an
+ * {@link IRIDictionary}; entities only hold their int id and are kept in
+ * arrays indexed by id, so they are created once and never evicted. Lookups
+ * of existing entities take no lock; only the creation of a new entity is
+ * serialized. Other entities and objects are cached as in
+ * {@link OWLDataFactoryInternalsImpl}.
+ *
+ * @author ignazio
+ */
+public class OWLDataFactoryInternalsImplDictionary extends OWLDataFactoryInternalsImpl {
+
+    private final IRIDictionary dictionary = new IRIDictionary();
+    private volatile OWLClass[] classes = new OWLClass[1024];
+    private volatile OWLNamedIndividual[] individuals = new OWLNamedIndividual[1024];
+
+    /**
+     * @param useCompression
+     *        true if literals should be compressed
+     */
+    public OWLDataFactoryInternalsImplDictionary(boolean useCompression) {
+        super(useCompression);
+    }
+
+    /**
+     * @param useCompression
+     *        true if literals should be compressed
+     * @param internLiterals
+     *        true if literals should be shared through size limited caches
+     */
+    public OWLDataFactoryInternalsImplDictionary(boolean useCompression, boolean internLiterals) {
+        super(useCompression, internLiterals);
+    }
+
+    /**
+     * @param useCompression
+     *        true if literals should be compressed
+     * @param literalCacheSize
+     *        maximum number of values kept in each literal cache; 0 if
+     *        literals should not be shared
+     */
+    public OWLDataFactoryInternalsImplDictionary(boolean useCompression, int literalCacheSize) {
+        super(useCompression, literalCacheSize);
+    }
+
+    /**
+     * @return the dictionary of class and individual IRIs
+     */
+    public IRIDictionary getDictionary() {
+        return dictionary;
+    }
+
+    private static int grow(int length, int id) {
+        return Math.max(length * 2, id + 1);
+    }
+
+    /*
+     * Entities are read without the lock: their identifying fields are final,
+     * and an unset hash code is recomputed, so an entity seen through a racy
+     * read is usable; a null entry or a stale array lead to the locked path.
+     */
+    @Override
+    public OWLClass getOWLClass(IRI iri) {
+        int id = dictionary.getId(iri);
+        OWLClass[] array = classes;
+        OWLClass c = id < array.length ? array[id] : null;
+        return c != null ? c : createOWLClass(iri, id);
+    }
+
+    private synchronized OWLClass createOWLClass(IRI iri, int id) {
+        if (id >= classes.length) {
+            classes = Arrays.copyOf(classes, grow(classes.length, id));
+        }
+        OWLClass c = classes[id];
+        if (c == null) {
+            c = new OWLClassImplId(dictionary, id, iri);
+            classes[id] = c;
+        }
+        return c;
+    }
+
+    @Override
+    public OWLNamedIndividual getOWLNamedIndividual(IRI iri) {
+        int id = dictionary.getId(iri);
+        OWLNamedIndividual[] array = individuals;
+        OWLNamedIndividual i = id < array.length ? array[id] : null;
+        return i != null ? i : createOWLNamedIndividual(iri, id);
+    }
+
+    private synchronized OWLNamedIndividual createOWLNamedIndividual(IRI iri, int id) {
+        if (id >= individuals.length) {
+            individuals = Arrays.copyOf(individuals, grow(individuals.length, id));
+        }
+        OWLNamedIndividual i = individuals[id];
+        if (i == null) {
+            i = new OWLNamedIndividualImplId(dictionary, id, iri);
+            individuals[id] = i;
+        }
+        return i;
+    }
+}
@@ -18,6 +18,7 @@ import javax.annotation.Nonnull;
 
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLObject;
 import org.semanticweb.owlapi.vocab.OWLRDFVocabulary;
 
 /**
@@ -38,6 +39,7 @@ public class OWLDataPropertyImpl extends OWLObjectImpl implements OWLDataPropert
         this.iri = checkNotNull(iri, "iri cannot be null");
         builtin = iri.equals(OWLRDFVocabulary.OWL_TOP_DATA_PROPERTY.getIRI())
             || iri.equals(OWLRDFVocabulary.OWL_BOTTOM_DATA_PROPERTY.getIRI());
+        hashCode = hashCode(this);
     }
 
     @Override
@@ -54,4 +56,19 @@ public class OWLDataPropertyImpl extends OWLObjectImpl implements OWLDataPropert
     public boolean isBuiltIn() {
         return builtin;
     }
+
+    @Override
+    protected int hashCode(OWLObject object) {
+        return hashComponent(hashIndex(), iri);
+    }
+
+    @Override
+    protected boolean equalsSameClass(OWLObjectImpl other) {
+        return iri.equals(((OWLDataPropertyImpl) other).iri);
+    }
+
+    @Override
+    protected int compareSameClass(OWLObjectImpl other) {
+        return iri.compareTo(((OWLDataPropertyImpl) other).iri);
+    }
 }
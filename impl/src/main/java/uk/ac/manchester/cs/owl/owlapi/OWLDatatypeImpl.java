@@ -18,6 +18,7 @@ import javax.annotation.Nonnull;
 
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLDatatype;
+import org.semanticweb.owlapi.model.OWLObject;
 import org.semanticweb.owlapi.model.OWLRuntimeException;
 import org.semanticweb.owlapi.vocab.OWL2Datatype;
 import org.semanticweb.owlapi.vocab.OWLRDFVocabulary;
@@ -41,6 +42,7 @@ public class OWLDatatypeImpl extends OWLObjectImpl implements OWLDatatype {
         this.iri = checkNotNull(iri, "iri cannot be null");
         top = iri.equals(OWLRDFVocabulary.RDFS_LITERAL.getIRI());
         builtin = top || OWL2Datatype.isBuiltIn(iri) || iri.equals(OWLRDFVocabulary.RDF_PLAIN_LITERAL.getIRI());
+        hashCode = hashCode(this);
     }
 
     @Override
@@ -111,4 +113,19 @@ public class OWLDatatypeImpl extends OWLObjectImpl implements OWLDatatype {
     public boolean isOWLDatatype() {
         return true;
     }
+
+    @Override
+    protected int hashCode(OWLObject object) {
+        return hashComponent(hashIndex(), iri);
+    }
+
+    @Override
+    protected boolean equalsSameClass(OWLObjectImpl other) {
+        return iri.equals(((OWLDatatypeImpl) other).iri);
+    }
+
+    @Override
+    protected int compareSameClass(OWLObjectImpl other) {
+        return iri.compareTo(((OWLDatatypeImpl) other).iri);
+    }
 }
@@ -23,6 +23,7 @@ import org.semanticweb.owlapi.model.OWLAnnotation;
 import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLDeclarationAxiom;
 import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLObject;
 
 /**
  * @author Matthew Horridge, The University Of Manchester, Bio-Health
@@ -42,6 +43,7 @@ public class OWLDeclarationAxiomImpl extends OWLAxiomImpl implements OWLDeclarat
     public OWLDeclarationAxiomImpl(OWLEntity entity, Collection<OWLAnnotation> annotations) {
         super(annotations);
         this.entity = checkNotNull(entity, "entity cannot be null");
+        hashCode = hashCode(this);
     }
 
     @Override
@@ -61,4 +63,25 @@ public class OWLDeclarationAxiomImpl extends OWLAxiomImpl implements OWLDeclarat
     public OWLEntity getEntity() {
         return entity;
     }
+
+    @Override
+    protected int hashCode(OWLObject object) {
+        return hashComponent(hashComponent(hashIndex(), entity), annotations);
+    }
+
+    @Override
+    protected boolean equalsSameClass(OWLObjectImpl object) {
+        OWLDeclarationAxiomImpl other = (OWLDeclarationAxiomImpl) object;
+        return entity.equals(other.entity) && annotations.equals(other.annotations);
+    }
+
+    @Override
+    protected int compareSameClass(OWLObjectImpl object) {
+        OWLDeclarationAxiomImpl other = (OWLDeclarationAxiomImpl) object;
+        int diff = entity.compareTo(other.entity);
+        if (diff != 0) {
+            return diff;
+        }
+        return compareAnnotations(annotations, other.annotations);
+    }
 }
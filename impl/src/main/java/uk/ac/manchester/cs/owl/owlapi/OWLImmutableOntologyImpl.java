@@ -42,7 +42,8 @@ import org.semanticweb.owlapi.vocab.OWL2Datatype;
  *         Informatics Group
  * @since 2.0.0
  */
-public class OWLImmutableOntologyImpl extends OWLAxiomIndexImpl implements OWLOntology, Serializable {
+public class OWLImmutableOntologyImpl extends OWLAxiomIndexImpl implements OWLOntology, HasAxiomModificationCount,
+    Serializable {
 
     @Nullable protected OWLOntologyManager manager;
     @Nonnull protected OWLDataFactory df;
@@ -56,11 +57,16 @@ public class OWLImmutableOntologyImpl extends OWLAxiomIndexImpl implements OWLOn
      *        ontology id
      */
     public OWLImmutableOntologyImpl(@Nonnull OWLOntologyManager manager, OWLOntologyID ontologyID) {
+        super(isConcurrent(manager));
         this.manager = checkNotNull(manager, "manager cannot be null");
         this.ontologyID = checkNotNull(ontologyID, "ontologyID cannot be null");
         df = manager.getOWLDataFactory();
     }
 
+    private static boolean isConcurrent(OWLOntologyManager manager) {
+        return manager instanceof OWLOntologyManagerImpl && ((OWLOntologyManagerImpl) manager).isConcurrent();
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder(100);
@@ -106,6 +112,11 @@ public class OWLImmutableOntologyImpl extends OWLAxiomIndexImpl implements OWLOn
         return ints.getAxiomCount();
     }
 
+    @Override
+    public long getAxiomModificationCount() {
+        return ints.getAxiomModificationCount();
+    }
+
     @Override
     public boolean containsAxiom(OWLAxiom axiom) {
         return Internals.contains(ints.getAxiomsByType(), axiom.getAxiomType(), axiom);
@@ -134,11 +145,21 @@ public class OWLImmutableOntologyImpl extends OWLAxiomIndexImpl implements OWLOn
 
     @Override
     public <T extends OWLAxiom> int getAxiomCount(AxiomType<T> axiomType, Imports imports) {
+        ImportsClosureIndex index = imports == INCLUDED ? importsClosureIndex() : null;
+        if (index != null) {
+            // same count as axioms(axiomType, INCLUDED), without duplicates
+            return (int) index.axioms(axiomType).count();
+        }
         return imports.stream(this).mapToInt(o -> o.getAxiomCount(axiomType)).sum();
     }
 
     @Override
     public int getAxiomCount(Imports imports) {
+        ImportsClosureIndex index = imports == INCLUDED ? importsClosureIndex() : null;
+        if (index != null) {
+            // without duplicates, as getAxiomCount(axiomType, INCLUDED)
+            return index.axiomCount();
+        }
         return imports.stream(this).mapToInt(o -> o.getAxiomCount()).sum();
     }
 
@@ -174,9 +195,44 @@ public class OWLImmutableOntologyImpl extends OWLAxiomIndexImpl implements OWLOn
 
     @Override
     public boolean containsAxiom(OWLAxiom axiom, Imports imports, AxiomAnnotations ignoreAnnotations) {
+        if (imports == INCLUDED && ignoreAnnotations == AxiomAnnotations.CONSIDER_AXIOM_ANNOTATIONS) {
+            ImportsClosureIndex index = importsClosureIndex();
+            if (index != null) {
+                return index.containsAxiom(axiom);
+            }
+        }
         return imports.stream(this).anyMatch(o -> ignoreAnnotations.contains(o, axiom));
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T extends OWLAxiom> Stream<T> axioms(AxiomType<T> axiomType, Imports imports) {
+        ImportsClosureIndex index = imports == INCLUDED ? importsClosureIndex() : null;
+        if (index != null) {
+            return (Stream<T>) index.axioms(axiomType);
+        }
+        return imports.stream(this).flatMap(o -> o.axioms(axiomType));
+    }
+
+    /**
+     * @return the merged index of the imports closure, or null if the manager
+     *         does not keep one for this ontology
+     */
+    @Nullable
+    private ImportsClosureIndex importsClosureIndex() {
+        OWLOntologyManager m = manager;
+        if (!(m instanceof OWLOntologyManagerImpl)) {
+            return null;
+        }
+        ImportsClosureIndex index = ((OWLOntologyManagerImpl) m).importsClosureIndex(this);
+        // the closure is cached by ontology id; another ontology with the same
+        // id does not share it
+        if (index == null || index.getMembers().get(0) != this) {
+            return null;
+        }
+        return index;
+    }
+
     @Override
     public Stream<OWLAxiom> axiomsIgnoreAnnotations(OWLAxiom axiom) {
         return axioms(axiom.getAxiomType()).map(x -> (OWLAxiom) x).filter(ax -> ax.equalsIgnoreAnnotations(axiom));
@@ -284,6 +340,10 @@ public class OWLImmutableOntologyImpl extends OWLAxiomIndexImpl implements OWLOn
         if (includeImportsClosure == EXCLUDED) {
             return ints.containsReference(entity);
         }
+        ImportsClosureIndex index = importsClosureIndex();
+        if (index != null) {
+            return index.containsReference(entity);
+        }
         return importsClosure().anyMatch(o -> o.containsReference(entity, EXCLUDED));
     }
 
@@ -477,6 +537,16 @@ public class OWLImmutableOntologyImpl extends OWLAxiomIndexImpl implements OWLOn
         return empty();
     }
 
+    @Override
+    public Stream<OWLAxiom> referencingAxioms(OWLPrimitive owlEntity, Imports imports) {
+        ImportsClosureIndex index = imports == INCLUDED && owlEntity instanceof OWLEntity ? importsClosureIndex()
+            : null;
+        if (index != null) {
+            return index.referencingAxioms((OWLEntity) owlEntity);
+        }
+        return imports.stream(this).flatMap(o -> o.referencingAxioms(owlEntity));
+    }
+
     protected boolean hasLiteralInAnnotations(OWLPrimitive owlEntity, OWLAxiom ax) {
         return ax.annotations().anyMatch(a -> a.getValue().equals(owlEntity));
     }
@@ -509,6 +579,22 @@ public class OWLImmutableOntologyImpl extends OWLAxiomIndexImpl implements OWLOn
         return axioms(AxiomType.getTypeForClass(type)).filter(a -> a.containsEntityInSignature((OWLEntity) entity));
     }
 
+    @Override
+    public <T extends OWLAxiom> Stream<T> axioms(Class<T> type, OWLObject entity, Imports imports,
+        Navigation forSubPosition) {
+        return axioms(type, entity.getClass(), entity, imports, forSubPosition);
+    }
+
+    @Override
+    public <T extends OWLAxiom> Stream<T> axioms(Class<T> type, Class<? extends OWLObject> explicitClass,
+        OWLObject entity, Imports imports, Navigation forSubPosition) {
+        ImportsClosureIndex index = imports == INCLUDED ? importsClosureIndex() : null;
+        if (index != null) {
+            return index.axioms(type, explicitClass, entity, forSubPosition);
+        }
+        return imports.stream(this).flatMap(o -> o.axioms(type, explicitClass, entity, forSubPosition));
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public <T extends OWLAxiom> Stream<T> axioms(OWLAxiomSearchFilter filter, Object key, Imports imports) {
@@ -53,6 +53,7 @@ public abstract class OWLIndividualRelationshipAxiomImpl<P extends OWLPropertyEx
         this.subject = checkNotNull(subject, "subject cannot be null");
         this.property = checkNotNull(property, "property cannot be null");
         this.o = checkNotNull(object, "object cannot be null");
+        hashCode = hashCode(this);
     }
 
     @Override
@@ -69,4 +70,37 @@ public abstract class OWLIndividualRelationshipAxiomImpl<P extends OWLPropertyEx
     public O getObject() {
         return o;
     }
+
+    @Override
+    protected int hashCode(OWLObject object) {
+        int hash = hashComponent(hashIndex(), subject);
+        hash = hashComponent(hash, property);
+        hash = hashComponent(hash, o);
+        return hashComponent(hash, annotations);
+    }
+
+    @Override
+    protected boolean equalsSameClass(OWLObjectImpl object) {
+        OWLIndividualRelationshipAxiomImpl<?, ?> other = (OWLIndividualRelationshipAxiomImpl<?, ?>) object;
+        return subject.equals(other.subject) && property.equals(other.property) && o.equals(other.o)
+            && annotations.equals(other.annotations);
+    }
+
+    @Override
+    protected int compareSameClass(OWLObjectImpl object) {
+        OWLIndividualRelationshipAxiomImpl<?, ?> other = (OWLIndividualRelationshipAxiomImpl<?, ?>) object;
+        int diff = subject.compareTo(other.subject);
+        if (diff != 0) {
+            return diff;
+        }
+        diff = property.compareTo(other.property);
+        if (diff != 0) {
+            return diff;
+        }
+        diff = o.compareTo(other.o);
+        if (diff != 0) {
+            return diff;
+        }
+        return compareAnnotations(annotations, other.annotations);
+    }
 }
@@ -18,6 +18,7 @@ import javax.annotation.Nonnull;
 
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObject;
 
 /**
  * @author Matthew Horridge, The University of Manchester, Information
@@ -34,6 +35,7 @@ public class OWLNamedIndividualImpl extends OWLIndividualImpl implements OWLName
      */
     public OWLNamedIndividualImpl(IRI iri) {
         this.iri = checkNotNull(iri, "iri cannot be null");
+        hashCode = hashCode(this);
     }
 
     @Override
@@ -45,4 +47,19 @@ public class OWLNamedIndividualImpl extends OWLIndividualImpl implements OWLName
     public IRI getIRI() {
         return iri;
     }
+
+    @Override
+    protected int hashCode(OWLObject object) {
+        return hashComponent(hashIndex(), iri);
+    }
+
+    @Override
+    protected boolean equalsSameClass(OWLObjectImpl other) {
+        return iri.equals(((OWLNamedIndividualImpl) other).iri);
+    }
+
+    @Override
+    protected int compareSameClass(OWLObjectImpl other) {
+        return iri.compareTo(((OWLNamedIndividualImpl) other).iri);
+    }
 }
@@ -0,0 +1,89 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owl.owlapi;
+
+import java.util.stream.Stream;
+
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObject;
+
+/**
+ * A named individual that holds the int id of its IRI in an
+ * {@link IRIDictionary} rather than the IRI itself. Instances are serialized
+ * as {@link OWLNamedIndividualImpl}.
+ *
+ * @author ignazio
+ */
+public class OWLNamedIndividualImplId extends OWLIndividualImpl implements OWLNamedIndividual {
+
+    private final transient IRIDictionary dictionary;
+    private final int id;
+
+    /**
+     * @param dictionary
+     *        dictionary holding the iri
+     * @param id
+     *        id of iri in the dictionary
+     * @param iri
+     *        the iri
+     */
+    public OWLNamedIndividualImplId(IRIDictionary dictionary, int id, IRI iri) {
+        this.dictionary = dictionary;
+        this.id = id;
+        hashCode = hash(hashIndex(), Stream.of(iri));
+    }
+
+    /**
+     * @return the id of the iri of this individual in its dictionary
+     */
+    public int getId() {
+        return id;
+    }
+
+    protected Object writeReplace() {
+        return new OWLNamedIndividualImpl(getIRI());
+    }
+
+    @Override
+    public boolean equals(@Nullable Object obj) {
+        if (obj instanceof OWLNamedIndividualImplId && ((OWLNamedIndividualImplId) obj).dictionary == dictionary) {
+            return ((OWLNamedIndividualImplId) obj).id == id;
+        }
+        // other implementations are equal if their IRIs are
+        return obj instanceof OWLNamedIndividual && getIRI().equals(((OWLNamedIndividual) obj).getIRI());
+    }
+
+    @Override
+    public int compareTo(@Nullable OWLObject o) {
+        if (o instanceof OWLNamedIndividualImplId && ((OWLNamedIndividualImplId) o).dictionary == dictionary && ((OWLNamedIndividualImplId) o).id == id) {
+            return 0;
+        }
+        if (o instanceof OWLNamedIndividual) {
+            return getIRI().compareTo(((OWLNamedIndividual) o).getIRI());
+        }
+        return super.compareTo(o);
+    }
+
+    @Override
+    public String toStringID() {
+        return getIRI().toString();
+    }
+
+    @Override
+    public IRI getIRI() {
+        return dictionary.getIRI(id);
+    }
+}
@@ -14,6 +14,7 @@ package uk.ac.manchester.cs.owl.owlapi;
 
 import static org.semanticweb.owlapi.util.CollectionFactory.sortOptionally;
 import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.compareLists;
 
 import java.util.Collection;
 import java.util.HashSet;
@@ -26,6 +27,7 @@ import javax.annotation.Nonnull;
 import org.semanticweb.owlapi.model.OWLAnnotation;
 import org.semanticweb.owlapi.model.OWLClassExpression;
 import org.semanticweb.owlapi.model.OWLNaryClassAxiom;
+import org.semanticweb.owlapi.model.OWLObject;
 
 /**
  * @author Matthew Horridge, The University Of Manchester, Bio-Health
@@ -47,6 +49,7 @@ public abstract class OWLNaryClassAxiomImpl extends OWLClassAxiomImpl implements
         super(annotations);
         checkNotNull(classExpressions, "classExpressions cannot be null");
         this.classExpressions = sortOptionally(classExpressions.stream().distinct(), OWLClassExpression.class);
+        hashCode = hashCode(this);
     }
 
     @Override
@@ -67,4 +70,25 @@ public abstract class OWLNaryClassAxiomImpl extends OWLClassAxiomImpl implements
         }
         return result;
     }
+
+    @Override
+    protected int hashCode(OWLObject object) {
+        return hashComponent(hashComponent(hashIndex(), classExpressions), annotations);
+    }
+
+    @Override
+    protected boolean equalsSameClass(OWLObjectImpl object) {
+        OWLNaryClassAxiomImpl other = (OWLNaryClassAxiomImpl) object;
+        return classExpressions.equals(other.classExpressions) && annotations.equals(other.annotations);
+    }
+
+    @Override
+    protected int compareSameClass(OWLObjectImpl object) {
+        OWLNaryClassAxiomImpl other = (OWLNaryClassAxiomImpl) object;
+        int diff = compareLists(classExpressions, other.classExpressions);
+        if (diff != 0) {
+            return diff;
+        }
+        return compareAnnotations(annotations, other.annotations);
+    }
 }
@@ -85,6 +85,39 @@ public abstract class OWLObjectImpl implements OWLObject, Serializable, HasIncre
         return o.hashCode();
     }
 
+    /**
+     * One step of the hash computed by {@link #hash(int, Stream)}, for
+     * implementations that hash their fields directly rather than building a
+     * stream of components.
+     * 
+     * @param hash
+     *        hash so far; the hash index for the first component
+     * @param component
+     *        next component
+     * @return updated hash
+     */
+    protected static int hashComponent(int hash, Object component) {
+        return hash * 37 + component.hashCode();
+    }
+
+    /**
+     * One step of the hash computed by {@link #hash(int, Stream)} for a
+     * component that is a list, i.e., a stream in {@code components()}.
+     * 
+     * @param hash
+     *        hash so far; the hash index for the first component
+     * @param component
+     *        next component
+     * @return updated hash
+     */
+    protected static int hashComponent(int hash, List<?> component) {
+        int sum = 0;
+        for (int i = 0; i < component.size(); i++) {
+            sum += component.get(i).hashCode();
+        }
+        return hash * 37 + sum;
+    }
+
     @Override
     public Stream<OWLAnonymousIndividual> anonymousIndividuals() {
         return anonCaches.get(this).stream();
@@ -156,6 +189,12 @@ public abstract class OWLObjectImpl implements OWLObject, Serializable, HasIncre
         if (!(obj instanceof OWLObject)) {
             return false;
         }
+        if (obj.getClass() == getClass()) {
+            // same implementation: hash codes are computed the same way and
+            // are usually cached, so they are a cheap first check
+            OWLObjectImpl other = (OWLObjectImpl) obj;
+            return hashCode() == other.hashCode() && equalsSameClass(other);
+        }
         OWLObject other = (OWLObject) obj;
         if (typeIndex() != other.typeIndex()) {
             return false;
@@ -163,6 +202,30 @@ public abstract class OWLObjectImpl implements OWLObject, Serializable, HasIncre
         return equalStreams(components(), other.components());
     }
 
+    /**
+     * Override point for implementations that can compare their fields
+     * directly; the default compares the components.
+     * 
+     * @param other
+     *        object of the same class as this object
+     * @return true if the objects are equal
+     */
+    protected boolean equalsSameClass(OWLObjectImpl other) {
+        return typeIndex() == other.typeIndex() && equalStreams(components(), other.components());
+    }
+
+    /**
+     * Override point for implementations that can compare their fields
+     * directly; the default compares the components.
+     * 
+     * @param other
+     *        object of the same class and type index as this object
+     * @return comparison result
+     */
+    protected int compareSameClass(OWLObjectImpl other) {
+        return compareIterators(components().iterator(), other.components().iterator());
+    }
+
     @Override
     public int hashCode() {
         if (hashCode == 0) {
@@ -179,6 +242,9 @@ public abstract class OWLObjectImpl implements OWLObject, Serializable, HasIncre
         if (diff != 0) {
             return diff;
         }
+        if (o.getClass() == getClass()) {
+            return compareSameClass((OWLObjectImpl) o);
+        }
         return compareIterators(components().iterator(), o.components().iterator());
     }
 
@@ -172,7 +172,7 @@ public class OWLOntologyFactoryImpl implements OWLOntologyFactory {
                         manager.removeOntology(ont);
                         ont = createOWLOntology(manager, ontologyID, documentSource.getDocumentIRI(), handler);
                     }
-                    OWLDocumentFormat format = parser.parse(documentSource, ont, configuration);
+                    OWLDocumentFormat format = parse(parser, documentSource, ont, configuration);
                     handler.setOntologyFormat(ont, format);
                     return ont;
                 } catch (UnloadableImportException e) {
@@ -215,4 +215,22 @@ public class OWLOntologyFactoryImpl implements OWLOntologyFactory {
         // that we have tried.
         throw new UnparsableOntologyException(documentSource.getDocumentIRI(), exceptions, configuration);
     }
+
+    /**
+     * Parses the document into the ontology, deferring the construction of the
+     * ontology indexes until parsing is over if the configuration allows it.
+     */
+    private static OWLDocumentFormat parse(OWLParser parser, OWLOntologyDocumentSource documentSource,
+        OWLOntology ont, OWLOntologyLoaderConfiguration configuration) {
+        if (!configuration.isBulkLoad() || !(ont instanceof HasBulkLoad)) {
+            return parser.parse(documentSource, ont, configuration);
+        }
+        HasBulkLoad bulk = (HasBulkLoad) ont;
+        bulk.beginBulkLoad();
+        try {
+            return parser.parse(documentSource, ont, configuration);
+        } finally {
+            bulk.endBulkLoad();
+        }
+    }
 }
@@ -42,14 +42,22 @@ public class OWLOntologyImpl extends OWLImmutableOntologyImpl implements OWLMuta
         super(manager, ontologyID);
     }
 
+    private void checkNotFrozen(OWLOntologyChange change) {
+        if (ints.isFrozen()) {
+            throw new ImmutableOWLOntologyChangeException(change.getChangeData(), toString());
+        }
+    }
+
     @Override
     public ChangeApplied applyDirectChange(OWLOntologyChange change) {
+        checkNotFrozen(change);
         OWLOntologyChangeFilter changeFilter = new OWLOntologyChangeFilter();
         return change.accept(changeFilter);
     }
 
     @Override
     public ChangeApplied applyChanges(List<? extends OWLOntologyChange> changes) {
+        changes.forEach(this::checkNotFrozen);
         ChangeApplied appliedChanges = SUCCESSFULLY;
         OWLOntologyChangeFilter changeFilter = new OWLOntologyChangeFilter();
         for (OWLOntologyChange change : changes) {
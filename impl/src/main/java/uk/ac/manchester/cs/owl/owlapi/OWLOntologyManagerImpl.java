@@ -24,6 +24,7 @@ import java.io.OutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -37,6 +38,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 import javax.annotation.Nonnull;
@@ -65,6 +67,7 @@ import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Multimap;
 
 import uk.ac.manchester.cs.owl.owlapi.concurrent.ConcurrentPriorityCollection;
+import uk.ac.manchester.cs.owl.owlapi.concurrent.NoOpReadWriteLock;
 
 /**
  * @author Matthew Horridge, The University Of Manchester, Bio-Health
@@ -86,6 +89,7 @@ public class OWLOntologyManagerImpl implements OWLOntologyManager, OWLOntologyFa
     @Nonnull protected final Set<IRI> importedIRIs = createSyncSet();
     @Nonnull protected final OWLDataFactory dataFactory;
     @Nonnull protected final Map<OWLOntologyID, Set<OWLOntology>> importsClosureCache = createSyncMap();
+    @Nonnull private final Map<OWLOntologyID, Optional<ImportsClosureIndex>> importsClosureIndexes = createSyncMap();
     @Nonnull protected final List<MissingImportListener> missingImportsListeners = createSyncList();
     @Nonnull protected final List<OWLOntologyLoaderListener> loaderListeners = createSyncList();
     @Nonnull protected final List<OWLOntologyChangeProgressListener> progressListeners = createSyncList();
@@ -105,6 +109,13 @@ public class OWLOntologyManagerImpl implements OWLOntologyManager, OWLOntologyFa
     @Nonnull protected final PriorityCollection<OWLStorerFactory> ontologyStorers;
     private final Lock readLock;
     private final Lock writeLock;
+    private final boolean concurrent;
+    /** documents parsed ahead of the current top level load, if any */
+    @Nullable private transient ImportsPrefetcher prefetcher;
+    /** time spent in the loads nested in the load being timed */
+    private transient long nestedLoadTime;
+    /** parse time of the last document loaded, excluding its imports */
+    private transient long lastParseTime = -1;
 
     /**
      * @param dataFactory
@@ -130,12 +141,22 @@ public class OWLOntologyManagerImpl implements OWLOntologyManager, OWLOntologyFa
         this.dataFactory = checkNotNull(dataFactory, "dataFactory cannot be null");
         readLock = readWriteLock.readLock();
         writeLock = readWriteLock.writeLock();
+        concurrent = !(readWriteLock instanceof NoOpReadWriteLock);
         documentMappers = new ConcurrentPriorityCollection<>(readWriteLock, sorting);
         ontologyFactories = new ConcurrentPriorityCollection<>(readWriteLock, sorting);
         parserFactories = new ConcurrentPriorityCollection<>(readWriteLock, sorting);
         ontologyStorers = new ConcurrentPriorityCollection<>(readWriteLock, sorting);
     }
 
+    /**
+     * @return true if this manager is shared between threads, i.e., it is
+     *         guarded by a real lock; ontologies created by a concurrent
+     *         manager use lock free axiom indexes.
+     */
+    boolean isConcurrent() {
+        return concurrent;
+    }
+
     @Override
     public void clearOntologies() {
         writeLock.lock();
@@ -144,6 +165,7 @@ public class OWLOntologyManagerImpl implements OWLOntologyManager, OWLOntologyFa
             impendingChangeListenerMap.clear();
             importedIRIs.clear();
             importsClosureCache.clear();
+            importsClosureIndexes.clear();
             listenerMap.clear();
             loaderListeners.clear();
             missingImportsListeners.clear();
@@ -467,6 +489,23 @@ public class OWLOntologyManagerImpl implements OWLOntologyManager, OWLOntologyFa
         }
     }
 
+    /**
+     * @param ontology
+     *        ontology
+     * @return merged index of the axioms in the imports closure of the
+     *         ontology, or null if the closure cannot be indexed
+     */
+    @Nullable
+    ImportsClosureIndex importsClosureIndex(OWLOntology ontology) {
+        readLock.lock();
+        try {
+            return importsClosureIndexes.computeIfAbsent(ontology.getOntologyID(), i -> Optional.ofNullable(
+                ImportsClosureIndex.of(importsClosure(ontology)))).orElse(null);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
     /**
      * A recursive method that gets the reflexive transitive closure of the
      * ontologies that are imported by this ontology.
@@ -536,6 +575,10 @@ public class OWLOntologyManagerImpl implements OWLOntologyManager, OWLOntologyFa
         checkForOntologyIDChange(change);
         ChangeApplied appliedChange = ((OWLMutableOntology) ont).applyDirectChange(change);
         checkForImportsChange(change);
+        if (appliedChange == ChangeApplied.SUCCESSFULLY && change.isAxiomChange()) {
+            importsClosureIndexes.values().forEach(i -> i.ifPresent(index -> index.axiomChanged(ont, change
+                .getAxiom())));
+        }
         return appliedChange;
     }
 
@@ -634,7 +677,10 @@ public class OWLOntologyManagerImpl implements OWLOntologyManager, OWLOntologyFa
     private void checkForImportsChange(OWLOntologyChange change) {
         // Called by a write lock holder
         if (change.isImportChange()) {
-            resetImportsClosureCache();
+            resetImportsClosureCache(change.getOntology());
+            // the declaration might be resolved differently in other ontologies
+            resetImportsClosureCache(Collections.singleton(((ImportChange) change).getImportDeclaration()
+                .getIRI()));
             if (change instanceof AddImport) {
                 OWLImportsDeclaration addImportDeclaration = ((AddImport) change).getImportDeclaration();
                 IRI iri = addImportDeclaration.getIRI();
@@ -670,7 +716,6 @@ public class OWLOntologyManagerImpl implements OWLOntologyManager, OWLOntologyFa
             throw new OWLOntologyRenameException(setID.getChangeData(), setID.getNewOntologyID());
         }
         renameOntology(setID.getOriginalOntologyID(), setID.getNewOntologyID());
-        resetImportsClosureCache();
     }
 
     // Methods to create, load and reload ontologies
@@ -951,14 +996,23 @@ public class OWLOntologyManagerImpl implements OWLOntologyManager, OWLOntologyFa
             }
             fireStartedLoadingEvent(new OWLOntologyID(optional(ontologyIRI), emptyOptional()), documentSource
                 .getDocumentIRI(), loadCount.get() > 0);
+            if (loadCount.get() == 0 && configuration.getImportsLoadingThreads() > 1 && !concurrent) {
+                // ontologies built for concurrent managers share the manager
+                // lock, so they cannot be parsed outside of it
+                ImportsPrefetcher p = new ImportsPrefetcher(this, documentSource, configuration);
+                p.prefetch();
+                prefetcher = p;
+            }
             loadCount.incrementAndGet();
             broadcastChanges.set(false);
             Exception ex = null;
             OWLOntologyID idOfLoadedOntology = new OWLOntologyID();
+            long parseTime = -1;
             try {
                 OWLOntology o = load(documentSource, configuration);
                 if (o != null) {
                     idOfLoadedOntology = o.getOntologyID();
+                    parseTime = lastParseTime;
                     return o;
                 }
             } catch (UnloadableImportException | OWLOntologyCreationException e) {
@@ -974,8 +1028,10 @@ public class OWLOntologyManagerImpl implements OWLOntologyManager, OWLOntologyFa
                 if (loadCount.decrementAndGet() == 0) {
                     broadcastChanges.set(true);
                     // Completed loading ontology and imports
+                    prefetcher = null;
                 }
-                fireFinishedLoadingEvent(idOfLoadedOntology, documentSource.getDocumentIRI(), loadCount.get() > 0, ex);
+                fireFinishedLoadingEvent(idOfLoadedOntology, documentSource.getDocumentIRI(), loadCount.get() > 0, ex,
+                    parseTime);
             }
             throw new OWLOntologyFactoryNotFoundException(documentSource.getDocumentIRI());
         } finally {
@@ -986,16 +1042,40 @@ public class OWLOntologyManagerImpl implements OWLOntologyManager, OWLOntologyFa
     @Nullable
     protected OWLOntology load(OWLOntologyDocumentSource documentSource, OWLOntologyLoaderConfiguration configuration)
         throws OWLOntologyCreationException {
+        long outerLoadTime = nestedLoadTime;
+        nestedLoadTime = 0;
+        long start = System.nanoTime();
+        try {
+            return timedLoad(documentSource, configuration, start);
+        } finally {
+            nestedLoadTime = outerLoadTime + System.nanoTime() - start;
+        }
+    }
+
+    @Nullable
+    private OWLOntology timedLoad(OWLOntologyDocumentSource documentSource,
+        OWLOntologyLoaderConfiguration configuration, long start) throws OWLOntologyCreationException {
+        ImportsPrefetcher.Prefetched prefetched = prefetcher == null ? null : prefetcher.take(documentSource);
         for (OWLOntologyFactory factory : ontologyFactories) {
             if (factory.canAttemptLoading(documentSource)) {
                 try {
                     // Note - there is no need to add the ontology here,
                     // because it will be added
                     // when the ontology is created.
-                    OWLOntology ontology = factory.loadOWLOntology(this, documentSource, this, configuration);
+                    OWLOntology ontology = prefetched == null ? null : adopt(prefetched, documentSource);
+                    if (ontology == null) {
+                        ontology = factory.loadOWLOntology(this, documentSource, this, configuration);
+                        lastParseTime = System.nanoTime() - start - nestedLoadTime;
+                    } else {
+                        lastParseTime = prefetched.parseTime;
+                    }
+                    LOGGER.debug("Parsed {} in {} ms", documentSource.getDocumentIRI(), Long.valueOf(
+                        lastParseTime / 1000000));
                     fixIllegalPunnings(ontology);
                     // Store the ontology to the document IRI mapping
                     documentIRIsByID.put(ontology.getOntologyID(), documentSource.getDocumentIRI());
+                    resetImportsClosureCache(importableAs(ontology.getOntologyID(), documentSource
+                        .getDocumentIRI()));
                     ontologyConfigurationsByOntologyID.put(ontology.getOntologyID(), configuration);
                     if (ontology instanceof HasTrimToSize) {
                         ((HasTrimToSize) ontology).trimToSize();
@@ -1012,6 +1092,58 @@ public class OWLOntologyManagerImpl implements OWLOntologyManager, OWLOntologyFa
         return null;
     }
 
+    /**
+     * Take over an ontology parsed ahead of loading, replaying the imports
+     * requested by its parser.
+     *
+     * @param prefetched
+     *        the parsed document
+     * @param documentSource
+     *        document source being loaded
+     * @return the ontology, or null if the document must be parsed again
+     */
+    @Nullable
+    private OWLOntology adopt(ImportsPrefetcher.Prefetched prefetched, OWLOntologyDocumentSource documentSource) {
+        OWLOntology ontology = prefetched.release();
+        if (ontology == null || ontologiesByID.containsKey(ontology.getOntologyID()) || contains(documentSource
+            .getDocumentIRI())) {
+            return null;
+        }
+        ontology.setOWLOntologyManager(this);
+        ontologyCreated(ontology);
+        setOntologyFormat(ontology, prefetched.getFormat());
+        ontology.importsDeclarations().forEach(d -> checkForImportsChange(new AddImport(ontology, d)));
+        try {
+            prefetched.requests.forEach(r -> makeLoadImportRequest(r.declaration, r.configuration));
+        } catch (UnloadableImportException e) {
+            removeOntology(ontology);
+            throw e;
+        }
+        if (!prefetched.isReusable(ontology, dataFactory)) {
+            removeOntology(ontology);
+            return null;
+        }
+        return ontology;
+    }
+
+    /**
+     * @param importIRI
+     *        IRI of an imported ontology
+     * @return the document IRI from which the import would be loaded, or null
+     *         if no document would be loaded for it
+     */
+    @Nullable
+    IRI prefetchableDocumentIRI(IRI importIRI) {
+        if (ids().anyMatch(id -> id.match(importIRI))) {
+            return null;
+        }
+        IRI documentIRI = getDocumentIRIFromMappers(new OWLOntologyID(optional(importIRI), emptyOptional()));
+        if (documentIRI == null || documentIRIsByID.values().contains(documentIRI)) {
+            return null;
+        }
+        return documentIRI;
+    }
+
     protected void fixIllegalPunnings(OWLOntology o) {
         Collection<IRI> illegals = OWLDocumentFormat.determineIllegalPunnings(true, o.signature(Imports.INCLUDED), o
             .getPunnedIRIs(Imports.INCLUDED));
@@ -1074,7 +1206,7 @@ public class OWLOntologyManagerImpl implements OWLOntologyManager, OWLOntologyFa
             documentIRIsByID.remove(ontologyID);
             if (o != null) {
                 o.setOWLOntologyManager(null);
-                resetImportsClosureCache();
+                resetImportsClosureCache(o);
             }
         } finally {
             writeLock.unlock();
@@ -1085,7 +1217,7 @@ public class OWLOntologyManagerImpl implements OWLOntologyManager, OWLOntologyFa
         writeLock.lock();
         try {
             ontologiesByID.put(ont.getOntologyID(), ont);
-            resetImportsClosureCache();
+            resetImportsClosureCache(importableAs(ont.getOntologyID(), documentIRIsByID.get(ont.getOntologyID())));
         } finally {
             writeLock.unlock();
         }
@@ -1112,6 +1244,7 @@ public class OWLOntologyManagerImpl implements OWLOntologyManager, OWLOntologyFa
                 throw new UnknownOWLOntologyException(ontology.getOntologyID());
             }
             documentIRIsByID.put(ontology.getOntologyID(), documentIRI);
+            resetImportsClosureCache(importableAs(ontology.getOntologyID(), documentIRI));
         } finally {
             writeLock.unlock();
         }
@@ -1141,18 +1274,67 @@ public class OWLOntologyManagerImpl implements OWLOntologyManager, OWLOntologyFa
         if (documentIRI != null) {
             documentIRIsByID.put(newID, documentIRI);
         }
-        resetImportsClosureCache();
+        // closures containing the ontology are keyed by the old id, and imports
+        // of the new id might now resolve to it
+        resetImportsClosureCache(ont);
+        resetImportsClosureCache(importableAs(newID, documentIRI));
     }
 
     protected void resetImportsClosureCache() {
         writeLock.lock();
         try {
             importsClosureCache.clear();
+            importsClosureIndexes.clear();
         } finally {
             writeLock.unlock();
         }
     }
 
+    /**
+     * Drops the cached imports closures, and their indexes, that contain an
+     * ontology. Other closures are not affected by changes to the ontology.
+     * 
+     * @param ontology
+     *        changed, renamed or removed ontology
+     */
+    protected void resetImportsClosureCache(OWLOntology ontology) {
+        resetImportsClosureCache(closure -> closure.stream().anyMatch(o -> o == ontology));
+    }
+
+    /**
+     * Drops the cached imports closures, and their indexes, in which some
+     * ontology has an imports declaration for one of the given IRIs; these are
+     * the closures that can change when an ontology with those IRIs is added or
+     * renamed.
+     * 
+     * @param iris
+     *        ontology, version and document IRIs of an ontology
+     */
+    protected void resetImportsClosureCache(Collection<IRI> iris) {
+        resetImportsClosureCache(closure -> closure.stream().flatMap(OWLOntology::directImportsDocuments).anyMatch(
+            iris::contains));
+    }
+
+    private void resetImportsClosureCache(Predicate<Collection<OWLOntology>> stale) {
+        writeLock.lock();
+        try {
+            importsClosureCache.values().removeIf(stale);
+            importsClosureIndexes.keySet().retainAll(importsClosureCache.keySet());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private static Collection<IRI> importableAs(OWLOntologyID id, @Nullable IRI documentIRI) {
+        List<IRI> iris = new ArrayList<>(3);
+        id.getOntologyIRI().ifPresent(iris::add);
+        id.getVersionIRI().ifPresent(iris::add);
+        if (documentIRI != null) {
+            iris.add(documentIRI);
+        }
+        return iris;
+    }
+
     // Methods to save ontologies
     @Override
     public void saveOntology(OWLOntology ontology) throws OWLOntologyStorageException {
@@ -1576,6 +1758,7 @@ public class OWLOntologyManagerImpl implements OWLOntologyManager, OWLOntologyFa
                     OWLOntology ont = loadImports(declaration, configuration);
                     if (ont != null) {
                         ontologyIDsByImportsDeclaration.put(declaration, ont.getOntologyID());
+                        resetImportsClosureCache(Collections.singleton(iri));
                     }
                 } catch (OWLOntologyCreationException e) {
                     // Wrap as UnloadableImportException and throw
@@ -1651,11 +1834,16 @@ public class OWLOntologyManagerImpl implements OWLOntologyManager, OWLOntologyFa
 
     protected void fireFinishedLoadingEvent(OWLOntologyID ontologyID, IRI documentIRI, boolean imported,
         @Nullable Exception ex) {
+        fireFinishedLoadingEvent(ontologyID, documentIRI, imported, ex, -1);
+    }
+
+    protected void fireFinishedLoadingEvent(OWLOntologyID ontologyID, IRI documentIRI, boolean imported,
+        @Nullable Exception ex, long parseTime) {
         writeLock.lock();
         try {
             for (OWLOntologyLoaderListener listener : new ArrayList<>(loaderListeners)) {
                 listener.finishedLoadingOntology(new OWLOntologyLoaderListener.LoadingFinishedEvent(ontologyID,
-                    documentIRI, imported, ex));
+                    documentIRI, imported, ex, parseTime));
             }
         } finally {
             writeLock.unlock();
@@ -35,6 +35,7 @@ public abstract class OWLQuantifiedDataRestrictionImpl extends OWLQuantifiedRest
     public OWLQuantifiedDataRestrictionImpl(OWLDataPropertyExpression property, OWLDataRange filler) {
         super(filler);
         this.property = checkNotNull(property, "property cannot be null");
+        hashCode = hashCode(this);
     }
 
     @Override
@@ -35,6 +35,7 @@ public abstract class OWLQuantifiedObjectRestrictionImpl extends OWLQuantifiedRe
     public OWLQuantifiedObjectRestrictionImpl(OWLObjectPropertyExpression property, OWLClassExpression filler) {
         super(filler);
         this.property = checkNotNull(property, "property cannot be null");
+        hashCode = hashCode(this);
     }
 
     @Override
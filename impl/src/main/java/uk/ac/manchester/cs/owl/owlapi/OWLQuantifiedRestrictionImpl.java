@@ -16,6 +16,7 @@ import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
 
 import javax.annotation.Nonnull;
 
+import org.semanticweb.owlapi.model.OWLObject;
 import org.semanticweb.owlapi.model.OWLPropertyRange;
 import org.semanticweb.owlapi.model.OWLQuantifiedRestriction;
 
@@ -43,4 +44,25 @@ public abstract class OWLQuantifiedRestrictionImpl<F extends OWLPropertyRange> e
     public F getFiller() {
         return filler;
     }
+
+    @Override
+    protected int hashCode(OWLObject object) {
+        return hashComponent(hashComponent(hashIndex(), getProperty()), filler);
+    }
+
+    @Override
+    protected boolean equalsSameClass(OWLObjectImpl object) {
+        OWLQuantifiedRestrictionImpl<?> other = (OWLQuantifiedRestrictionImpl<?>) object;
+        return getProperty().equals(other.getProperty()) && filler.equals(other.filler);
+    }
+
+    @Override
+    protected int compareSameClass(OWLObjectImpl object) {
+        OWLQuantifiedRestrictionImpl<?> other = (OWLQuantifiedRestrictionImpl<?>) object;
+        int diff = getProperty().compareTo(other.getProperty());
+        if (diff != 0) {
+            return diff;
+        }
+        return filler.compareTo(other.filler);
+    }
 }
@@ -22,6 +22,7 @@ import javax.annotation.Nonnull;
 import org.semanticweb.owlapi.model.OWLAnnotation;
 import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLObject;
 import org.semanticweb.owlapi.model.OWLSubClassOfAxiom;
 
 /**
@@ -47,6 +48,7 @@ public class OWLSubClassOfAxiomImpl extends OWLClassAxiomImpl implements OWLSubC
         super(annotations);
         this.subClass = checkNotNull(subClass, "subClass cannot be null");
         this.superClass = checkNotNull(superClass, "superClass cannot be null");
+        hashCode = hashCode(this);
     }
 
     @Override
@@ -76,4 +78,32 @@ public class OWLSubClassOfAxiomImpl extends OWLClassAxiomImpl implements OWLSubC
     public boolean isGCI() {
         return subClass.isAnonymous();
     }
+
+    @Override
+    protected int hashCode(OWLObject object) {
+        int hash = hashComponent(hashIndex(), subClass);
+        hash = hashComponent(hash, superClass);
+        return hashComponent(hash, annotations);
+    }
+
+    @Override
+    protected boolean equalsSameClass(OWLObjectImpl object) {
+        OWLSubClassOfAxiomImpl other = (OWLSubClassOfAxiomImpl) object;
+        return subClass.equals(other.subClass) && superClass.equals(other.superClass)
+            && annotations.equals(other.annotations);
+    }
+
+    @Override
+    protected int compareSameClass(OWLObjectImpl object) {
+        OWLSubClassOfAxiomImpl other = (OWLSubClassOfAxiomImpl) object;
+        int diff = subClass.compareTo(other.subClass);
+        if (diff != 0) {
+            return diff;
+        }
+        diff = superClass.compareTo(other.superClass);
+        if (diff != 0) {
+            return diff;
+        }
+        return compareAnnotations(annotations, other.annotations);
+    }
 }
@@ -41,13 +41,16 @@ import org.semanticweb.owlapi.model.parameters.Imports;
 import org.semanticweb.owlapi.model.parameters.Navigation;
 import org.semanticweb.owlapi.util.OWLAxiomSearchFilter;
 
+import uk.ac.manchester.cs.owl.owlapi.HasBulkLoad;
+import uk.ac.manchester.cs.owl.owlapi.HasFreeze;
 import uk.ac.manchester.cs.owl.owlapi.HasTrimToSize;
 
 /**
  * Matthew Horridge Stanford Center for Biomedical Informatics Research 03/04/15
  */
 @SuppressWarnings({ "deprecation" })
-public class ConcurrentOWLOntologyImpl implements OWLMutableOntology, HasTrimToSize {
+public class ConcurrentOWLOntologyImpl implements OWLMutableOntology, HasTrimToSize, HasFreeze, HasBulkLoad,
+    HasAxiomModificationCount {
 
     @Nonnull private final OWLOntology delegate;
     @Nonnull private final Lock readLock;
@@ -90,6 +93,42 @@ public class ConcurrentOWLOntologyImpl implements OWLMutableOntology, HasTrimToS
         }
     }
 
+    @Override
+    public void freeze() {
+        writeLock.lock();
+        try {
+            if (delegate instanceof HasFreeze) {
+                ((HasFreeze) delegate).freeze();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void beginBulkLoad() {
+        writeLock.lock();
+        try {
+            if (delegate instanceof HasBulkLoad) {
+                ((HasBulkLoad) delegate).beginBulkLoad();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void endBulkLoad() {
+        writeLock.lock();
+        try {
+            if (delegate instanceof HasBulkLoad) {
+                ((HasBulkLoad) delegate).endBulkLoad();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
     @Override
     public void accept(OWLNamedObjectVisitor owlNamedObjectVisitor) {
         delegate.accept(owlNamedObjectVisitor);
@@ -1054,6 +1093,19 @@ public class ConcurrentOWLOntologyImpl implements OWLMutableOntology, HasTrimToS
         }
     }
 
+    @Override
+    public long getAxiomModificationCount() {
+        readLock.lock();
+        try {
+            if (delegate instanceof HasAxiomModificationCount) {
+                return ((HasAxiomModificationCount) delegate).getAxiomModificationCount();
+            }
+            return delegate.getAxiomCount();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
     @Override
     public int getLogicalAxiomCount() {
         readLock.lock();
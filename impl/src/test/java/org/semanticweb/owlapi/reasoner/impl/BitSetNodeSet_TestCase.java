@@ -0,0 +1,115 @@
+package org.semanticweb.owlapi.reasoner.impl;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.reasoner.Node;
+
+import uk.ac.manchester.cs.owl.owlapi.OWLDataFactoryImpl;
+
+@SuppressWarnings("javadoc")
+public class BitSetNodeSet_TestCase {
+
+    private final OWLDataFactory df = new OWLDataFactoryImpl();
+    private final OWLClass a = df.getOWLClass(IRI.create("urn:test:", "A"));
+    private final OWLClass b = df.getOWLClass(IRI.create("urn:test:", "B"));
+    private final OWLClass c = df.getOWLClass(IRI.create("urn:test:", "C"));
+    private final OWLClass d = df.getOWLClass(IRI.create("urn:test:", "D"));
+    private final Node<OWLClass> ab = new OWLClassNode(new HashSet<>(Arrays.asList(a, b)));
+    private final Node<OWLClass> cNode = new OWLClassNode(c);
+    private final Node<OWLClass> dNode = new OWLClassNode(d);
+    private final NodeIndex<OWLClass> index = new NodeIndex<>();
+
+    @SafeVarargs
+    private final BitSetNodeSet<OWLClass> nodeSet(Node<OWLClass>... nodes) {
+        BitSet bits = new BitSet();
+        for (Node<OWLClass> n : nodes) {
+            bits.set(index.getId(n));
+        }
+        return new BitSetNodeSet<>(index, bits);
+    }
+
+    @Test
+    public void shouldEqualDefaultNodeSet() {
+        BitSetNodeSet<OWLClass> nodes = nodeSet(ab, cNode);
+        OWLClassNodeSet expected = new OWLClassNodeSet();
+        expected.addNode(ab);
+        expected.addNode(cNode);
+        assertEquals(expected, nodes);
+        assertEquals(nodes, expected);
+        assertEquals(expected.hashCode(), nodes.hashCode());
+        assertEquals(2, nodes.size());
+        assertEquals(3, nodes.entities().count());
+        assertFalse(nodes.isSingleton());
+        assertNotEquals(nodeSet(ab), nodes);
+    }
+
+    @Test
+    public void shouldFindEntities() {
+        BitSetNodeSet<OWLClass> nodes = nodeSet(ab);
+        nodeSet(cNode);
+        assertTrue(nodes.containsEntity(a));
+        assertTrue(nodes.containsEntity(b));
+        assertFalse(nodes.containsEntity(c));
+        assertFalse(nodes.containsEntity(d));
+        assertTrue(nodes.containsNode(ab));
+        assertFalse(nodes.containsNode(cNode));
+        assertTrue(nodes.isSingleton());
+    }
+
+    @Test
+    public void shouldCombineNodeSets() {
+        BitSetNodeSet<OWLClass> left = nodeSet(ab, cNode);
+        BitSetNodeSet<OWLClass> right = nodeSet(cNode, dNode);
+        assertEquals(nodeSet(cNode), left.intersection(right));
+        assertEquals(nodeSet(ab, cNode, dNode), left.union(right));
+        assertEquals(nodeSet(ab), left.difference(right));
+        // operands are not modified
+        assertEquals(2, left.size());
+        assertEquals(2, right.size());
+        OWLClassNodeSet other = new OWLClassNodeSet();
+        other.addNode(dNode);
+        other.addNode(ab);
+        assertEquals(nodeSet(ab), left.intersection(other));
+    }
+
+    @Test
+    public void shouldCombineSparseAndDenseNodeSets() {
+        List<Node<OWLClass>> many = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            many.add(new OWLClassNode(df.getOWLClass(IRI.create("urn:test:", "X" + i))));
+            index.getId(many.get(i));
+        }
+        // two nodes out of more than a hundred are stored as ids
+        BitSetNodeSet<OWLClass> sparse = nodeSet(cNode, many.get(150));
+        BitSet denseBits = new BitSet();
+        many.subList(100, 200).forEach(n -> denseBits.set(index.getId(n)));
+        BitSetNodeSet<OWLClass> dense = new BitSetNodeSet<>(index, denseBits);
+        assertEquals(2, sparse.size());
+        assertTrue(sparse.containsNode(many.get(150)));
+        assertFalse(sparse.containsNode(many.get(151)));
+        OWLClassNodeSet expected = new OWLClassNodeSet();
+        expected.addNode(cNode);
+        expected.addNode(many.get(150));
+        assertEquals(expected, sparse);
+        assertEquals(sparse, expected);
+        assertEquals(expected.hashCode(), sparse.hashCode());
+        assertEquals(nodeSet(many.get(150)), sparse.intersection(dense));
+        assertEquals(nodeSet(many.get(150)), dense.intersection(sparse));
+        assertEquals(nodeSet(many.get(150)), sparse.intersection(expected).intersection(dense));
+        assertEquals(nodeSet(cNode), sparse.difference(dense));
+        assertEquals(99, dense.difference(sparse).size());
+        assertEquals(101, dense.union(sparse).size());
+        assertEquals(sparse, dense.union(sparse).difference(dense).union(nodeSet(many.get(150))));
+        assertTrue(sparse.intersection(nodeSet(dNode)).isEmpty());
+    }
+}
@@ -0,0 +1,101 @@
+package uk.ac.manchester.cs.owl.owlapi;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.model.*;
+import org.semanticweb.owlapi.model.parameters.Navigation;
+
+@SuppressWarnings("javadoc")
+public class ConcurrentMapPointer_TestCase {
+
+    private final OWLDataFactory df = new OWLDataFactoryImpl();
+    private final OWLClass sup = df.getOWLClass(IRI.create("urn:test:", "Sup"));
+
+    private List<OWLAxiom> axioms(int n) {
+        List<OWLAxiom> list = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            OWLClass c = df.getOWLClass(IRI.create("urn:test:", "C" + i));
+            list.add(df.getOWLSubClassOfAxiom(c, sup));
+            list.add(df.getOWLClassAssertionAxiom(c, df.getOWLNamedIndividual(IRI.create("urn:test:", "i" + i % 7))));
+        }
+        return list;
+    }
+
+    @Test
+    public void shouldMatchSynchronizedIndexes() {
+        Internals synchronizedIndexes = new Internals(false);
+        Internals concurrentIndexes = new Internals(true);
+        assertTrue(concurrentIndexes.hasConcurrentIndexes());
+        List<OWLAxiom> axioms = axioms(100);
+        // add half of the axioms before the lazy indexes are initialized
+        axioms.subList(0, 100).forEach(synchronizedIndexes::addAxiom);
+        axioms.subList(0, 100).forEach(concurrentIndexes::addAxiom);
+        assertSame(synchronizedIndexes, concurrentIndexes);
+        axioms.subList(100, 200).forEach(synchronizedIndexes::addAxiom);
+        axioms.subList(100, 200).forEach(concurrentIndexes::addAxiom);
+        assertSame(synchronizedIndexes, concurrentIndexes);
+        for (int i = 0; i < 200; i += 3) {
+            synchronizedIndexes.removeAxiom(axioms.get(i));
+            concurrentIndexes.removeAxiom(axioms.get(i));
+        }
+        assertSame(synchronizedIndexes, concurrentIndexes);
+    }
+
+    private void assertSame(Internals expected, Internals actual) {
+        assertEquals(expected.getAxiomCount(), actual.getAxiomCount());
+        assertEquals(expected.getAxioms().collect(Collectors.toSet()), actual.getAxioms().collect(Collectors
+            .toSet()));
+        MapPointer<OWLClass, OWLSubClassOfAxiom> e = expected.get(OWLClass.class, OWLSubClassOfAxiom.class,
+            Navigation.IN_SUPER_POSITION).get();
+        MapPointer<OWLClass, OWLSubClassOfAxiom> a = actual.get(OWLClass.class, OWLSubClassOfAxiom.class,
+            Navigation.IN_SUPER_POSITION).get();
+        assertEquals(e.countValues(sup), a.countValues(sup));
+        assertEquals(e.getValues(sup).collect(Collectors.toSet()), a.getValues(sup).collect(Collectors.toSet()));
+        for (int i = 0; i < 7; i++) {
+            OWLNamedIndividual ind = df.getOWLNamedIndividual(IRI.create("urn:test:", "i" + i));
+            MapPointer<OWLIndividual, OWLClassAssertionAxiom> ei = expected.get(OWLIndividual.class,
+                OWLClassAssertionAxiom.class).get();
+            MapPointer<OWLIndividual, OWLClassAssertionAxiom> ai = actual.get(OWLIndividual.class,
+                OWLClassAssertionAxiom.class).get();
+            assertEquals(ei.getValues(ind).collect(Collectors.toSet()), ai.getValues(ind).collect(Collectors
+                .toSet()));
+        }
+    }
+
+    @Test
+    public void shouldReadWhileWriting() throws Exception {
+        Internals internals = new Internals(true);
+        List<OWLAxiom> axioms = axioms(2000);
+        MapPointer<OWLClass, OWLSubClassOfAxiom> bySuper = internals.get(OWLClass.class, OWLSubClassOfAxiom.class,
+            Navigation.IN_SUPER_POSITION).get();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> readers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            readers.add(executor.submit(() -> {
+                long last = 0;
+                for (int i = 0; i < 2000; i++) {
+                    long count = bySuper.getValues(sup).count();
+                    assertTrue(count >= last);
+                    last = count;
+                }
+            }));
+        }
+        axioms.forEach(internals::addAxiom);
+        for (Future<?> f : readers) {
+            f.get();
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+        assertEquals(2000, bySuper.countValues(sup));
+        assertEquals(4000, internals.getAxiomCount());
+    }
+}
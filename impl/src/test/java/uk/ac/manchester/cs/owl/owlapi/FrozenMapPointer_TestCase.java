@@ -0,0 +1,82 @@
+package uk.ac.manchester.cs.owl.owlapi;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.model.*;
+import org.semanticweb.owlapi.model.parameters.Navigation;
+
+@SuppressWarnings("javadoc")
+public class FrozenMapPointer_TestCase {
+
+    private final OWLDataFactory df = new OWLDataFactoryImpl();
+    private final OWLClass sup = df.getOWLClass(IRI.create("urn:test:", "Sup"));
+
+    private List<OWLAxiom> axioms(int n) {
+        List<OWLAxiom> list = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            OWLClass c = df.getOWLClass(IRI.create("urn:test:", "C" + i));
+            list.add(df.getOWLSubClassOfAxiom(c, sup));
+            list.add(df.getOWLSubClassOfAxiom(c, df.getOWLClass(IRI.create("urn:test:", "D" + i % 13))));
+            list.add(df.getOWLClassAssertionAxiom(c, df.getOWLNamedIndividual(IRI.create("urn:test:", "i" + i % 7))));
+        }
+        return list;
+    }
+
+    @Test
+    public void shouldMatchMutableIndexes() {
+        Internals mutable = new Internals();
+        Internals frozen = new Internals();
+        List<OWLAxiom> axioms = axioms(200);
+        axioms.forEach(mutable::addAxiom);
+        axioms.forEach(frozen::addAxiom);
+        frozen.freeze();
+        assertTrue(frozen.isFrozen());
+        // lazy indexes that were never used are not built by freezing
+        assertFalse(frozen.get(OWLClass.class, OWLSubClassOfAxiom.class, Navigation.IN_SUPER_POSITION).get()
+            .isInitialized());
+        assertEquals(mutable.getAxiomCount(), frozen.getAxiomCount());
+        assertEquals(mutable.getAxioms().collect(Collectors.toSet()), frozen.getAxioms().collect(Collectors.toSet()));
+        MapPointer<OWLClass, OWLSubClassOfAxiom> m = mutable.get(OWLClass.class, OWLSubClassOfAxiom.class,
+            Navigation.IN_SUPER_POSITION).get();
+        MapPointer<OWLClass, OWLSubClassOfAxiom> f = frozen.get(OWLClass.class, OWLSubClassOfAxiom.class,
+            Navigation.IN_SUPER_POSITION).get();
+        assertEquals(m.keySet().size(), f.keySet().size());
+        for (OWLClass c : m.keySet()) {
+            assertEquals(m.countValues(c), f.countValues(c));
+            assertEquals(m.getValues(c).collect(Collectors.toSet()), f.getValues(c).collect(Collectors.toSet()));
+            m.getValues(c).forEach(ax -> assertTrue(f.contains(c, ax)));
+            assertTrue(f.containsReference(c.getIRI()));
+        }
+        OWLClass missing = df.getOWLClass(IRI.create("urn:test:", "Missing"));
+        assertFalse(f.containsKey(missing));
+        assertEquals(0, f.countValues(missing));
+        assertFalse(f.contains(sup, df.getOWLSubClassOfAxiom(missing, sup)));
+        assertEquals(mutable.getAxiomsByType().size(), frozen.getAxiomsByType().size());
+    }
+
+    @Test
+    public void shouldFreezeLazyIndexesAlreadyInUse() {
+        Internals frozen = new Internals();
+        axioms(10).forEach(frozen::addAxiom);
+        assertTrue(frozen.get(OWLClass.class, OWLSubClassOfAxiom.class, Navigation.IN_SUPER_POSITION).get()
+            .containsKey(sup));
+        frozen.freeze();
+        MapPointer<OWLClass, OWLSubClassOfAxiom> f = frozen.get(OWLClass.class, OWLSubClassOfAxiom.class,
+            Navigation.IN_SUPER_POSITION).get();
+        assertTrue(f instanceof FrozenMapPointer);
+        assertEquals(10, f.countValues(sup));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void shouldRejectChanges() {
+        Internals frozen = new Internals();
+        axioms(10).forEach(frozen::addAxiom);
+        frozen.freeze();
+        frozen.addAxiom(df.getOWLSubClassOfAxiom(df.getOWLClass(IRI.create("urn:test:", "X")), sup));
+    }
+}
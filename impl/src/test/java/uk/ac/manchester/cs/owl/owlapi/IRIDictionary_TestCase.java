@@ -0,0 +1,90 @@
+package uk.ac.manchester.cs.owl.owlapi;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+
+@SuppressWarnings("javadoc")
+public class IRIDictionary_TestCase {
+
+    @Test
+    public void shouldAssignDenseIdsAndRebuildIRIs() {
+        IRIDictionary dictionary = new IRIDictionary();
+        for (int i = 0; i < 5000; i++) {
+            IRI iri = IRI.create("urn:test" + i % 3 + "#", "é" + i);
+            assertEquals(i, dictionary.getId(iri));
+        }
+        assertEquals(5000, dictionary.size());
+        for (int i = 0; i < 5000; i++) {
+            IRI iri = IRI.create("urn:test" + i % 3 + "#", "é" + i);
+            assertEquals(i, dictionary.getId(iri));
+            assertEquals(iri, dictionary.getIRI(i));
+            assertEquals(iri.hashCode(), dictionary.hashCode(i));
+        }
+        assertEquals(5000, dictionary.size());
+    }
+
+    @Test
+    public void shouldBeInterchangeableWithPlainEntities() {
+        OWLDataFactory plain = new OWLDataFactoryImpl();
+        OWLDataFactory encoded = new OWLDataFactoryImpl(false, true);
+        IRI iri = IRI.create("urn:test#", "A");
+        OWLClass c = encoded.getOWLClass(iri);
+        assertSame(c, encoded.getOWLClass(IRI.create("urn:test#", "A")));
+        assertEquals(plain.getOWLClass(iri), c);
+        assertEquals(c, plain.getOWLClass(iri));
+        assertEquals(plain.getOWLClass(iri).hashCode(), c.hashCode());
+        assertEquals(iri, c.getIRI());
+        assertTrue(encoded.getOWLClass(plain.getOWLThing().getIRI()).isOWLThing());
+        OWLNamedIndividual i = encoded.getOWLNamedIndividual(iri);
+        assertEquals(plain.getOWLNamedIndividual(iri), i);
+        assertEquals(plain.getOWLNamedIndividual(iri).hashCode(), i.hashCode());
+        assertNotEquals(c, i);
+        assertNotEquals(c, encoded.getOWLClass(IRI.create("urn:test#", "B")));
+        OWLClass b = encoded.getOWLClass(IRI.create("urn:test#", "B"));
+        assertEquals(0, c.compareTo(plain.getOWLClass(iri)));
+        assertEquals(0, c.compareTo(encoded.getOWLClass(iri)));
+        assertEquals(Integer.signum(plain.getOWLClass(iri).compareTo(plain.getOWLClass(b.getIRI()))), Integer
+            .signum(c.compareTo(b)));
+        assertEquals(-c.compareTo(b), b.compareTo(c));
+        assertTrue(i.compareTo(plain.getOWLNamedIndividual(IRI.create("urn:test#", "B"))) < 0);
+    }
+
+    @Test
+    public void shouldFindEntitiesFromConcurrentThreads() throws Exception {
+        OWLDataFactory encoded = new OWLDataFactoryImpl(false, true);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<List<OWLClass>>> results = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                results.add(executor.submit(() -> {
+                    List<OWLClass> classes = new ArrayList<>();
+                    for (int k = 0; k < 20000; k++) {
+                        classes.add(encoded.getOWLClass(IRI.create("urn:test" + k % 7 + "#", "C" + k)));
+                    }
+                    return classes;
+                }));
+            }
+            List<OWLClass> first = results.get(0).get();
+            for (Future<List<OWLClass>> f : results) {
+                List<OWLClass> classes = f.get();
+                for (int k = 0; k < classes.size(); k++) {
+                    assertSame(first.get(k), classes.get(k));
+                    assertEquals(IRI.create("urn:test" + k % 7 + "#", "C" + k), classes.get(k).getIRI());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
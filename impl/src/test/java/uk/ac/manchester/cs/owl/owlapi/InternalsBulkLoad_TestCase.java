@@ -0,0 +1,179 @@
+package uk.ac.manchester.cs.owl.owlapi;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.formats.FunctionalSyntaxDocumentFormat;
+import org.semanticweb.owlapi.formats.FunctionalSyntaxDocumentFormatFactory;
+import org.semanticweb.owlapi.io.OWLOntologyDocumentSource;
+import org.semanticweb.owlapi.io.OWLParser;
+import org.semanticweb.owlapi.io.OWLParserFactoryImpl;
+import org.semanticweb.owlapi.io.StringDocumentSource;
+import org.semanticweb.owlapi.model.*;
+import org.semanticweb.owlapi.model.parameters.Navigation;
+
+import uk.ac.manchester.cs.owl.owlapi.concurrent.NoOpReadWriteLock;
+
+@SuppressWarnings("javadoc")
+public class InternalsBulkLoad_TestCase {
+
+    private final OWLDataFactory df = new OWLDataFactoryImpl();
+    private final OWLClass sup = df.getOWLClass(IRI.create("urn:test:", "Sup"));
+    private final OWLObjectProperty p = df.getOWLObjectProperty(IRI.create("urn:test:", "p"));
+
+    private List<OWLAxiom> axioms(int n) {
+        List<OWLAxiom> list = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            OWLClass c = df.getOWLClass(IRI.create("urn:test:", "C" + i));
+            OWLNamedIndividual ind = df.getOWLNamedIndividual(IRI.create("urn:test:", "i" + i % 7));
+            list.add(df.getOWLDeclarationAxiom(c));
+            list.add(df.getOWLSubClassOfAxiom(c, sup));
+            list.add(df.getOWLSubClassOfAxiom(df.getOWLObjectSomeValuesFrom(p, c), sup));
+            list.add(df.getOWLClassAssertionAxiom(c, ind));
+            list.add(df.getOWLObjectPropertyAssertionAxiom(p, ind, df.getOWLAnonymousIndividual()));
+        }
+        return list;
+    }
+
+    @Test
+    public void shouldMatchIncrementalIndexes() {
+        Internals incremental = new Internals();
+        Internals bulk = new Internals();
+        List<OWLAxiom> axioms = axioms(3000);
+        axioms.forEach(incremental::addAxiom);
+        bulk.beginBulkLoad();
+        assertTrue(bulk.isBulkLoading());
+        axioms.forEach(ax -> assertTrue(bulk.addAxiom(ax)));
+        assertEquals(incremental.getAxiomCount(), bulk.getAxiomCount());
+        bulk.endBulkLoad();
+        assertFalse(bulk.isBulkLoading());
+        assertSame(incremental, bulk);
+    }
+
+    @Test
+    public void shouldAnswerQueriesDuringBulkLoad() {
+        Internals incremental = new Internals();
+        Internals bulk = new Internals();
+        List<OWLAxiom> axioms = axioms(100);
+        bulk.beginBulkLoad();
+        for (int i = 0; i < axioms.size(); i++) {
+            incremental.addAxiom(axioms.get(i));
+            bulk.addAxiom(axioms.get(i));
+            if (i % 50 == 0) {
+                assertSame(incremental, bulk);
+            }
+        }
+        for (int i = 0; i < axioms.size(); i += 3) {
+            incremental.removeAxiom(axioms.get(i));
+            bulk.removeAxiom(axioms.get(i));
+        }
+        assertSame(incremental, bulk);
+        bulk.endBulkLoad();
+        assertSame(incremental, bulk);
+    }
+
+    @Test
+    public void shouldIndexAxiomsAddedConcurrentlyWithQueries() throws Exception {
+        Internals incremental = new Internals();
+        Internals bulk = new Internals();
+        List<OWLAxiom> axioms = axioms(2000);
+        axioms.forEach(incremental::addAxiom);
+        bulk.beginBulkLoad();
+        int threads = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> adders = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                List<OWLAxiom> part = axioms.subList(t * axioms.size() / threads, (t + 1) * axioms.size() / threads);
+                adders.add(executor.submit(() -> part.forEach(bulk::addAxiom)));
+            }
+            // queries drain the queue while axioms are being added
+            while (adders.stream().anyMatch(f -> !f.isDone())) {
+                bulk.getReferencingAxioms(sup).count();
+            }
+            for (Future<?> f : adders) {
+                f.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        bulk.endBulkLoad();
+        assertSame(incremental, bulk);
+    }
+
+    @Test
+    public void shouldBulkLoadParsedOntologiesByDefault() throws Exception {
+        OWLOntologyManager manager = new OWLOntologyManagerImpl(df, new NoOpReadWriteLock());
+        manager.getOntologyFactories().add(new OWLOntologyFactoryImpl((m, id) -> new OWLOntologyImpl(m, id)));
+        List<OWLAxiom> axioms = axioms(100);
+        List<Boolean> bulkLoading = new ArrayList<>();
+        manager.getOntologyParsers().add(new OWLParserFactoryImpl(new FunctionalSyntaxDocumentFormatFactory()) {
+
+            @Override
+            public OWLParser createParser() {
+                return new OWLParser() {
+
+                    @Override
+                    public OWLDocumentFormat parse(OWLOntologyDocumentSource documentSource, OWLOntology ontology,
+                        OWLOntologyLoaderConfiguration configuration) {
+                        ontology.add(axioms);
+                        bulkLoading.add(Boolean.valueOf(((OWLOntologyImpl) ontology).ints.isBulkLoading()));
+                        return new FunctionalSyntaxDocumentFormat();
+                    }
+
+                    @Override
+                    public OWLDocumentFormatFactory getSupportedFormat() {
+                        return new FunctionalSyntaxDocumentFormatFactory();
+                    }
+                };
+            }
+        });
+        OWLOntology o = manager.loadOntologyFromOntologyDocument(new StringDocumentSource("Ontology()"));
+        assertEquals(Arrays.asList(Boolean.TRUE), bulkLoading);
+        assertFalse(((OWLOntologyImpl) o).ints.isBulkLoading());
+        Internals incremental = new Internals();
+        axioms.forEach(incremental::addAxiom);
+        assertSame(incremental, ((OWLOntologyImpl) o).ints);
+    }
+
+    private void assertSame(Internals expected, Internals actual) {
+        assertEquals(expected.getAxiomCount(), actual.getAxiomCount());
+        assertEquals(expected.getAxioms().collect(Collectors.toSet()), actual.getAxioms().collect(Collectors
+            .toSet()));
+        assertEquals(expected.getGeneralClassAxioms().collect(Collectors.toSet()), actual.getGeneralClassAxioms()
+            .collect(Collectors.toSet()));
+        assertEquals(expected.getReferencingAxioms(sup).collect(Collectors.toSet()), actual.getReferencingAxioms(
+            sup).collect(Collectors.toSet()));
+        assertEquals(expected.getReferencingAxioms(p).collect(Collectors.toSet()), actual.getReferencingAxioms(p)
+            .collect(Collectors.toSet()));
+        assertEquals(expected.get(OWLAnonymousIndividual.class, OWLAxiom.class).get().keySet().size(), actual.get(
+            OWLAnonymousIndividual.class, OWLAxiom.class).get().keySet().size());
+        MapPointer<OWLClass, OWLSubClassOfAxiom> e = expected.get(OWLClass.class, OWLSubClassOfAxiom.class,
+            Navigation.IN_SUPER_POSITION).get();
+        MapPointer<OWLClass, OWLSubClassOfAxiom> a = actual.get(OWLClass.class, OWLSubClassOfAxiom.class,
+            Navigation.IN_SUPER_POSITION).get();
+        assertEquals(e.getValues(sup).collect(Collectors.toSet()), a.getValues(sup).collect(Collectors.toSet()));
+        for (int i = 0; i < 100; i++) {
+            OWLClass c = df.getOWLClass(IRI.create("urn:test:", "C" + i));
+            assertEquals(expected.isDeclared(c), actual.isDeclared(c));
+            assertEquals(expected.containsClassInSignature(c.getIRI()), actual.containsClassInSignature(c
+                .getIRI()));
+            assertEquals(expected.getReferencingAxioms(c).collect(Collectors.toSet()), actual.getReferencingAxioms(
+                c).collect(Collectors.toSet()));
+        }
+        for (int i = 0; i < 7; i++) {
+            OWLNamedIndividual ind = df.getOWLNamedIndividual(IRI.create("urn:test:", "i" + i));
+            assertEquals(expected.get(OWLIndividual.class, OWLClassAssertionAxiom.class).get().getValues(ind)
+                .collect(Collectors.toSet()), actual.get(OWLIndividual.class, OWLClassAssertionAxiom.class).get()
+                    .getValues(ind).collect(Collectors.toSet()));
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package uk.ac.manchester.cs.owl.owlapi;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLLiteral;
+import org.semanticweb.owlapi.vocab.OWL2Datatype;
+
+@SuppressWarnings("javadoc")
+public class OWLDataFactoryInternalsImpl_TestCase {
+
+    private final OWLDataFactory interning = new OWLDataFactoryImpl(false, false, true);
+    private final OWLDataFactory plain = new OWLDataFactoryImpl(false, false, false);
+
+    @Test
+    public void shouldShareEqualLiterals() {
+        assertSame(interning.getOWLLiteral(5), interning.getOWLLiteral(5));
+        assertSame(interning.getOWLLiteral(-128), interning.getOWLLiteral("-128", OWL2Datatype.XSD_INTEGER));
+        assertSame(interning.getOWLLiteral(100000), interning.getOWLLiteral(100000));
+        assertSame(interning.getOWLLiteral(1.5D), interning.getOWLLiteral(1.5D));
+        assertSame(interning.getOWLLiteral(1.5F), interning.getOWLLiteral("1.5", OWL2Datatype.XSD_FLOAT));
+        assertSame(interning.getOWLLiteral("label"), interning.getOWLLiteral("label", ""));
+        assertSame(interning.getOWLLiteral("label", "en"), interning.getOWLLiteral("label", "EN"));
+        assertSame(interning.getOWLLiteral("2017-01-01", OWL2Datatype.XSD_DATE_TIME), interning.getOWLLiteral(
+            "2017-01-01", OWL2Datatype.XSD_DATE_TIME));
+        assertNotSame(plain.getOWLLiteral(100000), plain.getOWLLiteral(100000));
+    }
+
+    @Test
+    public void shouldPreserveEquality() {
+        OWLLiteral[] interned = { interning.getOWLLiteral(5), interning.getOWLLiteral(100000), interning.getOWLLiteral(
+            1.5D), interning.getOWLLiteral(1.5F), interning.getOWLLiteral(-0.0F), interning.getOWLLiteral("label"),
+            interning.getOWLLiteral("label", "en"), interning.getOWLLiteral("007", OWL2Datatype.XSD_INTEGER),
+            interning.getOWLLiteral("-0.0", OWL2Datatype.XSD_FLOAT), interning.getOWLLiteral(true) };
+        OWLLiteral[] created = { plain.getOWLLiteral(5), plain.getOWLLiteral(100000), plain.getOWLLiteral(1.5D), plain
+            .getOWLLiteral(1.5F), plain.getOWLLiteral(-0.0F), plain.getOWLLiteral("label"), plain.getOWLLiteral(
+                "label", "en"), plain.getOWLLiteral("007", OWL2Datatype.XSD_INTEGER), plain.getOWLLiteral("-0.0",
+                    OWL2Datatype.XSD_FLOAT), plain.getOWLLiteral(true) };
+        for (int i = 0; i < interned.length; i++) {
+            assertEquals(created[i], interned[i]);
+            assertEquals(created[i].hashCode(), interned[i].hashCode());
+        }
+        assertNotEquals(interning.getOWLLiteral(0.0F), interning.getOWLLiteral(-0.0F));
+        interning.purge();
+        assertEquals(plain.getOWLLiteral(100000), interning.getOWLLiteral(100000));
+    }
+
+    @Test
+    public void shouldShareMoreLiteralsThanEntityCacheSize() {
+        OWLLiteral[] first = new OWLLiteral[10000];
+        for (int i = 0; i < first.length; i++) {
+            first[i] = interning.getOWLLiteral("value " + i);
+        }
+        for (int i = 0; i < first.length; i++) {
+            assertSame(first[i], interning.getOWLLiteral("value " + i));
+        }
+    }
+
+    @Test
+    public void shouldNotShareLiteralsWithEmptyCache() {
+        OWLDataFactory disabled = new OWLDataFactoryImpl(false, false, 0);
+        assertNotSame(disabled.getOWLLiteral("label"), disabled.getOWLLiteral("label"));
+        assertEquals(disabled.getOWLLiteral("label"), disabled.getOWLLiteral("label"));
+        // small integers are always shared
+        assertSame(disabled.getOWLLiteral(5), disabled.getOWLLiteral(5));
+    }
+}
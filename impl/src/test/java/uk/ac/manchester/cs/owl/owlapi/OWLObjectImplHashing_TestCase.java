@@ -0,0 +1,77 @@
+package uk.ac.manchester.cs.owl.owlapi;
+
+import static org.junit.Assert.*;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.model.*;
+
+@SuppressWarnings("javadoc")
+public class OWLObjectImplHashing_TestCase {
+
+    private final OWLDataFactory df = new OWLDataFactoryImpl();
+
+    private List<OWLObject> objects() {
+        List<OWLObject> list = new ArrayList<>();
+        OWLAnnotation label = df.getOWLAnnotation(df.getRDFSLabel(), df.getOWLLiteral("label"));
+        OWLAnnotation comment = df.getOWLAnnotation(df.getRDFSComment(), df.getOWLLiteral("comment"),
+            Collections.singleton(label));
+        List<OWLAnnotation> anns = Arrays.asList(label, comment);
+        for (int i = 0; i < 3; i++) {
+            OWLClass a = df.getOWLClass(IRI.create("urn:test#", "A" + i));
+            OWLClass b = df.getOWLClass(IRI.create("urn:test#", "B" + i));
+            OWLObjectProperty p = df.getOWLObjectProperty(IRI.create("urn:test#", "p" + i));
+            OWLDataProperty d = df.getOWLDataProperty(IRI.create("urn:test#", "d" + i));
+            OWLNamedIndividual x = df.getOWLNamedIndividual(IRI.create("urn:test#", "x" + i));
+            OWLAnnotationProperty ap = df.getOWLAnnotationProperty(IRI.create("urn:test#", "ap" + i));
+            OWLDatatype dt = df.getOWLDatatype(IRI.create("urn:test#", "dt" + i));
+            OWLClassExpression some = df.getOWLObjectSomeValuesFrom(p, b);
+            list.addAll(Arrays.asList(a, p, d, x, ap, dt, some, label, comment));
+            list.add(df.getOWLObjectAllValuesFrom(p, a));
+            list.add(df.getOWLDataSomeValuesFrom(d, dt));
+            list.add(df.getOWLSubClassOfAxiom(a, b));
+            list.add(df.getOWLSubClassOfAxiom(a, some, anns));
+            list.add(df.getOWLClassAssertionAxiom(a, x));
+            list.add(df.getOWLDeclarationAxiom(a));
+            list.add(df.getOWLDeclarationAxiom(x, anns));
+            list.add(df.getOWLAnnotationAssertionAxiom(ap, a.getIRI(), df.getOWLLiteral(i)));
+            list.add(df.getOWLObjectPropertyAssertionAxiom(p, x, x));
+            list.add(df.getOWLDataPropertyAssertionAxiom(d, x, i));
+            list.add(df.getOWLEquivalentClassesAxiom(a, b, some));
+            list.add(df.getOWLDisjointClassesAxiom(Arrays.asList(a, b), anns));
+        }
+        return list;
+    }
+
+    @Test
+    public void shouldHashAsComponents() {
+        for (OWLObject o : objects()) {
+            assertEquals(o.toString(), OWLObjectImpl.hash(o.hashIndex(), o.components()), o.hashCode());
+        }
+    }
+
+    @Test
+    public void shouldCompareAsComponents() {
+        List<OWLObject> objects = objects();
+        List<OWLObject> copies = objects();
+        for (int i = 0; i < objects.size(); i++) {
+            OWLObject o = objects.get(i);
+            assertEquals(o, copies.get(i));
+            assertEquals(0, o.compareTo(copies.get(i)));
+            for (OWLObject other : objects) {
+                boolean expected = o.typeIndex() == other.typeIndex() && equalStreams(o.components(), other
+                    .components());
+                assertEquals(o + " " + other, Boolean.valueOf(expected), Boolean.valueOf(o.equals(other)));
+                if (o.typeIndex() == other.typeIndex()) {
+                    int expectedDiff = compareIterators(o.components().iterator(), other.components().iterator());
+                    assertEquals(o + " " + other, Integer.signum(expectedDiff), Integer.signum(o.compareTo(other)));
+                }
+            }
+        }
+    }
+}
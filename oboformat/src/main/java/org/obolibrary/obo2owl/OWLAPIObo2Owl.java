@@ -8,6 +8,12 @@ import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.net.URL;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.annotation.Nonnull;
@@ -66,6 +72,8 @@ public class OWLAPIObo2Owl {
     @Nonnull protected final Map<String, OWLClass> clsToDeclare;
     /** The typedef to annotation property. */
     @Nonnull protected final Map<String, OWLAnnotationProperty> typedefToAnnotationProperty;
+    /** Term frames translated by each task in a parallel conversion. */
+    private static final int FRAMES_PER_TASK = 512;
     private static final Set<String> SKIPPED_QUALIFIERS = Sets.newHashSet("gci_relation", "gci_filler", "cardinality",
         "minCardinality", "maxCardinality", "all_some", "all_only");
     /**
@@ -82,6 +90,12 @@ public class OWLAPIObo2Owl {
                 return loadOboToIRI(key);
             }
         });
+    /**
+     * Axioms of the term frames being translated by the current thread, or
+     * null if axioms go straight to the ontology.
+     */
+    private final ThreadLocal<List<OWLAxiom>> frameAxioms = new ThreadLocal<>();
+    private int threads = 1;
 
     /**
      * Instantiates a new oWLAPI obo2 owl.
@@ -91,7 +105,7 @@ public class OWLAPIObo2Owl {
      */
     public OWLAPIObo2Owl(OWLOntologyManager manager) {
         idSpaceMap = new HashMap<>();
-        apToDeclare = new HashSet<>();
+        apToDeclare = ConcurrentHashMap.newKeySet();
         clsToDeclare = new HashMap<>();
         typedefToAnnotationProperty = new HashMap<>();
         init(manager);
@@ -210,6 +224,27 @@ public class OWLAPIObo2Owl {
         this.manager = manager;
     }
 
+    /**
+     * @return number of threads used to translate term frames
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Sets the number of threads used to translate term frames. With more than
+     * one thread, typedef frames are translated first, then term frames are
+     * translated on a thread pool and their axioms are added to the
+     * ontology in frame order; the resulting ontology is the same as for a
+     * sequential conversion.
+     * 
+     * @param threads
+     *        number of threads; values below 2 mean sequential conversion
+     */
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
     /**
      * Gets the obodoc.
      * 
@@ -349,7 +384,7 @@ public class OWLAPIObo2Owl {
         trHeaderFrame(hf);
         obodoc.getTypedefFrames().forEach(this::trTypedefToAnnotationProperty);
         obodoc.getTypedefFrames().forEach(this::trTypedefFrame);
-        obodoc.getTermFrames().forEach(this::trTermFrame);
+        trTermFrames(obodoc.getTermFrames());
         // TODO - individuals
         for (Clause cl : hf.getClauses(OboFormatTag.TAG_IMPORT)) {
             String path = getURI(cl.getValue().toString());
@@ -575,6 +610,65 @@ public class OWLAPIObo2Owl {
         return cls;
     }
 
+    /**
+     * Translate term frames, in parallel if more than one thread is set.
+     * Translating a term frame only reads the OBO document and the state built
+     * from the header and typedef frames, so frames can be translated
+     * independently; the axioms of each task are collected and added to the
+     * ontology in frame order.
+     * 
+     * @param termFrames
+     *        the term frames
+     */
+    protected void trTermFrames(Collection<Frame> termFrames) {
+        if (threads < 2 || termFrames.size() <= FRAMES_PER_TASK) {
+            termFrames.forEach(this::trTermFrame);
+            return;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<List<OWLAxiom>>> tasks = new ArrayList<>();
+            List<Frame> chunk = new ArrayList<>(FRAMES_PER_TASK);
+            for (Frame f : termFrames) {
+                chunk.add(f);
+                if (chunk.size() == FRAMES_PER_TASK) {
+                    tasks.add(executor.submit(translateTermFrames(chunk)));
+                    chunk = new ArrayList<>(FRAMES_PER_TASK);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                tasks.add(executor.submit(translateTermFrames(chunk)));
+            }
+            for (Future<List<OWLAxiom>> task : tasks) {
+                getOwlOntology().addAxioms(task.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OWLRuntimeException(e);
+        } catch (ExecutionException e) {
+            // same exceptions as a sequential translation
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new OWLRuntimeException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Callable<List<OWLAxiom>> translateTermFrames(List<Frame> frames) {
+        return () -> {
+            List<OWLAxiom> axioms = new ArrayList<>();
+            frameAxioms.set(axioms);
+            try {
+                frames.forEach(this::trTermFrame);
+            } finally {
+                frameAxioms.remove();
+            }
+            return axioms;
+        };
+    }
+
     /**
      * Generate axioms for the alternate identifiers of an {@link OWLClass} or
      * {@link OWLObjectProperty}.
@@ -852,6 +946,11 @@ public class OWLAPIObo2Owl {
             LOG.error("no axiom");
             return;
         }
+        List<OWLAxiom> collected = frameAxioms.get();
+        if (collected != null) {
+            collected.addAll(axioms);
+            return;
+        }
         getOwlOntology().add(axioms);
     }
 
@@ -1393,8 +1492,8 @@ public class OWLAPIObo2Owl {
     protected OWLAnnotationProperty trTagToAnnotationProp(String tag) {
         IRI iri = trTagToIRI(tag);
         OWLAnnotationProperty ap = fac.getOWLAnnotationProperty(iri);
-        if (!apToDeclare.contains(ap)) {
-            apToDeclare.add(ap);
+        // the set is concurrent: only one term frame declares the property
+        if (apToDeclare.add(ap)) {
             add(fac.getOWLDeclarationAxiom(ap));
             Obo2OWLVocabulary vocab = Obo2OWLConstants.getVocabularyObj(tag);
             if (vocab != null) {
@@ -9,6 +9,7 @@ import java.net.URLDecoder;
 import java.text.ParseException;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
@@ -20,6 +21,7 @@ import org.obolibrary.obo2owl.Obo2OWLConstants.Obo2OWLVocabulary;
 import org.obolibrary.oboformat.model.Clause;
 import org.obolibrary.oboformat.model.Frame;
 import org.obolibrary.oboformat.model.Frame.FrameType;
+import org.obolibrary.oboformat.model.FrameMergeException;
 import org.obolibrary.oboformat.model.OBODoc;
 import org.obolibrary.oboformat.model.QualifierValue;
 import org.obolibrary.oboformat.model.Xref;
@@ -31,6 +33,8 @@ import org.semanticweb.owlapi.vocab.OWL2Datatype;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.collect.Iterators;
+import com.google.common.collect.PeekingIterator;
 import com.google.common.collect.Sets;
 
 /**
@@ -98,6 +102,7 @@ public class OWLAPIOwl2Obo {
     /** Mute untranslatable axiom warnings. */
     private boolean muteUntranslatableAxioms = false;
     private final OWLDataFactory df;
+    private int threads = 1;
 
     /**
      * Instantiates a new oWLAPI owl2 obo.
@@ -210,6 +215,27 @@ public class OWLAPIOwl2Obo {
         this.obodoc = obodoc;
     }
 
+    /**
+     * @return the number of threads used to translate term frames
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Sets the number of threads used to translate term frames. With more than
+     * one thread, the axioms that do not belong to a single term frame are
+     * translated first, then the axioms of each term frame are translated on a
+     * thread pool and the frames are merged into the document; the resulting
+     * document is the same as for a sequential translation.
+     * 
+     * @param threads
+     *        number of threads
+     */
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
     /**
      * Convert.
      * 
@@ -224,6 +250,81 @@ public class OWLAPIOwl2Obo {
         return tr();
     }
 
+    /**
+     * Converts the ontology without building the complete document: term frames
+     * are handed to the consumer in id order as soon as they are translated,
+     * and are not kept. The ontology is translated twice; the first pass
+     * collects the untranslatable axioms, which end up in the header, and the
+     * names of the term frames. The header consumer receives a document with
+     * the header frame, the typedef frames and a term frame with only the id
+     * and name of each named term, enough to look up names while writing.
+     * 
+     * @param ont
+     *        the ont
+     * @param header
+     *        consumer for the header document, called before any term frame
+     * @param termFrames
+     *        consumer for the term frames, called in id order
+     */
+    public void convert(OWLOntology ont, Consumer<OBODoc> header, Consumer<Frame> termFrames) {
+        owlOntology = ont;
+        ontologyId = getOntologyId(ont);
+        init();
+        setObodoc(new OBODoc());
+        preProcess();
+        tr(getOWLOntology());
+        TermFrameTranslator translator = translateSharedAxioms();
+        // term frames created by the shared axioms, completed by the term
+        // frame axioms in the second pass
+        SortedMap<String, Frame> pending = new TreeMap<>();
+        getObodoc().getTermFrames().forEach(f -> pending.put(f.getId(), f));
+        Map<String, String> names = new HashMap<>();
+        // frames such as those of obsolete terms can be created by shared
+        // axioms only, and have no term frame axioms
+        pending.values().forEach(f -> addName(names, f));
+        translator.translate(false, f -> addName(names, f), untranslatableAxioms::addAll);
+        addUntranslatableAxioms();
+        OBODoc headerDoc = new OBODoc();
+        headerDoc.setHeaderFrame(getObodoc().getHeaderFrame());
+        try {
+            for (Frame f : getObodoc().getTypedefFrames()) {
+                headerDoc.addTypedefFrame(f);
+            }
+            for (Map.Entry<String, String> e : names.entrySet()) {
+                Frame f = new Frame(FrameType.TERM);
+                f.setId(e.getKey());
+                f.addClause(new Clause(OboFormatTag.TAG_ID, e.getKey()));
+                f.addClause(new Clause(OboFormatTag.TAG_NAME, e.getValue()));
+                headerDoc.addTermFrame(f);
+            }
+        } catch (FrameMergeException e) {
+            // frame ids are unique, nothing to merge
+            throw new OWLRuntimeException(e);
+        }
+        header.accept(headerDoc);
+        PeekingIterator<Frame> shared = Iterators.peekingIterator(pending.values().iterator());
+        translator.translate(true, f -> {
+            while (shared.hasNext() && shared.peek().getId().compareTo(f.getId()) < 0) {
+                termFrames.accept(shared.next());
+            }
+            if (shared.hasNext() && shared.peek().getId().equals(f.getId())) {
+                Frame existing = shared.next();
+                merge(existing, f);
+                termFrames.accept(existing);
+            } else {
+                termFrames.accept(f);
+            }
+        }, axioms -> {});
+        shared.forEachRemaining(termFrames);
+    }
+
+    private static void addName(Map<String, String> names, Frame f) {
+        Clause name = f.getClause(OboFormatTag.TAG_NAME);
+        if (name != null) {
+            names.put(f.getId(), name.getValue(String.class));
+        }
+    }
+
     protected OWLOntology getOWLOntology() {
         return verifyNotNull(owlOntology);
     }
@@ -246,8 +347,17 @@ public class OWLAPIOwl2Obo {
         setObodoc(new OBODoc());
         preProcess();
         tr(getOWLOntology());
-        OWLAxiomVisitor visitor = new Translator();
-        getOWLOntology().axioms().forEach(ax -> ax.accept(visitor));
+        if (threads < 2) {
+            OWLAxiomVisitor visitor = new Translator();
+            getOWLOntology().axioms().forEach(ax -> ax.accept(visitor));
+        } else {
+            translateSharedAxioms().translate(false, this::mergeTermFrame, untranslatableAxioms::addAll);
+        }
+        addUntranslatableAxioms();
+        return getObodoc();
+    }
+
+    private void addUntranslatableAxioms() {
         if (!untranslatableAxioms.isEmpty() && !discardUntranslatable) {
             String axiomString = OwlStringTools.translate(untranslatableAxioms, manager);
             if (!axiomString.isEmpty()) {
@@ -259,7 +369,127 @@ public class OWLAPIOwl2Obo {
                 headerFrame.addClause(new Clause(OboFormatTag.TAG_OWL_AXIOMS, axiomString));
             }
         }
-        return getObodoc();
+    }
+
+    /**
+     * Translates the axioms that do not belong to a single term frame, in
+     * ontology order, and groups the others by the id of their term frame.
+     * 
+     * @return translator for the term frame axioms
+     */
+    private TermFrameTranslator translateSharedAxioms() {
+        // deprecated classes can be alt_ids of another term frame
+        Set<IRI> deprecated = asSet(getOWLOntology().axioms(AxiomType.ANNOTATION_ASSERTION).filter(ax -> ax
+            .getProperty().isDeprecated()).map(ax -> ax.getSubject().asIRI()).filter(Optional::isPresent).map(
+                Optional::get));
+        SortedMap<String, List<OWLAxiom>> axiomsById = new TreeMap<>();
+        OWLAxiomVisitor visitor = new Translator();
+        getOWLOntology().axioms().forEach(ax -> {
+            String id = termFrameId(ax, deprecated);
+            if (id == null) {
+                ax.accept(visitor);
+            } else {
+                axiomsById.computeIfAbsent(id, k -> new ArrayList<>()).add(ax);
+            }
+        });
+        return new TermFrameTranslator(this, axiomsById, threads);
+    }
+
+    /**
+     * @param ax
+     *        axiom
+     * @param deprecated
+     *        deprecated entities
+     * @return the id of the only frame the axiom is translated into, if that is
+     *         a term frame, null otherwise
+     */
+    @Nullable
+    private static String termFrameId(OWLAxiom ax, Set<IRI> deprecated) {
+        OWLClassExpression owner = null;
+        if (ax instanceof OWLDeclarationAxiom) {
+            OWLEntity entity = ((OWLDeclarationAxiom) ax).getEntity();
+            if (entity.isOWLClass() && !deprecated.contains(entity.getIRI())) {
+                owner = entity.asOWLClass();
+            }
+        } else if (ax instanceof OWLSubClassOfAxiom) {
+            owner = ((OWLSubClassOfAxiom) ax).getSubClass();
+        } else if (ax instanceof OWLEquivalentClassesAxiom) {
+            List<OWLClassExpression> list = asList(((OWLEquivalentClassesAxiom) ax).classExpressions());
+            if (list.size() == 2) {
+                owner = list.get(0).isOWLClass() ? list.get(0) : list.get(1);
+            }
+        } else if (ax instanceof OWLDisjointClassesAxiom) {
+            owner = ((OWLDisjointClassesAxiom) ax).classExpressions().findFirst().orElse(null);
+        }
+        if (owner == null || !owner.isOWLClass()) {
+            return null;
+        }
+        return getIdentifier(owner.asOWLClass().getIRI());
+    }
+
+    /**
+     * Creates the translator used for the term frames of a parallel or
+     * streaming conversion. Subclasses that change the translation of term
+     * frames should return an instance of their own class.
+     * 
+     * @return new translator
+     */
+    protected OWLAPIOwl2Obo createTranslator() {
+        return new OWLAPIOwl2Obo(manager);
+    }
+
+    /**
+     * @return a translator with the settings and ontology of this one and an
+     *         empty document
+     */
+    OWLAPIOwl2Obo createWorker() {
+        OWLAPIOwl2Obo worker = createTranslator();
+        worker.owlOntology = owlOntology;
+        worker.ontologyId = ontologyId;
+        worker.idSpaceMap = idSpaceMap;
+        worker.strictConversion = strictConversion;
+        worker.discardUntranslatable = discardUntranslatable;
+        worker.muteUntranslatableAxioms = muteUntranslatableAxioms;
+        worker.setObodoc(new OBODoc());
+        return worker;
+    }
+
+    /**
+     * @param axioms
+     *        axioms to translate, in ontology order
+     */
+    void translate(Collection<OWLAxiom> axioms) {
+        OWLAxiomVisitor visitor = new Translator();
+        axioms.forEach(ax -> ax.accept(visitor));
+    }
+
+    private void mergeTermFrame(Frame f) {
+        Frame existing = getObodoc().getTermFrame(checkNotNull(f.getId()));
+        if (existing == null) {
+            add(f);
+        } else {
+            merge(existing, f);
+        }
+    }
+
+    /**
+     * Adds the clauses of a term frame to the frame for the same id created by
+     * the shared axioms; clauses already present, such as the id, are not
+     * repeated.
+     */
+    private static void merge(Frame target, Frame f) {
+        // as in addAltId, an alt_id added for a deprecated class is dropped if
+        // the term frame has the same alt_id
+        Collection<Object> altIds = f.getTagValues(OboFormatTag.TAG_ALT_ID);
+        List<Clause> clauses = new ArrayList<>();
+        for (Clause c : target.getClauses()) {
+            if (!OboFormatTag.TAG_ALT_ID.getTag().equals(c.getTag()) || !altIds.contains(c.getValue())) {
+                clauses.add(c);
+            }
+        }
+        List<Clause> existing = new ArrayList<>(clauses);
+        f.getClauses().stream().filter(c -> !existing.contains(c)).forEach(clauses::add);
+        target.setClauses(clauses);
     }
 
     /**
@@ -0,0 +1,117 @@
+package org.obolibrary.obo2owl;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import org.obolibrary.oboformat.model.Frame;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLRuntimeException;
+
+/**
+ * Translates the axioms of term frames on a thread pool. The axioms are
+ * grouped by term frame id; each task translates the axioms of a run of
+ * consecutive ids with its own translator, so that translators are never
+ * shared between threads, and the frames are handed back in id order on the
+ * calling thread. At most two tasks per thread are pending at any time.
+ *
+ * @author ignazio
+ * @since 5.0.5
+ */
+class TermFrameTranslator {
+
+    /** Number of term frame ids translated by a task. */
+    static final int IDS_PER_TASK = 256;
+    private final OWLAPIOwl2Obo translator;
+    private final SortedMap<String, List<OWLAxiom>> axiomsById;
+    private final int threads;
+
+    /**
+     * @param translator
+     *        translator that creates the translators for each task
+     * @param axiomsById
+     *        axioms to translate, by term frame id
+     * @param threads
+     *        number of threads
+     */
+    TermFrameTranslator(OWLAPIOwl2Obo translator, SortedMap<String, List<OWLAxiom>> axiomsById, int threads) {
+        this.translator = translator;
+        this.axiomsById = axiomsById;
+        this.threads = Math.max(1, threads);
+    }
+
+    /**
+     * @param mute
+     *        true if untranslatable axioms should not be logged
+     * @param frames
+     *        receives the translated term frames, in id order
+     * @param untranslatable
+     *        receives the untranslatable axioms of each task
+     */
+    void translate(boolean mute, Consumer<Frame> frames, Consumer<Collection<OWLAxiom>> untranslatable) {
+        Iterator<List<OWLAxiom>> iterator = axiomsById.values().iterator();
+        if (threads == 1) {
+            while (iterator.hasNext()) {
+                deliver(translate(nextTask(iterator), mute), frames, untranslatable);
+            }
+            return;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        Deque<Future<OWLAPIOwl2Obo>> pending = new ArrayDeque<>();
+        try {
+            while (iterator.hasNext() || !pending.isEmpty()) {
+                while (iterator.hasNext() && pending.size() < 2 * threads) {
+                    List<List<OWLAxiom>> task = nextTask(iterator);
+                    pending.add(executor.submit(() -> translate(task, mute)));
+                }
+                deliver(pending.poll().get(), frames, untranslatable);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OWLRuntimeException(e);
+        } catch (ExecutionException e) {
+            // same exceptions as a sequential translation
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new OWLRuntimeException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static List<List<OWLAxiom>> nextTask(Iterator<List<OWLAxiom>> iterator) {
+        List<List<OWLAxiom>> task = new ArrayList<>(IDS_PER_TASK);
+        while (iterator.hasNext() && task.size() < IDS_PER_TASK) {
+            task.add(iterator.next());
+        }
+        return task;
+    }
+
+    private OWLAPIOwl2Obo translate(List<List<OWLAxiom>> task, boolean mute) {
+        OWLAPIOwl2Obo worker = translator.createWorker();
+        if (mute) {
+            worker.setMuteUntranslatableAxioms(true);
+        }
+        task.forEach(worker::translate);
+        return worker;
+    }
+
+    private static void deliver(OWLAPIOwl2Obo worker, Consumer<Frame> frames,
+        Consumer<Collection<OWLAxiom>> untranslatable) {
+        untranslatable.accept(worker.getUntranslatableAxioms());
+        List<Frame> list = new ArrayList<>(worker.getObodoc().getTermFrames());
+        list.sort(Comparator.comparing(Frame::getId));
+        list.forEach(frames);
+    }
+}
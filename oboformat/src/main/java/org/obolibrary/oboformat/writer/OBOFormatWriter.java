@@ -8,12 +8,14 @@ import java.io.*;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.function.Function;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 
 import org.obolibrary.obo2owl.OWLAPIObo2Owl;
+import org.obolibrary.obo2owl.OWLAPIOwl2Obo;
 import org.obolibrary.oboformat.model.Clause;
 import org.obolibrary.oboformat.model.Frame;
 import org.obolibrary.oboformat.model.Frame.FrameType;
@@ -228,23 +230,85 @@ public class OBOFormatWriter {
         List<Frame> termFrames = new ArrayList<>();
         termFrames.addAll(doc.getTermFrames());
         Collections.sort(termFrames, framesComparator);
+        for (Frame f : termFrames) {
+            write(f, writer, nameProvider);
+        }
+        writeTypedefAndInstanceFrames(doc, writer, nameProvider);
+        // to be save always flush writer
+        writer.flush();
+    }
+
+    /**
+     * Translates an ontology and writes it without building the complete
+     * document: each term frame is written as soon as it is translated. The
+     * output is the same as writing the document returned by
+     * {@link OWLAPIOwl2Obo#convert(OWLOntology)}; structure checks, if
+     * enabled, are run on each frame before it is written.
+     * 
+     * @param translator
+     *        the translator
+     * @param ontology
+     *        the ontology to write
+     * @param writer
+     *        the writer
+     * @param nameProviders
+     *        creates the name provider from the document with the header, the
+     *        typedef frames and the names of the term frames
+     * @throws IOException
+     *         Signals that an I/O exception has occurred.
+     * @see OWLAPIOwl2Obo#convert(OWLOntology, java.util.function.Consumer,
+     *      java.util.function.Consumer)
+     */
+    public void write(OWLAPIOwl2Obo translator, OWLOntology ontology, Writer writer,
+        Function<OBODoc, NameProvider> nameProviders) throws IOException {
+        OBODoc[] header = new OBODoc[1];
+        NameProvider[] nameProvider = new NameProvider[1];
+        try {
+            translator.convert(ontology, doc -> {
+                if (isCheckStructure) {
+                    checkNotNull(doc.getHeaderFrame()).check();
+                    doc.getTypedefFrames().forEach(Frame::check);
+                    doc.getInstanceFrames().forEach(Frame::check);
+                }
+                header[0] = doc;
+                nameProvider[0] = nameProviders.apply(doc);
+                try {
+                    writeHeader(checkNotNull(doc.getHeaderFrame()), writer, nameProvider[0]);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, f -> {
+                if (isCheckStructure) {
+                    f.check();
+                }
+                try {
+                    write(f, writer, nameProvider[0]);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writeTypedefAndInstanceFrames(header[0], writer, nameProvider[0]);
+        // to be save always flush writer
+        writer.flush();
+    }
+
+    private void writeTypedefAndInstanceFrames(OBODoc doc, Writer writer, NameProvider nameProvider)
+        throws IOException {
         List<Frame> typeDefFrames = new ArrayList<>();
         typeDefFrames.addAll(doc.getTypedefFrames());
         Collections.sort(typeDefFrames, framesComparator);
         List<Frame> instanceFrames = new ArrayList<>();
         typeDefFrames.addAll(doc.getInstanceFrames());
         Collections.sort(instanceFrames, framesComparator);
-        for (Frame f : termFrames) {
-            write(f, writer, nameProvider);
-        }
         for (Frame f : typeDefFrames) {
             write(f, writer, nameProvider);
         }
         for (Frame f : instanceFrames) {
             write(f, writer, nameProvider);
         }
-        // to be save always flush writer
-        writer.flush();
     }
 
     private static void writeLine(StringBuilder ln, Writer writer) throws IOException {
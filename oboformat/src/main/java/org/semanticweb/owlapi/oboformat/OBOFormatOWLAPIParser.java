@@ -43,6 +43,7 @@ public class OBOFormatOWLAPIParser implements OWLParser, Serializable {
             OBODoc obodoc = p.parse(wrapInputAsReader(source, config));
             // create a translator object and feed it the OBO Document
             OWLAPIObo2Owl bridge = new OWLAPIObo2Owl(in.getOWLOntologyManager());
+            bridge.setThreads(config.getParsingThreads());
             bridge.convert(obodoc, in);
             return new OBODocumentFormat();
         } catch (OBOFormatParserException | IOException | OWLOntologyInputSourceException e) {
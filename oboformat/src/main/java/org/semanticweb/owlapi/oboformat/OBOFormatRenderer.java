@@ -52,42 +52,50 @@ public class OBOFormatRenderer implements OWLRenderer {
         throws OWLOntologyStorageException {
         try {
             OWLAPIOwl2Obo translator = new OWLAPIOwl2Obo(ontology.getOWLOntologyManager());
-            final OBODoc result = translator.convert(ontology);
-            boolean hasImports = !asList(ontology.imports()).isEmpty();
-            NameProvider nameProvider;
-            if (hasImports) {
-                // if the ontology has imports
-                // use it as secondary lookup for labels
-                final NameProvider primary = new OBODocNameProvider(result);
-                final NameProvider secondary = new OWLOntologyNameProvider(ontology, primary.getDefaultOboNamespace());
-                // combine primary and secondary name provider
-                nameProvider = new NameProvider() {
-
-                    @Override
-                    @Nullable
-                    public String getName(String id) {
-                        String name = primary.getName(id);
-                        if (name != null) {
-                            return name;
-                        }
-                        return secondary.getName(id);
-                    }
-
-                    @Override
-                    @Nullable
-                    public String getDefaultOboNamespace() {
-                        return primary.getDefaultOboNamespace();
-                    }
-                };
-            } else {
-                nameProvider = new OBODocNameProvider(result);
-            }
+            translator.setThreads(
+                ontology.getOWLOntologyManager().getOntologyWriterConfiguration().getRenderingThreads());
             OBOFormatWriter oboFormatWriter = new OBOFormatWriter();
             oboFormatWriter
                 .setCheckStructure(format.getParameter(OBODocumentFormat.VALIDATION, Boolean.TRUE).booleanValue());
-            oboFormatWriter.write(result, new PrintWriter(new BufferedWriter(writer)), nameProvider);
+            PrintWriter out = new PrintWriter(new BufferedWriter(writer));
+            if (format.getParameter(OBODocumentFormat.STREAMING, Boolean.FALSE).booleanValue()) {
+                oboFormatWriter.write(translator, ontology, out, doc -> nameProvider(ontology, doc));
+            } else {
+                final OBODoc result = translator.convert(ontology);
+                oboFormatWriter.write(result, out, nameProvider(ontology, result));
+            }
         } catch (IOException e) {
             throw new OWLOntologyStorageException(e);
         }
     }
+
+    private static NameProvider nameProvider(OWLOntology ontology, OBODoc result) {
+        boolean hasImports = !asList(ontology.imports()).isEmpty();
+        if (!hasImports) {
+            return new OBODocNameProvider(result);
+        }
+        // if the ontology has imports
+        // use it as secondary lookup for labels
+        final NameProvider primary = new OBODocNameProvider(result);
+        final NameProvider secondary = new OWLOntologyNameProvider(ontology, primary.getDefaultOboNamespace());
+        // combine primary and secondary name provider
+        return new NameProvider() {
+
+            @Override
+            @Nullable
+            public String getName(String id) {
+                String name = primary.getName(id);
+                if (name != null) {
+                    return name;
+                }
+                return secondary.getName(id);
+            }
+
+            @Override
+            @Nullable
+            public String getDefaultOboNamespace() {
+                return primary.getDefaultOboNamespace();
+            }
+        };
+    }
 }
@@ -0,0 +1,124 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.binary;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.StandardOpenOption;
+
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.formats.BinarySnapshotDocumentFormat;
+import org.semanticweb.owlapi.formats.BinarySnapshotDocumentFormatFactory;
+import org.semanticweb.owlapi.io.AbstractOWLParser;
+import org.semanticweb.owlapi.io.DocumentSources;
+import org.semanticweb.owlapi.io.OWLOntologyDocumentSource;
+import org.semanticweb.owlapi.io.OWLOntologyInputSourceException;
+import org.semanticweb.owlapi.io.OWLParserException;
+import org.semanticweb.owlapi.model.*;
+
+/**
+ * Parser for binary snapshots. Local files are memory mapped, so that loading
+ * does not copy the file contents to the heap; other sources are read fully in
+ * memory. Inputs that do not start with the snapshot magic number are rejected
+ * after reading a few bytes.
+ *
+ * @author ignazio
+ * @since 5.0.5
+ */
+public class BinarySnapshotParser extends AbstractOWLParser {
+
+    @Override
+    public OWLDocumentFormatFactory getSupportedFormat() {
+        return new BinarySnapshotDocumentFormatFactory();
+    }
+
+    @Override
+    public OWLDocumentFormat parse(OWLOntologyDocumentSource source, OWLOntology ontology,
+        OWLOntologyLoaderConfiguration config) {
+        try {
+            ByteBuffer buffer = map(source.getDocumentIRI());
+            if (buffer == null || !BinarySnapshotReader.isSnapshot(buffer)) {
+                buffer = read(source, config);
+            }
+            load(new BinarySnapshotReader(buffer, ontology.getOWLOntologyManager().getOWLDataFactory()), ontology,
+                config);
+            return new BinarySnapshotDocumentFormat();
+        } catch (IOException | OWLOntologyInputSourceException e) {
+            throw new OWLParserException(e);
+        }
+    }
+
+    @Nullable
+    private static ByteBuffer map(IRI documentIRI) throws IOException {
+        if (!"file".equals(documentIRI.getScheme())) {
+            return null;
+        }
+        File file = new File(documentIRI.toURI());
+        if (!file.isFile()) {
+            return null;
+        }
+        if (file.length() > BinarySnapshotWriter.MAX_SIZE) {
+            throw new OWLParserException("Binary snapshot too large to be loaded: " + file.length() + " bytes");
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            return channel.map(MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    private static ByteBuffer read(OWLOntologyDocumentSource source, OWLOntologyLoaderConfiguration config)
+        throws IOException, OWLOntologyInputSourceException {
+        try (InputStream in = DocumentSources.wrapInput(source, config)) {
+            byte[] magic = new byte[8];
+            int read = 0;
+            int n;
+            while (read < magic.length && (n = in.read(magic, read, magic.length - read)) > 0) {
+                read += n;
+            }
+            if (!BinarySnapshotReader.isSnapshot(ByteBuffer.wrap(magic, 0, read))) {
+                throw new OWLParserException("Input is not a binary ontology snapshot");
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            out.write(magic);
+            byte[] chunk = new byte[8192];
+            while ((n = in.read(chunk)) > 0) {
+                out.write(chunk, 0, n);
+            }
+            return ByteBuffer.wrap(out.toByteArray());
+        }
+    }
+
+    private static void load(BinarySnapshotReader reader, OWLOntology ontology,
+        OWLOntologyLoaderConfiguration config) {
+        OWLOntologyManager manager = ontology.getOWLOntologyManager();
+        OWLDataFactory df = manager.getOWLDataFactory();
+        OWLOntologyID id = reader.getOntologyID();
+        if (!id.isAnonymous()) {
+            manager.applyChange(new SetOntologyID(ontology, id));
+        }
+        for (IRI i : reader.getImports()) {
+            OWLImportsDeclaration declaration = df.getOWLImportsDeclaration(i);
+            manager.applyChange(new AddImport(ontology, declaration));
+            manager.makeLoadImportRequest(declaration, config);
+        }
+        for (OWLAnnotation a : reader.getAnnotations()) {
+            manager.applyChange(new AddOntologyAnnotation(ontology, a));
+        }
+        reader.readAxioms(config.isLoadAnnotationAxioms(), ontology::addAxioms);
+    }
+}
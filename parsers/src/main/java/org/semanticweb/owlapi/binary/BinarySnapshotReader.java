@@ -0,0 +1,463 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.binary;
+
+import static org.semanticweb.owlapi.binary.BinarySnapshotWriter.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.io.OWLParserException;
+import org.semanticweb.owlapi.model.*;
+import org.semanticweb.owlapi.vocab.OWLFacet;
+
+/**
+ * Reads a binary snapshot written by {@link BinarySnapshotWriter}. Strings and
+ * IRIs are decoded on first use and cached, so each distinct string is decoded
+ * once however many axioms refer to it; the buffer is typically a memory
+ * mapped file, so pages that are never read are never loaded.
+ *
+ * @author ignazio
+ * @since 5.0.5
+ */
+public class BinarySnapshotReader {
+
+    private static final OWLFacet[] FACETS = OWLFacet.values();
+    private final ByteBuffer buffer;
+    private final OWLDataFactory df;
+    private final int stringOffsets;
+    private final int stringData;
+    private final String[] strings;
+    private final int[] iriStrings;
+    private final IRI[] iris;
+    private final OWLOntologyID ontologyID;
+    private final List<IRI> imports;
+    private final List<OWLAnnotation> annotations;
+    private final int sections;
+
+    /**
+     * @param buffer
+     *        buffer containing the snapshot, positioned at its start
+     * @param df
+     *        data factory to use for the objects read
+     * @throws OWLParserException
+     *         if the buffer does not contain a binary snapshot
+     */
+    public BinarySnapshotReader(ByteBuffer buffer, OWLDataFactory df) {
+        this.buffer = buffer;
+        this.df = df;
+        if (!isSnapshot(buffer)) {
+            throw new OWLParserException("Input is not a binary ontology snapshot");
+        }
+        buffer.getInt();
+        int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new OWLParserException("Unsupported binary snapshot version: " + version);
+        }
+        strings = new String[buffer.getInt()];
+        stringOffsets = buffer.position();
+        buffer.position(stringOffsets + 4 * strings.length);
+        int dataLength = buffer.getInt();
+        stringData = buffer.position();
+        buffer.position(stringData + dataLength);
+        int iriCount = buffer.getInt();
+        iris = new IRI[iriCount];
+        iriStrings = new int[iriCount * 2];
+        for (int i = 0; i < iriStrings.length; i++) {
+            iriStrings[i] = readVarInt();
+        }
+        buffer.getInt();
+        IRI ontologyIRI = iri(buffer.getInt());
+        IRI versionIRI = iri(buffer.getInt());
+        ontologyID = new OWLOntologyID(Optional.ofNullable(ontologyIRI), Optional.ofNullable(versionIRI));
+        int importCount = readVarInt();
+        imports = new ArrayList<>(importCount);
+        for (int i = 0; i < importCount; i++) {
+            imports.add(iri(readVarInt()));
+        }
+        annotations = list(readValue());
+        sections = buffer.getInt();
+    }
+
+    /**
+     * @param buffer
+     *        buffer to check; its position is not changed
+     * @return true if the buffer starts with the binary snapshot magic number
+     */
+    public static boolean isSnapshot(ByteBuffer buffer) {
+        return buffer.remaining() >= 8 && buffer.getInt(buffer.position()) == MAGIC;
+    }
+
+    /** @return the id of the ontology in the snapshot */
+    public OWLOntologyID getOntologyID() {
+        return ontologyID;
+    }
+
+    /** @return the imports declared in the snapshot */
+    public List<IRI> getImports() {
+        return imports;
+    }
+
+    /** @return the ontology annotations in the snapshot */
+    public List<OWLAnnotation> getAnnotations() {
+        return annotations;
+    }
+
+    /**
+     * Reads the axiom sections; must be called at most once.
+     *
+     * @param loadAnnotationAxioms
+     *        false if annotation axioms should be skipped without decoding
+     * @param sectionConsumer
+     *        consumer for the axioms of each section; all axioms in a list
+     *        have the same type
+     */
+    public void readAxioms(boolean loadAnnotationAxioms, Consumer<List<OWLAxiom>> sectionConsumer) {
+        for (int s = 0; s < sections; s++) {
+            int typeIndex = buffer.getInt();
+            int count = buffer.getInt();
+            int length = buffer.getInt();
+            if (!loadAnnotationAxioms && isAnnotationAxiomType(typeIndex)) {
+                buffer.position(buffer.position() + length);
+                continue;
+            }
+            List<OWLAxiom> axioms = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                axioms.add((OWLAxiom) readValue());
+            }
+            sectionConsumer.accept(axioms);
+        }
+    }
+
+    private static boolean isAnnotationAxiomType(int typeIndex) {
+        return typeIndex == AxiomType.ANNOTATION_ASSERTION.getIndex()
+            || typeIndex == AxiomType.SUB_ANNOTATION_PROPERTY_OF.getIndex()
+            || typeIndex == AxiomType.ANNOTATION_PROPERTY_DOMAIN.getIndex()
+            || typeIndex == AxiomType.ANNOTATION_PROPERTY_RANGE.getIndex();
+    }
+
+    private int readVarInt() {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+
+    private String string(int index) {
+        String s = strings[index];
+        if (s == null) {
+            int start = buffer.getInt(stringOffsets + 4 * index);
+            int end = index + 1 < strings.length ? buffer.getInt(stringOffsets + 4 * index + 4)
+                : buffer.getInt(stringOffsets + 4 * strings.length);
+            byte[] bytes = new byte[end - start];
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = buffer.get(stringData + start + i);
+            }
+            s = new String(bytes, StandardCharsets.UTF_8);
+            strings[index] = s;
+        }
+        return s;
+    }
+
+    @Nullable
+    private IRI iri(int index) {
+        if (index == NO_IRI) {
+            return null;
+        }
+        IRI iri = iris[index];
+        if (iri == null) {
+            iri = IRI.create(string(iriStrings[2 * index]), string(iriStrings[2 * index + 1]));
+            iris[index] = iri;
+        }
+        return iri;
+    }
+
+    private IRI readIRI() {
+        IRI iri = iri(readVarInt());
+        if (iri == null) {
+            throw new OWLParserException("Missing IRI in binary snapshot");
+        }
+        return iri;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> list(Object o) {
+        return (List<T>) o;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Stream<T> stream(Object o) {
+        return ((List<T>) o).stream();
+    }
+
+    private Object readValue() {
+        byte tag = buffer.get();
+        switch (tag) {
+            case IRI_VALUE:
+                return readIRI();
+            case ENTITY:
+                return entity(readVarInt(), readIRI());
+            case ANONYMOUS:
+                return df.getOWLAnonymousIndividual(string(readVarInt()));
+            case OBJECT:
+                int typeIndex = readVarInt();
+                Object[] c = new Object[readVarInt()];
+                for (int i = 0; i < c.length; i++) {
+                    c[i] = readValue();
+                }
+                return object(typeIndex, c);
+            case LIST:
+                int size = readVarInt();
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue());
+                }
+                return list;
+            case STRING:
+                return string(readVarInt());
+            case INT:
+                return Integer.valueOf(readVarInt());
+            case FACET:
+                return FACETS[readVarInt()];
+            default:
+                throw new OWLParserException("Unknown tag in binary snapshot: " + tag);
+        }
+    }
+
+    private OWLEntity entity(int typeIndex, IRI iri) {
+        switch (typeIndex) {
+            case 1001:
+                return df.getOWLClass(iri);
+            case 1002:
+                return df.getOWLObjectProperty(iri);
+            case 1004:
+                return df.getOWLDataProperty(iri);
+            case 1005:
+                return df.getOWLNamedIndividual(iri);
+            case 1006:
+                return df.getOWLAnnotationProperty(iri);
+            case 4001:
+                return df.getOWLDatatype(iri);
+            default:
+                throw new OWLParserException("Unknown entity type in binary snapshot: " + typeIndex);
+        }
+    }
+
+    private OWLObject object(int typeIndex, Object[] c) {
+        if (typeIndex >= 2000 && typeIndex < 3000) {
+            return axiom(typeIndex - 2000, c);
+        }
+        switch (typeIndex) {
+            case 1003:
+                return df.getOWLObjectInverseOf((OWLObjectProperty) c[0]);
+            case 3001:
+                return df.getOWLObjectIntersectionOf(stream(c[0]));
+            case 3002:
+                return df.getOWLObjectUnionOf(stream(c[0]));
+            case 3003:
+                return df.getOWLObjectComplementOf((OWLClassExpression) c[0]);
+            case 3004:
+                return df.getOWLObjectOneOf(stream(c[0]));
+            case 3005:
+                return df.getOWLObjectSomeValuesFrom((OWLObjectPropertyExpression) c[0], (OWLClassExpression) c[1]);
+            case 3006:
+                return df.getOWLObjectAllValuesFrom((OWLObjectPropertyExpression) c[0], (OWLClassExpression) c[1]);
+            case 3007:
+                return df.getOWLObjectHasValue((OWLObjectPropertyExpression) c[0], (OWLIndividual) c[1]);
+            case 3008:
+                return df.getOWLObjectMinCardinality(((Integer) c[1]).intValue(), (OWLObjectPropertyExpression) c[0],
+                    (OWLClassExpression) c[2]);
+            case 3009:
+                return df.getOWLObjectExactCardinality(((Integer) c[1]).intValue(),
+                    (OWLObjectPropertyExpression) c[0], (OWLClassExpression) c[2]);
+            case 3010:
+                return df.getOWLObjectMaxCardinality(((Integer) c[1]).intValue(), (OWLObjectPropertyExpression) c[0],
+                    (OWLClassExpression) c[2]);
+            case 3011:
+                return df.getOWLObjectHasSelf((OWLObjectPropertyExpression) c[0]);
+            case 3012:
+                return df.getOWLDataSomeValuesFrom((OWLDataPropertyExpression) c[0], (OWLDataRange) c[1]);
+            case 3013:
+                return df.getOWLDataAllValuesFrom((OWLDataPropertyExpression) c[0], (OWLDataRange) c[1]);
+            case 3014:
+                return df.getOWLDataHasValue((OWLDataPropertyExpression) c[0], (OWLLiteral) c[1]);
+            case 3015:
+                return df.getOWLDataMinCardinality(((Integer) c[1]).intValue(), (OWLDataPropertyExpression) c[0],
+                    (OWLDataRange) c[2]);
+            case 3016:
+                return df.getOWLDataExactCardinality(((Integer) c[1]).intValue(), (OWLDataPropertyExpression) c[0],
+                    (OWLDataRange) c[2]);
+            case 3017:
+                return df.getOWLDataMaxCardinality(((Integer) c[1]).intValue(), (OWLDataPropertyExpression) c[0],
+                    (OWLDataRange) c[2]);
+            case 4002:
+                return df.getOWLDataComplementOf((OWLDataRange) c[0]);
+            case 4003:
+                return df.getOWLDataOneOf(stream(c[0]));
+            case 4004:
+                return df.getOWLDataIntersectionOf(stream(c[0]));
+            case 4005:
+                return df.getOWLDataUnionOf(stream(c[0]));
+            case 4006:
+                return df.getOWLDatatypeRestriction((OWLDatatype) c[0], list(c[1]));
+            case 4007:
+                return df.getOWLFacetRestriction((OWLFacet) c[0], (OWLLiteral) c[1]);
+            case 4008:
+                return literal((OWLDatatype) c[0], (String) c[1], (String) c[2]);
+            case 5001:
+                return df.getOWLAnnotation((OWLAnnotationProperty) c[0], (OWLAnnotationValue) c[1], list(c[2]));
+            case 6001:
+                return df.getSWRLClassAtom((OWLClassExpression) c[1], (SWRLIArgument) c[0]);
+            case 6002:
+                return df.getSWRLDataRangeAtom((OWLDataRange) c[1], (SWRLDArgument) c[0]);
+            case 6003:
+                return df.getSWRLObjectPropertyAtom((OWLObjectPropertyExpression) c[2], (SWRLIArgument) c[0],
+                    (SWRLIArgument) c[1]);
+            case 6004:
+                return df.getSWRLDataPropertyAtom((OWLDataPropertyExpression) c[2], (SWRLIArgument) c[0],
+                    (SWRLDArgument) c[1]);
+            case 6005:
+                return df.getSWRLBuiltInAtom((IRI) c[1], list(c[0]));
+            case 6006:
+                return df.getSWRLVariable((IRI) c[0]);
+            case 6007:
+                return df.getSWRLIndividualArgument((OWLIndividual) c[0]);
+            case 6008:
+                return df.getSWRLLiteralArgument((OWLLiteral) c[0]);
+            case 6009:
+                return df.getSWRLSameIndividualAtom((SWRLIArgument) c[0], (SWRLIArgument) c[1]);
+            case 6010:
+                return df.getSWRLDifferentIndividualsAtom((SWRLIArgument) c[0], (SWRLIArgument) c[1]);
+            default:
+                throw new OWLParserException("Unknown object type in binary snapshot: " + typeIndex);
+        }
+    }
+
+    private OWLLiteral literal(OWLDatatype datatype, String lexicalValue, String lang) {
+        if (lang.isEmpty()) {
+            return df.getOWLLiteral(lexicalValue, datatype);
+        }
+        return df.getOWLLiteral(lexicalValue, lang);
+    }
+
+    private OWLAxiom axiom(int axiomType, Object[] c) {
+        // annotations are always the last component of an axiom
+        List<OWLAnnotation> a = list(c[c.length - 1]);
+        switch (axiomType) {
+            case 0:
+                return df.getOWLDeclarationAxiom((OWLEntity) c[0], a);
+            case 1:
+                return df.getOWLEquivalentClassesAxiom(list(c[0]), a);
+            case 2:
+                return df.getOWLSubClassOfAxiom((OWLClassExpression) c[0], (OWLClassExpression) c[1], a);
+            case 3:
+                return df.getOWLDisjointClassesAxiom(list(c[0]), a);
+            case 4:
+                return df.getOWLDisjointUnionAxiom((OWLClass) c[0], stream(c[1]), a);
+            case 5:
+                return df.getOWLClassAssertionAxiom((OWLClassExpression) c[1], (OWLIndividual) c[0], a);
+            case 6:
+                return df.getOWLSameIndividualAxiom(list(c[0]), a);
+            case 7:
+                return df.getOWLDifferentIndividualsAxiom(list(c[0]), a);
+            case 8:
+                return df.getOWLObjectPropertyAssertionAxiom((OWLObjectPropertyExpression) c[1], (OWLIndividual) c[0],
+                    (OWLIndividual) c[2], a);
+            case 9:
+                return df.getOWLNegativeObjectPropertyAssertionAxiom((OWLObjectPropertyExpression) c[1],
+                    (OWLIndividual) c[0], (OWLIndividual) c[2], a);
+            case 10:
+                return df.getOWLDataPropertyAssertionAxiom((OWLDataPropertyExpression) c[1], (OWLIndividual) c[0],
+                    (OWLLiteral) c[2], a);
+            case 11:
+                return df.getOWLNegativeDataPropertyAssertionAxiom((OWLDataPropertyExpression) c[1],
+                    (OWLIndividual) c[0], (OWLLiteral) c[2], a);
+            case 12:
+                return df.getOWLEquivalentObjectPropertiesAxiom(list(c[0]), a);
+            case 13:
+                return df.getOWLSubObjectPropertyOfAxiom((OWLObjectPropertyExpression) c[0],
+                    (OWLObjectPropertyExpression) c[1], a);
+            case 14:
+                List<OWLObjectPropertyExpression> inverses = list(c[0]);
+                return df.getOWLInverseObjectPropertiesAxiom(inverses.get(0), inverses.get(inverses.size() - 1), a);
+            case 15:
+                return df.getOWLFunctionalObjectPropertyAxiom((OWLObjectPropertyExpression) c[0], a);
+            case 16:
+                return df.getOWLInverseFunctionalObjectPropertyAxiom((OWLObjectPropertyExpression) c[0], a);
+            case 17:
+                return df.getOWLSymmetricObjectPropertyAxiom((OWLObjectPropertyExpression) c[0], a);
+            case 18:
+                return df.getOWLAsymmetricObjectPropertyAxiom((OWLObjectPropertyExpression) c[0], a);
+            case 19:
+                return df.getOWLTransitiveObjectPropertyAxiom((OWLObjectPropertyExpression) c[0], a);
+            case 20:
+                return df.getOWLReflexiveObjectPropertyAxiom((OWLObjectPropertyExpression) c[0], a);
+            case 21:
+                return df.getOWLIrreflexiveObjectPropertyAxiom((OWLObjectPropertyExpression) c[0], a);
+            case 22:
+                return df.getOWLObjectPropertyDomainAxiom((OWLObjectPropertyExpression) c[0],
+                    (OWLClassExpression) c[1], a);
+            case 23:
+                return df.getOWLObjectPropertyRangeAxiom((OWLObjectPropertyExpression) c[0],
+                    (OWLClassExpression) c[1], a);
+            case 24:
+                return df.getOWLDisjointObjectPropertiesAxiom(list(c[0]), a);
+            case 25:
+                return df.getOWLSubPropertyChainOfAxiom(list(c[0]), (OWLObjectPropertyExpression) c[1], a);
+            case 26:
+                return df.getOWLEquivalentDataPropertiesAxiom(list(c[0]), a);
+            case 27:
+                return df.getOWLSubDataPropertyOfAxiom((OWLDataPropertyExpression) c[0],
+                    (OWLDataPropertyExpression) c[1], a);
+            case 28:
+                return df.getOWLFunctionalDataPropertyAxiom((OWLDataPropertyExpression) c[0], a);
+            case 29:
+                return df.getOWLDataPropertyDomainAxiom((OWLDataPropertyExpression) c[0], (OWLClassExpression) c[1],
+                    a);
+            case 30:
+                return df.getOWLDataPropertyRangeAxiom((OWLDataPropertyExpression) c[0], (OWLDataRange) c[1], a);
+            case 31:
+                return df.getOWLDisjointDataPropertiesAxiom(list(c[0]), a);
+            case 32:
+                return df.getOWLHasKeyAxiom((OWLClassExpression) c[0], list(c[1]), a);
+            case 33:
+                return df.getSWRLRule(list(c[0]), list(c[1]), a);
+            case 34:
+                return df.getOWLAnnotationAssertionAxiom((OWLAnnotationProperty) c[1], (OWLAnnotationSubject) c[0],
+                    (OWLAnnotationValue) c[2], a);
+            case 35:
+                return df.getOWLSubAnnotationPropertyOfAxiom((OWLAnnotationProperty) c[0],
+                    (OWLAnnotationProperty) c[1], a);
+            case 36:
+                return df.getOWLAnnotationPropertyRangeAxiom((OWLAnnotationProperty) c[0], (IRI) c[1], a);
+            case 37:
+                return df.getOWLAnnotationPropertyDomainAxiom((OWLAnnotationProperty) c[0], (IRI) c[1], a);
+            case 38:
+                return df.getOWLDatatypeDefinitionAxiom((OWLDatatype) c[0], (OWLDataRange) c[1], a);
+            default:
+                throw new OWLParserException("Unknown axiom type in binary snapshot: " + axiomType);
+        }
+    }
+}
@@ -0,0 +1,276 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.binary;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.model.*;
+import org.semanticweb.owlapi.vocab.OWLFacet;
+
+/**
+ * Writes an ontology as a binary snapshot. The layout is:
+ * <ul>
+ * <li>magic number and version;</li>
+ * <li>a string table: count, offsets and UTF-8 data, so that strings can be
+ * decoded lazily and only once;</li>
+ * <li>an IRI table: pairs of namespace and remainder string indexes;</li>
+ * <li>a header with ontology id, imports and ontology annotations;</li>
+ * <li>one section per axiom type: type index, axiom count, byte length and
+ * the encoded axioms, so that whole sections can be skipped.</li>
+ * </ul>
+ * Objects are encoded generically from their type index and their
+ * {@link OWLObject#components()}, with IRIs and strings replaced by their
+ * index in the tables above; small integers are written as variable length
+ * integers. A snapshot is limited to 2 GB, since the reader holds it in a
+ * single buffer; larger ontologies are rejected before anything is written.
+ *
+ * @author ignazio
+ * @since 5.0.5
+ */
+public class BinarySnapshotWriter {
+
+    static final int MAGIC = 0x4F574C42;
+    static final int VERSION = 1;
+    static final byte IRI_VALUE = 1;
+    static final byte OBJECT = 2;
+    static final byte LIST = 3;
+    static final byte STRING = 4;
+    static final byte INT = 5;
+    static final byte FACET = 6;
+    static final byte ANONYMOUS = 7;
+    static final byte ENTITY = 8;
+    static final int NO_IRI = -1;
+    /** Largest snapshot that can be held in a byte array or buffer. */
+    static final long MAX_SIZE = Integer.MAX_VALUE - 8;
+    private final Map<String, Integer> strings = new HashMap<>();
+    private final List<String> stringList = new ArrayList<>();
+    private final Map<IRI, Integer> iris = new HashMap<>();
+    private final ByteSink irisOut = new ByteSink();
+    private final ByteSink header = new ByteSink();
+    private int iriCount;
+
+    /**
+     * @param ontology
+     *        ontology to write
+     * @param out
+     *        output stream; it is flushed but not closed
+     * @throws IOException
+     *         if writing fails
+     */
+    public void write(OWLOntology ontology, OutputStream out) throws IOException {
+        OWLOntologyID id = ontology.getOntologyID();
+        header.writeInt(iri(id.getOntologyIRI().orElse(null)));
+        header.writeInt(iri(id.getVersionIRI().orElse(null)));
+        List<IRI> imports = ontology.importsDeclarations().map(OWLImportsDeclaration::getIRI).collect(Collectors
+            .toList());
+        header.writeVarInt(imports.size());
+        imports.forEach(i -> header.writeVarInt(iri(i)));
+        writeValue(header, ontology.annotations().collect(Collectors.toList()));
+        // sections are buffered separately, until the string and IRI tables
+        // they refer to are complete
+        List<AxiomType<?>> types = new ArrayList<>();
+        List<ByteSink> sections = new ArrayList<>();
+        for (AxiomType<?> type : AxiomType.AXIOM_TYPES) {
+            if (ontology.getAxiomCount(type) > 0) {
+                ByteSink section = new ByteSink();
+                ontology.axioms(type).forEach(ax -> writeValue(section, ax));
+                types.add(type);
+                sections.add(section);
+            }
+        }
+        byte[][] encoded = new byte[stringList.size()][];
+        long stringBytes = 0;
+        for (int i = 0; i < encoded.length; i++) {
+            encoded[i] = stringList.get(i).getBytes(StandardCharsets.UTF_8);
+            stringBytes += encoded[i].length;
+        }
+        // magic, version, string table, IRI table, header, sections
+        long size = 8 + 8 + 4L * encoded.length + stringBytes + 4 + irisOut.size() + 4 + header.size() + 4;
+        for (ByteSink section : sections) {
+            size += 12 + section.size();
+        }
+        checkSize(size);
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        writeStrings(data, encoded, (int) stringBytes);
+        data.writeInt(iriCount);
+        irisOut.writeTo(data);
+        data.writeInt((int) header.size());
+        header.writeTo(data);
+        data.writeInt(sections.size());
+        for (int i = 0; i < sections.size(); i++) {
+            AxiomType<?> type = types.get(i);
+            data.writeInt(type.getIndex());
+            data.writeInt(ontology.getAxiomCount(type));
+            data.writeInt((int) sections.get(i).size());
+            sections.get(i).writeTo(data);
+            // release the section as soon as it is written
+            sections.set(i, null);
+        }
+        data.flush();
+    }
+
+    private static void writeStrings(DataOutputStream data, byte[][] encoded, int total) throws IOException {
+        data.writeInt(encoded.length);
+        int offset = 0;
+        for (byte[] b : encoded) {
+            data.writeInt(offset);
+            offset += b.length;
+        }
+        data.writeInt(total);
+        for (byte[] b : encoded) {
+            data.write(b);
+        }
+    }
+
+    /**
+     * @param size
+     *        size of a snapshot, in bytes
+     * @throws OWLRuntimeException
+     *         if the snapshot is too large to be loaded; the reader holds a
+     *         whole snapshot in one buffer, indexed by int positions
+     */
+    static void checkSize(long size) {
+        if (size > MAX_SIZE) {
+            throw new OWLRuntimeException("Binary snapshot too large to be loaded: " + size + " bytes, maximum "
+                + MAX_SIZE);
+        }
+    }
+
+    private int string(String s) {
+        Integer index = strings.get(s);
+        if (index == null) {
+            index = Integer.valueOf(stringList.size());
+            strings.put(s, index);
+            stringList.add(s);
+        }
+        return index.intValue();
+    }
+
+    private int iri(@Nullable IRI iri) {
+        if (iri == null) {
+            return NO_IRI;
+        }
+        Integer index = iris.get(iri);
+        if (index == null) {
+            index = Integer.valueOf(iriCount++);
+            iris.put(iri, index);
+            irisOut.writeVarInt(string(iri.getNamespace()));
+            irisOut.writeVarInt(string(iri.getRemainder().orElse("")));
+        }
+        return index.intValue();
+    }
+
+    private void writeValue(ByteSink out, Object value) {
+        if (value instanceof IRI) {
+            out.write(IRI_VALUE);
+            out.writeVarInt(iri((IRI) value));
+        } else if (value instanceof OWLEntity) {
+            OWLEntity e = (OWLEntity) value;
+            out.write(ENTITY);
+            out.writeVarInt(e.typeIndex());
+            out.writeVarInt(iri(e.getIRI()));
+        } else if (value instanceof OWLAnonymousIndividual) {
+            out.write(ANONYMOUS);
+            out.writeVarInt(string(((OWLAnonymousIndividual) value).getID().getID()));
+        } else if (value instanceof OWLObject) {
+            OWLObject o = (OWLObject) value;
+            List<?> components = o.components().collect(Collectors.toList());
+            out.write(OBJECT);
+            out.writeVarInt(o.typeIndex());
+            out.writeVarInt(components.size());
+            components.forEach(c -> writeValue(out, c));
+        } else if (value instanceof Stream) {
+            writeValue(out, ((Stream<?>) value).collect(Collectors.toList()));
+        } else if (value instanceof Collection) {
+            Collection<?> c = (Collection<?>) value;
+            out.write(LIST);
+            out.writeVarInt(c.size());
+            c.forEach(v -> writeValue(out, v));
+        } else if (value instanceof String) {
+            out.write(STRING);
+            out.writeVarInt(string((String) value));
+        } else if (value instanceof Integer) {
+            out.write(INT);
+            out.writeVarInt(((Integer) value).intValue());
+        } else if (value instanceof OWLFacet) {
+            out.write(FACET);
+            out.writeVarInt(((OWLFacet) value).ordinal());
+        } else {
+            throw new OWLRuntimeException("Cannot encode " + value + " in a binary snapshot");
+        }
+    }
+
+    /**
+     * Growable byte buffer with variable length integer encoding. Bytes are
+     * kept in a list of chunks, so that the size of a buffer is not limited by
+     * the maximum size of an array and growing never copies more than one
+     * chunk.
+     */
+    static class ByteSink {
+
+        static final int CHUNK_SIZE = 1 << 20;
+        private final List<byte[]> chunks = new ArrayList<>();
+        private byte[] current = new byte[1024];
+        private int position;
+
+        long size() {
+            return (long) chunks.size() * CHUNK_SIZE + position;
+        }
+
+        void write(int b) {
+            if (position == current.length) {
+                if (current.length < CHUNK_SIZE) {
+                    current = Arrays.copyOf(current, current.length * 2);
+                } else {
+                    chunks.add(current);
+                    current = new byte[CHUNK_SIZE];
+                    position = 0;
+                }
+            }
+            current[position++] = (byte) b;
+        }
+
+        void writeInt(int i) {
+            write(i >>> 24);
+            write(i >>> 16);
+            write(i >>> 8);
+            write(i);
+        }
+
+        void writeVarInt(int i) {
+            int v = i;
+            while ((v & ~0x7F) != 0) {
+                write((v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+            write(v);
+        }
+
+        void writeTo(OutputStream out) throws IOException {
+            for (byte[] chunk : chunks) {
+                out.write(chunk);
+            }
+            out.write(current, 0, position);
+        }
+    }
+}
@@ -42,6 +42,9 @@ public class OWLFunctionalSyntaxOWLParser extends AbstractOWLParser {
     public OWLDocumentFormat parse(OWLOntologyDocumentSource source, OWLOntology ontology,
             OWLOntologyLoaderConfiguration config) {
         try (Reader r = DocumentSources.wrapInputAsReader(source, config)) {
+            if (config.getParsingThreads() > 1) {
+                return new ParallelFunctionalSyntaxParser(ontology, config).parse(r);
+            }
             OWLFunctionalSyntaxParser parser = new OWLFunctionalSyntaxParser(new CustomTokenizer(r));
             parser.setUp(ontology, config);
             return parser.parse();
@@ -86,6 +86,40 @@ class OWLFunctionalSyntaxParser implements OWLFunctionalSyntaxParserConstants {
         prefixMap.putAll(nsm.getPrefixName2PrefixMap());
     }
 
+    /**
+     * Sets up this parser to parse axioms for the same ontology as a parser
+     * that has already parsed the prefixes and ontology header. Prefixes and
+     * anonymous individuals are shared with the header parser.
+     */
+    public void setUp(OWLFunctionalSyntaxParser header) {
+        man = header.man;
+        ontology = header.ontology;
+        configuration = header.configuration;
+        dataFactory = header.dataFactory;
+        prefixMap = header.prefixMap;
+        ontologyIRI = header.ontologyIRI;
+        anonProvider = header.anonProvider;
+        currentAnnotations = new HashSet<OWLAnnotation>();
+        string2IRI = new HashMap<String, IRI>();
+    }
+
+    /**
+     * Parses a sequence of axioms, without prefixes or ontology header, up to
+     * the end of the input. Annotation axioms are skipped if the configuration
+     * says so.
+     */
+    public List<OWLAxiom> axioms() throws ParseException {
+        List<OWLAxiom> axioms = new ArrayList<OWLAxiom>();
+        while (getToken(1).kind != EOF) {
+            OWLAxiom ax = Axiom();
+            if (!(ax instanceof OWLAnnotationAxiom) || configuration.isLoadAnnotationAxioms()) {
+                axioms.add(ax);
+            }
+            currentAnnotations.clear();
+        }
+        return axioms;
+    }
+
     final public FunctionalSyntaxDocumentFormat parse() throws OWLParserException, UnloadableImportException {
         label_1: while (true) {
             switch (jj_ntk == -1 ? jj_ntk_f() : jj_ntk) {
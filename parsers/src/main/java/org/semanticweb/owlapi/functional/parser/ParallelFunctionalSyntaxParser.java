@@ -0,0 +1,274 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.functional.parser;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.formats.FunctionalSyntaxDocumentFormat;
+import org.semanticweb.owlapi.io.OWLParserException;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
+
+/**
+ * Functional syntax parser that parses axioms on multiple threads. The input
+ * is scanned once, tracking only parentheses, strings, full IRIs and comments;
+ * the prefixes and ontology header are parsed first, then the axioms are cut
+ * at top level boundaries into chunks of about {@link #CHUNK_SIZE} characters
+ * and each chunk is parsed on a fork join pool by its own parser and
+ * tokenizer. Chunks are added to the ontology in input order, one batch per
+ * chunk, so the result is the same as for sequential parsing.
+ *
+ * @author ignazio
+ * @since 5.0.5
+ */
+class ParallelFunctionalSyntaxParser {
+
+    static final int CHUNK_SIZE = 1 << 20;
+    private static final String ONTOLOGY = "Ontology";
+    private final OWLOntology ontology;
+    private final OWLOntologyLoaderConfiguration config;
+    private final int threads;
+    private final Deque<ForkJoinTask<List<OWLAxiom>>> pending = new ArrayDeque<>();
+    @Nullable private ForkJoinPool pool;
+    @Nullable private FunctionalSyntaxDocumentFormat format;
+    @Nullable private OWLFunctionalSyntaxParser headerParser;
+    // scanner state
+    private final StringBuilder buffer = new StringBuilder();
+    private int depth;
+    private boolean inString;
+    private boolean escape;
+    private boolean inIRI;
+    private boolean inComment;
+    private boolean inWord;
+    private int wordStart;
+    @Nullable private String lastWord;
+    private boolean inOntology;
+    private boolean inAxioms;
+    private boolean closed;
+
+    ParallelFunctionalSyntaxParser(OWLOntology ontology, OWLOntologyLoaderConfiguration config) {
+        this.ontology = ontology;
+        this.config = config;
+        threads = config.getParsingThreads();
+    }
+
+    /**
+     * @param in
+     *        reader for the document
+     * @return format for the document, with the prefixes found
+     * @throws IOException
+     *         if reading fails
+     * @throws ParseException
+     *         if the header cannot be parsed
+     */
+    FunctionalSyntaxDocumentFormat parse(Reader in) throws IOException, ParseException {
+        pool = new ForkJoinPool(threads);
+        try {
+            char[] chars = new char[64 * 1024];
+            int n;
+            while ((n = in.read(chars)) > 0) {
+                for (int i = 0; i < n; i++) {
+                    scan(chars[i]);
+                }
+            }
+            if (!closed) {
+                // unbalanced input: let the sequential parser report the error
+                parseHeader(buffer.toString());
+            }
+            while (!pending.isEmpty()) {
+                merge(pending.poll());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        FunctionalSyntaxDocumentFormat toReturn = format;
+        if (toReturn == null) {
+            throw new OWLParserException("Ontology header not found");
+        }
+        return toReturn;
+    }
+
+    private void scan(char c) throws ParseException {
+        if (closed) {
+            scanTrailing(c);
+            return;
+        }
+        buffer.append(c);
+        if (inComment) {
+            inComment = c != '\n';
+        } else if (inString) {
+            if (escape) {
+                escape = false;
+            } else if (c == '\\') {
+                escape = true;
+            } else if (c == '"') {
+                inString = false;
+            }
+        } else if (inIRI) {
+            inIRI = c != '>';
+        } else if (isDelimiter(c)) {
+            endWord();
+            scanDelimiter(c);
+        } else if (c == '#' && !inWord) {
+            inComment = true;
+        } else if (!inWord) {
+            inWord = true;
+            wordStart = buffer.length() - 1;
+        }
+    }
+
+    private void scanDelimiter(char c) throws ParseException {
+        switch (c) {
+            case '"':
+                inString = true;
+                break;
+            case '<':
+                inIRI = true;
+                break;
+            case '(':
+                open();
+                break;
+            case ')':
+                close();
+                break;
+            default:
+                break;
+        }
+        if (!Character.isWhitespace(c)) {
+            // whitespace is allowed between a keyword and its parenthesis
+            lastWord = null;
+        }
+    }
+
+    private static boolean isDelimiter(char c) {
+        switch (c) {
+            case '=':
+            case '"':
+            case '(':
+            case ')':
+            case '<':
+            case '>':
+            case '@':
+            case '^':
+            case '\r':
+            case '\n':
+            case ' ':
+            case '\t':
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private void endWord() {
+        if (inWord) {
+            inWord = false;
+            if (depth <= 1) {
+                lastWord = buffer.substring(wordStart, buffer.length() - 1);
+            }
+        }
+    }
+
+    private void open() throws ParseException {
+        if (depth == 0) {
+            inOntology = ONTOLOGY.equals(lastWord);
+        } else if (depth == 1 && inOntology && !inAxioms && !"Import".equals(lastWord) && !"Annotation".equals(
+            lastWord)) {
+            // first axiom: everything before its keyword is the header
+            inAxioms = true;
+            int axiomStart = lastWord == null ? buffer.length() - 1 : wordStart;
+            String header = buffer.substring(0, axiomStart);
+            buffer.delete(0, axiomStart);
+            parseHeader(header + ')');
+        }
+        depth++;
+    }
+
+    private void close() throws ParseException {
+        depth--;
+        if (depth == 1 && inAxioms && buffer.length() >= CHUNK_SIZE) {
+            submit(buffer.toString());
+            buffer.setLength(0);
+        } else if (depth == 0 && inOntology) {
+            closed = true;
+            if (inAxioms) {
+                submit(buffer.substring(0, buffer.length() - 1));
+            } else {
+                parseHeader(buffer.toString());
+            }
+            buffer.setLength(0);
+        }
+    }
+
+    private void scanTrailing(char c) {
+        if (inComment) {
+            inComment = c != '\n';
+        } else if (c == '#') {
+            inComment = true;
+        } else if (!Character.isWhitespace(c)) {
+            throw new OWLParserException("Unexpected content after the end of the ontology: " + c);
+        }
+    }
+
+    private void parseHeader(String header) throws ParseException {
+        OWLFunctionalSyntaxParser parser = new OWLFunctionalSyntaxParser(new CustomTokenizer(new StringReader(
+            header)));
+        parser.setUp(ontology, config);
+        format = parser.parse();
+        headerParser = parser;
+    }
+
+    private void submit(String chunk) {
+        ForkJoinPool p = pool;
+        OWLFunctionalSyntaxParser h = headerParser;
+        if (p == null || h == null) {
+            throw new OWLParserException("Axioms found before the ontology header");
+        }
+        pending.add(p.submit(() -> parseChunk(chunk, h)));
+        // bound the number of chunks held in memory
+        while (pending.size() > 2 * threads) {
+            merge(pending.poll());
+        }
+    }
+
+    /**
+     * Runs on the pool: the manager lock is held by the loading thread, so the
+     * chunk parser must not call the manager; all it needs is copied from the
+     * header parser.
+     */
+    private static List<OWLAxiom> parseChunk(String chunk, OWLFunctionalSyntaxParser h) {
+        OWLFunctionalSyntaxParser parser = new OWLFunctionalSyntaxParser(new CustomTokenizer(new StringReader(chunk)));
+        parser.setUp(h);
+        try {
+            return parser.axioms();
+        } catch (ParseException e) {
+            throw new OWLParserException(e.getMessage(), e, 0, 0);
+        } catch (TokenMgrError e) {
+            throw new OWLParserException(e);
+        }
+    }
+
+    private void merge(ForkJoinTask<List<OWLAxiom>> task) {
+        ontology.addAxioms(task.join());
+    }
+}
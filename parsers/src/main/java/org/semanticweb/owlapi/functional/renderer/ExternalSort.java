@@ -0,0 +1,164 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.functional.renderer;
+
+import static org.semanticweb.owlapi.util.CollectionFactory.sortOptionally;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.model.OWLRuntimeException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.Iterators;
+
+/**
+ * Sorts a stream of OWL objects keeping at most one batch of them in memory.
+ * Each full batch is sorted and serialized to a temporary file; iterating
+ * merges the files with the last, partial batch. A stream that fits in one
+ * batch is sorted in memory and never touches the disk. The sorted objects can
+ * be iterated more than once; {@link #close()} deletes the files.
+ *
+ * @author ignazio
+ * @since 5.0.5
+ * @param <T>
+ *        type of the sorted objects
+ */
+class ExternalSort<T extends OWLObject> implements Iterable<T>, AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExternalSort.class);
+    /**
+     * Objects written between resets of an object stream; this bounds the
+     * objects a reader keeps for back references.
+     */
+    private static final int RESET_INTERVAL = 1000;
+    private final List<Path> runs = new ArrayList<>();
+    private final List<ObjectInputStream> readers = new ArrayList<>();
+    private final List<T> batch;
+
+    /**
+     * @param objects
+     *        objects to sort
+     * @param batchSize
+     *        number of objects sorted in memory
+     */
+    ExternalSort(Stream<? extends T> objects, int batchSize) {
+        List<T> current = new ArrayList<>();
+        try {
+            Iterator<? extends T> iterator = objects.iterator();
+            while (iterator.hasNext()) {
+                current.add(iterator.next());
+                if (current.size() >= batchSize) {
+                    spill(sortOptionally(current));
+                    current = new ArrayList<>();
+                }
+            }
+        } catch (IOException e) {
+            close();
+            throw new OWLRuntimeException(e);
+        }
+        batch = sortOptionally(current);
+    }
+
+    private void spill(List<T> sorted) throws IOException {
+        Path file = Files.createTempFile("owlapi", ".sort");
+        runs.add(file);
+        try (ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(Files.newOutputStream(
+            file)))) {
+            for (int i = 0; i < sorted.size(); i++) {
+                if (i % RESET_INTERVAL == 0) {
+                    out.reset();
+                }
+                out.writeObject(sorted.get(i));
+            }
+            // end of run marker
+            out.writeObject(null);
+        }
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        if (runs.isEmpty()) {
+            return batch.iterator();
+        }
+        List<Iterator<T>> sources = new ArrayList<>(runs.size() + 1);
+        for (Path file : runs) {
+            sources.add(new RunIterator(file));
+        }
+        sources.add(batch.iterator());
+        return Iterators.mergeSorted(sources, OWLObject::compareTo);
+    }
+
+    @Override
+    public void close() {
+        for (ObjectInputStream reader : readers) {
+            try {
+                reader.close();
+            } catch (IOException e) {
+                LOGGER.warn("Could not close sorted run: {}", e.getMessage());
+            }
+        }
+        readers.clear();
+        for (Path file : runs) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                LOGGER.warn("Could not delete temporary file {}: {}", file, e.getMessage());
+            }
+        }
+        runs.clear();
+    }
+
+    /** reads back one sorted run */
+    private class RunIterator extends AbstractIterator<T> {
+
+        private final ObjectInputStream in;
+
+        RunIterator(Path file) {
+            try {
+                in = new ObjectInputStream(new BufferedInputStream(Files.newInputStream(file)));
+            } catch (IOException e) {
+                throw new OWLRuntimeException(e);
+            }
+            readers.add(in);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        protected T computeNext() {
+            try {
+                Object next = in.readObject();
+                if (next == null) {
+                    in.close();
+                    readers.remove(in);
+                    return endOfData();
+                }
+                return (T) next;
+            } catch (IOException | ClassNotFoundException e) {
+                throw new OWLRuntimeException(e);
+            }
+        }
+    }
+}
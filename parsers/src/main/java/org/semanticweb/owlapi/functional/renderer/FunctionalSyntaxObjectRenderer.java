@@ -21,22 +21,29 @@ import static org.semanticweb.owlapi.vocab.OWLXMLVocabulary.*;
 import java.io.IOException;
 import java.io.Writer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
 import java.util.stream.Stream;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import org.semanticweb.owlapi.formats.PrefixDocumentFormat;
 import org.semanticweb.owlapi.model.*;
 import org.semanticweb.owlapi.model.parameters.Imports;
 import org.semanticweb.owlapi.util.AnnotationValueShortFormProvider;
+import org.semanticweb.owlapi.util.ChunkedRenderer;
 import org.semanticweb.owlapi.util.DefaultPrefixManager;
 import org.semanticweb.owlapi.util.EscapeUtils;
 import org.semanticweb.owlapi.vocab.OWLXMLVocabulary;
@@ -83,12 +90,216 @@ public class FunctionalSyntaxObjectRenderer implements OWLObjectVisitor {
         }
     }
 
+    /**
+     * The entities whose section lists an axiom, i.e., the entities for which
+     * {@link AxiomRetriever} returns the axiom. The first of them in section
+     * order owns the axiom.
+     */
+    static class AxiomOwners implements OWLAxiomVisitorEx<Stream<? extends OWLEntity>> {
+
+        private static Stream<OWLEntity> named(OWLObject o) {
+            return o instanceof OWLEntity ? Stream.of((OWLEntity) o) : Stream.empty();
+        }
+
+        private static Stream<OWLEntity> named(Stream<? extends OWLObject> objects) {
+            return objects.flatMap(AxiomOwners::named);
+        }
+
+        @Override
+        public <T> Stream<? extends OWLEntity> doDefault(T object) {
+            return Stream.empty();
+        }
+
+        @Override
+        public Stream<? extends OWLEntity> visit(OWLSubClassOfAxiom axiom) {
+            return named(axiom.getSubClass());
+        }
+
+        @Override
+        public Stream<? extends OWLEntity> visit(OWLEquivalentClassesAxiom axiom) {
+            return named(axiom.classExpressions());
+        }
+
+        @Override
+        public Stream<? extends OWLEntity> visit(OWLDisjointClassesAxiom axiom) {
+            return named(axiom.classExpressions());
+        }
+
+        @Override
+        public Stream<? extends OWLEntity> visit(OWLDisjointUnionAxiom axiom) {
+            return Stream.of(axiom.getOWLClass());
+        }
+
+        @Override
+        public Stream<? extends OWLEntity> visit(OWLAsymmetricObjectPropertyAxiom axiom) {
+            return named(axiom.getProperty());
+        }
+
+        @Override
+        public Stream<? extends OWLEntity> visit(OWLReflexiveObjectPropertyAxiom axiom) {
+            return named(axiom.getProperty());
+        }
+
+        @Override
+        public Stream<? extends OWLEntity> visit(OWLSymmetricObjectPropertyAxiom axiom) {
+            return named(axiom.getProperty());
+        }
+
+        @Override
+        public Stream<? extends OWLEntity> visit(OWLIrreflexiveObjectPropertyAxiom axiom) {
+            return named(axiom.getProperty());
+        }
+
+        @Override
+        public Stream<? extends OWLEntity> visit(OWLTransitiveObjectPropertyAxiom axiom) {
+            return named(axiom.getProperty());
+        }
+
+        @Override
+        public Stream<? extends OWLEntity> visit(OWLInverseFunctionalObjectPropertyAxiom axiom) {
+            return named(axiom.getProperty());
+        }
+
+        @Override
+        public Stream<? extends OWLEntity> visit(OWLFunctionalObjectPropertyAxiom axiom) {
+            return named(axiom.getProperty());
+        }
+
+        @Override
+        public Stream<? extends OWLEntity> visit(OWLInverseObjectPropertiesAxiom axiom) {
+            return named(axiom.properties());
+        }
+
+        @Override
+        public Stream<? extends OWLEntity> visit(OWLObjectPropertyDomainAxiom axiom) {
+            return named(axiom.getProperty());
+        }
+
+        @Override
+        public Stream<? extends OWLEntity> visit(OWLEquivalentObjectPropertiesAxiom axiom) {
+            return named(axiom.properties());
+        }
+
+        @Override
+        public Stream<? extends OWLEntity> visit(OWLDisjointObjectPropertiesAxiom axiom) {
+            return named(axiom.properties());
+        }
+
+        @Override
+        public Stream<? extends OWLEntity> visit(OWLObjectPropertyRangeAxiom axiom) {
+            return named(axiom.getProperty());
+        }
+
+        @Override
+        public Stream<? extends OWLEntity> visit(OWLSubObjectPropertyOfAxiom axiom) {
+            return named(axiom.getSubProperty());
+        }
+
+        @Override
+        public Stream<? extends OWLEntity> visit(OWLDataPropertyDomainAxiom axiom) {
+            return named(axiom.getProperty());
+        }
+
+        @Override
+        public Stream<? extends OWLEntity> visit(OWLEquivalentDataPropertiesAxiom axiom) {
+            return named(axiom.properties());
+        }
+
+        @Override
+        public Stream<? extends OWLEntity> visit(OWLDisjointDataPropertiesAxiom axiom) {
+            return named(axiom.properties());
+        }
+
+        @Override
+        public Stream<? extends OWLEntity> visit(OWLDataPropertyRangeAxiom axiom) {
+            return named(axiom.getProperty());
+        }
+
+        @Override
+        public Stream<? extends OWLEntity> visit(OWLFunctionalDataPropertyAxiom axiom) {
+            return named(axiom.getProperty());
+        }
+
+        @Override
+        public Stream<? extends OWLEntity> visit(OWLSubDataPropertyOfAxiom axiom) {
+            return named(axiom.getSubProperty());
+        }
+
+        @Override
+        public Stream<? extends OWLEntity> visit(OWLClassAssertionAxiom axiom) {
+            return named(axiom.getIndividual());
+        }
+
+        @Override
+        public Stream<? extends OWLEntity> visit(OWLObjectPropertyAssertionAxiom axiom) {
+            return named(axiom.getSubject());
+        }
+
+        @Override
+        public Stream<? extends OWLEntity> visit(OWLDataPropertyAssertionAxiom axiom) {
+            return named(axiom.getSubject());
+        }
+
+        @Override
+        public Stream<? extends OWLEntity> visit(OWLNegativeObjectPropertyAssertionAxiom axiom) {
+            return named(axiom.getSubject());
+        }
+
+        @Override
+        public Stream<? extends OWLEntity> visit(OWLNegativeDataPropertyAssertionAxiom axiom) {
+            return named(axiom.getSubject());
+        }
+
+        @Override
+        public Stream<? extends OWLEntity> visit(OWLSameIndividualAxiom axiom) {
+            return named(axiom.individuals());
+        }
+
+        @Override
+        public Stream<? extends OWLEntity> visit(OWLDifferentIndividualsAxiom axiom) {
+            return named(axiom.individuals());
+        }
+
+        @Override
+        public Stream<? extends OWLEntity> visit(OWLDatatypeDefinitionAxiom axiom) {
+            return Stream.of(axiom.getDatatype());
+        }
+
+        @Override
+        public Stream<? extends OWLEntity> visit(OWLSubAnnotationPropertyOfAxiom axiom) {
+            return Stream.of(axiom.getSubProperty());
+        }
+
+        @Override
+        public Stream<? extends OWLEntity> visit(OWLAnnotationPropertyDomainAxiom axiom) {
+            return Stream.of(axiom.getProperty());
+        }
+
+        @Override
+        public Stream<? extends OWLEntity> visit(OWLAnnotationPropertyRangeAxiom axiom) {
+            return Stream.of(axiom.getProperty());
+        }
+    }
+
+    /** entity types in the order their sections are written */
+    private static final List<EntityType<?>> SECTIONS = Arrays.asList(EntityType.ANNOTATION_PROPERTY,
+        EntityType.OBJECT_PROPERTY, EntityType.DATA_PROPERTY, EntityType.DATATYPE, EntityType.CLASS,
+        EntityType.NAMED_INDIVIDUAL);
+    private static final Comparator<OWLEntity> SECTION_ORDER = Comparator.<OWLEntity> comparingInt(
+        e -> SECTIONS.indexOf(e.getEntityType())).thenComparing(Comparator.naturalOrder());
+    /** Stateless, so shared by all renderers and rendering threads. */
+    private static final AxiomOwners AXIOM_OWNERS = new AxiomOwners();
+    private static final int DEFAULT_BATCH_SIZE = 100000;
     @Nonnull private DefaultPrefixManager defaultPrefixManager;
     private PrefixManager prefixManager;
+    private boolean customPrefixManager = false;
     protected final OWLOntology ont;
     private final Writer writer;
     private boolean writeEntitiesAsURIs = true;
     private boolean addMissingDeclarations = true;
+    private boolean streaming = false;
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private int threads = 1;
     protected AnnotationValueShortFormProvider labelMaker = null;
 
     /**
@@ -138,12 +349,50 @@ public class FunctionalSyntaxObjectRenderer implements OWLObjectVisitor {
         addMissingDeclarations = flag;
     }
 
+    /**
+     * Set the streaming flag. When streaming, written axioms are not tracked:
+     * each axiom is written in the section of the entity that owns it, and
+     * the signature and the axioms without an owner are sorted in batches,
+     * spilling to temporary files. The output is the same.
+     * 
+     * @param flag
+     *        new value
+     */
+    public void setStreaming(boolean flag) {
+        streaming = flag;
+    }
+
+    /**
+     * @param batchSize
+     *        number of objects sorted in memory when streaming
+     */
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batch size must be positive: " + batchSize);
+        }
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Set the number of rendering threads. With more than one thread, the
+     * entity sections are split in chunks rendered concurrently, each by its
+     * own renderer; axioms are assigned to sections as when streaming, so the
+     * output is the same.
+     * 
+     * @param threads
+     *        number of rendering threads
+     */
+    public void setThreads(int threads) {
+        this.threads = Math.max(1, threads);
+    }
+
     /**
      * @param prefixManager
      *        the new prefix manager
      */
     public void setPrefixManager(PrefixManager prefixManager) {
         this.prefixManager = prefixManager;
+        customPrefixManager = true;
         if (prefixManager instanceof DefaultPrefixManager) {
             defaultPrefixManager = (DefaultPrefixManager) prefixManager;
         }
@@ -228,6 +477,16 @@ public class FunctionalSyntaxObjectRenderer implements OWLObjectVisitor {
         });
         sortOptionally(ontology.annotations()).forEach(this::acceptAndReturn);
         writeReturn();
+        if (streaming || threads > 1) {
+            writeByOwner(ontology);
+        } else {
+            writeRememberingAxioms(ontology);
+        }
+        writeCloseBracket();
+        flush();
+    }
+
+    private void writeRememberingAxioms(OWLOntology ontology) {
         Set<OWLAxiom> writtenAxioms = new HashSet<>();
         List<OWLEntity> signature = sortOptionally(ontology.signature());
         Collection<IRI> illegals = OWLDocumentFormat.determineIllegalPunnings(addMissingDeclarations, signature
@@ -245,8 +504,166 @@ public class FunctionalSyntaxObjectRenderer implements OWLObjectVisitor {
             writtenAxioms);
         signature.forEach(e -> writeAxioms(e, writtenAxioms));
         sortOptionally(ontology.axioms().filter(ax -> !writtenAxioms.contains(ax))).forEach(this::acceptAndReturn);
-        writeCloseBracket();
-        flush();
+    }
+
+    private void writeByOwner(OWLOntology ontology) {
+        // without streaming, everything is sorted in memory
+        int batch = streaming ? batchSize : Integer.MAX_VALUE;
+        Collection<IRI> illegals = OWLDocumentFormat.determineIllegalPunnings(addMissingDeclarations, ontology
+            .signature(), ont.getPunnedIRIs(INCLUDED));
+        try (ExternalSort<OWLClass> classes = new ExternalSort<>(ontology.classesInSignature(EXCLUDED), batch);
+            ExternalSort<OWLObjectProperty> objectProperties = new ExternalSort<>(ontology
+                .objectPropertiesInSignature(EXCLUDED), batch);
+            ExternalSort<OWLDataProperty> dataProperties = new ExternalSort<>(ontology.dataPropertiesInSignature(
+                EXCLUDED), batch);
+            ExternalSort<OWLNamedIndividual> individuals = new ExternalSort<>(ontology.individualsInSignature(
+                EXCLUDED), batch);
+            ExternalSort<OWLAnnotationProperty> annotationProperties = new ExternalSort<>(ontology
+                .annotationPropertiesInSignature(EXCLUDED), batch);
+            ExternalSort<OWLDatatype> datatypes = new ExternalSort<>(ontology.datatypesInSignature(EXCLUDED),
+                batch)) {
+            // entities sort by type first, in this order
+            for (Iterable<? extends OWLEntity> entities : Arrays.asList(classes, objectProperties, dataProperties,
+                individuals, annotationProperties, datatypes)) {
+                render(entities, (r, e) -> r.writeDeclarations(e, new HashSet<>(), illegals));
+            }
+            writeOwnedAxioms("Annotation Properties", "Annotation Property", annotationProperties);
+            writeOwnedAxioms("Object Properties", "Object Property", objectProperties);
+            writeOwnedAxioms("Data Properties", "Data Property", dataProperties);
+            writeOwnedAxioms("Datatypes", "Datatype", datatypes);
+            writeOwnedAxioms("Classes", "Class", classes);
+            writeOwnedAxioms("Named Individuals", "Individual", individuals);
+        }
+        try (ExternalSort<OWLAxiom> rest = new ExternalSort<>(ontology.axioms().filter(ax -> !isOwned(ax)),
+            batch)) {
+            render(rest, FunctionalSyntaxObjectRenderer::acceptAndReturn);
+        }
+    }
+
+    /**
+     * Streaming counterpart of {@link #writeSortedEntities}: instead of
+     * checking the axioms already written, an entity's section keeps the
+     * axioms it owns and those that are never written in a section.
+     */
+    private void writeOwnedAxioms(String comment, String entityTypeName, Iterable<? extends OWLEntity> entities) {
+        Iterator<? extends OWLEntity> iterator = entities.iterator();
+        if (!iterator.hasNext()) {
+            return;
+        }
+        if (threads > 1) {
+            // the banner goes before the first chunk with content
+            AtomicBoolean haveWrittenBanner = new AtomicBoolean(false);
+            new ChunkedRenderer<OWLEntity>(threads).render(entities, w -> {
+                FunctionalSyntaxObjectRenderer renderer = createChunkRenderer(w);
+                return e -> renderer.writeOwnedEntity(e, entityTypeName, null);
+            }, chunk -> {
+                if (!chunk.isEmpty() && !haveWrittenBanner.getAndSet(true)) {
+                    writeBanner(comment);
+                }
+                write(chunk);
+            });
+        } else {
+            boolean haveWrittenBanner = false;
+            while (iterator.hasNext()) {
+                haveWrittenBanner |= writeOwnedEntity(iterator.next(), entityTypeName, haveWrittenBanner ? null
+                    : comment);
+            }
+        }
+        writeReturn();
+    }
+
+    /**
+     * @param bannerComment
+     *        if not null, a banner to write before the entity section
+     * @return true if the entity section was written, i.e., the entity owns
+     *         any axiom
+     */
+    private boolean writeOwnedEntity(OWLEntity owlEntity, String entityTypeName, @Nullable String bannerComment) {
+        List<? extends OWLAxiom> axiomsForEntity = asList(getUnsortedAxiomsForEntity(owlEntity).filter(
+            ax -> !shouldWrite(ax) || owlEntity.equals(owner(ax))));
+        List<OWLAnnotationAssertionAxiom> list = ownsAnnotations(owlEntity) ? asList(ont.annotationAssertionAxioms(
+            owlEntity.getIRI())) : Collections.emptyList();
+        if (axiomsForEntity.isEmpty() && list.isEmpty()) {
+            return false;
+        }
+        if (bannerComment != null) {
+            writeBanner(bannerComment);
+        }
+        writeEntity2(owlEntity, entityTypeName, sortOptionally(axiomsForEntity), sortOptionally(list),
+            new HashSet<>());
+        return true;
+    }
+
+    private void writeBanner(String comment) {
+        writeln("############################");
+        writeln("#   " + comment);
+        writeln("############################");
+        writeReturn();
+    }
+
+    /**
+     * Renders the objects in order, on the rendering threads if there is more
+     * than one.
+     */
+    private <T> void render(Iterable<? extends T> objects, BiConsumer<FunctionalSyntaxObjectRenderer, T> renderer) {
+        if (threads == 1) {
+            objects.forEach(o -> renderer.accept(this, o));
+            return;
+        }
+        new ChunkedRenderer<T>(threads).render(objects, w -> {
+            FunctionalSyntaxObjectRenderer chunkRenderer = createChunkRenderer(w);
+            return o -> renderer.accept(chunkRenderer, o);
+        }, this::write);
+    }
+
+    /**
+     * Creates the renderer for a chunk rendered on another thread. Overriding
+     * classes should return an instance of their own class with the same
+     * settings.
+     * 
+     * @param chunkWriter
+     *        the writer for the chunk
+     * @return renderer with the same settings as this one
+     */
+    protected FunctionalSyntaxObjectRenderer createChunkRenderer(Writer chunkWriter) {
+        // the constructor sets up prefixes from the ontology format the same
+        // way; prefix managers set from outside are only read, and shared
+        FunctionalSyntaxObjectRenderer renderer = new FunctionalSyntaxObjectRenderer(ont, chunkWriter);
+        if (customPrefixManager) {
+            renderer.setPrefixManager(prefixManager);
+        }
+        renderer.setAddMissingDeclarations(addMissingDeclarations);
+        return renderer;
+    }
+
+    @Nullable
+    private static OWLEntity owner(OWLAxiom ax) {
+        return ax.accept(AXIOM_OWNERS).min(SECTION_ORDER).orElse(null);
+    }
+
+    /**
+     * @return true if the annotation assertions on the entity IRI are written
+     *         in the entity section, i.e., no earlier section has an entity
+     *         with the same IRI
+     */
+    private boolean ownsAnnotations(OWLEntity entity) {
+        int section = SECTIONS.indexOf(entity.getEntityType());
+        return ont.entitiesInSignature(entity.getIRI()).noneMatch(e -> SECTIONS.indexOf(e.getEntityType()) < section);
+    }
+
+    /**
+     * @return true if the axiom is written in the declarations or in an entity
+     *         section
+     */
+    private boolean isOwned(OWLAxiom ax) {
+        if (ax.isOfType(AxiomType.DECLARATION)) {
+            return true;
+        }
+        if (ax.isOfType(AxiomType.ANNOTATION_ASSERTION)) {
+            OWLAnnotationSubject subject = ((OWLAnnotationAssertionAxiom) ax).getSubject();
+            return subject.isIRI() && ont.containsEntityInSignature((IRI) subject);
+        }
+        return shouldWrite(ax) && owner(ax) != null;
     }
 
     private void writeSortedEntities(String bannerComment, String entityTypeName, Stream<? extends OWLEntity> entities,
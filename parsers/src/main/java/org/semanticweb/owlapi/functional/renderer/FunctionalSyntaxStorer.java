@@ -37,7 +37,16 @@ public class FunctionalSyntaxStorer extends AbstractOWLStorer {
     protected void storeOntology(OWLOntology ontology, PrintWriter writer, OWLDocumentFormat format)
             throws OWLOntologyStorageException {
         try {
-            ontology.accept(new FunctionalSyntaxObjectRenderer(ontology, writer));
+            FunctionalSyntaxObjectRenderer renderer = new FunctionalSyntaxObjectRenderer(ontology, writer);
+            renderer.setStreaming(format.getParameter(FunctionalSyntaxDocumentFormat.STREAMING, Boolean.FALSE)
+                .booleanValue());
+            Integer batchSize = format.getParameter(FunctionalSyntaxDocumentFormat.STREAMING_BATCH_SIZE, null);
+            if (batchSize != null) {
+                renderer.setBatchSize(batchSize.intValue());
+            }
+            renderer.setThreads(ontology.getOWLOntologyManager().getOntologyWriterConfiguration()
+                .getRenderingThreads());
+            ontology.accept(renderer);
             writer.flush();
         } catch (OWLRuntimeException e) {
             throw new OWLOntologyStorageException(e);
@@ -18,6 +18,7 @@ import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.*;
 
 import java.io.Writer;
 import java.util.*;
+import java.util.function.BiConsumer;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 
@@ -27,6 +28,7 @@ import javax.annotation.Nullable;
 import org.semanticweb.owlapi.io.OWLRendererException;
 import org.semanticweb.owlapi.manchestersyntax.parser.ManchesterOWLSyntax;
 import org.semanticweb.owlapi.model.*;
+import org.semanticweb.owlapi.util.ChunkedRenderer;
 import org.semanticweb.owlapi.util.CollectionFactory;
 import org.semanticweb.owlapi.util.OWLAxiomFilter;
 import org.semanticweb.owlapi.util.OWLObjectComparator;
@@ -90,6 +92,7 @@ public class ManchesterOWLSyntaxFrameRenderer extends ManchesterOWLSyntaxObjectR
     private OWLAxiomFilter axiomFilter = axiom -> true;
     private RenderingDirector renderingDirector = new DefaultRenderingDirector();
     @Nonnull protected final OWLObjectComparator ooc;
+    private int threads = 1;
     private final Predicate<OWLAxiom> props = ax -> ((OWLNaryPropertyAxiom<?>) ax).properties().count() == 2;
     /** The event. */
     private RendererEvent event;
@@ -204,6 +207,19 @@ public class ManchesterOWLSyntaxFrameRenderer extends ManchesterOWLSyntaxObjectR
         this.renderExtensions = renderExtensions;
     }
 
+    /**
+     * Sets the number of rendering threads. With more than one thread, the
+     * entity frames are split in chunks rendered concurrently, each by its own
+     * renderer; the output is the same. Frames are always rendered on the
+     * calling thread if there are renderer listeners.
+     * 
+     * @param threads
+     *        number of rendering threads
+     */
+    public void setThreads(int threads) {
+        this.threads = Math.max(1, threads);
+    }
+
     /**
      * Write ontology.
      * 
@@ -214,18 +230,18 @@ public class ManchesterOWLSyntaxFrameRenderer extends ManchesterOWLSyntaxObjectR
         writePrefixMap();
         writeNewLine();
         writeOntologyHeader();
-        o.annotationPropertiesInSignature().sorted(ooc).forEach(this::write);
-        o.datatypesInSignature().sorted(ooc).forEach(this::write);
-        o.objectPropertiesInSignature().sorted(ooc).forEach(prop -> {
-            write(prop);
+        writeFrames(o.annotationPropertiesInSignature(), ManchesterOWLSyntaxFrameRenderer::write);
+        writeFrames(o.datatypesInSignature(), ManchesterOWLSyntaxFrameRenderer::write);
+        writeFrames(o.objectPropertiesInSignature(), (r, prop) -> {
+            r.write(prop);
             OWLObjectPropertyExpression invProp = prop.getInverseProperty();
             if (o.axioms(invProp).count() > 0) {
-                write(invProp);
+                r.write(invProp);
             }
         });
-        o.dataPropertiesInSignature().sorted(ooc).forEach(this::write);
-        o.classesInSignature().sorted(ooc).forEach(this::write);
-        o.individualsInSignature().sorted(ooc).forEach(this::write);
+        writeFrames(o.dataPropertiesInSignature(), ManchesterOWLSyntaxFrameRenderer::write);
+        writeFrames(o.classesInSignature(), ManchesterOWLSyntaxFrameRenderer::write);
+        writeFrames(o.individualsInSignature(), ManchesterOWLSyntaxFrameRenderer::write);
         o.referencedAnonymousIndividuals().sorted(ooc).forEach(this::write);
         // Nary disjoint classes axioms
         event = new RendererEvent(this, o);
@@ -254,6 +270,62 @@ public class ManchesterOWLSyntaxFrameRenderer extends ManchesterOWLSyntaxObjectR
         flush();
     }
 
+    /**
+     * Writes the frames of the entities, sorted, on the rendering threads if
+     * there is more than one.
+     */
+    private <T extends OWLEntity> void writeFrames(Stream<T> entities,
+        BiConsumer<ManchesterOWLSyntaxFrameRenderer, T> frameWriter) {
+        List<T> sorted = asList(entities.sorted(ooc));
+        if (threads == 1 || !listeners.isEmpty()) {
+            sorted.forEach(e -> frameWriter.accept(this, e));
+            return;
+        }
+        new ChunkedRenderer<T>(threads).render(sorted, w -> {
+            ManchesterOWLSyntaxFrameRenderer renderer = createChunkRenderer(w);
+            return e -> frameWriter.accept(renderer, e);
+        }, this::writeChunk);
+    }
+
+    /**
+     * Writes frames rendered by a chunk renderer. Frames end with a new line;
+     * writing it on its own leaves the line position as if the frames had been
+     * written here.
+     */
+    private void writeChunk(String chunk) {
+        int lastNewLine = chunk.lastIndexOf('\n');
+        if (lastNewLine < 0) {
+            write(chunk);
+            return;
+        }
+        write(chunk.substring(0, lastNewLine));
+        write(chunk.substring(lastNewLine));
+    }
+
+    /**
+     * Creates the renderer for a chunk of frames rendered on another thread.
+     * Frames start on a new line with no indentation, so a new renderer writes
+     * them as this one would. Overriding classes should return an instance of
+     * their own class with the same settings.
+     * 
+     * @param chunkWriter
+     *        the writer for the chunk
+     * @return renderer with the same settings as this one
+     */
+    protected ManchesterOWLSyntaxFrameRenderer createChunkRenderer(Writer chunkWriter) {
+        ManchesterOWLSyntaxFrameRenderer renderer = new ManchesterOWLSyntaxFrameRenderer(o, chunkWriter,
+            getShortFormProvider());
+        renderer.setOntologyIRIShortFormProvider(shortFormProvider);
+        renderer.filteredAxiomTypes.clear();
+        renderer.filteredAxiomTypes.addAll(filteredAxiomTypes);
+        renderer.setRenderExtensions(renderExtensions);
+        renderer.setAxiomFilter(axiomFilter);
+        renderer.setRenderingDirector(renderingDirector);
+        renderer.setUseTabbing(isUseTabbing());
+        renderer.setUseWrapping(isUseWrapping());
+        return renderer;
+    }
+
     protected <T> void writeMoreThanTwo(OWLAxiom ax, Stream<T> stream, ManchesterOWLSyntax section) {
         List<T> individuals = asList(stream);
         if (individuals.size() > 2) {
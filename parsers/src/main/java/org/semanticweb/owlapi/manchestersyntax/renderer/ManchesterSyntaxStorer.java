@@ -38,6 +38,8 @@ public class ManchesterSyntaxStorer extends AbstractOWLStorer {
         ManchesterOWLSyntaxFrameRenderer ren = new ManchesterOWLSyntaxFrameRenderer(
                 ontology, writer,
                 new ManchesterOWLSyntaxPrefixNameShortFormProvider(format));
+        ren.setThreads(ontology.getOWLOntologyManager().getOntologyWriterConfiguration()
+                .getRenderingThreads());
         ren.writeOntology();
     }
 }
@@ -13,15 +13,19 @@
 package org.semanticweb.owlapi.owlxml.renderer;
 
 import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
 import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asUnorderedSet;
 import static org.semanticweb.owlapi.vocab.OWLXMLVocabulary.*;
 
+import java.io.PrintWriter;
 import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Stream;
 
 import org.semanticweb.owlapi.model.*;
 import org.semanticweb.owlapi.model.parameters.Imports;
+import org.semanticweb.owlapi.util.ChunkedRenderer;
 import org.semanticweb.owlapi.util.CollectionFactory;
 
 /**
@@ -32,6 +36,7 @@ import org.semanticweb.owlapi.util.CollectionFactory;
 public class OWLXMLObjectRenderer implements OWLObjectVisitor {
 
     private final OWLXMLWriter writer;
+    private int threads = 1;
 
     /**
      * @param writer
@@ -41,6 +46,18 @@ public class OWLXMLObjectRenderer implements OWLObjectVisitor {
         this.writer = checkNotNull(writer, "writer cannot be null");
     }
 
+    /**
+     * Sets the number of rendering threads. With more than one thread, the
+     * sorted axioms of an ontology are split in chunks rendered concurrently,
+     * each by its own renderer and fragment writer; the output is the same.
+     * 
+     * @param threads
+     *        number of rendering threads
+     */
+    public void setThreads(int threads) {
+        this.threads = Math.max(1, threads);
+    }
+
     private void writeAnnotations(OWLAxiom axiom) {
         checkNotNull(axiom, "axiom cannot be null");
         render(axiom.annotations());
@@ -57,10 +74,9 @@ public class OWLXMLObjectRenderer implements OWLObjectVisitor {
         render(ontology.annotations());
         // treat declarations separately from other axioms
         Set<OWLEntity> declared = asUnorderedSet(ontology.signature());
-        ontology.axioms(AxiomType.DECLARATION).sorted().forEach(ax -> {
-            ax.accept(this);
-            declared.remove(ax.getEntity());
-        });
+        List<OWLDeclarationAxiom> declarations = asList(ontology.axioms(AxiomType.DECLARATION).sorted());
+        declarations.forEach(ax -> declared.remove(ax.getEntity()));
+        renderAxioms(declarations, ontology);
         // any undeclared entities?
         if (!declared.isEmpty()) {
             OWLDocumentFormat format = ontology.getFormat();
@@ -79,7 +95,19 @@ public class OWLXMLObjectRenderer implements OWLObjectVisitor {
         Stream<AxiomType<? extends OWLAxiom>> skipDeclarations = AxiomType.AXIOM_TYPES.stream().filter(t -> !t.equals(
             AxiomType.DECLARATION));
         Stream<? extends OWLAxiom> axioms = skipDeclarations.flatMap(t -> ontology.axioms(t));
-        render(CollectionFactory.sortOptionally(axioms).stream());
+        renderAxioms(CollectionFactory.sortOptionally(axioms), ontology);
+    }
+
+    private void renderAxioms(List<? extends OWLAxiom> axioms, OWLOntology ontology) {
+        if (threads == 1) {
+            axioms.forEach(ax -> ax.accept(this));
+            return;
+        }
+        new ChunkedRenderer<OWLAxiom>(threads).render(axioms, w -> {
+            OWLXMLObjectRenderer renderer = new OWLXMLObjectRenderer(writer.createFragmentWriter(new PrintWriter(w),
+                ontology));
+            return ax -> ax.accept(renderer);
+        }, writer::writeFragment);
     }
 
     @Override
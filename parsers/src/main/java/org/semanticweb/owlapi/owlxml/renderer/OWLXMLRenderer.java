@@ -78,6 +78,7 @@ public class OWLXMLRenderer extends AbstractOWLRenderer {
                 w.writePrefix("owl:", Namespaces.OWL.toString());
             }
             OWLXMLObjectRenderer ren = new OWLXMLObjectRenderer(w);
+            ren.setThreads(ontology.getOWLOntologyManager().getOntologyWriterConfiguration().getRenderingThreads());
             ontology.accept(ren);
             w.endDocument();
             writer.flush();
@@ -29,7 +29,6 @@ import org.semanticweb.owlapi.model.NodeID;
 import org.semanticweb.owlapi.model.OWLDatatype;
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLRuntimeException;
-import org.semanticweb.owlapi.rdf.rdfxml.renderer.XMLWriter;
 import org.semanticweb.owlapi.rdf.rdfxml.renderer.XMLWriterImpl;
 import org.semanticweb.owlapi.rdf.rdfxml.renderer.XMLWriterNamespaceManager;
 import org.semanticweb.owlapi.util.StringLengthComparator;
@@ -54,7 +53,7 @@ public class OWLXMLWriter {
     @Nonnull private static final String LANG_IRI = "xml:lang";
     @Nonnull private static final IRI VERSION_IRI = IRI.create(Namespaces.OWL.getPrefixIRI(), "versionIRI");
     @Nonnull private static final IRI ONTOLOGY_IRI = IRI.create(Namespaces.OWL.getPrefixIRI(), "ontologyIRI");
-    private final XMLWriter writer;
+    private final XMLWriterImpl writer;
     @Nonnull private final Map<String, String> iriPrefixMap = new TreeMap<>(new StringLengthComparator());
 
     /**
@@ -77,6 +76,40 @@ public class OWLXMLWriter {
             .getOntologyWriterConfiguration());
     }
 
+    private OWLXMLWriter(XMLWriterImpl writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * Creates a writer for a fragment of the document written by this writer.
+     * The fragment writer writes elements inside the ontology element, with
+     * the same namespaces and prefixes; its output is added to this document
+     * with {@link #writeFragment(String)}.
+     * 
+     * @param fragmentWriter
+     *        writer for the fragment
+     * @param ontology
+     *        ontology
+     * @return fragment writer
+     */
+    public OWLXMLWriter createFragmentWriter(PrintWriter fragmentWriter, OWLOntology ontology) {
+        XMLWriterImpl fragment = new XMLWriterImpl(fragmentWriter, writer.getNamespacePrefixes(), writer.getXMLBase(),
+            ontology.getOWLOntologyManager().getOntologyWriterConfiguration());
+        fragment.startFragment(ONTOLOGY.getIRI());
+        OWLXMLWriter w = new OWLXMLWriter(fragment);
+        w.iriPrefixMap.putAll(iriPrefixMap);
+        return w;
+    }
+
+    /**
+     * @param fragment
+     *        output of a writer created with
+     *        {@link #createFragmentWriter(PrintWriter, OWLOntology)}
+     */
+    public void writeFragment(String fragment) {
+        writer.writeFragment(fragment);
+    }
+
     /**
      * @return iri to prefix map
      */
@@ -69,6 +69,8 @@ public abstract class RDFRendererBase {
     @Nonnull protected final OWLOntology ontology;
     protected final OWLDataFactory df;
     protected RDFGraph graph;
+    /** translator for entities and axioms, reset for each graph */
+    private SequentialBlankNodeRDFTranslator translator;
     @Nonnull protected final Set<IRI> prettyPrintedTypes = asUnorderedSet(Stream.of(OWL_CLASS, OWL_OBJECT_PROPERTY,
         OWL_DATA_PROPERTY, OWL_ANNOTATION_PROPERTY, OWL_RESTRICTION, OWL_THING, OWL_NOTHING, OWL_ONTOLOGY,
         OWL_ANNOTATION_PROPERTY, OWL_NAMED_INDIVIDUAL, RDFS_DATATYPE, OWL_AXIOM, OWL_ANNOTATION).map(a -> a.getIRI()));
@@ -523,6 +525,10 @@ public abstract class RDFRendererBase {
             super(ontology.getOWLOntologyManager(), ontology, shouldInsertDeclarations(), occurrences);
         }
 
+        void recycle() {
+            clearForReuse();
+        }
+
         @Override
         protected RDFResourceBlankNode getAnonymousNode(Object key) {
             checkNotNull(key, "key cannot be null");
@@ -541,15 +547,28 @@ public abstract class RDFRendererBase {
     }
 
     protected void createGraph(Stream<? extends OWLObject> objects) {
-        RDFTranslator translator = new SequentialBlankNodeRDFTranslator();
-        sortOptionally(objects).forEach(obj -> obj.accept(translator));
-        graph = translator.getGraph();
+        RDFTranslator t = resetTranslator();
+        sortOptionally(objects).forEach(obj -> obj.accept(t));
+        graph = t.getGraph();
     }
 
     protected void createGraph(OWLObject o) {
-        RDFTranslator translator = new SequentialBlankNodeRDFTranslator();
-        o.accept(translator);
-        graph = translator.getGraph();
+        RDFTranslator t = resetTranslator();
+        o.accept(t);
+        graph = t.getGraph();
+    }
+
+    /**
+     * @return the translator, with an empty graph; the graph and its indexes
+     *         are reused across entities rather than allocated for each one
+     */
+    private RDFTranslator resetTranslator() {
+        if (translator == null) {
+            translator = new SequentialBlankNodeRDFTranslator();
+        } else {
+            translator.recycle();
+        }
+        return translator;
     }
 
     protected abstract void writeBanner(String name);
@@ -878,6 +878,15 @@ public abstract class AbstractTranslator<N extends Serializable, R extends N, P
         addTriple(subject, getPredicateNode(pred), getNode(object));
     }
 
+    /**
+     * Forgets the nodes created for the objects translated so far; objects
+     * translated afterwards get new nodes.
+     */
+    protected void clearNodes() {
+        nodeMap.clear();
+        currentIndividuals.clear();
+    }
+
     /**
      * Gets a resource that has a IRI.
      * 
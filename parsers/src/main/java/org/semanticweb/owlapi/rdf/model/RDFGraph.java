@@ -21,6 +21,7 @@ import java.io.Writer;
 import java.util.*;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import org.semanticweb.owlapi.io.RDFNode;
 import org.semanticweb.owlapi.io.RDFResource;
@@ -33,7 +34,16 @@ import org.semanticweb.owlapi.vocab.OWLRDFVocabulary;
 
 import com.google.common.collect.Sets;
 
+import gnu.trove.impl.Constants;
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.map.hash.TObjectIntHashMap;
+
 /**
+ * A graph of RDF triples, indexed by subject. Triples are kept in insertion
+ * order and indexed by position; a cleared graph keeps its index lists for
+ * reuse, so that a renderer can translate many small graphs into one graph
+ * instance without allocating new indexes each time.
+ * 
  * @author Matthew Horridge, The University Of Manchester, Bio-Health
  *         Informatics Group
  * @since 2.0.0
@@ -41,10 +51,24 @@ import com.google.common.collect.Sets;
 public class RDFGraph implements Serializable {
 
     private static final Set<IRI> skippedPredicates = Sets.newHashSet(OWLRDFVocabulary.OWL_ANNOTATED_TARGET.getIRI());
-    @Nonnull private final Map<RDFResource, Set<RDFTriple>> triplesBySubject = createMap();
+    /** Graphs larger than this do not keep their index tables when cleared. */
+    private static final int RETAINED_CAPACITY = 1024;
+    /** Maximum number of index lists kept for reuse. */
+    private static final int POOL_SIZE = 256;
+    @Nonnull private Map<RDFResource, TIntArrayList> triplesBySubject = createMap();
     @Nonnull private final Set<RDFResourceBlankNode> rootAnonymousNodes = createLinkedSet();
-    @Nonnull private final Set<RDFTriple> triples = createLinkedSet();
+    /** triples in insertion order */
+    @Nonnull private final List<RDFTriple> triples = new ArrayList<>();
+    /** position of each triple in the triples list */
+    @Nonnull private TObjectIntHashMap<RDFTriple> positions = newPositions();
     @Nonnull private final Map<RDFNode, RDFNode> remappedNodes = createMap();
+    /** index lists of cleared subjects, reused for new subjects */
+    @Nonnull private final Deque<TIntArrayList> pool = new ArrayDeque<>();
+    private boolean hasBlankNodes = false;
+
+    private static TObjectIntHashMap<RDFTriple> newPositions() {
+        return new TObjectIntHashMap<>(Constants.DEFAULT_CAPACITY, Constants.DEFAULT_LOAD_FACTOR, -1);
+    }
 
     /**
      * Determines if this graph is empty (i.e. whether or not it contains any
@@ -66,13 +90,43 @@ public class RDFGraph implements Serializable {
         checkNotNull(triple, "triple cannot be null");
         // Reset the computation of root anon nodes
         rootAnonymousNodes.clear();
+        if (positions.containsKey(triple)) {
+            return;
+        }
+        int position = triples.size();
         triples.add(triple);
-        Set<RDFTriple> tripleSet = triplesBySubject.get(triple.getSubject());
-        if (tripleSet == null) {
-            tripleSet = new LinkedHashSet<>();
-            triplesBySubject.put(triple.getSubject(), tripleSet);
+        positions.put(triple, position);
+        hasBlankNodes |= triple.getSubject().isAnonymous() || triple.getObject().isAnonymous();
+        TIntArrayList tripleList = triplesBySubject.get(triple.getSubject());
+        if (tripleList == null) {
+            tripleList = pool.isEmpty() ? new TIntArrayList(4) : pool.pop();
+            triplesBySubject.put(triple.getSubject(), tripleList);
         }
-        tripleSet.add(triple);
+        tripleList.add(position);
+    }
+
+    /**
+     * Removes all triples. Views returned by this graph reflect the change.
+     */
+    public void clear() {
+        if (triples.size() > RETAINED_CAPACITY) {
+            // do not pay for clearing large tables on every later graph
+            triplesBySubject = createMap();
+            positions = newPositions();
+        } else {
+            for (TIntArrayList tripleList : triplesBySubject.values()) {
+                if (pool.size() < POOL_SIZE) {
+                    tripleList.resetQuick();
+                    pool.push(tripleList);
+                }
+            }
+            triplesBySubject.clear();
+            positions.clear();
+        }
+        triples.clear();
+        rootAnonymousNodes.clear();
+        remappedNodes.clear();
+        hasBlankNodes = false;
     }
 
     /**
@@ -81,8 +135,8 @@ public class RDFGraph implements Serializable {
      * @return sorted triples
      */
     public Collection<RDFTriple> getTriplesForSubject(RDFNode subject) {
-        Set<RDFTriple> set = triplesBySubject.get(subject);
-        if (set == null) {
+        TIntArrayList tripleList = triplesBySubject.get(subject);
+        if (tripleList == null) {
             // check if the node is remapped
             RDFNode rdfNode = remappedNodes.get(subject);
             if (rdfNode == null) {
@@ -91,7 +145,7 @@ public class RDFGraph implements Serializable {
             // else return the triples for the remapped node
             return getTriplesForSubject(rdfNode);
         }
-        return set;
+        return new TripleList(tripleList);
     }
 
     /**
@@ -99,6 +153,9 @@ public class RDFGraph implements Serializable {
      *         other triples, compute a remapping of the node.
      */
     public Map<RDFTriple, RDFResourceBlankNode> computeRemappingForSharedNodes() {
+        if (!hasBlankNodes) {
+            return Collections.emptyMap();
+        }
         Map<RDFTriple, RDFResourceBlankNode> toReturn = createMap();
         Map<RDFNode, List<RDFTriple>> sharers = createMap();
         for (RDFTriple t : triples) {
@@ -140,7 +197,7 @@ public class RDFGraph implements Serializable {
      * @return root anonymous nodes
      */
     public Set<RDFResourceBlankNode> getRootAnonymousNodes() {
-        if (rootAnonymousNodes.isEmpty()) {
+        if (rootAnonymousNodes.isEmpty() && hasBlankNodes) {
             rebuildAnonRoots();
         }
         return rootAnonymousNodes;
@@ -168,8 +225,8 @@ public class RDFGraph implements Serializable {
      */
     public void dumpTriples(Writer w) throws IOException {
         checkNotNull(w, "w cannot be null");
-        for (Set<RDFTriple> set : triplesBySubject.values()) {
-            for (RDFTriple triple : set) {
+        for (TIntArrayList tripleList : triplesBySubject.values()) {
+            for (RDFTriple triple : new TripleList(tripleList)) {
                 w.write(triple.toString());
                 w.write("\n");
             }
@@ -181,6 +238,42 @@ public class RDFGraph implements Serializable {
      * @return all triples in an unmodifiable set
      */
     public Set<RDFTriple> getAllTriples() {
-        return Collections.unmodifiableSet(triples);
+        return new AbstractSet<RDFTriple>() {
+
+            @Override
+            public Iterator<RDFTriple> iterator() {
+                return Collections.unmodifiableList(triples).iterator();
+            }
+
+            @Override
+            public int size() {
+                return triples.size();
+            }
+
+            @Override
+            public boolean contains(@Nullable Object o) {
+                return o instanceof RDFTriple && positions.containsKey(o);
+            }
+        };
+    }
+
+    /** triples of a subject, by position */
+    private class TripleList extends AbstractList<RDFTriple> {
+
+        private final TIntArrayList tripleList;
+
+        TripleList(TIntArrayList tripleList) {
+            this.tripleList = tripleList;
+        }
+
+        @Override
+        public RDFTriple get(int index) {
+            return triples.get(tripleList.get(index));
+        }
+
+        @Override
+        public int size() {
+            return tripleList.size();
+        }
     }
 }
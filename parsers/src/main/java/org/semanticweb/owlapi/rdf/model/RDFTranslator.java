@@ -96,4 +96,15 @@ public class RDFTranslator extends AbstractTranslator<RDFNode, RDFResource, RDFR
     public void reset() {
         graph = new RDFGraph();
     }
+
+    /**
+     * Clear the graph and the nodes created so far, so that the translator can
+     * be reused for unrelated objects. Unlike {@link #reset()}, the graph
+     * instance is emptied and reused, so graphs obtained earlier through
+     * {@link #getGraph()} must not be used afterwards.
+     */
+    protected void clearForReuse() {
+        graph.clear();
+        clearNodes();
+    }
 }
@@ -0,0 +1,462 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.rdf.rdfxml.parser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLLiteral;
+
+import gnu.trove.map.hash.TObjectIntHashMap;
+
+/**
+ * Triple index that stores each triple as a row of integer ids. IRIs and
+ * literals are numbered through two dictionaries; rows live in parallel
+ * {@code int} arrays, chained by subject in insertion order, and an open
+ * addressing table of row numbers hashed on the whole triple detects
+ * duplicates. Literal objects are stored as {@code -(id + 1)} so that one
+ * column holds both kinds of object. Consumed rows are marked as removed and
+ * skipped; once removed rows outnumber live ones, and no iteration is under
+ * way, the rows are compacted and the arrays and hash table shrink with them.
+ * Iteration visits the triples of each subject grouped by predicate, as
+ * {@link MapTripleIndex} does. Compared to {@link MapTripleIndex}, this saves
+ * the per triple map entries and sets, which dominate memory use when parsing
+ * large documents.
+ *
+ * @author ignazio
+ * @since 5.0.5
+ */
+class EncodedTripleIndex implements TripleIndex {
+
+    private static final int NONE = -1;
+    private static final int INITIAL_ROWS = 1024;
+    private TObjectIntHashMap<IRI> iriIds = new TObjectIntHashMap<>(INITIAL_ROWS, 0.5F, NONE);
+    private final List<IRI> iris = new ArrayList<>();
+    private TObjectIntHashMap<OWLLiteral> literalIds = new TObjectIntHashMap<>(INITIAL_ROWS, 0.5F, NONE);
+    private final List<OWLLiteral> literals = new ArrayList<>();
+    /** Triple rows; predicates[r] is NONE for removed rows. */
+    private int[] subjects;
+    private int[] predicates;
+    private int[] objects;
+    /** Next row with the same subject, or NONE. */
+    private int[] next;
+    private int rows;
+    private int live;
+    /** First and last row for each subject id, or NONE. */
+    private int[] first;
+    private int[] last;
+    /** Subject ids in order of first use as subject. */
+    private int[] subjectOrder;
+    private int subjectCount;
+    /** Row numbers plus one, hashed on subject, predicate and object. */
+    private int[] table;
+    /** Number of iterations under way; rows cannot be renumbered meanwhile. */
+    private int iterating;
+
+    EncodedTripleIndex() {
+        clear();
+    }
+
+    @Override
+    public final void clear() {
+        iriIds = new TObjectIntHashMap<>(INITIAL_ROWS, 0.5F, NONE);
+        iris.clear();
+        literalIds = new TObjectIntHashMap<>(INITIAL_ROWS, 0.5F, NONE);
+        literals.clear();
+        subjects = new int[INITIAL_ROWS];
+        predicates = new int[INITIAL_ROWS];
+        objects = new int[INITIAL_ROWS];
+        next = new int[INITIAL_ROWS];
+        rows = 0;
+        live = 0;
+        first = new int[INITIAL_ROWS];
+        last = new int[INITIAL_ROWS];
+        Arrays.fill(first, NONE);
+        subjectOrder = new int[INITIAL_ROWS];
+        subjectCount = 0;
+        table = new int[INITIAL_ROWS * 2];
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return live == 0;
+    }
+
+    private int encode(IRI iri) {
+        int id = iriIds.get(iri);
+        if (id == NONE) {
+            id = iris.size();
+            iris.add(iri);
+            iriIds.put(iri, id);
+        }
+        return id;
+    }
+
+    private int encode(OWLLiteral literal) {
+        int id = literalIds.get(literal);
+        if (id == NONE) {
+            id = literals.size();
+            literals.add(literal);
+            literalIds.put(literal, id);
+        }
+        return -(id + 1);
+    }
+
+    private int id(IRI iri) {
+        return iriIds.get(iri);
+    }
+
+    private int id(OWLLiteral literal) {
+        int id = literalIds.get(literal);
+        return id == NONE ? 0 : -(id + 1);
+    }
+
+    private IRI iri(int id) {
+        return iris.get(id);
+    }
+
+    private OWLLiteral literal(int id) {
+        return literals.get(-id - 1);
+    }
+
+    private static int hash(int s, int p, int o) {
+        int h = (s * 31 + p) * 31 + o;
+        h *= 0x9E3779B9;
+        return h ^ h >>> 16;
+    }
+
+    /**
+     * @return the live row holding the triple, or NONE
+     */
+    private int find(int s, int p, int o) {
+        if (s == NONE || p == NONE) {
+            return NONE;
+        }
+        int mask = table.length - 1;
+        for (int i = hash(s, p, o) & mask; table[i] != 0; i = (i + 1) & mask) {
+            int r = table[i] - 1;
+            if (subjects[r] == s && predicates[r] == p && objects[r] == o) {
+                return r;
+            }
+        }
+        return NONE;
+    }
+
+    private boolean add(int s, int p, int o) {
+        if (find(s, p, o) != NONE) {
+            return false;
+        }
+        if (rows == subjects.length) {
+            int size = rows * 2;
+            subjects = Arrays.copyOf(subjects, size);
+            predicates = Arrays.copyOf(predicates, size);
+            objects = Arrays.copyOf(objects, size);
+            next = Arrays.copyOf(next, size);
+        }
+        int r = rows++;
+        subjects[r] = s;
+        predicates[r] = p;
+        objects[r] = o;
+        next[r] = NONE;
+        if (s >= first.length) {
+            int size = Math.max(first.length * 2, s + 1);
+            int old = first.length;
+            first = Arrays.copyOf(first, size);
+            last = Arrays.copyOf(last, size);
+            Arrays.fill(first, old, size, NONE);
+        }
+        if (first[s] == NONE) {
+            first[s] = r;
+            if (subjectCount == subjectOrder.length) {
+                subjectOrder = Arrays.copyOf(subjectOrder, subjectCount * 2);
+            }
+            subjectOrder[subjectCount++] = s;
+        } else {
+            next[last[s]] = r;
+        }
+        last[s] = r;
+        live++;
+        if (rows * 2 > table.length) {
+            rehash();
+        } else {
+            insert(table, r);
+        }
+        return true;
+    }
+
+    private void insert(int[] t, int r) {
+        int mask = t.length - 1;
+        int i = hash(subjects[r], predicates[r], objects[r]) & mask;
+        while (t[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        t[i] = r + 1;
+    }
+
+    private void rehash() {
+        int[] t = new int[table.length * 2];
+        for (int r = 0; r < rows; r++) {
+            if (predicates[r] != NONE) {
+                insert(t, r);
+            }
+        }
+        table = t;
+    }
+
+    /**
+     * Removed rows stay in the hash table, where they can no longer match, and
+     * in the subject chain, where they are skipped, until the rows are
+     * compacted.
+     */
+    private void remove(int r) {
+        predicates[r] = NONE;
+        live--;
+        compactIfSparse();
+    }
+
+    private void compactIfSparse() {
+        if (iterating == 0 && rows > INITIAL_ROWS && rows - live > live) {
+            compact();
+        }
+    }
+
+    /**
+     * Copies the live rows to new arrays, subject by subject, so that each
+     * chain stays in insertion order; subjects left without rows are dropped
+     * from the subject order.
+     */
+    private void compact() {
+        int size = Math.max(INITIAL_ROWS, live * 2);
+        int[] s2 = new int[size];
+        int[] p2 = new int[size];
+        int[] o2 = new int[size];
+        int[] n2 = new int[size];
+        int count = 0;
+        int subjectsLeft = 0;
+        for (int k = 0; k < subjectCount; k++) {
+            int s = subjectOrder[k];
+            int head = NONE;
+            int tail = NONE;
+            for (int r = first[s]; r != NONE; r = next[r]) {
+                if (predicates[r] != NONE) {
+                    s2[count] = s;
+                    p2[count] = predicates[r];
+                    o2[count] = objects[r];
+                    n2[count] = NONE;
+                    if (head == NONE) {
+                        head = count;
+                    } else {
+                        n2[tail] = count;
+                    }
+                    tail = count++;
+                }
+            }
+            first[s] = head;
+            last[s] = tail;
+            if (head != NONE) {
+                subjectOrder[subjectsLeft++] = s;
+            }
+        }
+        subjects = s2;
+        predicates = p2;
+        objects = o2;
+        next = n2;
+        rows = count;
+        subjectCount = subjectsLeft;
+        int tableSize = INITIAL_ROWS * 2;
+        while (tableSize < rows * 4) {
+            tableSize *= 2;
+        }
+        table = new int[tableSize];
+        for (int r = 0; r < rows; r++) {
+            insert(table, r);
+        }
+    }
+
+    /**
+     * @return the first live row with the given subject and predicate and a
+     *         resource object (if resource is true) or a literal object
+     *         (otherwise), or NONE
+     */
+    private int firstRow(int s, int p, boolean resource) {
+        if (s == NONE || p == NONE || s >= first.length) {
+            return NONE;
+        }
+        for (int r = first[s]; r != NONE; r = next[r]) {
+            if (predicates[r] == p && objects[r] >= 0 == resource) {
+                return r;
+            }
+        }
+        return NONE;
+    }
+
+    @Override
+    public boolean add(IRI subject, IRI predicate, IRI object) {
+        return add(encode(subject), encode(predicate), encode(object));
+    }
+
+    @Override
+    public boolean add(IRI subject, IRI predicate, OWLLiteral object) {
+        return add(encode(subject), encode(predicate), encode(object));
+    }
+
+    @Override
+    public void addPredicates(IRI subject, Collection<IRI> into) {
+        int s = id(subject);
+        if (s == NONE || s >= first.length) {
+            return;
+        }
+        for (int r = first[s]; r != NONE; r = next[r]) {
+            if (predicates[r] != NONE && objects[r] >= 0) {
+                into.add(iri(predicates[r]));
+            }
+        }
+        for (int r = first[s]; r != NONE; r = next[r]) {
+            if (predicates[r] != NONE && objects[r] < 0) {
+                into.add(iri(predicates[r]));
+            }
+        }
+    }
+
+    @Override
+    @Nullable
+    public IRI resourceObject(IRI subject, IRI predicate, boolean consume) {
+        int r = firstRow(id(subject), id(predicate), true);
+        if (r == NONE) {
+            return null;
+        }
+        IRI object = iri(objects[r]);
+        if (consume) {
+            remove(r);
+        }
+        return object;
+    }
+
+    @Override
+    public void resourceObjects(IRI subject, IRI predicate, Collection<IRI> into) {
+        int p = id(predicate);
+        for (int r = firstRow(id(subject), p, true); r != NONE; r = next[r]) {
+            if (predicates[r] == p && objects[r] >= 0) {
+                into.add(iri(objects[r]));
+            }
+        }
+    }
+
+    @Override
+    @Nullable
+    public OWLLiteral literalObject(IRI subject, IRI predicate, boolean consume) {
+        int r = firstRow(id(subject), id(predicate), false);
+        if (r == NONE) {
+            return null;
+        }
+        OWLLiteral object = literal(objects[r]);
+        if (consume) {
+            remove(r);
+        }
+        return object;
+    }
+
+    @Override
+    public void literalObjects(IRI subject, IRI predicate, Collection<OWLLiteral> into) {
+        int p = id(predicate);
+        for (int r = firstRow(id(subject), p, false); r != NONE; r = next[r]) {
+            if (predicates[r] == p && objects[r] < 0) {
+                into.add(literal(objects[r]));
+            }
+        }
+    }
+
+    private boolean contains(int s, int p, int o, boolean consume) {
+        int r = find(s, p, o);
+        if (r == NONE) {
+            return false;
+        }
+        if (consume) {
+            remove(r);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean contains(IRI subject, IRI predicate, IRI object, boolean consume) {
+        int o = id(object);
+        return o != NONE && contains(id(subject), id(predicate), o, consume);
+    }
+
+    @Override
+    public boolean contains(IRI subject, IRI predicate, OWLLiteral object, boolean consume) {
+        int o = id(object);
+        return o != 0 && contains(id(subject), id(predicate), o, consume);
+    }
+
+    @Override
+    public boolean hasPredicate(IRI subject, IRI predicate) {
+        int s = id(subject);
+        int p = id(predicate);
+        return firstRow(s, p, true) != NONE || firstRow(s, p, false) != NONE;
+    }
+
+    @Override
+    public void iterateResources(ResourceTripleIterator iterator) {
+        iterate(true, r -> iterator.handleResourceTriple(iri(subjects[r]), iri(predicates[r]), iri(objects[r])));
+    }
+
+    @Override
+    public void iterateLiterals(LiteralTripleIterator iterator) {
+        iterate(false, r -> iterator.handleLiteralTriple(iri(subjects[r]), iri(predicates[r]), literal(objects[r])));
+    }
+
+    /**
+     * Visits the live rows with resource (or literal) objects, subject by
+     * subject in order of first use; the rows of a subject are sorted on
+     * predicate id and row number, so that they are grouped by predicate and
+     * keep insertion order within a predicate. Rows added while iterating are
+     * not visited.
+     */
+    private void iterate(boolean resource, IntConsumer visitor) {
+        int limit = rows;
+        int count = subjectCount;
+        long[] group = new long[16];
+        iterating++;
+        try {
+            for (int k = 0; k < count; k++) {
+                int n = 0;
+                for (int r = first[subjectOrder[k]]; r != NONE && r < limit; r = next[r]) {
+                    if (predicates[r] != NONE && objects[r] >= 0 == resource) {
+                        if (n == group.length) {
+                            group = Arrays.copyOf(group, n * 2);
+                        }
+                        group[n++] = (long) predicates[r] << 32 | r;
+                    }
+                }
+                Arrays.sort(group, 0, n);
+                for (int i = 0; i < n; i++) {
+                    int r = (int) group[i];
+                    // earlier triples might have consumed this one
+                    if (predicates[r] != NONE) {
+                        visitor.accept(r);
+                    }
+                }
+            }
+        } finally {
+            iterating--;
+        }
+        compactIfSparse();
+    }
+}
@@ -154,19 +154,22 @@ public class OWLRDFConsumer implements RDFConsumer, AnonymousNodeChecker, Anonym
     private final Collection<OWLAxiom> axiomsToBeRemoved = new ArrayList<>();
     /** The parsed all triples. */
     private boolean parsedAllTriples = false;
+    /** Number of triples currently buffered for translation. */
+    private int bufferedTriples = 0;
+    /** Largest value reached by bufferedTriples. */
+    private int peakBufferedTriples = 0;
+    /** Number of triples translated without being buffered. */
+    private int eagerlyTranslatedTriples = 0;
     final HandlerAccessor handlerAccessor;
     final TranslatorAccessor translatorAccessor;
     private final AnonymousNodeChecker nodeCheckerDelegate;
     @Nonnull private final ArrayListMultimap<IRI, Class<?>> guessedDeclarations = ArrayListMultimap.create();
     /** The translated properties. */
     private final Map<IRI, OWLObjectPropertyExpression> translatedProperties = createMap();
-    // Resource triples
-    /** Subject, predicate, object */
-    private final Map<IRI, Map<IRI, Collection<IRI>>> resTriplesBySubject = createMap();
+    /** Resource and literal triples, by subject and predicate. */
+    private final TripleIndex triples;
     /** Predicate, subject, object */
     private final Map<IRI, Map<IRI, IRI>> singleValuedResTriplesByPredicate = createMap();
-    /** Literal triples */
-    private final Map<IRI, Map<IRI, Collection<OWLLiteral>>> litTriplesBySubject = createMap();
     /** Predicate, subject, object */
     private final Map<IRI, Map<IRI, OWLLiteral>> singleValuedLitTriplesByPredicate = createMap();
     private final Map<IRI, IRI> remappedIRIs = createMap();
@@ -210,6 +213,7 @@ public class OWLRDFConsumer implements RDFConsumer, AnonymousNodeChecker, Anonym
         df = ontology.getOWLOntologyManager().getOWLDataFactory();
         anonProvider = new RemappingIndividualProvider(ontology.getOWLOntologyManager().getOntologyConfigurator(), df);
         this.configuration = configuration;
+        triples = configuration.isEncodeRDFTriples() ? new EncodedTripleIndex() : new MapTripleIndex();
         handlerAccessor = new HandlerAccessor(this);
         translatorAccessor = new TranslatorAccessor(this);
         BUILT_IN_AP_IRIS.forEach(annPropertyIRIs::add);
@@ -1195,12 +1199,12 @@ public class OWLRDFConsumer implements RDFConsumer, AnonymousNodeChecker, Anonym
     protected void dumpRemainingTriples() {
         // if info logging is disabled or all collections are empty, do not
         // output anything
-        if (LOGGER.isInfoEnabled() && singleValuedResTriplesByPredicate.size() + singleValuedLitTriplesByPredicate
-            .size() + resTriplesBySubject.size() + litTriplesBySubject.size() > 0) {
+        if (LOGGER.isInfoEnabled() && (singleValuedResTriplesByPredicate.size() + singleValuedLitTriplesByPredicate
+            .size() > 0 || !triples.isEmpty())) {
             singleValuedResTriplesByPredicate.forEach((p, map) -> map.forEach((s, o) -> printTriple(s, p, o)));
             singleValuedLitTriplesByPredicate.forEach((p, map) -> map.forEach((s, o) -> printTriple(s, p, o)));
-            resTriplesBySubject.forEach((p, map) -> map.forEach((s, o) -> o.forEach(x -> printTriple(s, p, x))));
-            litTriplesBySubject.forEach((p, map) -> map.forEach((s, o) -> o.forEach(x -> printTriple(s, p, x))));
+            triples.iterateResources(OWLRDFConsumer::printTriple);
+            triples.iterateLiterals(OWLRDFConsumer::printTriple);
         }
     }
 
@@ -1229,7 +1233,7 @@ public class OWLRDFConsumer implements RDFConsumer, AnonymousNodeChecker, Anonym
         Set<RDFTriple> remainingTriples = handlerAccessor.mopUp();
         if (ontologyFormat != null) {
             RDFParserMetaData metaData = new RDFParserMetaData(RDFOntologyHeaderStatus.PARSED_ONE_HEADER, tripleLogger
-                .count(), remainingTriples, guessedDeclarations);
+                .count(), remainingTriples, guessedDeclarations, peakBufferedTriples, eagerlyTranslatedTriples);
             ontologyFormat.setOntologyLoaderMetaData(metaData);
         }
         // Do we need to change the ontology IRI?
@@ -1300,8 +1304,7 @@ public class OWLRDFConsumer implements RDFConsumer, AnonymousNodeChecker, Anonym
         listRestTripleMap.clear();
         // XXX clean new members
         translatorAccessor.cleanup();
-        resTriplesBySubject.clear();
-        litTriplesBySubject.clear();
+        triples.clear();
         singleValuedLitTriplesByPredicate.clear();
         singleValuedResTriplesByPredicate.clear();
         guessedDeclarations.clear();
@@ -1657,14 +1660,7 @@ public class OWLRDFConsumer implements RDFConsumer, AnonymousNodeChecker, Anonym
      */
     protected Set<IRI> getPredicatesBySubject(IRI subject) {
         Set<IRI> iris = createLinkedSet();
-        Map<IRI, Collection<IRI>> predObjMap = resTriplesBySubject.get(subject);
-        if (predObjMap != null) {
-            iris.addAll(predObjMap.keySet());
-        }
-        Map<IRI, Collection<OWLLiteral>> predObjMapLit = litTriplesBySubject.get(subject);
-        if (predObjMapLit != null) {
-            iris.addAll(predObjMapLit.keySet());
-        }
+        triples.addPredicates(subject, iris);
         return iris;
     }
 
@@ -1701,28 +1697,15 @@ public class OWLRDFConsumer implements RDFConsumer, AnonymousNodeChecker, Anonym
         if (subjPredMap != null) {
             IRI obj = subjPredMap.get(subject);
             if (consume) {
-                subjPredMap.remove(subject);
+                released(subjPredMap.remove(subject));
             }
             return obj;
         }
-        Map<IRI, Collection<IRI>> predObjMap = resTriplesBySubject.get(subject);
-        if (predObjMap != null) {
-            Collection<IRI> objects = predObjMap.get(predicate);
-            if (objects != null && !objects.isEmpty()) {
-                IRI object = objects.iterator().next();
-                if (consume) {
-                    objects.remove(object);
-                }
-                if (objects.isEmpty()) {
-                    predObjMap.remove(predicate);
-                    if (predObjMap.isEmpty()) {
-                        resTriplesBySubject.remove(subject);
-                    }
-                }
-                return object;
-            }
+        IRI object = triples.resourceObject(subject, predicate, consume);
+        if (consume) {
+            released(object);
         }
-        return null;
+        return object;
     }
 
     /**
@@ -1743,13 +1726,7 @@ public class OWLRDFConsumer implements RDFConsumer, AnonymousNodeChecker, Anonym
                 result.add(obj);
             }
         }
-        Map<IRI, Collection<IRI>> predObjMap = resTriplesBySubject.get(subject);
-        if (predObjMap != null) {
-            Collection<IRI> objects = predObjMap.get(predicate);
-            if (objects != null) {
-                result.addAll(objects);
-            }
-        }
+        triples.resourceObjects(subject, predicate, result);
         return result;
     }
 
@@ -1786,25 +1763,15 @@ public class OWLRDFConsumer implements RDFConsumer, AnonymousNodeChecker, Anonym
         if (subjPredMap != null) {
             OWLLiteral obj = subjPredMap.get(subject);
             if (consume) {
-                subjPredMap.remove(subject);
+                released(subjPredMap.remove(subject));
             }
             return obj;
         }
-        Map<IRI, Collection<OWLLiteral>> predObjMap = litTriplesBySubject.get(subject);
-        if (predObjMap != null) {
-            Collection<OWLLiteral> objects = predObjMap.get(predicate);
-            if (objects != null && !objects.isEmpty()) {
-                OWLLiteral object = objects.iterator().next();
-                if (consume) {
-                    objects.remove(object);
-                }
-                if (objects.isEmpty()) {
-                    predObjMap.remove(predicate);
-                }
-                return object;
-            }
+        OWLLiteral object = triples.literalObject(subject, predicate, consume);
+        if (consume) {
+            released(object);
         }
-        return null;
+        return object;
     }
 
     /**
@@ -1825,13 +1792,7 @@ public class OWLRDFConsumer implements RDFConsumer, AnonymousNodeChecker, Anonym
                 result.add(obj);
             }
         }
-        Map<IRI, Collection<OWLLiteral>> predObjMap = litTriplesBySubject.get(subject);
-        if (predObjMap != null) {
-            Collection<OWLLiteral> objects = predObjMap.get(predicate);
-            if (objects != null) {
-                result.addAll(objects);
-            }
-        }
+        triples.literalObjects(subject, predicate, result);
         return result;
     }
 
@@ -1853,25 +1814,13 @@ public class OWLRDFConsumer implements RDFConsumer, AnonymousNodeChecker, Anonym
         if (subjPredMap != null) {
             IRI obj = subjPredMap.get(subject);
             if (consume) {
-                subjPredMap.remove(subject);
+                released(subjPredMap.remove(subject));
             }
             return obj != null;
         }
-        Map<IRI, Collection<IRI>> predObjMap = resTriplesBySubject.get(subject);
-        if (predObjMap != null) {
-            Collection<IRI> objects = predObjMap.get(predicate);
-            if (objects != null && objects.contains(object)) {
-                if (consume) {
-                    objects.remove(object);
-                    if (objects.isEmpty()) {
-                        predObjMap.remove(predicate);
-                        if (predObjMap.isEmpty()) {
-                            resTriplesBySubject.remove(subject);
-                        }
-                    }
-                }
-                return true;
-            }
+        if (triples.contains(subject, predicate, object, consume)) {
+            released(consume);
+            return true;
         }
         return false;
     }
@@ -1906,25 +1855,13 @@ public class OWLRDFConsumer implements RDFConsumer, AnonymousNodeChecker, Anonym
         if (subjPredMap != null) {
             OWLLiteral obj = subjPredMap.get(subject);
             if (consume) {
-                subjPredMap.remove(subject);
+                released(subjPredMap.remove(subject));
             }
             return obj != null;
         }
-        Map<IRI, Collection<OWLLiteral>> predObjMap = litTriplesBySubject.get(subject);
-        if (predObjMap != null) {
-            Collection<OWLLiteral> objects = predObjMap.get(predicate);
-            if (objects != null && objects.contains(object)) {
-                if (consume) {
-                    objects.remove(object);
-                    if (objects.isEmpty()) {
-                        predObjMap.remove(predicate);
-                        if (predObjMap.isEmpty()) {
-                            litTriplesBySubject.remove(subject);
-                        }
-                    }
-                }
-                return true;
-            }
+        if (triples.contains(subject, predicate, object, consume)) {
+            released(consume);
+            return true;
         }
         return false;
     }
@@ -1947,15 +1884,7 @@ public class OWLRDFConsumer implements RDFConsumer, AnonymousNodeChecker, Anonym
         if (litPredMap != null) {
             return litPredMap.containsKey(subject);
         }
-        Map<IRI, Collection<IRI>> resPredObjMap = resTriplesBySubject.get(subject);
-        if (resPredObjMap != null && resPredObjMap.containsKey(predicate)) {
-            return true;
-        }
-        Map<IRI, Collection<OWLLiteral>> litPredObjMap = litTriplesBySubject.get(subject);
-        if (litPredObjMap != null) {
-            return litPredObjMap.containsKey(predicate);
-        }
-        return false;
+        return triples.hasPredicate(subject, predicate);
     }
 
     /**
@@ -1967,7 +1896,7 @@ public class OWLRDFConsumer implements RDFConsumer, AnonymousNodeChecker, Anonym
      *        the object
      */
     protected void addRest(IRI subject, IRI object) {
-        listRestTripleMap.put(subject, object);
+        buffered(listRestTripleMap.put(subject, object) == null);
     }
 
     /**
@@ -1979,7 +1908,7 @@ public class OWLRDFConsumer implements RDFConsumer, AnonymousNodeChecker, Anonym
      *        the object
      */
     protected void addFirst(IRI subject, IRI object) {
-        listFirstResourceTripleMap.put(subject, object);
+        buffered(listFirstResourceTripleMap.put(subject, object) == null);
     }
 
     /**
@@ -1994,7 +1923,7 @@ public class OWLRDFConsumer implements RDFConsumer, AnonymousNodeChecker, Anonym
     @Nullable
     protected IRI getFirstResource(IRI subject, boolean consume) {
         if (consume) {
-            return listFirstResourceTripleMap.remove(subject);
+            return released(listFirstResourceTripleMap.remove(subject));
         }
         return listFirstResourceTripleMap.get(subject);
     }
@@ -2023,7 +1952,7 @@ public class OWLRDFConsumer implements RDFConsumer, AnonymousNodeChecker, Anonym
     @Nullable
     protected IRI getRest(IRI subject, boolean consume) {
         if (consume) {
-            return listRestTripleMap.remove(subject);
+            return released(listRestTripleMap.remove(subject));
         }
         return listRestTripleMap.get(subject);
     }
@@ -2037,7 +1966,7 @@ public class OWLRDFConsumer implements RDFConsumer, AnonymousNodeChecker, Anonym
      *        the object
      */
     protected void addFirst(IRI subject, OWLLiteral object) {
-        listFirstLiteralTripleMap.put(subject, object);
+        buffered(listFirstLiteralTripleMap.put(subject, object) == null);
     }
 
     /**
@@ -2111,9 +2040,7 @@ public class OWLRDFConsumer implements RDFConsumer, AnonymousNodeChecker, Anonym
      *        the iterator
      */
     protected void iterateResources(ResourceTripleIterator iterator) {
-        new ArrayList<>(resTriplesBySubject.entrySet()).forEach(e -> new ArrayList<>(e.getValue().entrySet()).forEach(
-            p -> new ArrayList<>(p.getValue()).forEach(object -> iterator.handleResourceTriple(e.getKey(), p.getKey(),
-                object))));
+        triples.iterateResources(iterator);
     }
 
     /**
@@ -2123,9 +2050,7 @@ public class OWLRDFConsumer implements RDFConsumer, AnonymousNodeChecker, Anonym
      *        the iterator
      */
     protected void iterateLiterals(LiteralTripleIterator iterator) {
-        new ArrayList<>(litTriplesBySubject.entrySet()).forEach(e -> new ArrayList<>(e.getValue().entrySet()).forEach(
-            p -> new ArrayList<>(p.getValue()).forEach(object -> iterator.handleLiteralTriple(e.getKey(), p.getKey(),
-                object))));
+        triples.iterateLiterals(iterator);
     }
 
     @Override
@@ -2152,20 +2077,42 @@ public class OWLRDFConsumer implements RDFConsumer, AnonymousNodeChecker, Anonym
     protected void addTriple(IRI subject, IRI predicate, IRI object) {
         Map<IRI, IRI> subjObjMap = singleValuedResTriplesByPredicate.get(predicate);
         if (subjObjMap != null) {
-            subjObjMap.put(subject, object);
+            buffered(subjObjMap.put(subject, object) == null);
         } else {
-            resTriplesBySubject.computeIfAbsent(subject, x -> createMap()).computeIfAbsent(predicate,
-                x -> createLinkedSet()).add(object);
+            buffered(triples.add(subject, predicate, object));
         }
     }
 
     protected void addTriple(IRI subject, IRI predicate, OWLLiteral con) {
         Map<IRI, OWLLiteral> subjObjMap = singleValuedLitTriplesByPredicate.get(predicate);
         if (subjObjMap != null) {
-            subjObjMap.put(subject, con);
+            buffered(subjObjMap.put(subject, con) == null);
         } else {
-            litTriplesBySubject.computeIfAbsent(subject, x -> createMap()).computeIfAbsent(predicate,
-                x -> createLinkedSet()).add(con);
+            buffered(triples.add(subject, predicate, con));
         }
     }
+
+    private void buffered(boolean added) {
+        if (added) {
+            bufferedTriples++;
+            peakBufferedTriples = Math.max(peakBufferedTriples, bufferedTriples);
+        }
+    }
+
+    private void released(boolean removed) {
+        if (removed) {
+            bufferedTriples--;
+        }
+    }
+
+    @Nullable
+    private <T> T released(@Nullable T removed) {
+        released(removed != null);
+        return removed;
+    }
+
+    /** Counts a triple translated by streaming translation without being buffered. */
+    protected void countEagerTranslation() {
+        eagerlyTranslatedTriples++;
+    }
 }
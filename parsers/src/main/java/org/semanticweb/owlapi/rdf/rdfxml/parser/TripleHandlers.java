@@ -186,7 +186,7 @@ public class TripleHandlers {
                     }
                 }
             }
-            if (!consumed) {
+            if (!consumed && !handleEagerly(s, p, o)) {
                 // Not consumed, so add the triple
                 consumer.addTriple(s, p, o);
             }
@@ -205,7 +205,59 @@ public class TripleHandlers {
                     return;
                 }
             }
-            consumer.addTriple(s, p, con);
+            if (!handleEagerly(s, p, con)) {
+                consumer.addTriple(s, p, con);
+            }
+        }
+
+        /**
+         * In streaming translation mode, property assertions between named
+         * nodes are translated as soon as their property is known to be only
+         * an object or data property. The streaming handlers never do this,
+         * because a later declaration might make the property an annotation
+         * property as well; streaming translation assumes that declarations
+         * precede their use, so such triples need not be buffered until the
+         * end of the document.
+         * 
+         * @param s
+         *        subject
+         * @param p
+         *        predicate
+         * @return true if triples with this subject and predicate can be
+         *         translated eagerly, provided the property type is right
+         */
+        private boolean canHandleEagerly(IRI s, IRI p) {
+            return consumer.getConfiguration().isStreamingRDFTranslation() && OWLRDFConsumer.isGeneralPredicate(p)
+                && !consumer.isAnonymousNode(s) && !consumer.isAxiom(s) && !consumer.isAnnotation(s) && !consumer
+                    .isOntology(s);
+        }
+
+        private boolean handleEagerly(IRI s, IRI p, IRI o) {
+            if (!canHandleEagerly(s, p) || consumer.isAnonymousNode(o) || !consumer.isObjectPropertyOnly(p)) {
+                return false;
+            }
+            for (ResourceTripleHandler handler : resources) {
+                if (handler.canHandle(s, p, o)) {
+                    handler.handleTriple(s, p, o);
+                    consumer.countEagerTranslation();
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean handleEagerly(IRI s, IRI p, OWLLiteral o) {
+            if (!canHandleEagerly(s, p) || !consumer.isDataPropertyOnly(p)) {
+                return false;
+            }
+            for (LiteralTripleHandler handler : literals) {
+                if (handler.canHandle(s, p, o)) {
+                    handler.handleTriple(s, p, o);
+                    consumer.countEagerTranslation();
+                    return true;
+                }
+            }
+            return false;
         }
 
         /**
@@ -0,0 +1,173 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.rdf.rdfxml.parser;
+
+import java.util.Collection;
+
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLLiteral;
+
+/**
+ * Storage for the triples that an {@link OWLRDFConsumer} has received but not
+ * yet translated, indexed by subject and predicate.
+ *
+ * @author ignazio
+ * @since 5.0.5
+ */
+interface TripleIndex {
+
+    /**
+     * @param subject
+     *        subject
+     * @param predicate
+     *        predicate
+     * @param object
+     *        object
+     * @return true if the triple was not already present
+     */
+    boolean add(IRI subject, IRI predicate, IRI object);
+
+    /**
+     * @param subject
+     *        subject
+     * @param predicate
+     *        predicate
+     * @param object
+     *        object
+     * @return true if the triple was not already present
+     */
+    boolean add(IRI subject, IRI predicate, OWLLiteral object);
+
+    /**
+     * Adds the predicates of all triples with the given subject to a
+     * collection; predicates of resource triples come first.
+     *
+     * @param subject
+     *        subject
+     * @param into
+     *        collection to fill
+     */
+    void addPredicates(IRI subject, Collection<IRI> into);
+
+    /**
+     * @param subject
+     *        subject
+     * @param predicate
+     *        predicate
+     * @param consume
+     *        true if the triple found should be removed
+     * @return the object of the first resource triple with the given subject
+     *         and predicate, or null if there is none
+     */
+    @Nullable
+    IRI resourceObject(IRI subject, IRI predicate, boolean consume);
+
+    /**
+     * @param subject
+     *        subject
+     * @param predicate
+     *        predicate
+     * @param into
+     *        collection to fill with the objects of all resource triples with
+     *        the given subject and predicate
+     */
+    void resourceObjects(IRI subject, IRI predicate, Collection<IRI> into);
+
+    /**
+     * @param subject
+     *        subject
+     * @param predicate
+     *        predicate
+     * @param consume
+     *        true if the triple found should be removed
+     * @return the object of the first literal triple with the given subject
+     *         and predicate, or null if there is none
+     */
+    @Nullable
+    OWLLiteral literalObject(IRI subject, IRI predicate, boolean consume);
+
+    /**
+     * @param subject
+     *        subject
+     * @param predicate
+     *        predicate
+     * @param into
+     *        collection to fill with the objects of all literal triples with
+     *        the given subject and predicate
+     */
+    void literalObjects(IRI subject, IRI predicate, Collection<OWLLiteral> into);
+
+    /**
+     * @param subject
+     *        subject
+     * @param predicate
+     *        predicate
+     * @param object
+     *        object
+     * @param consume
+     *        true if the triple should be removed
+     * @return true if the triple was present
+     */
+    boolean contains(IRI subject, IRI predicate, IRI object, boolean consume);
+
+    /**
+     * @param subject
+     *        subject
+     * @param predicate
+     *        predicate
+     * @param object
+     *        object
+     * @param consume
+     *        true if the triple should be removed
+     * @return true if the triple was present
+     */
+    boolean contains(IRI subject, IRI predicate, OWLLiteral object, boolean consume);
+
+    /**
+     * @param subject
+     *        subject
+     * @param predicate
+     *        predicate
+     * @return true if any resource or literal triple has the given subject and
+     *         predicate
+     */
+    boolean hasPredicate(IRI subject, IRI predicate);
+
+    /**
+     * Visits all resource triples, grouped by subject and, within a subject, by
+     * predicate; the order of subjects and predicates is not specified. The
+     * iterator may remove triples from this index while iterating.
+     *
+     * @param iterator
+     *        iterator
+     */
+    void iterateResources(ResourceTripleIterator iterator);
+
+    /**
+     * Visits all literal triples, grouped by subject and, within a subject, by
+     * predicate; the order of subjects and predicates is not specified. The
+     * iterator may remove triples from this index while iterating.
+     *
+     * @param iterator
+     *        iterator
+     */
+    void iterateLiterals(LiteralTripleIterator iterator);
+
+    /** @return true if there are no triples */
+    boolean isEmpty();
+
+    /** Removes all triples. */
+    void clear();
+}
@@ -247,6 +247,39 @@ public class XMLWriterImpl implements XMLWriter {
         }
     }
 
+    /**
+     * Starts a fragment of a document written by another writer: elements are
+     * written as if they were children of the root element, whose start tag is
+     * written by the other writer. Nothing is written for the root element.
+     * 
+     * @param rootElement
+     *        root element of the document
+     */
+    public void startFragment(IRI rootElement) {
+        preambleWritten = true;
+        XMLElement root = new XMLElement(xmlWriterNamespaceManager.getQName(rootElement), 0);
+        root.startWritten = true;
+        elementStack.push(root);
+    }
+
+    /**
+     * Writes a fragment rendered by a writer started with
+     * {@link #startFragment(IRI)} as the content of the current element.
+     * 
+     * @param fragment
+     *        fragment to write
+     */
+    public void writeFragment(String fragment) {
+        if (fragment.isEmpty()) {
+            return;
+        }
+        XMLElement topElement = elementStack.peek();
+        if (topElement != null) {
+            topElement.writeElementStart(false);
+        }
+        writer.write(fragment);
+    }
+
     @Override
     public void endDocument() {
         // Pop of each element
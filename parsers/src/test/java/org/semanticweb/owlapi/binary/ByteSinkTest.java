@@ -0,0 +1,59 @@
+package org.semanticweb.owlapi.binary;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.binary.BinarySnapshotWriter.ByteSink;
+import org.semanticweb.owlapi.model.OWLRuntimeException;
+
+@SuppressWarnings("javadoc")
+public class ByteSinkTest {
+
+    @Test
+    public void shouldWriteAcrossChunks() throws IOException {
+        ByteSink sink = new ByteSink();
+        int length = 2 * ByteSink.CHUNK_SIZE + 10;
+        for (int i = 0; i < length; i++) {
+            sink.write(i * 31);
+        }
+        assertEquals(length, sink.size());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        sink.writeTo(out);
+        byte[] bytes = out.toByteArray();
+        assertEquals(length, bytes.length);
+        for (int i = 0; i < length; i++) {
+            assertEquals(Integer.toString(i), (byte) (i * 31), bytes[i]);
+        }
+    }
+
+    @Test
+    public void shouldWriteIntsAcrossChunkBoundary() throws IOException {
+        ByteSink sink = new ByteSink();
+        for (int i = 0; i < ByteSink.CHUNK_SIZE - 2; i++) {
+            sink.write(0);
+        }
+        sink.writeInt(0x01020304);
+        sink.writeVarInt(300);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        sink.writeTo(out);
+        byte[] bytes = out.toByteArray();
+        int start = ByteSink.CHUNK_SIZE - 2;
+        assertArrayEquals(new byte[] { 1, 2, 3, 4, (byte) 0xAC, 2 }, Arrays.copyOfRange(bytes, start,
+            bytes.length));
+    }
+
+    @Test
+    public void shouldRejectSnapshotsTooLargeToLoad() {
+        BinarySnapshotWriter.checkSize(BinarySnapshotWriter.MAX_SIZE);
+        try {
+            BinarySnapshotWriter.checkSize(BinarySnapshotWriter.MAX_SIZE + 1);
+            fail();
+        } catch (OWLRuntimeException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("too large"));
+        }
+    }
+}
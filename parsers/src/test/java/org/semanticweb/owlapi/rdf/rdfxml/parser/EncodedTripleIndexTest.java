@@ -0,0 +1,77 @@
+package org.semanticweb.owlapi.rdf.rdfxml.parser;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.model.IRI;
+
+@SuppressWarnings("javadoc")
+public class EncodedTripleIndexTest {
+
+    private static IRI iri(String name) {
+        return IRI.create("urn:test#", name);
+    }
+
+    @Test
+    public void shouldGroupTriplesByPredicate() {
+        EncodedTripleIndex index = new EncodedTripleIndex();
+        IRI s = iri("s");
+        IRI p = iri("p");
+        IRI q = iri("q");
+        index.add(s, p, iri("a"));
+        index.add(s, q, iri("b"));
+        index.add(s, p, iri("c"));
+        index.add(s, q, iri("d"));
+        List<String> visited = new ArrayList<>();
+        index.iterateResources((x, y, z) -> visited.add(y.getShortForm() + z.getShortForm()));
+        assertEquals(Arrays.asList("pa", "pc", "qb", "qd"), visited);
+    }
+
+    @Test
+    public void shouldSkipTriplesConsumedWhileIterating() {
+        EncodedTripleIndex index = new EncodedTripleIndex();
+        IRI s = iri("s");
+        IRI p = iri("p");
+        index.add(s, p, iri("a"));
+        index.add(s, p, iri("b"));
+        List<IRI> visited = new ArrayList<>();
+        index.iterateResources((x, y, z) -> {
+            visited.add(z);
+            index.contains(s, p, iri("b"), true);
+        });
+        assertEquals(Arrays.asList(iri("a")), visited);
+    }
+
+    @Test
+    public void shouldKeepLiveTriplesWhenRemovedRowsAreCompacted() {
+        EncodedTripleIndex index = new EncodedTripleIndex();
+        IRI p = iri("p");
+        int count = 5000;
+        for (int i = 0; i < count; i++) {
+            index.add(iri("s" + i % 100), p, iri("o" + i));
+        }
+        for (int i = 0; i < count; i++) {
+            if (i % 10 != 0) {
+                assertTrue(index.contains(iri("s" + i % 100), p, iri("o" + i), true));
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            assertEquals(Integer.toString(i), i % 10 == 0, index.contains(iri("s" + i % 100), p, iri("o" + i),
+                false));
+        }
+        List<IRI> objects = new ArrayList<>();
+        index.resourceObjects(iri("s0"), p, objects);
+        assertEquals(Arrays.asList(iri("o0"), iri("o100"), iri("o200"), iri("o300"), iri("o400")), objects.subList(0,
+            5));
+        assertEquals(50, objects.size());
+        assertTrue(index.add(iri("s1"), p, iri("o1")));
+        assertFalse(index.add(iri("s0"), p, iri("o0")));
+        int[] visited = new int[1];
+        index.iterateResources((x, y, z) -> visited[0]++);
+        assertEquals(count / 10 + 1, visited[0]);
+    }
+}
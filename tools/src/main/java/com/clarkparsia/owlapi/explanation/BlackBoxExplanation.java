@@ -17,10 +17,13 @@ import static org.semanticweb.owlapi.util.OWLAPIPreconditions.verifyNotNull;
 import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.*;
 
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import org.semanticweb.owlapi.model.*;
+import org.semanticweb.owlapi.model.parameters.AxiomAnnotations;
 import org.semanticweb.owlapi.reasoner.OWLReasoner;
 import org.semanticweb.owlapi.reasoner.OWLReasonerFactory;
 import org.slf4j.Logger;
@@ -28,7 +31,16 @@ import org.slf4j.LoggerFactory;
 
 import com.clarkparsia.owlapi.explanation.util.OntologyUtils;
 
-/** A black box explanation. */
+import uk.ac.manchester.cs.owlapi.modularity.BatchModuleExtractor;
+import uk.ac.manchester.cs.owlapi.modularity.ModuleType;
+
+/**
+ * A black box explanation. In incremental mode, a single debugging ontology
+ * and a single buffering reasoner are kept, and each satisfiability test only
+ * applies the axioms added and removed since the previous one; the axioms
+ * considered for the explanation are restricted to the locality based module
+ * for the signature of the class, which contains all its explanations.
+ */
 public class BlackBoxExplanation extends SingleExplanationGeneratorImpl implements SingleExplanationGenerator {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(BlackBoxExplanation.class.getName());
@@ -58,6 +70,35 @@ public class BlackBoxExplanation extends SingleExplanationGeneratorImpl implemen
     private final OWLOntologyManager man;
     // Creation of debugging ontology and satisfiability testing
     private int satTestCount;
+    /** Satisfiability tests for the current explanation. */
+    private int totalSatTests;
+    /** True if satisfiability is tested incrementally. */
+    private final boolean incremental;
+    /** Reasoner for the debugging ontology, in incremental mode. */
+    @Nullable private OWLReasoner debuggingReasoner;
+    /** Axioms in the debugging ontology, in incremental mode. */
+    @Nonnull private final Set<OWLAxiom> debuggingOntologyAxioms = new HashSet<>();
+    /** Module extractor for the ontology, in incremental mode. */
+    @Nullable private BatchModuleExtractor moduleExtractor;
+    /** The axioms the module extractor was built from. */
+    @Nonnull private final Set<OWLAxiom> moduleExtractorAxioms = new HashSet<>();
+    /** Logical axioms that can be in the current explanation; null if all. */
+    @Nullable private Set<OWLAxiom> module;
+    /**
+     * Removing axioms can only make modules smaller, so the module extractor
+     * is only discarded when new logical axioms or imports are added.
+     */
+    @Nonnull private final OWLOntologyChangeListener moduleExtractorInvalidator = changes -> {
+        for (OWLOntologyChange change : changes) {
+            if ((change.isImportChange() || change.isAddAxiom() && change.getAxiom().isLogicalAxiom()
+                && !moduleExtractorAxioms.contains(change.getAxiom())) && getOntology().importsClosure().anyMatch(
+                    o -> o.equals(change.getOntology()))) {
+                moduleExtractor = null;
+                moduleExtractorAxioms.clear();
+                return;
+            }
+        }
+    };
 
     /**
      * Instantiates a new black box explanation.
@@ -70,18 +111,58 @@ public class BlackBoxExplanation extends SingleExplanationGeneratorImpl implemen
      *        the reasoner
      */
     public BlackBoxExplanation(OWLOntology ontology, OWLReasonerFactory reasonerFactory, OWLReasoner reasoner) {
+        this(ontology, reasonerFactory, reasoner, false);
+    }
+
+    /**
+     * Instantiates a new black box explanation.
+     * 
+     * @param ontology
+     *        the ontology
+     * @param reasonerFactory
+     *        the reasoner factory; in incremental mode, its buffering reasoners
+     *        must support {@code flush()}
+     * @param reasoner
+     *        the reasoner
+     * @param incremental
+     *        true if a single debugging ontology and reasoner should be
+     *        updated for each satisfiability test, and the search restricted
+     *        to a module for the class signature; false if a new debugging
+     *        ontology and reasoner should be created for each test
+     */
+    public BlackBoxExplanation(OWLOntology ontology, OWLReasonerFactory reasonerFactory, OWLReasoner reasoner,
+        boolean incremental) {
         super(ontology, reasonerFactory, reasoner);
         man = ontology.getOWLOntologyManager();
+        this.incremental = incremental;
+        if (incremental) {
+            man.addOntologyChangeListener(moduleExtractorInvalidator);
+        }
     }
 
     @Override
     public void dispose() {
         reset();
+        if (debuggingReasoner != null) {
+            verifyNotNull(debuggingReasoner).dispose();
+            debuggingReasoner = null;
+        }
+        if (debuggingOntology != null) {
+            man.removeOntology(verifyNotNull(debuggingOntology));
+            debuggingOntology = null;
+            debuggingOntologyAxioms.clear();
+        }
+        if (incremental) {
+            man.removeOntologyChangeListener(moduleExtractorInvalidator);
+            moduleExtractor = null;
+            moduleExtractorAxioms.clear();
+        }
         getReasoner().dispose();
     }
 
     private void reset() {
-        if (debuggingOntology != null) {
+        // in incremental mode, the debugging ontology is reused
+        if (!incremental && debuggingOntology != null) {
             man.removeOntology(verifyNotNull(debuggingOntology));
             debuggingOntology = null;
         }
@@ -91,6 +172,7 @@ public class BlackBoxExplanation extends SingleExplanationGeneratorImpl implemen
         expandedWithDefiningAxioms.clear();
         expandedWithReferencingAxioms.clear();
         expansionLimit = initialExpansionLimit;
+        module = null;
     }
 
     @Override
@@ -104,15 +186,60 @@ public class BlackBoxExplanation extends SingleExplanationGeneratorImpl implemen
                 return Collections.emptySet();
             }
             reset();
+            long start = System.nanoTime();
+            totalSatTests = 0;
+            if (incremental) {
+                module = getModule(unsatClass);
+            }
             expandUntilUnsatisfiable(unsatClass);
             pruneUntilMinimal(unsatClass);
             removeDeclarations();
+            long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            LOGGER.info("Explanation computed in {} ms with {} satisfiability tests ({} tests per second)", Long
+                .valueOf(elapsed), Integer.valueOf(totalSatTests), Long.valueOf(totalSatTests * 1000L / Math.max(1,
+                    elapsed)));
             return new HashSet<>(debuggingAxioms);
         } catch (OWLException e) {
             throw new OWLRuntimeException(e);
         }
     }
 
+    /**
+     * @param unsatClass
+     *        the class to explain
+     * @return the logical axioms in the module for the signature of the class
+     *         that are still in the ontology
+     */
+    private Set<OWLAxiom> getModule(OWLClassExpression unsatClass) {
+        BatchModuleExtractor extractor = moduleExtractor;
+        if (extractor == null) {
+            add(moduleExtractorAxioms, getOntology().axioms(INCLUDED));
+            extractor = new BatchModuleExtractor(man, moduleExtractorAxioms.stream(), ModuleType.STAR, null);
+            moduleExtractor = extractor;
+        }
+        // axioms removed after the extractor was built are not in the module
+        // of the current axioms, which is a subset of the module of all axioms
+        Set<OWLAxiom> moduleAxioms = new HashSet<>();
+        for (OWLAxiom ax : extractor.extract(asUnorderedSet(unsatClass.signature()))) {
+            if (ax.isLogicalAxiom() && getOntology().containsAxiom(ax, INCLUDED,
+                AxiomAnnotations.CONSIDER_AXIOM_ANNOTATIONS)) {
+                moduleAxioms.add(ax);
+            }
+        }
+        LOGGER.info("Module axiom count: {}", Integer.valueOf(moduleAxioms.size()));
+        return moduleAxioms;
+    }
+
+    /**
+     * @param ax
+     *        axiom
+     * @return true if the axiom cannot be in the current explanation
+     */
+    private boolean outsideModule(OWLAxiom ax) {
+        Set<OWLAxiom> moduleAxioms = module;
+        return moduleAxioms != null && ax.isLogicalAxiom() && !moduleAxioms.contains(ax);
+    }
+
     // Expansion
     private int expandAxioms() {
         /*
@@ -199,6 +326,7 @@ public class BlackBoxExplanation extends SingleExplanationGeneratorImpl implemen
             }
         });
         expansionAxioms.removeAll(debuggingAxioms);
+        expansionAxioms.removeIf(this::outsideModule);
         return addMax(expansionAxioms, debuggingAxioms, limit);
     }
 
@@ -217,6 +345,7 @@ public class BlackBoxExplanation extends SingleExplanationGeneratorImpl implemen
         // return any axioms, then get the axioms that reference the entity
         Set<OWLAxiom> expansionAxioms = asUnorderedSet(getOntology().referencingAxioms(obj, INCLUDED));
         expansionAxioms.removeAll(debuggingAxioms);
+        expansionAxioms.removeIf(this::outsideModule);
         return addMax(expansionAxioms, debuggingAxioms, limit);
     }
 
@@ -312,6 +441,9 @@ public class BlackBoxExplanation extends SingleExplanationGeneratorImpl implemen
      *         the oWL exception
      */
     private boolean isSatisfiable(OWLClassExpression unsatClass) throws OWLException {
+        if (incremental) {
+            return isSatisfiableIncremental(unsatClass);
+        }
         createDebuggingOntology();
         OWLReasoner reasoner = getReasonerFactory().createNonBufferingReasoner(verifyNotNull(debuggingOntology));
         if (OntologyUtils.containsUnreferencedEntity(verifyNotNull(debuggingOntology), unsatClass)) {
@@ -319,11 +451,55 @@ public class BlackBoxExplanation extends SingleExplanationGeneratorImpl implemen
             return true;
         }
         satTestCount++;
+        totalSatTests++;
         boolean sat = reasoner.isSatisfiable(unsatClass);
         reasoner.dispose();
         return sat;
     }
 
+    /**
+     * Tests the satisfiability of the test class. The axioms added and removed
+     * since the last test are applied to the debugging ontology and flushed to
+     * its reasoner.
+     * 
+     * @param unsatClass
+     *        the unsat class
+     * @return true, if is satisfiable
+     * @throws OWLException
+     *         the oWL exception
+     */
+    private boolean isSatisfiableIncremental(OWLClassExpression unsatClass) throws OWLException {
+        if (debuggingOntology == null) {
+            debuggingOntology = man.createOntology();
+            debuggingOntologyAxioms.clear();
+        }
+        OWLOntology ontology = verifyNotNull(debuggingOntology);
+        List<OWLAxiom> removed = asList(debuggingOntologyAxioms.stream().filter(ax -> !debuggingAxioms.contains(
+            ax)));
+        List<OWLAxiom> added = asList(debuggingAxioms.stream().filter(ax -> !debuggingOntologyAxioms.contains(ax)));
+        if (!removed.isEmpty()) {
+            ontology.remove(removed);
+            debuggingOntologyAxioms.removeAll(removed);
+        }
+        if (!added.isEmpty()) {
+            ontology.add(added);
+            debuggingOntologyAxioms.addAll(added);
+        }
+        if (OntologyUtils.containsUnreferencedEntity(ontology, unsatClass)) {
+            return true;
+        }
+        OWLReasoner reasoner = debuggingReasoner;
+        if (reasoner == null) {
+            reasoner = getReasonerFactory().createReasoner(ontology);
+            debuggingReasoner = reasoner;
+        } else {
+            reasoner.flush();
+        }
+        satTestCount++;
+        totalSatTests++;
+        return reasoner.isSatisfiable(unsatClass);
+    }
+
     private void createDebuggingOntology() throws OWLException {
         if (debuggingOntology != null) {
             man.removeOntology(verifyNotNull(debuggingOntology));
@@ -341,13 +517,22 @@ public class BlackBoxExplanation extends SingleExplanationGeneratorImpl implemen
         // the debugging axioms set to be expanded to the
         // defining axioms for the class being debugged
         resetSatisfiabilityTestCounter();
+        Set<OWLAxiom> moduleAxioms = module;
+        boolean smallModule = moduleAxioms != null && moduleAxioms.size() <= expansionLimit;
+        if (smallModule) {
+            // a small module is a better seed than the defining axioms
+            debuggingAxioms.addAll(verifyNotNull(moduleAxioms));
+        }
         if (unsatClass.isAnonymous()) {
             OWLClass owlThing = man.getOWLDataFactory().getOWLThing();
             OWLSubClassOfAxiom axiom = man.getOWLDataFactory().getOWLSubClassOfAxiom(unsatClass, owlThing);
-            debuggingAxioms.add(axiom);
+            // the seed might also be an axiom of the module
+            boolean seeded = debuggingAxioms.add(axiom);
             expandAxioms();
-            debuggingAxioms.remove(axiom);
-        } else {
+            if (seeded) {
+                debuggingAxioms.remove(axiom);
+            }
+        } else if (!smallModule) {
             expandWithDefiningAxioms((OWLClass) unsatClass, expansionLimit);
         }
         LOGGER.info("Initial axiom count: {}", Integer.valueOf(debuggingAxioms.size()));
@@ -359,6 +544,11 @@ public class BlackBoxExplanation extends SingleExplanationGeneratorImpl implemen
             int numberAdded = expandAxioms();
             totalAdded += numberAdded;
             LOGGER.info("    ... expanded by {}", Integer.valueOf(numberAdded));
+            if (numberAdded == 0 && moduleAxioms != null && debuggingAxioms.addAll(moduleAxioms)) {
+                // the module contains all explanations, even if expansion
+                // cannot reach some of its axioms
+                continue;
+            }
             if (numberAdded == 0) {
                 LOGGER.info("ERROR! Cannot find SOS axioms!");
                 debuggingAxioms.clear();
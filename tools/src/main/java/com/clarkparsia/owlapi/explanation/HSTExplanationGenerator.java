@@ -13,9 +13,12 @@
 package com.clarkparsia.owlapi.explanation;
 
 import static org.semanticweb.owlapi.model.parameters.Imports.INCLUDED;
-import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.*;
 
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
@@ -24,7 +27,6 @@ import javax.annotation.Nullable;
 import org.semanticweb.owlapi.model.*;
 import org.semanticweb.owlapi.reasoner.OWLReasoner;
 import org.semanticweb.owlapi.reasoner.OWLReasonerFactory;
-import org.semanticweb.owlapi.util.OWLAPIPreconditions;
 import org.semanticweb.owlapi.util.OWLEntityCollector;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,12 +35,28 @@ import com.clarkparsia.owlapi.explanation.util.ExplanationProgressMonitor;
 import com.clarkparsia.owlapi.explanation.util.OntologyUtils;
 import com.clarkparsia.owlapi.explanation.util.SilentExplanationProgressMonitor;
 
-/** HST explanation generator. */
+/**
+ * HST explanation generator. The hitting set tree is explored depth first on
+ * the calling thread, or, in parallel mode, by several worker threads. Each
+ * worker has its own single explanation generator over its own copy of the
+ * ontology, from which it removes the axioms on the path to the node it
+ * explores; the justifications found and the closed paths are shared, so that
+ * found justifications are reused and paths are terminated early across
+ * workers.
+ */
 public class HSTExplanationGenerator implements MultipleExplanationGenerator {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(HSTExplanationGenerator.class);
     @Nonnull private final TransactionAwareSingleExpGen singleExplanationGenerator;
     @Nonnull private ExplanationProgressMonitor progressMonitor = new SilentExplanationProgressMonitor();
+    /** Source of generators for the worker threads; null if sequential. */
+    @Nullable private final Supplier<? extends TransactionAwareSingleExpGen> workerGenerators;
+    /** Number of worker threads in parallel mode. */
+    private final int threads;
+    /** Time limit for computing explanations, in nanoseconds; 0 for none. */
+    private long timeout;
+    /** End of the time limit for the current computation. */
+    private long deadline;
 
     /**
      * Instantiates a new hST explanation generator.
@@ -49,6 +67,51 @@ public class HSTExplanationGenerator implements MultipleExplanationGenerator {
     public HSTExplanationGenerator(TransactionAwareSingleExpGen singleExplanationGenerator) {
         this.singleExplanationGenerator = checkNotNull(singleExplanationGenerator,
             "singleExplanationGenerator cannot be null");
+        workerGenerators = null;
+        threads = 1;
+    }
+
+    /**
+     * Instantiates a new hST explanation generator that explores the tree in
+     * parallel. The first explanation is computed with the given generator;
+     * each worker thread then takes a generator from the supplier, which must
+     * be built over its own copy of the ontology, in its own manager, since
+     * workers remove axioms from their ontologies independently. Worker
+     * generators are requested on the calling thread and disposed of when the
+     * explanations have been computed.
+     * 
+     * @param singleExplanationGenerator
+     *        explanation generator to use for the first explanation
+     * @param workerGenerators
+     *        supplier of explanation generators for the worker threads
+     * @param threads
+     *        number of worker threads
+     */
+    public HSTExplanationGenerator(TransactionAwareSingleExpGen singleExplanationGenerator,
+        Supplier<? extends TransactionAwareSingleExpGen> workerGenerators, @Nonnegative int threads) {
+        this.singleExplanationGenerator = checkNotNull(singleExplanationGenerator,
+            "singleExplanationGenerator cannot be null");
+        this.workerGenerators = checkNotNull(workerGenerators, "workerGenerators cannot be null");
+        checkNotNegative(threads, "threads cannot be negative");
+        this.threads = Math.max(1, threads);
+    }
+
+    /**
+     * Sets a time limit for computing explanations; when it expires, the
+     * explanations found so far are returned.
+     * 
+     * @param time
+     *        the time limit; 0 for no limit
+     * @param unit
+     *        the unit of the time limit
+     */
+    public void setTimeout(@Nonnegative long time, TimeUnit unit) {
+        checkNotNegative(time, "time cannot be negative");
+        timeout = checkNotNull(unit, "unit cannot be null").toNanos(time);
+    }
+
+    private boolean isTimedOut() {
+        return timeout > 0 && System.nanoTime() - deadline > 0;
     }
 
     @Override
@@ -102,14 +165,18 @@ public class HSTExplanationGenerator implements MultipleExplanationGenerator {
 
     @Override
     public Set<Set<OWLAxiom>> getExplanations(OWLClassExpression unsatClass, @Nonnegative int maxExplanations) {
-        OWLAPIPreconditions.checkNotNegative(maxExplanations, "max explanations cannot be negative");
+        checkNotNegative(maxExplanations, "max explanations cannot be negative");
         Object max = maxExplanations == 0 ? "all" : Integer.valueOf(maxExplanations);
         LOGGER.info("Get {} explanation(s) for: {}", max, unsatClass);
+        deadline = System.nanoTime() + timeout;
         try {
             Set<OWLAxiom> firstMups = getExplanation(unsatClass);
             if (firstMups.isEmpty()) {
                 return Collections.emptySet();
             }
+            if (workerGenerators != null) {
+                return getExplanationsInParallel(unsatClass, firstMups, maxExplanations);
+            }
             Set<Set<OWLAxiom>> allMups = new LinkedHashSet<>();
             progressMonitor.foundExplanation(firstMups);
             allMups.add(firstMups);
@@ -128,6 +195,194 @@ public class HSTExplanationGenerator implements MultipleExplanationGenerator {
         }
     }
 
+    /**
+     * Explores the hitting set tree on the worker threads. A node is a path,
+     * i.e., the set of axioms removed from the ontology; since the subtree of
+     * a node only depends on its path, each path is explored once.
+     * 
+     * @param unsatClass
+     *        the unsat class
+     * @param firstMups
+     *        the justification at the root of the tree
+     * @param maxExplanations
+     *        the max explanations; 0 for all
+     * @return the justifications found
+     */
+    private Set<Set<OWLAxiom>> getExplanationsInParallel(OWLClassExpression unsatClass, Set<OWLAxiom> firstMups,
+        int maxExplanations) {
+        ParallelSearch search = new ParallelSearch(unsatClass, maxExplanations);
+        search.found(firstMups);
+        search.expand(Collections.emptySet(), firstMups);
+        List<TransactionAwareSingleExpGen> generators = new ArrayList<>(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int i = 0; i < threads; i++) {
+                TransactionAwareSingleExpGen generator = verifyNotNull(workerGenerators).get();
+                generators.add(generator);
+                generator.beginTransaction();
+            }
+            List<Callable<Object>> workers = new ArrayList<>(threads);
+            for (TransactionAwareSingleExpGen generator : generators) {
+                workers.add(() -> {
+                    search.work(generator);
+                    return null;
+                });
+            }
+            for (Future<Object> f : executor.invokeAll(workers)) {
+                f.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OWLRuntimeException(e);
+        } catch (ExecutionException e) {
+            throw new OWLRuntimeException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+            for (TransactionAwareSingleExpGen generator : generators) {
+                generator.endTransaction();
+                generator.dispose();
+            }
+        }
+        progressMonitor.foundAllExplanations();
+        return new LinkedHashSet<>(search.allMups);
+    }
+
+    /** State of a parallel exploration of the hitting set tree. */
+    private class ParallelSearch {
+
+        private final OWLClassExpression unsatClass;
+        private final int maxExplanations;
+        /** justifications in the order they were found */
+        final List<Set<OWLAxiom>> allMups = new CopyOnWriteArrayList<>();
+        private final Set<Set<OWLAxiom>> foundMups = new HashSet<>();
+        /** paths on which the class is satisfiable */
+        private final List<Set<OWLAxiom>> satPaths = new CopyOnWriteArrayList<>();
+        private final Set<Set<OWLAxiom>> visitedPaths = ConcurrentHashMap.newKeySet();
+        /** paths still to explore; the most recent first, as in depth first */
+        private final BlockingDeque<Set<OWLAxiom>> paths = new LinkedBlockingDeque<>();
+        /** paths queued or being explored */
+        private final AtomicInteger pending = new AtomicInteger();
+        private volatile boolean stopped;
+
+        ParallelSearch(OWLClassExpression unsatClass, int maxExplanations) {
+            this.unsatClass = unsatClass;
+            this.maxExplanations = maxExplanations;
+        }
+
+        synchronized void found(Set<OWLAxiom> mups) {
+            if (maxExplanations > 0 && allMups.size() >= maxExplanations || !foundMups.add(mups)) {
+                return;
+            }
+            allMups.add(mups);
+            synchronized (progressMonitor) {
+                progressMonitor.foundExplanation(mups);
+            }
+            if (maxExplanations > 0 && allMups.size() >= maxExplanations) {
+                LOGGER.info("Computed {} explanations", Integer.valueOf(maxExplanations));
+                stopped = true;
+            }
+        }
+
+        /**
+         * Queues the children of a node; the axioms that appear in most
+         * justifications are explored first.
+         */
+        void expand(Set<OWLAxiom> path, Set<OWLAxiom> mups) {
+            // other workers add justifications while this one sorts; the
+            // comparator must see the same occurrence counts throughout
+            List<OWLAxiom> orderedMups = getOrderedMUPS(new ArrayList<>(mups), new ArrayList<>(allMups));
+            for (int i = orderedMups.size() - 1; i >= 0; i--) {
+                Set<OWLAxiom> child = new HashSet<>(path);
+                child.add(orderedMups.get(i));
+                pending.incrementAndGet();
+                paths.addFirst(child);
+            }
+        }
+
+        private boolean isStopped() {
+            if (!stopped && (progressMonitor.isCancelled() || isTimedOut())) {
+                stopped = true;
+            }
+            return stopped;
+        }
+
+        void work(TransactionAwareSingleExpGen generator) throws InterruptedException {
+            while (!isStopped() && pending.get() > 0) {
+                Set<OWLAxiom> path = paths.pollFirst(10, TimeUnit.MILLISECONDS);
+                if (path == null) {
+                    continue;
+                }
+                try {
+                    explore(generator, path);
+                } catch (RuntimeException e) {
+                    stopped = true;
+                    throw e;
+                } finally {
+                    pending.decrementAndGet();
+                }
+            }
+        }
+
+        private void explore(TransactionAwareSingleExpGen generator, Set<OWLAxiom> path) {
+            if (!visitedPaths.add(path)) {
+                return;
+            }
+            // Early path termination. If our path contents are the superset
+            // of the contents of a path then we can terminate here.
+            for (Set<OWLAxiom> satPath : satPaths) {
+                if (path.containsAll(satPath)) {
+                    LOGGER.info("Stop - satisfiable (early termination)");
+                    return;
+                }
+            }
+            Set<OWLAxiom> newMUPS = null;
+            for (Set<OWLAxiom> foundMUPS : allMups) {
+                if (Collections.disjoint(foundMUPS, path)) {
+                    newMUPS = foundMUPS;
+                    break;
+                }
+            }
+            if (newMUPS == null) {
+                newMUPS = getExplanation(generator, path);
+            }
+            if (newMUPS.isEmpty()) {
+                LOGGER.info("Stop - satisfiable");
+                satPaths.add(path);
+                return;
+            }
+            found(newMUPS);
+            expand(path, newMUPS);
+        }
+
+        /**
+         * Computes a justification with the axioms in the path removed from
+         * the ontology of the generator.
+         */
+        private Set<OWLAxiom> getExplanation(TransactionAwareSingleExpGen generator, Set<OWLAxiom> path) {
+            OWLOntology root = generator.getReasoner().getRootOntology();
+            List<OWLAxiom> removed = new ArrayList<>(path.size());
+            List<Set<OWLOntology>> removedFrom = new ArrayList<>(path.size());
+            List<List<OWLDeclarationAxiom>> declarations = new ArrayList<>(path.size());
+            try {
+                for (OWLAxiom axiom : path) {
+                    List<OWLDeclarationAxiom> temporaryDeclarations = new ArrayList<>();
+                    removedFrom.add(removeAxiomAndAddDeclarations(root, axiom, temporaryDeclarations));
+                    removed.add(axiom);
+                    declarations.add(temporaryDeclarations);
+                }
+                Set<OWLAxiom> mups = generator.getExplanation(unsatClass);
+                if (!Collections.disjoint(mups, path)) {
+                    throw new OWLRuntimeException("Explanation contains removed axiom: " + mups);
+                }
+                return mups;
+            } finally {
+                for (int i = removed.size() - 1; i >= 0; i--) {
+                    restore(root, removed.get(i), declarations.get(i), removedFrom.get(i));
+                }
+            }
+        }
+    }
+
     // Hitting Set Stuff
     /**
      * Orders the axioms in a single MUPS by the frequency of which they appear
@@ -139,7 +394,7 @@ public class HSTExplanationGenerator implements MultipleExplanationGenerator {
      *        The set of all MUPS which is used to calculate the ordering
      * @return the ordered mups
      */
-    private static List<OWLAxiom> getOrderedMUPS(List<OWLAxiom> mups, final Set<Set<OWLAxiom>> allMups) {
+    private static List<OWLAxiom> getOrderedMUPS(List<OWLAxiom> mups, final Collection<Set<OWLAxiom>> allMups) {
         Comparator<OWLAxiom> mupsComparator = (o1, o2) -> {
             // The axiom that appears in most MUPS has the lowest index
             // in the list
@@ -161,7 +416,7 @@ public class HSTExplanationGenerator implements MultipleExplanationGenerator {
      *        The sets to count from
      * @return the occurrences
      */
-    protected static int getOccurrences(@Nullable OWLAxiom ax, Set<Set<OWLAxiom>> axiomSets) {
+    protected static int getOccurrences(@Nullable OWLAxiom ax, Collection<Set<OWLAxiom>> axiomSets) {
         int count = 0;
         if (ax == null) {
             return count;
@@ -214,14 +469,14 @@ public class HSTExplanationGenerator implements MultipleExplanationGenerator {
     private void constructHittingSetTree(OWLClassExpression unsatClass, Set<OWLAxiom> mups, Set<Set<OWLAxiom>> allMups,
         Set<Set<OWLAxiom>> satPaths, Set<OWLAxiom> currentPathContents, int maxExplanations) throws OWLException {
         LOGGER.info("MUPS {}: {}", Integer.valueOf(allMups.size()), mups);
-        if (progressMonitor.isCancelled()) {
+        if (progressMonitor.isCancelled() || isTimedOut()) {
             return;
         }
         // We go through the current mups, axiom by axiom, and extend the tree
         // with edges for each axiom
         List<OWLAxiom> orderedMups = getOrderedMUPS(new ArrayList<>(mups), allMups);
         while (!orderedMups.isEmpty()) {
-            if (progressMonitor.isCancelled()) {
+            if (progressMonitor.isCancelled() || isTimedOut()) {
                 return;
             }
             OWLAxiom axiom = orderedMups.get(0);
@@ -235,7 +490,8 @@ public class HSTExplanationGenerator implements MultipleExplanationGenerator {
             // Removal may have dereferenced some entities, if so declarations
             // are added
             List<OWLDeclarationAxiom> temporaryDeclarations = new ArrayList<>();
-            Set<OWLOntology> ontologies = removeAxiomAndAddDeclarations(axiom, temporaryDeclarations);
+            Set<OWLOntology> ontologies = removeAxiomAndAddDeclarations(getReasoner().getRootOntology(), axiom,
+                temporaryDeclarations);
             currentPathContents.add(axiom);
             boolean earlyTermination = checkEarlyTermination(satPaths, currentPathContents);
             if (!earlyTermination) {
@@ -323,9 +579,14 @@ public class HSTExplanationGenerator implements MultipleExplanationGenerator {
         // Back track - go one level up the tree and run for the next axiom
         currentPathContents.remove(axiom);
         LOGGER.info("Restoring axiom: {}", axiom);
+        restore(getReasoner().getRootOntology(), axiom, temporaryDeclarations, ontologies);
+    }
+
+    private static void restore(OWLOntology root, OWLAxiom axiom, List<OWLDeclarationAxiom> temporaryDeclarations,
+        Set<OWLOntology> ontologies) {
         // Remove any temporary declarations
         for (OWLDeclarationAxiom decl : temporaryDeclarations) {
-            OntologyUtils.removeAxiom(decl, getReasoner().getRootOntology().importsClosure());
+            OntologyUtils.removeAxiom(decl, root.importsClosure());
         }
         // Done with the axiom that was removed. Add it back in
         OntologyUtils.addAxiom(axiom, ontologies.stream());
@@ -362,30 +623,32 @@ public class HSTExplanationGenerator implements MultipleExplanationGenerator {
     /**
      * Removes the axiom and add declarations.
      * 
+     * @param root
+     *        the root ontology of the reasoner
      * @param axiom
      *        the axiom
      * @param temporaryDeclarations
      *        the temporary declarations
      * @return the sets the
      */
-    private Set<OWLOntology> removeAxiomAndAddDeclarations(OWLAxiom axiom,
+    private static Set<OWLOntology> removeAxiomAndAddDeclarations(OWLOntology root, OWLAxiom axiom,
         List<OWLDeclarationAxiom> temporaryDeclarations) {
         // Remove the current axiom from all the ontologies it is included
         // in
-        Set<OWLOntology> ontologies = OntologyUtils.removeAxiom(axiom,
-            getReasoner().getRootOntology().importsClosure());
-        collectTemporaryDeclarations(axiom, temporaryDeclarations);
+        Set<OWLOntology> ontologies = OntologyUtils.removeAxiom(axiom, root.importsClosure());
+        collectTemporaryDeclarations(root, axiom, temporaryDeclarations);
         for (OWLDeclarationAxiom decl : temporaryDeclarations) {
-            OntologyUtils.addAxiom(decl, getReasoner().getRootOntology().importsClosure());
+            OntologyUtils.addAxiom(decl, root.importsClosure());
         }
         return ontologies;
     }
 
-    private void collectTemporaryDeclarations(OWLAxiom axiom, List<OWLDeclarationAxiom> temporaryDeclarations) {
+    private static void collectTemporaryDeclarations(OWLOntology root, OWLAxiom axiom,
+        List<OWLDeclarationAxiom> temporaryDeclarations) {
         for (OWLEntity e : getSignature(axiom)) {
-            boolean referenced = getReasoner().getRootOntology().isDeclared(e, INCLUDED);
+            boolean referenced = root.isDeclared(e, INCLUDED);
             if (!referenced) {
-                temporaryDeclarations.add(getDeclaration(e));
+                temporaryDeclarations.add(getDeclaration(root, e));
             }
         }
     }
@@ -393,11 +656,13 @@ public class HSTExplanationGenerator implements MultipleExplanationGenerator {
     /**
      * Gets the declaration.
      * 
+     * @param root
+     *        the root ontology of the reasoner
      * @param e
      *        the e
      * @return the declaration
      */
-    private OWLDeclarationAxiom getDeclaration(OWLEntity e) {
-        return getOntologyManager().getOWLDataFactory().getOWLDeclarationAxiom(e);
+    private static OWLDeclarationAxiom getDeclaration(OWLOntology root, OWLEntity e) {
+        return root.getOWLOntologyManager().getOWLDataFactory().getOWLDeclarationAxiom(e);
     }
 }
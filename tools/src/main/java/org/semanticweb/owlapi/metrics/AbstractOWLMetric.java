@@ -13,14 +13,19 @@
 package org.semanticweb.owlapi.metrics;
 
 import static org.semanticweb.owlapi.util.OWLAPIPreconditions.*;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
 
 import java.io.Serializable;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Stream;
 
+import javax.annotation.Nullable;
+
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyChange;
 import org.semanticweb.owlapi.model.OWLOntologyChangeListener;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderListener;
 import org.semanticweb.owlapi.model.OWLOntologyManager;
 
 /**
@@ -36,6 +41,25 @@ public abstract class AbstractOWLMetric<M extends Serializable> implements OWLMe
     private boolean dirty;
     private boolean importsClosureUsed;
     private M value;
+    @Nullable private MetricCounters counters;
+    /** ontologies the value was computed for, and their modification count */
+    private List<OWLOntology> measured = Collections.emptyList();
+    private long measuredModifications;
+    private final OWLOntologyLoaderListener loaderListener = new OWLOntologyLoaderListener() {
+
+        @Override
+        public void startedLoadingOntology(LoadingStartedEvent event) {
+            // nothing to do until the ontology is loaded
+        }
+
+        @Override
+        public void finishedLoadingOntology(LoadingFinishedEvent event) {
+            // a loaded ontology might be imported by one of the measured ones
+            if (!dirty && !measured.equals(asList(getOntologies()))) {
+                setDirty(true);
+            }
+        }
+    };
 
     /**
      * Instantiates a new abstract owl metric.
@@ -46,6 +70,7 @@ public abstract class AbstractOWLMetric<M extends Serializable> implements OWLMe
     public AbstractOWLMetric(OWLOntology o) {
         ontology = checkNotNull(o, "o cannot be null");
         ontology.getOWLOntologyManager().addOntologyChangeListener(this);
+        ontology.getOWLOntologyManager().addOntologyLoaderListener(loaderListener);
         dirty = true;
     }
 
@@ -57,8 +82,10 @@ public abstract class AbstractOWLMetric<M extends Serializable> implements OWLMe
     @Override
     public void setOntology(OWLOntology ontology) {
         this.ontology.getOWLOntologyManager().removeOntologyChangeListener(this);
+        this.ontology.getOWLOntologyManager().removeOntologyLoaderListener(loaderListener);
         this.ontology = ontology;
         this.ontology.getOWLOntologyManager().addOntologyChangeListener(this);
+        this.ontology.getOWLOntologyManager().addOntologyLoaderListener(loaderListener);
         setDirty(true);
     }
 
@@ -69,14 +96,77 @@ public abstract class AbstractOWLMetric<M extends Serializable> implements OWLMe
      */
     protected abstract M recomputeMetric();
 
+    /**
+     * Update the metric value after the specified changes have been applied,
+     * without recomputing it from scratch. Only called while the value is up
+     * to date.
+     * 
+     * @param changes
+     *        the changes applied to the ontologies
+     * @return the updated value, or null if the metric must be recomputed
+     */
+    @Nullable
+    protected M updateMetric(List<? extends OWLOntologyChange> changes) {
+        return null;
+    }
+
+    /**
+     * @return the counters for the ontology and imports closure used by this
+     *         metric; shared with other metrics if this metric is managed by
+     *         an {@link OWLMetricManager}
+     */
+    protected MetricCounters getCounters() {
+        MetricCounters c = counters;
+        if (c == null || !c.isFor(ontology, importsClosureUsed)) {
+            c = new MetricCounters(ontology, importsClosureUsed);
+            setCounters(c);
+        }
+        return c;
+    }
+
+    void setCounters(MetricCounters c) {
+        if (counters != c) {
+            releaseCounters();
+            c.retain();
+            counters = c;
+        }
+    }
+
+    private void releaseCounters() {
+        if (counters != null) {
+            counters.release();
+            counters = null;
+        }
+    }
+
     @Override
     public M getValue() {
-        if (dirty) {
+        if (dirty || isStale()) {
             value = recomputeMetric();
+            measured();
+            dirty = false;
         }
         return verifyNotNull(value);
     }
 
+    /**
+     * Changes that are not broadcast by the manager, such as those applied
+     * while loading or directly to an ontology, are detected by comparing the
+     * modification counts of the measured ontologies. Changes to the imports
+     * closure are followed through broadcast changes and ontology loads, so
+     * that the closure is not computed again on each access.
+     * 
+     * @return true if the ontologies have changed since the value was computed
+     */
+    private boolean isStale() {
+        return MetricCounters.modificationCount(measured) != measuredModifications;
+    }
+
+    private void measured() {
+        measured = asList(getOntologies());
+        measuredModifications = MetricCounters.modificationCount(measured);
+    }
+
     private void setDirty(boolean dirty) {
         this.dirty = dirty;
     }
@@ -96,8 +186,26 @@ public abstract class AbstractOWLMetric<M extends Serializable> implements OWLMe
 
     @Override
     public void ontologiesChanged(List<? extends OWLOntologyChange> changes) {
-        if (isMetricInvalidated(changes)) {
+        if (dirty) {
+            return;
+        }
+        measuredModifications += changes.stream().filter(c -> c.isAxiomChange() && measured.contains(c
+            .getOntology())).count();
+        if (isStale()) {
+            // some changes were not broadcast
             setDirty(true);
+            return;
+        }
+        if (!isMetricInvalidated(changes)) {
+            measured();
+            return;
+        }
+        M updated = updateMetric(changes);
+        if (updated == null) {
+            setDirty(true);
+        } else {
+            value = updated;
+            measured();
         }
     }
 
@@ -109,6 +217,8 @@ public abstract class AbstractOWLMetric<M extends Serializable> implements OWLMe
     @Override
     public void dispose() {
         ontology.getOWLOntologyManager().removeOntologyChangeListener(this);
+        ontology.getOWLOntologyManager().removeOntologyLoaderListener(loaderListener);
+        releaseCounters();
         disposeMetric();
     }
 
@@ -120,7 +230,7 @@ public abstract class AbstractOWLMetric<M extends Serializable> implements OWLMe
     @Override
     public void setImportsClosureUsed(boolean b) {
         importsClosureUsed = b;
-        recomputeMetric();
+        setDirty(true);
     }
 
     /**
@@ -13,17 +13,16 @@
 package org.semanticweb.owlapi.metrics;
 
 import static org.semanticweb.owlapi.search.Searcher.sup;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
 
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
-import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nullable;
 
 import org.semanticweb.owlapi.model.OWLClass;
 import org.semanticweb.owlapi.model.OWLClassExpression;
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyChange;
-import org.semanticweb.owlapi.model.OWLSubClassOfAxiom;
 
 /**
  * @author Matthew Horridge, The University Of Manchester, Bio-Health
@@ -32,6 +31,9 @@ import org.semanticweb.owlapi.model.OWLSubClassOfAxiom;
  */
 public class AverageAssertedNamedSuperclassCount extends DoubleValuedMetric {
 
+    private final ClassContributions contributions = new ClassContributions(
+        AverageAssertedNamedSuperclassCount::namedSuperclasses);
+
     /**
      * Instantiates a new average asserted named superclass count.
      * 
@@ -49,32 +51,32 @@ public class AverageAssertedNamedSuperclassCount extends DoubleValuedMetric {
 
     @Override
     public Double recomputeMetric() {
-        AtomicInteger total = new AtomicInteger();
-        AtomicInteger count = new AtomicInteger();
-        Set<OWLClass> processedClasses = new HashSet<>();
-        getOntologies().forEach(ont -> ont.classesInSignature().filter(processedClasses::add)
-            .forEach(cls -> processClass(total, count, ont, cls)));
-        return Double.valueOf((double) total.get() / count.get());
+        contributions.fill(asList(getOntologies()));
+        return average();
+    }
+
+    private Double average() {
+        return Double.valueOf((double) contributions.total() / contributions.size());
     }
 
-    protected void processClass(AtomicInteger total, AtomicInteger count, OWLOntology ont, OWLClass cls) {
-        count.incrementAndGet();
+    /** classes without named superclasses count as having one, owl:Thing */
+    private static int namedSuperclasses(OWLOntology ont, OWLClass cls) {
         int sup = (int) sup(ont.subClassAxiomsForSubClass(cls), OWLClassExpression.class).filter(c -> !c.isAnonymous())
             .count();
-        if (sup == 0) {
-            total.incrementAndGet();
-        } else {
-            total.addAndGet(sup);
+        return Math.max(sup, 1);
+    }
+
+    @Override
+    @Nullable
+    protected Double updateMetric(List<? extends OWLOntologyChange> changes) {
+        if (!contributions.update(asList(getOntologies()), changes)) {
+            return null;
         }
+        return average();
     }
 
     @Override
     protected boolean isMetricInvalidated(List<? extends OWLOntologyChange> changes) {
-        for (OWLOntologyChange chg : changes) {
-            if (chg.isAxiomChange() && chg.getAxiom() instanceof OWLSubClassOfAxiom) {
-                return true;
-            }
-        }
-        return false;
+        return changes.stream().anyMatch(c -> c.isAxiomChange() || c.isImportChange());
     }
 }
@@ -45,6 +45,11 @@ public class AxiomTypeMetric extends AxiomCountMetric {
         return axiomType.getName() + " axioms";
     }
 
+    @Override
+    public Integer recomputeMetric() {
+        return Integer.valueOf(getCounters().getAxiomCount(axiomType));
+    }
+
     @Override
     protected Stream<OWLAxiom> getObjects(OWLOntology ont) {
         return ont.axioms(axiomType).map(x -> x);
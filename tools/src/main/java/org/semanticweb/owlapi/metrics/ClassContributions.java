@@ -0,0 +1,126 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.metrics;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.ToIntBiFunction;
+
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyChange;
+
+/**
+ * Per class values of a metric that aggregates a value over the classes in the
+ * signature. Each class contributes the value computed on the first ontology
+ * that references it; when an axiom changes, only the classes in its signature
+ * are computed again.
+ *
+ * @author ignazio
+ * @since 5.0.5
+ */
+class ClassContributions {
+
+    private final ToIntBiFunction<OWLOntology, OWLClass> contribution;
+    private final Map<OWLClass, Integer> values = new HashMap<>();
+    /** number of classes for each contribution value */
+    private final TreeMap<Integer, Integer> histogram = new TreeMap<>();
+    private long total;
+
+    /**
+     * @param contribution
+     *        the value of a class, given the first ontology referencing it
+     */
+    ClassContributions(ToIntBiFunction<OWLOntology, OWLClass> contribution) {
+        this.contribution = contribution;
+    }
+
+    /**
+     * Compute the contributions of all classes.
+     *
+     * @param ontologies
+     *        the ontologies to measure
+     */
+    void fill(List<OWLOntology> ontologies) {
+        values.clear();
+        histogram.clear();
+        total = 0;
+        ontologies.forEach(o -> o.classesInSignature().filter(c -> !values.containsKey(c)).forEach(c -> put(c,
+            contribution.applyAsInt(o, c))));
+    }
+
+    /**
+     * Compute again the contributions of the classes in the signature of the
+     * changed axioms.
+     *
+     * @param ontologies
+     *        the ontologies to measure
+     * @param changes
+     *        the applied changes
+     * @return false if the changes include imports changes, which require the
+     *         contributions to be computed from scratch
+     */
+    boolean update(List<OWLOntology> ontologies, List<? extends OWLOntologyChange> changes) {
+        if (changes.stream().anyMatch(OWLOntologyChange::isImportChange)) {
+            return false;
+        }
+        Set<OWLClass> classes = new HashSet<>();
+        changes.stream().filter(OWLOntologyChange::isAxiomChange).forEach(c -> c.getAxiom().classesInSignature()
+            .forEach(classes::add));
+        for (OWLClass c : classes) {
+            remove(c);
+            for (OWLOntology o : ontologies) {
+                if (o.containsEntityInSignature(c)) {
+                    put(c, contribution.applyAsInt(o, c));
+                    break;
+                }
+            }
+        }
+        return true;
+    }
+
+    private void put(OWLClass c, int value) {
+        values.put(c, Integer.valueOf(value));
+        histogram.merge(Integer.valueOf(value), Integer.valueOf(1), Integer::sum);
+        total += value;
+    }
+
+    private void remove(OWLClass c) {
+        Integer value = values.remove(c);
+        if (value != null) {
+            if (histogram.merge(value, Integer.valueOf(-1), Integer::sum).intValue() == 0) {
+                histogram.remove(value);
+            }
+            total -= value.intValue();
+        }
+    }
+
+    /** @return number of classes */
+    int size() {
+        return values.size();
+    }
+
+    /** @return sum of the contributions */
+    long total() {
+        return total;
+    }
+
+    /** @return largest contribution, or 0 if there are no classes */
+    int max() {
+        return histogram.isEmpty() ? 0 : histogram.lastKey().intValue();
+    }
+}
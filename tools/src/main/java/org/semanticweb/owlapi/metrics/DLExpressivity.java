@@ -12,13 +12,10 @@
  * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
 package org.semanticweb.owlapi.metrics;
 
-import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
-
 import java.util.List;
 
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyChange;
-import org.semanticweb.owlapi.util.DLExpressivityChecker;
 
 /**
  * @author Matthew Horridge, The University Of Manchester, Bio-Health
@@ -39,8 +36,7 @@ public class DLExpressivity extends AbstractOWLMetric<String> {
 
     @Override
     public String recomputeMetric() {
-        DLExpressivityChecker checker = new DLExpressivityChecker(asList(getOntologies()));
-        return checker.getDescriptionLogicName();
+        return getCounters().getDescriptionLogicName();
     }
 
     @Override
@@ -51,7 +47,7 @@ public class DLExpressivity extends AbstractOWLMetric<String> {
     @Override
     protected boolean isMetricInvalidated(List<? extends OWLOntologyChange> changes) {
         for (OWLOntologyChange change : changes) {
-            if (change.isAxiomChange() && change.getAxiom().isLogicalAxiom()) {
+            if (change.isImportChange() || change.isAxiomChange() && change.getAxiom().isLogicalAxiom()) {
                 return true;
             }
         }
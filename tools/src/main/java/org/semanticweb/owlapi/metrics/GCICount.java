@@ -39,6 +39,11 @@ public class GCICount extends AxiomCountMetric {
         return "GCI";
     }
 
+    @Override
+    public Integer recomputeMetric() {
+        return Integer.valueOf(getCounters().getGCICount());
+    }
+
     @Override
     protected Stream<OWLAxiom> getObjects(OWLOntology ont) {
         return ont.generalClassAxioms().map(x -> x);
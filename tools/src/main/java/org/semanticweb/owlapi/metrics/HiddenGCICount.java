@@ -13,10 +13,13 @@
 package org.semanticweb.owlapi.metrics;
 
 import static org.semanticweb.owlapi.search.EntitySearcher.*;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
 
 import java.util.List;
 import java.util.function.Predicate;
 
+import javax.annotation.Nullable;
+
 import org.semanticweb.owlapi.model.*;
 
 /**
@@ -36,6 +39,8 @@ public class HiddenGCICount extends IntegerValuedMetric {
         || ax instanceof OWLSubClassOfAxiom;
     Predicate<OWLClass> hasEquivalent = c -> getEquivalentClasses(c, getOntologies()).count() > 0;
     Predicate<OWLClass> isSubclass = c -> getSubClasses(c, getOntologies()).count() > 0;
+    private final ClassContributions contributions = new ClassContributions((o, c) -> hasEquivalent.test(c)
+        && isSubclass.test(c) ? 1 : 0);
 
     /**
      * Instantiates a new hidden gci count.
@@ -49,14 +54,23 @@ public class HiddenGCICount extends IntegerValuedMetric {
 
     @Override
     protected boolean isMetricInvalidated(List<? extends OWLOntologyChange> changes) {
-        return changes.stream().filter(OWLOntologyChange::isAxiomChange).map(OWLOntologyChange::getAxiom)
-            .anyMatch(equivalentOrSubclass);
+        return changes.stream().anyMatch(c -> c.isImportChange() || c.isAxiomChange() && equivalentOrSubclass
+            .test(c.getAxiom()));
     }
 
     @Override
     protected Integer recomputeMetric() {
-        return Integer.valueOf((int) getOntologies().flatMap(OWLOntology::classesInSignature).distinct()
-            .filter(hasEquivalent).filter(isSubclass).count());
+        contributions.fill(asList(getOntologies()));
+        return Integer.valueOf((int) contributions.total());
+    }
+
+    @Override
+    @Nullable
+    protected Integer updateMetric(List<? extends OWLOntologyChange> changes) {
+        if (!contributions.update(asList(getOntologies()), changes)) {
+            return null;
+        }
+        return Integer.valueOf((int) contributions.total());
     }
 
     @Override
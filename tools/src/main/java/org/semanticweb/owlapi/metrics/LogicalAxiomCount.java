@@ -39,6 +39,11 @@ public class LogicalAxiomCount extends AxiomCountMetric {
         return "Logical axiom";
     }
 
+    @Override
+    public Integer recomputeMetric() {
+        return Integer.valueOf(getCounters().getLogicalAxiomCount());
+    }
+
     @Override
     protected Stream<OWLAxiom> getObjects(OWLOntology ont) {
         return ont.logicalAxioms().map(x -> x);
@@ -13,17 +13,16 @@
 package org.semanticweb.owlapi.metrics;
 
 import static org.semanticweb.owlapi.search.Searcher.equivalent;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
 
-import java.util.HashSet;
 import java.util.List;
-import java.util.OptionalLong;
-import java.util.Set;
+
+import javax.annotation.Nullable;
 
 import org.semanticweb.owlapi.model.OWLClass;
 import org.semanticweb.owlapi.model.OWLClassExpression;
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyChange;
-import org.semanticweb.owlapi.model.OWLSubClassOfAxiom;
 
 /**
  * @author Matthew Horridge, The University Of Manchester, Bio-Health
@@ -32,6 +31,9 @@ import org.semanticweb.owlapi.model.OWLSubClassOfAxiom;
  */
 public class MaximumNumberOfNamedSuperclasses extends IntegerValuedMetric {
 
+    private final ClassContributions contributions = new ClassContributions((o, cls) -> (int) equivalent(o
+        .equivalentClassesAxioms(cls), OWLClassExpression.class).filter(d -> !d.isAnonymous()).count());
+
     /**
      * Instantiates a new maximum number of named superclasses.
      * 
@@ -49,21 +51,21 @@ public class MaximumNumberOfNamedSuperclasses extends IntegerValuedMetric {
 
     @Override
     public Integer recomputeMetric() {
-        Set<OWLClass> processedClasses = new HashSet<>();
-        OptionalLong max = getOntologies().flatMapToLong(o -> o.classesInSignature().filter(processedClasses::add)
-            .mapToLong(cls -> equivalent(o.equivalentClassesAxioms(cls), OWLClassExpression.class)
-                .filter(d -> !d.isAnonymous()).count()))
-            .max();
-        return Integer.valueOf((int) max.orElse(0L));
+        contributions.fill(asList(getOntologies()));
+        return Integer.valueOf(contributions.max());
     }
 
     @Override
-    protected boolean isMetricInvalidated(List<? extends OWLOntologyChange> changes) {
-        for (OWLOntologyChange chg : changes) {
-            if (chg.isAxiomChange() && chg.getAxiom() instanceof OWLSubClassOfAxiom) {
-                return true;
-            }
+    @Nullable
+    protected Integer updateMetric(List<? extends OWLOntologyChange> changes) {
+        if (!contributions.update(asList(getOntologies()), changes)) {
+            return null;
         }
-        return false;
+        return Integer.valueOf(contributions.max());
+    }
+
+    @Override
+    protected boolean isMetricInvalidated(List<? extends OWLOntologyChange> changes) {
+        return changes.stream().anyMatch(c -> c.isAxiomChange() || c.isImportChange());
     }
 }
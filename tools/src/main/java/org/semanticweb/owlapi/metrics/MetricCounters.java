@@ -0,0 +1,430 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.metrics;
+
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.EntityType;
+import org.semanticweb.owlapi.model.HasAxiomModificationCount;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLDisjointClassesAxiom;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLEquivalentClassesAxiom;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyChange;
+import org.semanticweb.owlapi.model.OWLOntologyChangeListener;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderListener;
+import org.semanticweb.owlapi.model.OWLSubClassOfAxiom;
+import org.semanticweb.owlapi.util.DLExpressivityChecker;
+import org.semanticweb.owlapi.util.DLExpressivityChecker.Construct;
+
+/**
+ * Counters behind the axiom and signature based metrics of an ontology, or of
+ * its imports closure. All counters are filled in a single pass over the
+ * axioms on first use, and then follow the changes applied to the ontologies,
+ * so that each change costs time proportional to its size rather than to the
+ * size of the ontologies. Counters can be shared between metrics: the
+ * {@link OWLMetricManager} shares them between the metrics it manages.
+ * <p>
+ * Axiom counts by type, logical axiom and GCI counts count distinct axioms in
+ * the imports closure; the total axiom count counts the axioms in each
+ * ontology, as {@link OWLOntology#getAxiomCount()} does. Changes that are not
+ * broadcast by the manager, such as those applied while loading, are detected
+ * by comparing the modification counts of the ontologies, see
+ * {@link HasAxiomModificationCount}, and cause the counters to be filled
+ * again; for ontologies that do not count modifications, the axiom counts are
+ * compared instead. Changes to the imports closure are followed through the
+ * import changes broadcast by the manager and through ontology loads.
+ *
+ * @author ignazio
+ * @since 5.0.5
+ */
+public class MetricCounters implements OWLOntologyChangeListener {
+
+    private final OWLOntology ontology;
+    private final boolean importsClosureUsed;
+    private final DLExpressivityChecker checker = new DLExpressivityChecker(Collections.emptyList());
+    /** number of metrics using these counters */
+    private int users = 0;
+    private boolean listening = false;
+    private boolean filled = false;
+    /** incremented each time the counters are filled */
+    private long version = 0;
+    /** ontologies whose axioms are counted */
+    private List<OWLOntology> members = Collections.emptyList();
+    /** modification count of the members expected from the changes seen */
+    private long modifications;
+    private long axiomCount;
+    private int logicalAxiomCount;
+    private int gciCount;
+    private final Map<AxiomType<?>, Integer> axiomsByType = new HashMap<>();
+    /** number of axioms referencing each entity, over all the ontologies */
+    private final Map<OWLEntity, Integer> references = new HashMap<>();
+    private final Map<EntityType<?>, Integer> entitiesByType = new HashMap<>();
+    /** number of logical axioms using each construct, over all the ontologies */
+    private final Map<Construct, Integer> constructs = new EnumMap<>(Construct.class);
+    private final OWLOntologyLoaderListener loaderListener = new OWLOntologyLoaderListener() {
+
+        @Override
+        public void startedLoadingOntology(LoadingStartedEvent event) {
+            // nothing to do until the ontology is loaded
+        }
+
+        @Override
+        public void finishedLoadingOntology(LoadingFinishedEvent event) {
+            // a loaded ontology might be imported by one of the members
+            if (filled && importsClosureUsed && !sameOntologies(currentMembers())) {
+                filled = false;
+            }
+        }
+    };
+
+    /**
+     * @param ontology
+     *        the ontology to count
+     * @param importsClosureUsed
+     *        true if the imports closure of the ontology should be counted
+     */
+    public MetricCounters(OWLOntology ontology, boolean importsClosureUsed) {
+        this.ontology = checkNotNull(ontology, "ontology cannot be null");
+        this.importsClosureUsed = importsClosureUsed;
+    }
+
+    /**
+     * @param o
+     *        ontology
+     * @param closure
+     *        imports closure flag
+     * @return true if these counters count the given ontology, with or without
+     *         its imports closure as specified
+     */
+    public boolean isFor(OWLOntology o, boolean closure) {
+        return ontology == o && importsClosureUsed == closure;
+    }
+
+    /** Register one more metric using these counters. */
+    public void retain() {
+        users++;
+    }
+
+    /**
+     * Unregister a metric using these counters; when no metric uses them, the
+     * counters stop following changes and are emptied.
+     */
+    public void release() {
+        if (users > 0 && --users == 0) {
+            stopListening();
+            filled = false;
+            clear();
+        }
+    }
+
+    private void stopListening() {
+        if (listening) {
+            ontology.getOWLOntologyManager().removeOntologyChangeListener(this);
+            ontology.getOWLOntologyManager().removeOntologyLoaderListener(loaderListener);
+            listening = false;
+        }
+    }
+
+    /**
+     * @return a number that changes every time the counters are filled from
+     *         scratch; values computed from the ontologies rather than from
+     *         the counters are out of date when this number changes
+     */
+    public long getVersion() {
+        ensureFilled();
+        return version;
+    }
+
+    /** @return number of axioms, summed over the ontologies */
+    public int getAxiomCount() {
+        ensureFilled();
+        return (int) axiomCount;
+    }
+
+    /**
+     * @param type
+     *        axiom type
+     * @return number of distinct axioms of the given type
+     */
+    public int getAxiomCount(AxiomType<?> type) {
+        ensureFilled();
+        return axiomsByType.getOrDefault(type, Integer.valueOf(0)).intValue();
+    }
+
+    /** @return number of distinct logical axioms */
+    public int getLogicalAxiomCount() {
+        ensureFilled();
+        return logicalAxiomCount;
+    }
+
+    /** @return number of distinct general class axioms */
+    public int getGCICount() {
+        ensureFilled();
+        return gciCount;
+    }
+
+    /**
+     * @param type
+     *        entity type
+     * @return number of entities of the given type in the signature
+     */
+    public int getReferencedEntityCount(EntityType<?> type) {
+        ensureFilled();
+        return entitiesByType.getOrDefault(type, Integer.valueOf(0)).intValue();
+    }
+
+    /** @return DL name of the constructs used by the logical axioms */
+    public String getDescriptionLogicName() {
+        ensureFilled();
+        return DLExpressivityChecker.getDescriptionLogicName(constructs.keySet());
+    }
+
+    private List<OWLOntology> currentMembers() {
+        return importsClosureUsed ? asList(ontology.importsClosure()) : Collections.singletonList(ontology);
+    }
+
+    /**
+     * Fill the counters if they are empty, or if the ontologies have changed
+     * in ways that have not been broadcast.
+     */
+    private void ensureFilled() {
+        if (!filled || modificationCount(members) != modifications) {
+            fill();
+        }
+    }
+
+    /**
+     * @param ontologies
+     *        ontologies
+     * @return sum of the modification counts of the ontologies; the axiom
+     *         count stands in for ontologies that do not count modifications
+     */
+    static long modificationCount(List<OWLOntology> ontologies) {
+        long count = 0;
+        for (OWLOntology o : ontologies) {
+            if (o instanceof HasAxiomModificationCount) {
+                count += ((HasAxiomModificationCount) o).getAxiomModificationCount();
+            } else {
+                count += o.getAxiomCount();
+            }
+        }
+        return count;
+    }
+
+    private boolean sameOntologies(List<OWLOntology> current) {
+        if (current.size() != members.size()) {
+            return false;
+        }
+        for (int i = 0; i < current.size(); i++) {
+            if (current.get(i) != members.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void clear() {
+        members = Collections.emptyList();
+        modifications = 0;
+        axiomCount = 0;
+        logicalAxiomCount = 0;
+        gciCount = 0;
+        axiomsByType.clear();
+        references.clear();
+        entitiesByType.clear();
+        constructs.clear();
+    }
+
+    private void fill() {
+        clear();
+        members = currentMembers();
+        modifications = modificationCount(members);
+        // distinct axioms need to be tracked only across several ontologies
+        Set<OWLAxiom> distinct = members.size() > 1 ? new HashSet<>() : null;
+        for (OWLOntology o : members) {
+            o.axioms().forEach(ax -> {
+                count(ax, 1);
+                if (distinct == null || distinct.add(ax)) {
+                    countDistinct(ax, 1);
+                }
+            });
+        }
+        if (!listening) {
+            ontology.getOWLOntologyManager().addOntologyChangeListener(this);
+            ontology.getOWLOntologyManager().addOntologyLoaderListener(loaderListener);
+            listening = true;
+        }
+        filled = true;
+        version++;
+    }
+
+    /** Update the counters that count axiom occurrences. */
+    private void count(OWLAxiom ax, int delta) {
+        axiomCount += delta;
+        ax.signature().forEach(e -> {
+            int before = references.getOrDefault(e, Integer.valueOf(0)).intValue();
+            int after = before + delta;
+            if (after == 0) {
+                references.remove(e);
+            } else {
+                references.put(e, Integer.valueOf(after));
+            }
+            if (before == 0 || after == 0) {
+                add(entitiesByType, e.getEntityType(), delta);
+            }
+        });
+        if (ax.isLogicalAxiom()) {
+            checker.getConstructs(ax).forEach(c -> add(constructs, c, delta));
+        }
+    }
+
+    /** Update the counters that count distinct axioms. */
+    private void countDistinct(OWLAxiom ax, int delta) {
+        add(axiomsByType, ax.getAxiomType(), delta);
+        if (ax.isLogicalAxiom()) {
+            logicalAxiomCount += delta;
+        }
+        if (isGCI(ax)) {
+            gciCount += delta;
+        }
+    }
+
+    private static <K> void add(Map<K, Integer> map, K key, int delta) {
+        int value = map.getOrDefault(key, Integer.valueOf(0)).intValue() + delta;
+        if (value == 0) {
+            map.remove(key);
+        } else {
+            map.put(key, Integer.valueOf(value));
+        }
+    }
+
+    /**
+     * @param ax
+     *        axiom
+     * @return true if the axiom is listed by
+     *         {@link OWLOntology#generalClassAxioms()}
+     */
+    private static boolean isGCI(OWLAxiom ax) {
+        if (ax instanceof OWLSubClassOfAxiom) {
+            return ((OWLSubClassOfAxiom) ax).getSubClass().isAnonymous();
+        }
+        if (ax instanceof OWLEquivalentClassesAxiom) {
+            return ((OWLEquivalentClassesAxiom) ax).classExpressions().allMatch(c -> c.isAnonymous());
+        }
+        if (ax instanceof OWLDisjointClassesAxiom) {
+            return ((OWLDisjointClassesAxiom) ax).classExpressions().allMatch(c -> c.isAnonymous());
+        }
+        return false;
+    }
+
+    @Override
+    public void ontologiesChanged(List<? extends OWLOntologyChange> changes) {
+        if (!filled) {
+            return;
+        }
+        Map<OWLOntology, Boolean> isMember = new IdentityHashMap<>();
+        members.forEach(o -> isMember.put(o, Boolean.TRUE));
+        // for each changed axiom, whether it was in each changed ontology
+        // before the changes
+        Map<OWLAxiom, Map<OWLOntology, Boolean>> presentBefore = new LinkedHashMap<>();
+        for (OWLOntologyChange change : changes) {
+            if (!isMember.containsKey(change.getOntology())) {
+                continue;
+            }
+            if (change.isImportChange() && importsClosureUsed) {
+                // the closure has changed; fill again on next use
+                filled = false;
+                stopListening();
+                return;
+            }
+            if (change.isAxiomChange()) {
+                OWLAxiom ax = change.getAxiom();
+                // only applied changes are broadcast, and each one is counted
+                // once by the ontology
+                modifications++;
+                count(ax, change.isAddAxiom() ? 1 : -1);
+                // only applied changes are broadcast, so the first change of an
+                // axiom in an ontology tells whether it was there before
+                presentBefore.computeIfAbsent(ax, x -> new IdentityHashMap<>()).putIfAbsent(change.getOntology(),
+                    Boolean.valueOf(!change.isAddAxiom()));
+            }
+        }
+        presentBefore.forEach((ax, before) -> {
+            boolean wasThere = false;
+            boolean isThere = false;
+            for (OWLOntology o : members) {
+                Boolean b = before.get(o);
+                boolean now = o.containsAxiom(ax);
+                wasThere |= b == null ? now : b.booleanValue();
+                isThere |= now;
+            }
+            if (wasThere != isThere) {
+                countDistinct(ax, isThere ? 1 : -1);
+            }
+        });
+    }
+
+    @Override
+    public String toString() {
+        return "MetricCounters(" + ontology.getOntologyID() + (importsClosureUsed ? ", imports closure)" : ")");
+    }
+
+    @Nullable
+    static MetricCounters find(List<MetricCounters> counters, OWLOntology o, boolean closure) {
+        for (MetricCounters c : counters) {
+            if (c.isFor(o, closure)) {
+                return c;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param metrics
+     *        metrics
+     * @return one set of counters for each ontology and imports closure flag
+     *         used by the metrics, assigned to the metrics
+     */
+    static List<MetricCounters> share(List<OWLMetric<?>> metrics) {
+        List<MetricCounters> shared = new ArrayList<>();
+        for (OWLMetric<?> m : metrics) {
+            if (m instanceof AbstractOWLMetric) {
+                AbstractOWLMetric<?> metric = (AbstractOWLMetric<?>) m;
+                MetricCounters c = find(shared, metric.getOntology(), metric.isImportsClosureUsed());
+                if (c == null) {
+                    c = new MetricCounters(metric.getOntology(), metric.isImportsClosureUsed());
+                    shared.add(c);
+                }
+                metric.setCounters(c);
+            }
+        }
+        return shared;
+    }
+}
@@ -15,15 +15,14 @@ package org.semanticweb.owlapi.metrics;
 import static org.semanticweb.owlapi.search.Searcher.equivalent;
 import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
 
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
+
+import javax.annotation.Nullable;
 
 import org.semanticweb.owlapi.model.OWLClass;
 import org.semanticweb.owlapi.model.OWLClassExpression;
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyChange;
-import org.semanticweb.owlapi.model.OWLSubClassOfAxiom;
 import org.semanticweb.owlapi.util.NamedConjunctChecker;
 
 /**
@@ -33,6 +32,9 @@ import org.semanticweb.owlapi.util.NamedConjunctChecker;
  */
 public class NumberOfClassesWithMultipleInheritance extends IntegerValuedMetric {
 
+    private final NamedConjunctChecker checker = new NamedConjunctChecker();
+    private final ClassContributions contributions = new ClassContributions(this::hasMultipleInheritance);
+
     /**
      * Instantiates a new number of classes with multiple inheritance.
      * 
@@ -50,38 +52,34 @@ public class NumberOfClassesWithMultipleInheritance extends IntegerValuedMetric
 
     @Override
     public Integer recomputeMetric() {
-        Set<OWLClass> processed = new HashSet<>();
-        Set<OWLClass> clses = new HashSet<>();
-        NamedConjunctChecker checker = new NamedConjunctChecker();
-        for (OWLOntology ont : asList(getOntologies())) {
-            for (OWLClass cls : asList(ont.classesInSignature())) {
-                if (processed.contains(cls)) {
-                    continue;
-                }
-                processed.add(cls);
-                int count = 0;
-                for (OWLClassExpression sup : asList(
-                    equivalent(ont.equivalentClassesAxioms(cls), OWLClassExpression.class))) {
-                    if (checker.hasNamedConjunct(sup)) {
-                        count++;
-                    }
-                    if (count > 1) {
-                        clses.add(cls);
-                        break;
-                    }
-                }
+        contributions.fill(asList(getOntologies()));
+        return Integer.valueOf((int) contributions.total());
+    }
+
+    private int hasMultipleInheritance(OWLOntology ont, OWLClass cls) {
+        int count = 0;
+        for (OWLClassExpression sup : asList(equivalent(ont.equivalentClassesAxioms(cls), OWLClassExpression.class))) {
+            if (checker.hasNamedConjunct(sup)) {
+                count++;
+            }
+            if (count > 1) {
+                return 1;
             }
         }
-        return Integer.valueOf(clses.size());
+        return 0;
     }
 
     @Override
-    protected boolean isMetricInvalidated(List<? extends OWLOntologyChange> changes) {
-        for (OWLOntologyChange change : changes) {
-            if (change.isAxiomChange() && change.getAxiom() instanceof OWLSubClassOfAxiom) {
-                return true;
-            }
+    @Nullable
+    protected Integer updateMetric(List<? extends OWLOntologyChange> changes) {
+        if (!contributions.update(asList(getOntologies()), changes)) {
+            return null;
         }
-        return false;
+        return Integer.valueOf((int) contributions.total());
+    }
+
+    @Override
+    protected boolean isMetricInvalidated(List<? extends OWLOntologyChange> changes) {
+        return changes.stream().anyMatch(c -> c.isAxiomChange() || c.isImportChange());
     }
 }
@@ -20,6 +20,10 @@ import java.util.List;
 import org.semanticweb.owlapi.model.OWLOntology;
 
 /**
+ * Metrics extending {@link AbstractOWLMetric} share their
+ * {@link MetricCounters}, so that the ontologies are scanned once for all of
+ * them.
+ * 
  * @author Matthew Horridge, The University Of Manchester, Bio-Health
  *         Informatics Group
  * @since 2.1.0
@@ -36,6 +40,7 @@ public class OWLMetricManager {
      */
     public OWLMetricManager(List<OWLMetric<?>> metrics) {
         this.metrics = new ArrayList<>(checkNotNull(metrics, "metrics cannot be null"));
+        MetricCounters.share(this.metrics);
     }
 
     /**
@@ -44,6 +49,7 @@ public class OWLMetricManager {
      */
     public void setOntology(OWLOntology ontology) {
         metrics.forEach(m -> m.setOntology(ontology));
+        MetricCounters.share(metrics);
     }
 
     /**
@@ -14,6 +14,7 @@ package org.semanticweb.owlapi.metrics;
 
 import java.util.stream.Stream;
 
+import org.semanticweb.owlapi.model.EntityType;
 import org.semanticweb.owlapi.model.OWLClass;
 import org.semanticweb.owlapi.model.OWLOntology;
 
@@ -39,6 +40,11 @@ public class ReferencedClassCount extends ObjectCountMetric<OWLClass> {
         return "Class";
     }
 
+    @Override
+    public Integer recomputeMetric() {
+        return Integer.valueOf(getCounters().getReferencedEntityCount(EntityType.CLASS));
+    }
+
     @Override
     protected Stream<OWLClass> getObjects(OWLOntology ont) {
         return ont.classesInSignature();
@@ -14,6 +14,7 @@ package org.semanticweb.owlapi.metrics;
 
 import java.util.stream.Stream;
 
+import org.semanticweb.owlapi.model.EntityType;
 import org.semanticweb.owlapi.model.OWLDataProperty;
 import org.semanticweb.owlapi.model.OWLOntology;
 
@@ -39,6 +40,11 @@ public class ReferencedDataPropertyCount extends ObjectCountMetric<OWLDataProper
         return "Data property";
     }
 
+    @Override
+    public Integer recomputeMetric() {
+        return Integer.valueOf(getCounters().getReferencedEntityCount(EntityType.DATA_PROPERTY));
+    }
+
     @Override
     protected Stream<OWLDataProperty> getObjects(OWLOntology ont) {
         return ont.dataPropertiesInSignature();
@@ -14,6 +14,7 @@ package org.semanticweb.owlapi.metrics;
 
 import java.util.stream.Stream;
 
+import org.semanticweb.owlapi.model.EntityType;
 import org.semanticweb.owlapi.model.OWLNamedIndividual;
 import org.semanticweb.owlapi.model.OWLOntology;
 
@@ -39,6 +40,11 @@ public class ReferencedIndividualCount extends ObjectCountMetric<OWLNamedIndivid
         return "Individual";
     }
 
+    @Override
+    public Integer recomputeMetric() {
+        return Integer.valueOf(getCounters().getReferencedEntityCount(EntityType.NAMED_INDIVIDUAL));
+    }
+
     @Override
     protected Stream<OWLNamedIndividual> getObjects(OWLOntology ont) {
         return ont.individualsInSignature();
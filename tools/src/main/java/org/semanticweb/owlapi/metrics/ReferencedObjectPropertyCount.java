@@ -14,6 +14,7 @@ package org.semanticweb.owlapi.metrics;
 
 import java.util.stream.Stream;
 
+import org.semanticweb.owlapi.model.EntityType;
 import org.semanticweb.owlapi.model.OWLObjectProperty;
 import org.semanticweb.owlapi.model.OWLOntology;
 
@@ -39,6 +40,11 @@ public class ReferencedObjectPropertyCount extends ObjectCountMetric<OWLObjectPr
         return "Object property";
     }
 
+    @Override
+    public Integer recomputeMetric() {
+        return Integer.valueOf(getCounters().getReferencedEntityCount(EntityType.OBJECT_PROPERTY));
+    }
+
     @Override
     protected Stream<OWLObjectProperty> getObjects(OWLOntology ont) {
         return ont.objectPropertiesInSignature();
@@ -44,6 +44,12 @@ public class UnsatisfiableClassCountMetric extends IntegerValuedMetric {
         return "Unsatisfiable class count";
     }
 
+    @Override
+    public Integer getValue() {
+        // the reasoner can change its answers without the ontologies changing
+        return recomputeMetric();
+    }
+
     @Override
     protected Integer recomputeMetric() {
         return Integer.valueOf(reasoner.getUnsatisfiableClasses().getSize());
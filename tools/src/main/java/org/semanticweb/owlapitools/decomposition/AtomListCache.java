@@ -0,0 +1,280 @@
+package org.semanticweb.owlapitools.decomposition;
+
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.model.OWLRuntimeException;
+import org.semanticweb.owlapi.util.SimpleRenderer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.ac.manchester.cs.owlapi.modularity.ModuleType;
+
+/**
+ * A directory of atomic decompositions, so that a decomposition computed once
+ * survives a restart. Each decomposition is stored in a file named after a
+ * SHA-256 hash of the decomposed axioms, the module type and the locality
+ * checker class, so a changed ontology never matches a stale file. Axioms are
+ * rendered in functional syntax with the default prefixes, so that neither
+ * the hash nor the file depend on the renderer configured for
+ * {@code toString()}.
+ * <p>
+ * A file starts with the format version and the sorted axioms, each with its
+ * used flag; on load, these must match the axioms being decomposed, so a hash
+ * collision cannot return the decomposition of other axioms. Then come the
+ * atoms, each as the axioms of the atom, the axioms of its module and the ids
+ * of the atoms it depends on, and finally the tautologies. Axioms are stored
+ * as positions in the sorted list of axioms, which does not depend on the
+ * order in which they were loaded. Files that cannot be read, or that do not
+ * match, are ignored and the decomposition is computed again.
+ *
+ * @author ignazio
+ * @since 5.0.5
+ */
+public class AtomListCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AtomListCache.class);
+    private static final int FORMAT_VERSION = 2;
+    private final Path directory;
+
+    /**
+     * @param directory
+     *        directory for the cache files; it is created if it does not exist
+     */
+    public AtomListCache(Path directory) {
+        this.directory = checkNotNull(directory, "directory cannot be null");
+    }
+
+    /**
+     * @param axioms
+     *        axioms in the order the decomposition refers to them
+     * @return the axioms, sorted
+     */
+    private static AxiomWrapper[] sort(List<AxiomWrapper> axioms) {
+        AxiomWrapper[] sorted = axioms.toArray(new AxiomWrapper[axioms.size()]);
+        Arrays.sort(sorted, (a, b) -> a.getAxiom().compareTo(b.getAxiom()));
+        return sorted;
+    }
+
+    /**
+     * @param sorted
+     *        sorted axioms
+     * @return the functional syntax of each axiom, as UTF-8
+     */
+    private static byte[][] render(AxiomWrapper[] sorted) {
+        // a new renderer has a fixed set of prefixes
+        SimpleRenderer renderer = new SimpleRenderer();
+        byte[][] rendered = new byte[sorted.length][];
+        for (int i = 0; i < sorted.length; i++) {
+            rendered[i] = renderer.render(sorted[i].getAxiom()).getBytes(StandardCharsets.UTF_8);
+        }
+        return rendered;
+    }
+
+    private Path file(AxiomWrapper[] sorted, byte[][] rendered, ModuleType type, LocalityChecker checker) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((type.name() + ' ' + checker.getClass().getName()).getBytes(StandardCharsets.UTF_8));
+            for (int i = 0; i < sorted.length; i++) {
+                digest.update((byte) (sorted[i].isUsed() ? 1 : 0));
+                digest.update(rendered[i]);
+                digest.update((byte) '\n');
+            }
+            StringBuilder name = new StringBuilder();
+            for (byte b : digest.digest()) {
+                name.append(String.format("%02x", Integer.valueOf(b & 0xff)));
+            }
+            return directory.resolve(name.append(".atoms").toString());
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform supports SHA-256
+            throw new OWLRuntimeException(e);
+        }
+    }
+
+    /**
+     * @param axioms
+     *        axioms to decompose; on success, their atoms are set
+     * @param type
+     *        module type
+     * @param checker
+     *        locality checker used for the decomposition
+     * @param tautologies
+     *        list to fill with the tautologies of the decomposition
+     * @return the stored decomposition, or null if none is stored for these
+     *         axioms
+     */
+    @Nullable
+    public AtomList load(List<AxiomWrapper> axioms, ModuleType type, LocalityChecker checker,
+        List<AxiomWrapper> tautologies) {
+        AxiomWrapper[] sorted = sort(axioms);
+        byte[][] rendered = render(sorted);
+        Path file = file(sorted, rendered, type, checker);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        int[][] atomAxioms;
+        int[][] modules;
+        int[][] dependencies;
+        int[] tautologyIds;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != FORMAT_VERSION || !matches(in, sorted, rendered)) {
+                LOGGER.warn("Ignoring atomic decomposition cache file {} for other axioms", file);
+                return null;
+            }
+            int size = in.readInt();
+            atomAxioms = new int[size][];
+            modules = new int[size][];
+            dependencies = new int[size][];
+            for (int a = 0; a < size; a++) {
+                atomAxioms[a] = readIds(in, sorted.length);
+                modules[a] = readIds(in, sorted.length);
+                dependencies[a] = readIds(in, size);
+            }
+            tautologyIds = readIds(in, sorted.length);
+        } catch (IOException e) {
+            LOGGER.warn("Ignoring unreadable atomic decomposition cache file {}: {}", file, e.getMessage());
+            return null;
+        }
+        AtomList atomList = new AtomList();
+        for (int a = 0; a < atomAxioms.length; a++) {
+            OntologyAtom atom = atomList.newAtom();
+            List<AxiomWrapper> module = new ArrayList<>(modules[a].length);
+            for (int id : modules[a]) {
+                module.add(sorted[id]);
+            }
+            atom.setModule(module);
+            for (int id : atomAxioms[a]) {
+                atom.addAxiom(sorted[id]);
+            }
+        }
+        for (int a = 0; a < dependencies.length; a++) {
+            for (int id : dependencies[a]) {
+                atomList.get(a).addDepAtom(atomList.get(id));
+            }
+        }
+        tautologies.clear();
+        for (int id : tautologyIds) {
+            tautologies.add(sorted[id]);
+        }
+        return atomList;
+    }
+
+    private static boolean matches(DataInputStream in, AxiomWrapper[] sorted, byte[][] rendered)
+        throws IOException {
+        if (in.readInt() != sorted.length) {
+            return false;
+        }
+        for (int i = 0; i < sorted.length; i++) {
+            if (in.readBoolean() != sorted[i].isUsed()) {
+                return false;
+            }
+            if (in.readInt() != rendered[i].length) {
+                return false;
+            }
+            byte[] axiom = new byte[rendered[i].length];
+            in.readFully(axiom);
+            if (!Arrays.equals(axiom, rendered[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int[] readIds(DataInputStream in, int bound) throws IOException {
+        int[] ids = new int[in.readInt()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = in.readInt();
+            if (ids[i] < 0 || ids[i] >= bound) {
+                throw new IOException("id out of range: " + ids[i]);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Store a decomposition; failures are logged, since the decomposition
+     * itself is still usable.
+     *
+     * @param axioms
+     *        decomposed axioms
+     * @param type
+     *        module type
+     * @param checker
+     *        locality checker used for the decomposition
+     * @param atomList
+     *        the decomposition
+     * @param tautologies
+     *        the tautologies of the decomposition
+     */
+    public void store(List<AxiomWrapper> axioms, ModuleType type, LocalityChecker checker, AtomList atomList,
+        List<AxiomWrapper> tautologies) {
+        AxiomWrapper[] sorted = sort(axioms);
+        byte[][] rendered = render(sorted);
+        Path file = file(sorted, rendered, type, checker);
+        Map<AxiomWrapper, Integer> ids = new IdentityHashMap<>();
+        for (int i = 0; i < sorted.length; i++) {
+            ids.put(sorted[i], Integer.valueOf(i));
+        }
+        Path temp = null;
+        try {
+            Files.createDirectories(directory);
+            // write to a temporary file first, so that readers never see a
+            // partial decomposition
+            temp = Files.createTempFile(directory, "atoms", ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(
+                temp)))) {
+                out.writeInt(FORMAT_VERSION);
+                out.writeInt(sorted.length);
+                for (int i = 0; i < sorted.length; i++) {
+                    out.writeBoolean(sorted[i].isUsed());
+                    out.writeInt(rendered[i].length);
+                    out.write(rendered[i]);
+                }
+                out.writeInt(atomList.size());
+                for (int a = 0; a < atomList.size(); a++) {
+                    OntologyAtom atom = atomList.get(a);
+                    writeIds(out, atom.getAtomAxioms(), ids);
+                    writeIds(out, atom.getModule(), ids);
+                    out.writeInt(atom.getDependencies().size());
+                    for (OntologyAtom dep : atom.getDependencies()) {
+                        out.writeInt(dep.getId());
+                    }
+                }
+                writeIds(out, tautologies, ids);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOGGER.warn("Could not store atomic decomposition in {}: {}", file, e.getMessage());
+            deleteQuietly(temp);
+        }
+    }
+
+    private static void deleteQuietly(@Nullable Path temp) {
+        if (temp == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(temp);
+        } catch (IOException e) {
+            LOGGER.warn("Could not delete temporary file {}: {}", temp, e.getMessage());
+        }
+    }
+
+    private static void writeIds(DataOutputStream out, Collection<AxiomWrapper> axioms,
+        Map<AxiomWrapper, Integer> ids) throws IOException {
+        out.writeInt(axioms.size());
+        for (AxiomWrapper ax : axioms) {
+            out.writeInt(ids.get(ax).intValue());
+        }
+    }
+}
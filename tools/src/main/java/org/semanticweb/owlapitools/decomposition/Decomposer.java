@@ -3,6 +3,7 @@ package org.semanticweb.owlapitools.decomposition;
 import static org.semanticweb.owlapi.util.OWLAPIPreconditions.verifyNotNull;
 
 import java.util.*;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import javax.annotation.Nullable;
@@ -26,6 +27,8 @@ public class Decomposer {
     /** module type for current AOS creation */
     private ModuleType type;
     private List<AxiomWrapper> axioms;
+    /** source of locality checkers for parallel decomposition */
+    @Nullable private Supplier<LocalityChecker> checkers = null;
 
     /**
      * @param axioms
@@ -38,6 +41,19 @@ public class Decomposer {
         modularizer = buildModulariser(axioms, c);
     }
 
+    /**
+     * @param axioms
+     *        axiom wrappers to decompose
+     * @param checkers
+     *        supplier of locality checkers; each call must return a new
+     *        checker. One is used by this decomposer, and one by each thread of
+     *        a parallel decomposition.
+     */
+    public Decomposer(List<AxiomWrapper> axioms, Supplier<LocalityChecker> checkers) {
+        this(axioms, checkers.get());
+        this.checkers = checkers;
+    }
+
     /**
      * @param axioms
      *        axioms
@@ -195,6 +211,41 @@ public class Decomposer {
         return verifyNotNull(atomList);
     }
 
+    /**
+     * @param t
+     *        module type
+     * @param threads
+     *        number of threads to use; a parallel decomposition requires this
+     *        decomposer to have been created with a supplier of locality
+     *        checkers, and the sequential one is used otherwise
+     * @param cache
+     *        cache to look up the decomposition in, and to store it in if it is
+     *        computed; can be null
+     * @return the atomic structure for given module type T
+     */
+    public AtomList getAOS(ModuleType t, int threads, @Nullable AtomListCache cache) {
+        type = t;
+        LocalityChecker checker = modularizer.getLocalityChecker();
+        if (cache != null) {
+            atomList = cache.load(axioms, t, checker, tautologies);
+            if (atomList != null) {
+                return atomList;
+            }
+        }
+        Supplier<LocalityChecker> supplier = checkers;
+        if (threads > 1 && supplier != null) {
+            ParallelDecomposer decomposer = new ParallelDecomposer(axioms, supplier, threads);
+            atomList = decomposer.getAOS(t);
+            tautologies = decomposer.getTautologies();
+        } else {
+            getAOS(t);
+        }
+        if (cache != null) {
+            cache.store(axioms, t, checker, getAOS(), tautologies);
+        }
+        return getAOS();
+    }
+
     /**
      * @param signature
      *        the signature to use
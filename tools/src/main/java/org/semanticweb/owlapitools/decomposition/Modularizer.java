@@ -24,6 +24,8 @@ public class Modularizer {
     private long nChecks = 0;
     /** number of non-local axioms */
     private long nNonLocal = 0;
+    /** true if all used axioms are in the search space, regardless of flags */
+    private boolean searchAllUsed = false;
 
     /**
      * @param c
@@ -99,7 +101,7 @@ public class Modularizer {
      */
     private void addNonLocal(Collection<AxiomWrapper> axSet, boolean noCheck) {
         for (AxiomWrapper q : axSet) {
-            if (!q.isInModule() && q.isInSearchSpace()) {
+            if (!q.isInModule() && (searchAllUsed ? q.isUsed() : q.isInSearchSpace())) {
                 this.addNonLocal(q, noCheck);
             }
         }
@@ -165,9 +167,52 @@ public class Modularizer {
         checker.setSignatureValue(sig);
         sig.setLocality(topLocality);
         extractModule(axioms);
-        if (type != ModuleType.STAR) {
-            return;
+        if (type == ModuleType.STAR) {
+            extractStar(signature, topLocality);
         }
+    }
+
+    /**
+     * extract module wrt SIGNATURE and TYPE from all the used axioms this
+     * modularizer has preprocessed. Only the axioms of the previous module have
+     * their flags reset, so repeated extractions do not cost a pass over the
+     * whole ontology each; the axioms must not be used by another modularizer
+     * or by extract() in the meantime.
+     * 
+     * @param signature
+     *        signature
+     * @param type
+     *        type
+     */
+    public void extractFromUsed(Signature signature, ModuleType type) {
+        module.forEach(p -> p.setInModule(false));
+        module.clear();
+        boolean topLocality = type == ModuleType.TOP;
+        sig = signature;
+        checker.setSignatureValue(sig);
+        sig.setLocality(topLocality);
+        searchAllUsed = true;
+        try {
+            extractModuleQueue();
+        } finally {
+            searchAllUsed = false;
+        }
+        if (type == ModuleType.STAR) {
+            extractStar(signature, topLocality);
+        }
+    }
+
+    /**
+     * alternate top and bottom locality on the last module until it does not
+     * change
+     * 
+     * @param signature
+     *        signature
+     * @param initialLocality
+     *        locality used for the last module
+     */
+    private void extractStar(Signature signature, boolean initialLocality) {
+        boolean topLocality = initialLocality;
         // here there is a star: do the cycle until stabilization
         int size;
         do {
@@ -0,0 +1,277 @@
+package org.semanticweb.owlapitools.decomposition;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.model.OWLRuntimeException;
+
+import uk.ac.manchester.cs.owlapi.modularity.ModuleType;
+
+/**
+ * Atomic decomposition computed on several threads. Two axioms are in the same
+ * atom iff the modules for their signatures are the same, and an atom depends
+ * on the atoms of all axioms in its module; the module for each axiom can be
+ * extracted independently of the others. Each thread works on its own copies
+ * of the axiom wrappers, with its own locality checker and signature index,
+ * since extraction keeps its state in the wrappers. As in {@link Decomposer},
+ * the module of an axiom is extracted from the smallest module known to
+ * contain it, rather than from the whole ontology, when there is one. Modules
+ * are shared between the axioms that have them, so memory is proportional to
+ * the number of atoms. The atoms are the same as the ones built by
+ * {@link Decomposer}, but they can be numbered differently.
+ *
+ * @author ignazio
+ * @since 5.0.5
+ */
+class ParallelDecomposer {
+
+    /** axioms to decompose */
+    private final List<AxiomWrapper> axioms;
+    /** source of locality checkers, one per thread */
+    private final Supplier<LocalityChecker> checkers;
+    /** number of threads to use */
+    private final int threads;
+    /** tautologies found by the last decomposition */
+    private final List<AxiomWrapper> tautologies = new ArrayList<>();
+
+    /**
+     * @param axioms
+     *        axiom wrappers to decompose
+     * @param checkers
+     *        supplier of locality checkers; each call must return a new
+     *        checker
+     * @param threads
+     *        number of threads to use
+     */
+    ParallelDecomposer(List<AxiomWrapper> axioms, Supplier<LocalityChecker> checkers, int threads) {
+        this.axioms = axioms;
+        this.checkers = checkers;
+        this.threads = threads;
+    }
+
+    /** @return tautologies found by the last decomposition */
+    List<AxiomWrapper> getTautologies() {
+        return tautologies;
+    }
+
+    /**
+     * @param type
+     *        module type
+     * @return the atomic structure for given module type
+     */
+    AtomList getAOS(ModuleType type) {
+        int size = axioms.size();
+        boolean[] tautology = new boolean[size];
+        ModuleKey[] modules = new ModuleKey[size];
+        // smallest module found so far that contains each axiom; reads can
+        // miss concurrent updates, which only makes the search space larger
+        ModuleKey[] containing = new ModuleKey[size];
+        Map<ModuleKey, ModuleKey> distinctModules = new ConcurrentHashMap<>();
+        List<Worker> workers = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            // first pass: tautologies are never in a module, so they must be
+            // known before any module is extracted
+            AtomicInteger next = new AtomicInteger();
+            List<Callable<Worker>> tasks = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                tasks.add(() -> {
+                    Worker worker = new Worker(checkers.get());
+                    for (int i = next.getAndIncrement(); i < size; i = next.getAndIncrement()) {
+                        tautology[i] = worker.isTautology(i, type);
+                    }
+                    return worker;
+                });
+            }
+            for (Future<Worker> f : executor.invokeAll(tasks)) {
+                workers.add(f.get());
+            }
+            workers.forEach(w -> w.removeTautologies(tautology));
+            // the axioms in the module for the empty signature all have that
+            // module, and form the "bottom" atom; as in the sequential
+            // decomposition, their modules need not be extracted
+            ModuleKey bottomModule = workers.get(0).extract(-1, null, type);
+            for (int j : bottomModule.ids) {
+                modules[j] = bottomModule;
+                containing[j] = bottomModule;
+            }
+            distinctModules.put(bottomModule, bottomModule);
+            // second pass: one module per remaining axiom
+            AtomicInteger nextAxiom = new AtomicInteger();
+            List<Callable<Object>> extractions = new ArrayList<>();
+            for (Worker worker : workers) {
+                extractions.add(() -> {
+                    for (int i = nextAxiom.getAndIncrement(); i < size; i = nextAxiom.getAndIncrement()) {
+                        if (worker.copies.get(i).isUsed() && modules[i] == null) {
+                            ModuleKey key = worker.extract(i, containing[i], type);
+                            ModuleKey existing = distinctModules.putIfAbsent(key, key);
+                            modules[i] = existing == null ? key : existing;
+                            for (int j : key.ids) {
+                                ModuleKey known = containing[j];
+                                if (known == null || known.ids.length > key.ids.length) {
+                                    containing[j] = modules[i];
+                                }
+                            }
+                        }
+                    }
+                    return null;
+                });
+            }
+            for (Future<Object> f : executor.invokeAll(extractions)) {
+                f.get();
+            }
+            return buildAtoms(bottomModule, modules, tautology);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OWLRuntimeException(e);
+        } catch (ExecutionException e) {
+            throw new OWLRuntimeException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * @param bottomModule
+     *        module for the empty signature
+     * @param modules
+     *        module for each axiom; null for unused axioms and tautologies
+     * @param tautology
+     *        tautology flags for each axiom
+     * @return the atoms, with their dependencies
+     */
+    private AtomList buildAtoms(ModuleKey bottomModule, ModuleKey[] modules, boolean[] tautology) {
+        tautologies.clear();
+        AtomList atomList = new AtomList();
+        Map<ModuleKey, OntologyAtom> atoms = new HashMap<>();
+        // the "bottom" atom comes first, as in the sequential decomposition
+        if (bottomModule.ids.length > 0) {
+            atoms.put(bottomModule, newAtom(atomList, bottomModule));
+        }
+        for (int i = 0; i < modules.length; i++) {
+            if (tautology[i]) {
+                tautologies.add(axioms.get(i));
+            } else if (modules[i] != null) {
+                atoms.computeIfAbsent(modules[i], m -> newAtom(atomList, m)).addAxiom(axioms.get(i));
+            }
+        }
+        // an atom depends on the atoms of all the axioms in its module
+        for (int a = 0; a < atomList.size(); a++) {
+            OntologyAtom atom = atomList.get(a);
+            for (AxiomWrapper q : atom.getModule()) {
+                q.getAtom().ifPresent(atom::addDepAtom);
+            }
+        }
+        atomList.reduceGraph();
+        return atomList;
+    }
+
+    private OntologyAtom newAtom(AtomList atomList, ModuleKey module) {
+        OntologyAtom atom = atomList.newAtom();
+        List<AxiomWrapper> moduleAxioms = new ArrayList<>(module.ids.length);
+        for (int id : module.ids) {
+            moduleAxioms.add(axioms.get(id));
+        }
+        atom.setModule(moduleAxioms);
+        return atom;
+    }
+
+    /** thread confined copies of the axioms, with their own modularizer */
+    private class Worker {
+
+        final List<AxiomWrapper> copies;
+        final Modularizer modularizer;
+
+        Worker(LocalityChecker checker) {
+            copies = new ArrayList<>(axioms.size());
+            for (int i = 0; i < axioms.size(); i++) {
+                AxiomWrapper copy = new AxiomWrapper(axioms.get(i).getAxiom());
+                copy.setId(i);
+                copy.setUsed(axioms.get(i).isUsed());
+                copies.add(copy);
+            }
+            modularizer = Decomposer.buildModulariser(copies, checker);
+        }
+
+        boolean isTautology(int i, ModuleType type) {
+            AxiomWrapper p = copies.get(i);
+            if (!p.isUsed()) {
+                return false;
+            }
+            // same sequence of calls as Decomposer::removeTautologies
+            modularizer.extract(p, new Signature(p.getAxiom().signature()), type);
+            boolean result = modularizer.isTautology(p.getAxiom(), type);
+            p.setInModule(false);
+            return result;
+        }
+
+        void removeTautologies(boolean[] tautology) {
+            for (int i = 0; i < tautology.length; i++) {
+                if (tautology[i]) {
+                    copies.get(i).setUsed(false);
+                }
+            }
+        }
+
+        /**
+         * @param i
+         *        index of the axiom whose signature is used, or -1 for the
+         *        empty signature
+         * @param within
+         *        a module containing the axiom, or null to search all used
+         *        axioms
+         * @param type
+         *        module type
+         * @return ids of the axioms in the module
+         */
+        ModuleKey extract(int i, @Nullable ModuleKey within, ModuleType type) {
+            Signature sig = i < 0 ? new Signature() : new Signature(copies.get(i).getAxiom().signature());
+            if (within == null) {
+                modularizer.extractFromUsed(sig, type);
+            } else {
+                List<AxiomWrapper> searchSpace = new ArrayList<>(within.ids.length);
+                for (int id : within.ids) {
+                    searchSpace.add(copies.get(id));
+                }
+                // extract() only resets the flags of the search space
+                modularizer.getModule().forEach(p -> p.setInModule(false));
+                modularizer.extract(searchSpace, sig, type);
+            }
+            Collection<AxiomWrapper> module = modularizer.getModule();
+            int[] ids = new int[module.size()];
+            int k = 0;
+            for (AxiomWrapper q : module) {
+                ids[k++] = q.getId();
+            }
+            Arrays.sort(ids);
+            return new ModuleKey(ids);
+        }
+    }
+
+    /** sorted axiom ids of a module, usable as a hash key */
+    private static class ModuleKey {
+
+        final int[] ids;
+        private final int hash;
+
+        ModuleKey(int[] ids) {
+            this.ids = ids;
+            hash = Arrays.hashCode(ids);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            return obj instanceof ModuleKey && hash == ((ModuleKey) obj).hash
+                && Arrays.equals(ids, ((ModuleKey) obj).ids);
+        }
+    }
+}
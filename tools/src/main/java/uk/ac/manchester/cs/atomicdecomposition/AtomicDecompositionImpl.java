@@ -54,9 +54,39 @@ public class AtomicDecompositionImpl implements AtomicDecomposition {
      *        type
      */
     public AtomicDecompositionImpl(List<OWLAxiom> axioms, ModuleType type) {
+        this(axioms, type, 1, null);
+    }
+
+    /**
+     * @param o
+     *        o
+     * @param type
+     *        type
+     * @param threads
+     *        number of threads to decompose with
+     * @param cache
+     *        cache of decompositions to use; can be null
+     */
+    public AtomicDecompositionImpl(OWLOntology o, ModuleType type, int threads, @Nullable AtomListCache cache) {
+        this(AxiomSelector.selectAxioms(o), type, threads, cache);
+    }
+
+    /**
+     * @param axioms
+     *        axioms
+     * @param type
+     *        type
+     * @param threads
+     *        number of threads to decompose with; modules for different axioms
+     *        are extracted concurrently if greater than one
+     * @param cache
+     *        cache of decompositions to use; can be null
+     */
+    public AtomicDecompositionImpl(List<OWLAxiom> axioms, ModuleType type, int threads,
+        @Nullable AtomListCache cache) {
         this.type = type;
-        decomposer = new Decomposer(AxiomSelector.wrap(axioms), new SyntacticLocalityChecker());
-        int size = decomposer.getAOS(this.type).size();
+        decomposer = new Decomposer(AxiomSelector.wrap(axioms), SyntacticLocalityChecker::new);
+        int size = decomposer.getAOS(this.type, threads, cache).size();
         atoms = new ArrayList<>();
         for (int i = 0; i < size; i++) {
             final Atom atom = new Atom(asSet(decomposer.getAOS().get(i).getAtomAxioms()));
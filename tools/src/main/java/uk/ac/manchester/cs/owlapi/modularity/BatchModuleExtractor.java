@@ -0,0 +1,513 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owlapi.modularity;
+
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.model.*;
+import org.semanticweb.owlapi.model.parameters.Imports;
+import org.semanticweb.owlapi.modularity.OntologySegmenter;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.clarkparsia.owlapi.modularity.locality.LocalityClass;
+import com.clarkparsia.owlapi.modularity.locality.SyntacticLocalityEvaluator;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import uk.ac.manchester.cs.atomicdecomposition.Atom;
+import uk.ac.manchester.cs.atomicdecomposition.AtomicDecomposition;
+
+/**
+ * Module extraction based on syntactic locality, for many signatures over the
+ * same axioms. The modules are the same as the ones extracted by
+ * {@link SyntacticLocalityModuleExtractor}, but the work that does not depend
+ * on the signature is done once, when the extractor is built:
+ * <ul>
+ * <li>axioms are indexed by the entities in their signature, so that only the
+ * axioms mentioning an entity that has just been added to the module signature
+ * are checked for locality, rather than all axioms at every pass;</li>
+ * <li>tautologies, i.e., axioms that are local with respect to their own
+ * signature and therefore with respect to any signature, are never checked;
+ * </li>
+ * <li>declarations, annotation assertions and same/different individual axioms
+ * are indexed by entity for the enrichment of the modules.</li>
+ * </ul>
+ * If an atomic decomposition of the same axioms is provided, top and bottom
+ * modules are built as unions of principal ideals of atoms, found through the
+ * term based index of the decomposition: an atom with a non local axiom brings
+ * in its whole principal ideal at once. Extractions share no mutable state, so
+ * independent signatures can be extracted on several threads; modules are
+ * cached by signature, and the number of requests, cache hits and extraction
+ * latency are recorded.
+ *
+ * @author ignazio
+ * @since 5.0.5
+ */
+public class BatchModuleExtractor implements OntologySegmenter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BatchModuleExtractor.class);
+    /** Maximum number of cached modules. */
+    private static final int MAX_CACHED_MODULES = 1000;
+    private final ModuleType moduleType;
+    private final OWLOntologyManager manager;
+    /** All axioms; axioms are referred to by their position. */
+    private final OWLAxiom[] axioms;
+    /** Locality indexes for the locality classes the module type needs. */
+    private final Map<LocalityClass, LocalityIndex> localityIndexes = new EnumMap<>(LocalityClass.class);
+    /** Declarations and same/different individual axioms for each entity. */
+    private final Map<OWLEntity, List<OWLAxiom>> entityAxioms = new HashMap<>();
+    /** Annotation assertions for each subject IRI. */
+    private final Map<IRI, List<OWLAxiom>> annotationAssertions = new HashMap<>();
+    @Nullable private final AtomIndex atomIndex;
+    private final Cache<Set<OWLEntity>, Set<OWLAxiom>> modules = Caffeine.newBuilder().maximumSize(
+        MAX_CACHED_MODULES).build();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Creates a new batch module extractor for a given ontology, its manager,
+     * and a specified type of locality.
+     *
+     * @param man
+     *        the manager for the associated ontology
+     * @param ont
+     *        the associated ontology; the axioms of its imports closure are
+     *        used
+     * @param moduleType
+     *        the type of module this extractor will construct
+     */
+    public BatchModuleExtractor(OWLOntologyManager man, OWLOntology ont, ModuleType moduleType) {
+        this(man, ont.axioms(Imports.INCLUDED), moduleType, null);
+    }
+
+    /**
+     * Creates a new batch module extractor for a set of axioms, a manager, and
+     * a specified type of locality.
+     *
+     * @param man
+     *        the manager used to create ontologies for the modules
+     * @param axs
+     *        the axioms to extract modules from
+     * @param moduleType
+     *        the type of module this extractor will construct
+     * @param decomposition
+     *        an atomic decomposition of the same axioms for the same module
+     *        type, or null; it is not used for STAR modules
+     */
+    public BatchModuleExtractor(OWLOntologyManager man, Stream<OWLAxiom> axs, ModuleType moduleType,
+        @Nullable AtomicDecomposition decomposition) {
+        this.moduleType = checkNotNull(moduleType, "moduleType cannot be null");
+        manager = checkNotNull(man, "man cannot be null");
+        List<OWLAxiom> list = asList(checkNotNull(axs, "axs cannot be null").distinct());
+        axioms = list.toArray(new OWLAxiom[list.size()]);
+        switch (moduleType) {
+            case TOP:
+                localityIndexes.put(LocalityClass.TOP_TOP, new LocalityIndex(LocalityClass.TOP_TOP));
+                break;
+            case BOT:
+                localityIndexes.put(LocalityClass.BOTTOM_BOTTOM, new LocalityIndex(LocalityClass.BOTTOM_BOTTOM));
+                break;
+            case STAR:
+                localityIndexes.put(LocalityClass.TOP_TOP, new LocalityIndex(LocalityClass.TOP_TOP));
+                localityIndexes.put(LocalityClass.BOTTOM_BOTTOM, new LocalityIndex(LocalityClass.BOTTOM_BOTTOM));
+                break;
+            default:
+                throw new OWLRuntimeException("Unsupported module type: " + moduleType);
+        }
+        atomIndex = decomposition == null || moduleType == ModuleType.STAR ? null : new AtomIndex(decomposition,
+            localityClass());
+        indexEnrichmentAxioms();
+    }
+
+    private LocalityClass localityClass() {
+        return moduleType == ModuleType.TOP ? LocalityClass.TOP_TOP : LocalityClass.BOTTOM_BOTTOM;
+    }
+
+    private void indexEnrichmentAxioms() {
+        for (OWLAxiom ax : axioms) {
+            if (ax.isOfType(AxiomType.DECLARATION)) {
+                entityAxioms.computeIfAbsent(((OWLDeclarationAxiom) ax).getEntity(), e -> new ArrayList<>()).add(ax);
+            } else if (ax.isOfType(AxiomType.ANNOTATION_ASSERTION)) {
+                OWLAnnotationSubject subject = ((OWLAnnotationAssertionAxiom) ax).getSubject();
+                if (subject.isIRI()) {
+                    annotationAssertions.computeIfAbsent((IRI) subject, e -> new ArrayList<>()).add(ax);
+                }
+            } else if (ax.isOfType(AxiomType.SAME_INDIVIDUAL, AxiomType.DIFFERENT_INDIVIDUALS)) {
+                ((OWLNaryIndividualAxiom) ax).individuals().filter(OWLIndividual::isOWLNamedIndividual).distinct()
+                    .forEach(i -> entityAxioms.computeIfAbsent(i.asOWLNamedIndividual(), e -> new ArrayList<>())
+                        .add(ax));
+            }
+        }
+    }
+
+    /**
+     * @return module type for this extractor
+     */
+    public ModuleType getModuleType() {
+        return moduleType;
+    }
+
+    @Override
+    public Set<OWLAxiom> extract(Set<OWLEntity> signature) {
+        long start = System.nanoTime();
+        Set<OWLEntity> key = new HashSet<>(checkNotNull(signature, "signature cannot be null"));
+        Set<OWLAxiom> module = modules.getIfPresent(key);
+        boolean hit = module != null;
+        if (module == null) {
+            module = Collections.unmodifiableSet(extractModule(new HashSet<>(key)));
+            modules.put(key, module);
+        } else {
+            cacheHits.increment();
+        }
+        long elapsed = System.nanoTime() - start;
+        requests.increment();
+        totalNanos.add(elapsed);
+        maxNanos.accumulate(elapsed);
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("{} module for {} entities: {} axioms in {} us{}", moduleType, Integer.valueOf(key.size()),
+                Integer.valueOf(module.size()), Long.valueOf(TimeUnit.NANOSECONDS.toMicros(elapsed)), hit
+                    ? " (cached)" : "");
+        }
+        return module;
+    }
+
+    /**
+     * Extracts the modules for many signatures, extracting independent
+     * signatures in parallel. The modules are unmodifiable.
+     *
+     * @param signatures
+     *        the seed signatures
+     * @param threads
+     *        number of threads to use
+     * @return the modules, in the same order as the signatures
+     */
+    public List<Set<OWLAxiom>> extract(List<Set<OWLEntity>> signatures, int threads) {
+        checkNotNull(signatures, "signatures cannot be null");
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Set<OWLAxiom>>> futures = new ArrayList<>(signatures.size());
+            for (Set<OWLEntity> signature : signatures) {
+                futures.add(executor.submit(() -> extract(signature)));
+            }
+            List<Set<OWLAxiom>> result = new ArrayList<>(futures.size());
+            for (Future<Set<OWLAxiom>> f : futures) {
+                result.add(f.get());
+            }
+            return result;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OWLRuntimeException(e);
+        } catch (ExecutionException e) {
+            throw new OWLRuntimeException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Extracts a module for a given signature plus possibly superclasses and
+     * subclasses of the classes therein; see
+     * {@link SyntacticLocalityModuleExtractor#extract(Set, int, int, OWLReasoner)}
+     * . The module is unmodifiable.
+     */
+    @Override
+    public Set<OWLAxiom> extract(Set<OWLEntity> signature, int superClassLevel, int subClassLevel,
+        @Nullable OWLReasoner reasoner) {
+        return extract(SyntacticLocalityModuleExtractor.enrichSignature(signature, superClassLevel, subClassLevel,
+            reasoner));
+    }
+
+    @Override
+    public OWLOntology extractAsOntology(Set<OWLEntity> signature, IRI iri) throws OWLOntologyCreationException {
+        return extractAsOntology(signature, iri, 0, 0, null);
+    }
+
+    @Override
+    public OWLOntology extractAsOntology(Set<OWLEntity> signature, IRI iri, int superClassLevel, int subClassLevel,
+        @Nullable OWLReasoner reasoner) throws OWLOntologyCreationException {
+        return manager.createOntology(extract(signature, superClassLevel, subClassLevel, reasoner), iri);
+    }
+
+    /** @return extraction statistics since this extractor was built */
+    public Statistics getStatistics() {
+        return new Statistics(requests.sum(), cacheHits.sum(), totalNanos.sum(), maxNanos.get());
+    }
+
+    /**
+     * @param signature
+     *        the seed signature; on return, the signature of the module
+     * @return the enriched module
+     */
+    private Set<OWLAxiom> extractModule(Set<OWLEntity> signature) {
+        if (moduleType == ModuleType.STAR) {
+            return extractStar(signature);
+        }
+        AtomIndex atoms = atomIndex;
+        if (atoms != null) {
+            return enrich(atoms.extract(signature), signature);
+        }
+        return enrich(toSet(extractLogicalAxioms(null, signature, localityClass())), signature);
+    }
+
+    /**
+     * Same iteration as {@code SyntacticLocalityModuleExtractor.extractStar()}.
+     */
+    private Set<OWLAxiom> extractStar(Set<OWLEntity> signature) {
+        BitSet subOnt = null;
+        boolean inFirstStep = true;
+        LocalityClass localityClass = LocalityClass.BOTTOM_BOTTOM;
+        Set<OWLEntity> seedSig = signature;
+        while (true) {
+            int previousModuleSize = subOnt == null ? axioms.length : subOnt.cardinality();
+            seedSig = new HashSet<>(signature);
+            subOnt = extractLogicalAxioms(subOnt, seedSig, localityClass);
+            if (subOnt.cardinality() == previousModuleSize && !inFirstStep) {
+                break;
+            }
+            inFirstStep = false;
+            if (localityClass == LocalityClass.BOTTOM_BOTTOM) {
+                localityClass = LocalityClass.TOP_TOP;
+            } else {
+                localityClass = LocalityClass.BOTTOM_BOTTOM;
+            }
+        }
+        return enrich(toSet(subOnt), seedSig);
+    }
+
+    /**
+     * @param subOnt
+     *        the axioms to extract the module from, or null for all axioms
+     * @param signature
+     *        the seed signature; on return, the signature of the module
+     * @param localityClass
+     *        the type of locality
+     * @return the axioms in the module
+     */
+    private BitSet extractLogicalAxioms(@Nullable BitSet subOnt, Set<OWLEntity> signature,
+        LocalityClass localityClass) {
+        LocalityIndex index = localityIndexes.get(localityClass);
+        SyntacticLocalityEvaluator sle = new SyntacticLocalityEvaluator(localityClass);
+        BitSet module = new BitSet(axioms.length);
+        Deque<OWLEntity> queue = new ArrayDeque<>(signature);
+        // axioms that are not local for the empty signature are not local for
+        // any signature
+        for (int i : index.nonLocal) {
+            if (subOnt == null || subOnt.get(i)) {
+                module.set(i);
+                axioms[i].signature().filter(signature::add).forEach(queue::add);
+            }
+        }
+        // an axiom can only become non local when an entity in its signature
+        // is added to the module signature
+        while (!queue.isEmpty()) {
+            int[] candidates = index.byEntity.get(queue.poll());
+            if (candidates == null) {
+                continue;
+            }
+            for (int i : candidates) {
+                if (!module.get(i) && (subOnt == null || subOnt.get(i)) && !sle.isLocal(axioms[i], signature)) {
+                    module.set(i);
+                    axioms[i].signature().filter(signature::add).forEach(queue::add);
+                }
+            }
+        }
+        return module;
+    }
+
+    private Set<OWLAxiom> toSet(BitSet subset) {
+        Set<OWLAxiom> set = new HashSet<>(subset.cardinality());
+        for (int i = subset.nextSetBit(0); i >= 0; i = subset.nextSetBit(i + 1)) {
+            set.add(axioms[i]);
+        }
+        return set;
+    }
+
+    /**
+     * Same enrichment as {@code SyntacticLocalityModuleExtractor.enrich()}, from
+     * the precomputed indexes.
+     */
+    private Set<OWLAxiom> enrich(Set<OWLAxiom> module, Set<OWLEntity> sig) {
+        Set<OWLAxiom> enrichedModule = new HashSet<>(module);
+        for (OWLEntity entity : sig) {
+            enrichedModule.addAll(entityAxioms.getOrDefault(entity, Collections.emptyList()));
+            enrichedModule.addAll(annotationAssertions.getOrDefault(entity.getIRI(), Collections.emptyList()));
+        }
+        return enrichedModule;
+    }
+
+    /** Axioms indexed for extraction with one locality class. */
+    private class LocalityIndex {
+
+        /** axioms that are not local with respect to the empty signature */
+        final int[] nonLocal;
+        /** axioms for each entity in their signature; tautologies excluded */
+        final Map<OWLEntity, int[]> byEntity = new HashMap<>();
+
+        LocalityIndex(LocalityClass localityClass) {
+            SyntacticLocalityEvaluator sle = new SyntacticLocalityEvaluator(localityClass);
+            List<Integer> nonLocalAxioms = new ArrayList<>();
+            Map<OWLEntity, List<Integer>> map = new HashMap<>();
+            Set<OWLEntity> empty = Collections.emptySet();
+            for (int i = 0; i < axioms.length; i++) {
+                Set<OWLEntity> sig = asUnorderedSet(axioms[i].signature());
+                if (sle.isLocal(axioms[i], sig)) {
+                    continue;
+                }
+                if (!sle.isLocal(axioms[i], empty)) {
+                    nonLocalAxioms.add(Integer.valueOf(i));
+                }
+                for (OWLEntity e : sig) {
+                    map.computeIfAbsent(e, x -> new ArrayList<>()).add(Integer.valueOf(i));
+                }
+            }
+            nonLocal = toArray(nonLocalAxioms);
+            map.forEach((e, l) -> byEntity.put(e, toArray(l)));
+        }
+
+        private int[] toArray(List<Integer> list) {
+            int[] array = new int[list.size()];
+            for (int i = 0; i < array.length; i++) {
+                array[i] = list.get(i).intValue();
+            }
+            return array;
+        }
+    }
+
+    /**
+     * Atoms indexed for extraction of modules as unions of principal ideals.
+     * If an axiom is in a module, so is the module of its signature, which is
+     * the principal ideal of its atom.
+     */
+    private static class AtomIndex {
+
+        private final AtomicDecomposition decomposition;
+        private final LocalityClass localityClass;
+        private final Map<OWLEntity, Set<Atom>> byEntity;
+        /** atoms with an axiom that is not local for the empty signature */
+        private final List<Atom> nonLocal = new ArrayList<>();
+        private final Map<Atom, Set<OWLAxiom>> ideals = new ConcurrentHashMap<>();
+
+        AtomIndex(AtomicDecomposition decomposition, LocalityClass localityClass) {
+            this.decomposition = decomposition;
+            this.localityClass = localityClass;
+            byEntity = decomposition.getTermBasedIndex();
+            SyntacticLocalityEvaluator sle = new SyntacticLocalityEvaluator(localityClass);
+            Set<OWLEntity> empty = Collections.emptySet();
+            for (Atom atom : decomposition.getAtoms()) {
+                if (atom.getAxioms().stream().anyMatch(ax -> !sle.isLocal(ax, empty))) {
+                    nonLocal.add(atom);
+                }
+            }
+        }
+
+        /**
+         * @param signature
+         *        the seed signature; on return, the signature of the module
+         * @return the axioms in the module
+         */
+        Set<OWLAxiom> extract(Set<OWLEntity> signature) {
+            SyntacticLocalityEvaluator sle = new SyntacticLocalityEvaluator(localityClass);
+            Set<OWLAxiom> module = new HashSet<>();
+            Deque<OWLEntity> queue = new ArrayDeque<>(signature);
+            for (Atom atom : nonLocal) {
+                addIdeal(atom, module, signature, queue);
+            }
+            while (!queue.isEmpty()) {
+                for (Atom atom : byEntity.getOrDefault(queue.poll(), Collections.emptySet())) {
+                    // ideals are unions of atoms, so an atom is either
+                    // entirely in the module or not at all
+                    Collection<OWLAxiom> atomAxioms = atom.getAxioms();
+                    if (!module.contains(atomAxioms.iterator().next())
+                        && atomAxioms.stream().anyMatch(ax -> !sle.isLocal(ax, signature))) {
+                        addIdeal(atom, module, signature, queue);
+                    }
+                }
+            }
+            return module;
+        }
+
+        private void addIdeal(Atom atom, Set<OWLAxiom> module, Set<OWLEntity> signature, Deque<OWLEntity> queue) {
+            for (OWLAxiom ax : ideals.computeIfAbsent(atom, decomposition::getPrincipalIdeal)) {
+                if (module.add(ax)) {
+                    ax.signature().filter(signature::add).forEach(queue::add);
+                }
+            }
+        }
+    }
+
+    /** Snapshot of the extraction statistics of a {@link BatchModuleExtractor}. */
+    public static class Statistics {
+
+        private final long requests;
+        private final long cacheHits;
+        private final long totalNanos;
+        private final long maxNanos;
+
+        Statistics(long requests, long cacheHits, long totalNanos, long maxNanos) {
+            this.requests = requests;
+            this.cacheHits = cacheHits;
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+        }
+
+        /** @return number of modules requested */
+        public long getRequests() {
+            return requests;
+        }
+
+        /** @return number of modules found in the cache */
+        public long getCacheHits() {
+            return cacheHits;
+        }
+
+        /** @return fraction of modules found in the cache */
+        public double getCacheHitRatio() {
+            return requests == 0 ? 0 : (double) cacheHits / requests;
+        }
+
+        /** @return total time spent answering requests, in nanoseconds */
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        /** @return mean time spent answering a request, in nanoseconds */
+        public long getMeanNanos() {
+            return requests == 0 ? 0 : totalNanos / requests;
+        }
+
+        /** @return longest time spent answering a request, in nanoseconds */
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("requests: %d, cache hits: %d, mean latency: %d us, max latency: %d us", Long
+                .valueOf(requests), Long.valueOf(cacheHits), Long.valueOf(TimeUnit.NANOSECONDS.toMicros(
+                    getMeanNanos())), Long.valueOf(TimeUnit.NANOSECONDS.toMicros(maxNanos)));
+        }
+    }
+}